@@ -0,0 +1,184 @@
+package org.f3.postalmanagement.benchmark;
+
+import org.f3.postalmanagement.entity.administrative.AdministrativeRegion;
+import org.f3.postalmanagement.entity.administrative.Province;
+import org.f3.postalmanagement.entity.order.BatchPackage;
+import org.f3.postalmanagement.entity.order.Order;
+import org.f3.postalmanagement.entity.unit.Office;
+import org.f3.postalmanagement.enums.OfficeType;
+import org.f3.postalmanagement.enums.PackingAlgorithm;
+import org.f3.postalmanagement.service.batch.BatchCapacity;
+import org.f3.postalmanagement.service.batch.packing.BatchPackingContext;
+import org.f3.postalmanagement.service.batch.packing.BatchPackingStrategies;
+import org.f3.postalmanagement.service.batch.packing.BatchPackingStrategy;
+import org.f3.postalmanagement.service.batch.packing.BestFitDecreasingStrategy;
+import org.f3.postalmanagement.service.batch.packing.DimensionAwarePackingStrategy;
+import org.f3.postalmanagement.service.batch.packing.ExtremePointPacker;
+import org.f3.postalmanagement.service.batch.packing.FirstFitDecreasingStrategy;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Auto-batching hot paths: the per-order capacity check and counter update,
+ * and a full packing pass of each strategy over one route.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchPackingBenchmark {
+
+    private static final BigDecimal MAX_WEIGHT_KG = new BigDecimal("50.0");
+    private static final int MAX_ORDERS = 100;
+    private static final ExtremePointPacker.Box CONTAINER_MM = new ExtremePointPacker.Box(900, 750, 450);
+    private static final BigDecimal MAX_VOLUME_CM3 = new BigDecimal(90 * 75 * 45);
+
+    /**
+     * One route's worth of unbatched orders for a full packing pass
+     */
+    @State(Scope.Benchmark)
+    public static class RouteState {
+
+        @Param({"1000", "10000", "100000"})
+        public int orderCount;
+
+        @Param({"FIRST_FIT_DECREASING", "BEST_FIT_DECREASING", "DIMENSION_AWARE"})
+        public PackingAlgorithm algorithm;
+
+        Office origin;
+        Office destination;
+        List<Order> orders;
+        BatchPackingStrategy strategy;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            Random random = new Random(InMemoryFixtures.SEED);
+            AdministrativeRegion region = InMemoryFixtures.region(1);
+            Province province = InMemoryFixtures.province("01", region);
+            origin = InMemoryFixtures.office(OfficeType.HUB, InMemoryFixtures.ward("00001", province), region);
+            destination = InMemoryFixtures.office(OfficeType.HUB, InMemoryFixtures.ward("00002", province), region);
+            orders = InMemoryFixtures.orders(orderCount, origin, destination, random);
+            strategy = new BatchPackingStrategies(List.of(
+                    new FirstFitDecreasingStrategy(),
+                    new BestFitDecreasingStrategy(),
+                    new DimensionAwarePackingStrategy()
+            )).get(algorithm);
+        }
+    }
+
+    /**
+     * A half-full batch and a rotating supply of orders for the per-order checks
+     */
+    @State(Scope.Thread)
+    public static class BatchState {
+
+        BatchPackage halfFullBatch;
+        List<Order> orders;
+        int cursor;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            Random random = new Random(InMemoryFixtures.SEED);
+            AdministrativeRegion region = InMemoryFixtures.region(1);
+            Province province = InMemoryFixtures.province("01", region);
+            Office origin = InMemoryFixtures.office(OfficeType.HUB, InMemoryFixtures.ward("00001", province), region);
+            Office destination = InMemoryFixtures.office(OfficeType.HUB, InMemoryFixtures.ward("00002", province), region);
+            orders = InMemoryFixtures.orders(1024, origin, destination, random);
+
+            halfFullBatch = newBatch(origin, destination);
+            halfFullBatch.setCurrentWeightKg(MAX_WEIGHT_KG.divide(BigDecimal.valueOf(2)));
+            halfFullBatch.setCurrentVolumeCm3(MAX_VOLUME_CM3.divide(BigDecimal.valueOf(2)));
+            halfFullBatch.setCurrentOrderCount(MAX_ORDERS / 2);
+        }
+
+        Order nextOrder() {
+            Order order = orders.get(cursor);
+            cursor = (cursor + 1) & (orders.size() - 1);
+            return order;
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public boolean canFitOrder(BatchState state) {
+        return BatchCapacity.canFit(state.halfFullBatch, state.nextOrder());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public BatchPackage addOrderToBatch(BatchState state) {
+        // Add then remove so the batch stays half full across invocations
+        Order order = state.nextOrder();
+        BatchCapacity.addOrder(state.halfFullBatch, order);
+        BatchCapacity.removeOrder(state.halfFullBatch, order);
+        return state.halfFullBatch;
+    }
+
+    @Benchmark
+    public void packRoute(RouteState state, Blackhole blackhole) {
+        InMemoryContext context = new InMemoryContext(state.origin, state.destination);
+        state.strategy.pack(state.orders, context);
+        blackhole.consume(context.batches.size());
+        blackhole.consume(context.skipped);
+    }
+
+    private static BatchPackage newBatch(Office origin, Office destination) {
+        return InMemoryFixtures.batch(origin, destination, MAX_WEIGHT_KG, MAX_VOLUME_CM3, MAX_ORDERS);
+    }
+
+    /**
+     * Packing context without persistence; mirrors the batch service session.
+     */
+    private static class InMemoryContext implements BatchPackingContext {
+        private final Office origin;
+        private final Office destination;
+        private final List<BatchPackage> batches = new ArrayList<>();
+        private int skipped;
+
+        InMemoryContext(Office origin, Office destination) {
+            this.origin = origin;
+            this.destination = destination;
+        }
+
+        @Override
+        public List<BatchPackage> getOpenBatches() {
+            return List.of();
+        }
+
+        @Override
+        public boolean canFit(BatchPackage batch, Order order) {
+            return BatchCapacity.canFit(batch, order);
+        }
+
+        @Override
+        public BatchPackage openNewBatch() {
+            BatchPackage batch = newBatch(origin, destination);
+            batches.add(batch);
+            return batch;
+        }
+
+        @Override
+        public void assign(Order order, BatchPackage batch) {
+            BatchCapacity.addOrder(batch, order);
+        }
+
+        @Override
+        public void skip(Order order, String reason) {
+            skipped++;
+        }
+
+        @Override
+        public ExtremePointPacker.Box getContainerDimensionsMm() {
+            return CONTAINER_MM;
+        }
+    }
+}
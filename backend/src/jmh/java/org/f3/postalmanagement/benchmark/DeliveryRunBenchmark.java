@@ -0,0 +1,62 @@
+package org.f3.postalmanagement.benchmark;
+
+import org.f3.postalmanagement.service.route.DeliveryRunOptimizer;
+import org.f3.postalmanagement.service.tracking.TrackPoints;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stop sequencing of one delivery run over generated stops in a city-sized area.
+ * The budget is far above the expected time, so the score is the time to converge.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DeliveryRunBenchmark {
+
+    /**
+     * Roughly 15 x 15 km around the centre of Ho Chi Minh City
+     */
+    private static final double BASE_LATITUDE = 10.70;
+    private static final double BASE_LONGITUDE = 106.60;
+    private static final double SPAN_DEGREES = 0.14;
+
+    private static final double DETOUR_FACTOR = 1.3;
+    private static final long BUDGET_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    @Param({"25", "100", "200"})
+    public int stopCount;
+
+    private double[][] distances;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(InMemoryFixtures.SEED);
+        int nodes = stopCount + 1;
+        double[][] points = new double[nodes][];
+        for (int i = 0; i < nodes; i++) {
+            points[i] = new double[]{
+                    BASE_LATITUDE + random.nextDouble() * SPAN_DEGREES,
+                    BASE_LONGITUDE + random.nextDouble() * SPAN_DEGREES};
+        }
+        distances = new double[nodes][nodes];
+        for (int i = 0; i < nodes; i++) {
+            for (int j = i + 1; j < nodes; j++) {
+                double meters = TrackPoints.distanceMeters(points[i][0], points[i][1], points[j][0], points[j][1])
+                        * DETOUR_FACTOR;
+                distances[i][j] = meters;
+                distances[j][i] = meters;
+            }
+        }
+    }
+
+    @Benchmark
+    public int[] optimize() {
+        return DeliveryRunOptimizer.optimize(distances, BUDGET_NANOS);
+    }
+}
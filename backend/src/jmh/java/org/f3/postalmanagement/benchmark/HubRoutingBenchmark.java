@@ -0,0 +1,92 @@
+package org.f3.postalmanagement.benchmark;
+
+import org.f3.postalmanagement.config.RoutingProperties;
+import org.f3.postalmanagement.entity.unit.Office;
+import org.f3.postalmanagement.enums.RoutingCostFunction;
+import org.f3.postalmanagement.repository.OfficeRepository;
+import org.f3.postalmanagement.repository.TransferRouteRepository;
+import org.f3.postalmanagement.service.impl.RouteServiceImpl;
+import org.f3.postalmanagement.service.route.HubRoutingGraph;
+import org.f3.postalmanagement.service.route.HubRoutingGraphHolder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hub-to-hub path lookup over generated hub networks of increasing size.
+ * Repositories answer from memory; the routing graph is built once in setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HubRoutingBenchmark {
+
+    private static final int QUERY_COUNT = 1024;
+
+    @Param({"8", "64", "512"})
+    public int hubCount;
+
+    @Param({"2"})
+    public int extraEdgesPerHub;
+
+    @Param({"SLA"})
+    public RoutingCostFunction costFunction;
+
+    private HubRoutingGraphHolder graphHolder;
+    private RouteServiceImpl routeService;
+    private int[][] queries;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(InMemoryFixtures.SEED);
+        InMemoryFixtures.HubGraph graph = new InMemoryFixtures.HubGraph(hubCount, extraEdgesPerHub, random);
+
+        OfficeRepository officeRepository = InMemoryFixtures.stub(OfficeRepository.class, Map.of(
+                "findAllByOfficeType", args -> graph.hubs,
+                "findAllWithLocationByOfficeTypeIn", args -> graph.hubs
+        ));
+        TransferRouteRepository transferRouteRepository = InMemoryFixtures.stub(TransferRouteRepository.class, Map.of(
+                "findAllByIsActiveTrue", args -> graph.routes
+        ));
+        RoutingProperties routingProperties = new RoutingProperties();
+        routingProperties.setCostFunction(costFunction);
+        graphHolder = new HubRoutingGraphHolder(officeRepository, transferRouteRepository, routingProperties);
+        graphHolder.refresh();
+        routeService = InMemoryFixtures.newService(RouteServiceImpl.class,
+                officeRepository, transferRouteRepository, graphHolder, routingProperties);
+
+        // Region ids are 1..hubCount, one hub per region
+        queries = new int[QUERY_COUNT][2];
+        for (int[] query : queries) {
+            query[0] = 1 + random.nextInt(hubCount);
+            query[1] = 1 + random.nextInt(hubCount);
+        }
+    }
+
+    @Benchmark
+    public List<Office> getHubPath() {
+        int[] query = queries[cursor];
+        cursor = (cursor + 1) & (QUERY_COUNT - 1);
+        return routeService.getHubPath(query[0], query[1]);
+    }
+
+    @Benchmark
+    public List<HubRoutingGraph.HubPath> findThreeAlternatives() {
+        int[] query = queries[cursor];
+        cursor = (cursor + 1) & (QUERY_COUNT - 1);
+        return graphHolder.current().findHubPaths(query[0], query[1], costFunction, 3);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public HubRoutingGraph rebuildGraph() {
+        return graphHolder.refresh();
+    }
+}
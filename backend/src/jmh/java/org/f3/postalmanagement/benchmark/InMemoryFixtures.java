@@ -0,0 +1,201 @@
+package org.f3.postalmanagement.benchmark;
+
+import org.f3.postalmanagement.entity.administrative.AdministrativeRegion;
+import org.f3.postalmanagement.entity.administrative.Province;
+import org.f3.postalmanagement.entity.administrative.Ward;
+import org.f3.postalmanagement.entity.order.BatchPackage;
+import org.f3.postalmanagement.entity.order.Order;
+import org.f3.postalmanagement.entity.unit.Office;
+import org.f3.postalmanagement.entity.unit.TransferRoute;
+import org.f3.postalmanagement.enums.OfficeType;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Deterministic in-memory fixtures for benchmarks.
+ * Entities are plain objects and repositories are dynamic proxies, so no database or Spring context is needed.
+ */
+final class InMemoryFixtures {
+
+    static final long SEED = 42L;
+
+    private InMemoryFixtures() {
+    }
+
+    // ==================== ENTITIES ====================
+
+    static AdministrativeRegion region(int id) {
+        AdministrativeRegion region = new AdministrativeRegion();
+        region.setId(id);
+        region.setName("Region " + id);
+        return region;
+    }
+
+    static Province province(String code, AdministrativeRegion region) {
+        Province province = new Province();
+        province.setCode(code);
+        province.setName("Province " + code);
+        province.setAdministrativeRegion(region);
+        return province;
+    }
+
+    static Ward ward(String code, Province province) {
+        Ward ward = new Ward();
+        ward.setCode(code);
+        ward.setName("Ward " + code);
+        ward.setProvince(province);
+        return ward;
+    }
+
+    static Office office(OfficeType type, Ward ward, AdministrativeRegion region) {
+        Office office = new Office();
+        office.setId(UUID.randomUUID());
+        office.setOfficeCode(type.name() + "-" + ward.getCode());
+        office.setOfficeName(type.name() + " " + ward.getName());
+        office.setOfficeType(type);
+        office.setWard(ward);
+        office.setRegion(region);
+        return office;
+    }
+
+    static BatchPackage batch(Office origin, Office destination, BigDecimal maxWeightKg,
+                              BigDecimal maxVolumeCm3, int maxOrderCount) {
+        BatchPackage batch = new BatchPackage();
+        batch.setId(UUID.randomUUID());
+        batch.setBatchCode("BENCH-" + batch.getId());
+        batch.setOriginOffice(origin);
+        batch.setDestinationOffice(destination);
+        batch.setMaxWeightKg(maxWeightKg);
+        batch.setMaxVolumeCm3(maxVolumeCm3);
+        batch.setMaxOrderCount(maxOrderCount);
+        return batch;
+    }
+
+    /**
+     * Orders with a parcel-like weight and size mix: mostly small boxes, a tail of heavy or bulky ones.
+     */
+    static List<Order> orders(int count, Office origin, Office destination, Random random) {
+        List<Order> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            boolean bulky = random.nextInt(10) == 0;
+            Order order = new Order();
+            order.setId(UUID.randomUUID());
+            order.setTrackingNumber(String.format("VN%09d", i));
+            order.setOriginOffice(origin);
+            order.setDestinationOffice(destination);
+            BigDecimal weight = decimal(bulky ? 5 + random.nextDouble() * 20 : 0.1 + random.nextDouble() * 3);
+            order.setWeightKg(weight);
+            order.setChargeableWeightKg(weight);
+            order.setLengthCm(decimal(bulky ? 40 + random.nextInt(40) : 10 + random.nextInt(25)));
+            order.setWidthCm(decimal(bulky ? 30 + random.nextInt(30) : 8 + random.nextInt(20)));
+            order.setHeightCm(decimal(bulky ? 20 + random.nextInt(20) : 2 + random.nextInt(15)));
+            orders.add(order);
+        }
+        return orders;
+    }
+
+    private static BigDecimal decimal(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    // ==================== HUB GRAPH ====================
+
+    /**
+     * Generated hub network: one hub per region, a ring so every pair is reachable,
+     * plus random chords for an average out-degree of about {@code 2 + extraEdgesPerHub}.
+     */
+    static final class HubGraph {
+        final List<Office> hubs = new ArrayList<>();
+        final List<TransferRoute> routes = new ArrayList<>();
+
+        HubGraph(int hubCount, int extraEdgesPerHub, Random random) {
+            for (int i = 1; i <= hubCount; i++) {
+                AdministrativeRegion region = region(i);
+                Ward ward = ward("W" + i, province("P" + i, region));
+                hubs.add(office(OfficeType.HUB, ward, region));
+            }
+            for (int i = 0; i < hubCount; i++) {
+                connect(i, (i + 1) % hubCount, random);
+                for (int e = 0; e < extraEdgesPerHub; e++) {
+                    int j = random.nextInt(hubCount);
+                    if (j != i) {
+                        connect(i, j, random);
+                    }
+                }
+            }
+        }
+
+        private void connect(int from, int to, Random random) {
+            int distanceKm = 50 + random.nextInt(950);
+            routes.add(route(hubs.get(from), hubs.get(to), distanceKm));
+            routes.add(route(hubs.get(to), hubs.get(from), distanceKm));
+        }
+
+        private static TransferRoute route(Office from, Office to, int distanceKm) {
+            TransferRoute route = new TransferRoute();
+            route.setId(UUID.randomUUID());
+            route.setFromHub(from);
+            route.setToHub(to);
+            route.setDistanceKm(distanceKm);
+            route.setTransitHours(Math.max(1, distanceKm / 60));
+            route.setIsActive(true);
+            return route;
+        }
+    }
+
+    // ==================== REPOSITORY STUBS ====================
+
+    /**
+     * Proxy implementing {@code type} where each named method is answered by a handler.
+     * Unhandled methods fail loudly so a benchmark never silently measures a no-op.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T stub(Class<T> type, Map<String, Function<Object[], Object>> handlers) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> type.getSimpleName() + "Stub";
+                };
+            }
+            Function<Object[], Object> answer = handlers.get(method.getName());
+            if (answer == null) {
+                throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName() + " is not stubbed");
+            }
+            return answer.apply(args);
+        };
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    /**
+     * Instantiate a service through its injection constructor.
+     * Parameters are matched by type against {@code collaborators}; the rest get fail-fast stubs,
+     * so adding a dependency to a service does not break the benchmarks.
+     */
+    static <T> T newService(Class<T> type, Object... collaborators) {
+        Constructor<?> constructor = Arrays.stream(type.getConstructors())
+                .max(Comparator.comparingInt(Constructor::getParameterCount))
+                .orElseThrow(() -> new IllegalStateException("No public constructor on " + type));
+        Class<?>[] parameterTypes = constructor.getParameterTypes();
+        Object[] args = new Object[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            Class<?> parameterType = parameterTypes[i];
+            args[i] = Arrays.stream(collaborators)
+                    .filter(parameterType::isInstance)
+                    .findFirst()
+                    .orElseGet(() -> parameterType.isInterface() ? stub(parameterType, Map.of()) : null);
+        }
+        try {
+            return type.cast(constructor.newInstance(args));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot instantiate " + type, e);
+        }
+    }
+}
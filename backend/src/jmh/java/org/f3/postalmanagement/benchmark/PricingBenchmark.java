@@ -0,0 +1,101 @@
+package org.f3.postalmanagement.benchmark;
+
+import org.f3.postalmanagement.dto.request.order.CalculatePriceRequest;
+import org.f3.postalmanagement.dto.response.order.PriceCalculationResponse;
+import org.f3.postalmanagement.entity.actor.Account;
+import org.f3.postalmanagement.entity.administrative.AdministrativeRegion;
+import org.f3.postalmanagement.entity.administrative.Province;
+import org.f3.postalmanagement.entity.administrative.Ward;
+import org.f3.postalmanagement.entity.unit.Office;
+import org.f3.postalmanagement.enums.OfficeType;
+import org.f3.postalmanagement.enums.PackageType;
+import org.f3.postalmanagement.enums.Role;
+import org.f3.postalmanagement.enums.ServiceType;
+import org.f3.postalmanagement.repository.OfficeRepository;
+import org.f3.postalmanagement.repository.WardRepository;
+import org.f3.postalmanagement.service.impl.OrderServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Price and SLA quote for a staff caller, with office and ward lookups answered from memory.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PricingBenchmark {
+
+    private static final int REQUEST_COUNT = 256;
+    private static final int REGION_COUNT = 3;
+    private static final int PROVINCES_PER_REGION = 10;
+
+    private OrderServiceImpl orderService;
+    private Account staff;
+    private CalculatePriceRequest[] requests;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(InMemoryFixtures.SEED);
+        Map<UUID, Office> offices = new HashMap<>();
+        Map<String, Ward> wards = new HashMap<>();
+        List<Office> officeList = new ArrayList<>();
+        List<Ward> wardList = new ArrayList<>();
+
+        for (int r = 1; r <= REGION_COUNT; r++) {
+            AdministrativeRegion region = InMemoryFixtures.region(r);
+            for (int p = 0; p < PROVINCES_PER_REGION; p++) {
+                Province province = InMemoryFixtures.province(r + "-" + p, region);
+                Ward ward = InMemoryFixtures.ward(r + "-" + p + "-1", province);
+                Office office = InMemoryFixtures.office(OfficeType.PROVINCE_POST, ward, region);
+                wards.put(ward.getCode(), ward);
+                offices.put(office.getId(), office);
+                wardList.add(ward);
+                officeList.add(office);
+            }
+        }
+
+        OfficeRepository officeRepository = InMemoryFixtures.stub(OfficeRepository.class, Map.of(
+                "findById", args -> Optional.ofNullable(offices.get((UUID) args[0]))
+        ));
+        WardRepository wardRepository = InMemoryFixtures.stub(WardRepository.class, Map.of(
+                "findById", args -> Optional.ofNullable(wards.get((String) args[0]))
+        ));
+        orderService = InMemoryFixtures.newService(OrderServiceImpl.class, officeRepository, wardRepository);
+
+        staff = new Account();
+        staff.setId(UUID.randomUUID());
+        staff.setRole(Role.PO_STAFF);
+
+        PackageType[] packageTypes = PackageType.values();
+        ServiceType[] serviceTypes = ServiceType.values();
+        requests = new CalculatePriceRequest[REQUEST_COUNT];
+        for (int i = 0; i < REQUEST_COUNT; i++) {
+            CalculatePriceRequest request = new CalculatePriceRequest();
+            request.setOriginOfficeId(officeList.get(random.nextInt(officeList.size())).getId());
+            request.setDestinationWardCode(wardList.get(random.nextInt(wardList.size())).getCode());
+            request.setPackageType(packageTypes[random.nextInt(packageTypes.length)]);
+            request.setServiceType(serviceTypes[random.nextInt(serviceTypes.length)]);
+            request.setWeightKg(BigDecimal.valueOf(0.1 + random.nextDouble() * 10));
+            request.setLengthCm(BigDecimal.valueOf(10 + random.nextInt(50)));
+            request.setWidthCm(BigDecimal.valueOf(10 + random.nextInt(40)));
+            request.setHeightCm(BigDecimal.valueOf(5 + random.nextInt(30)));
+            request.setDeclaredValue(BigDecimal.valueOf(100_000L + random.nextInt(5_000_000)));
+            request.setAddInsurance(random.nextBoolean());
+            requests[i] = request;
+        }
+    }
+
+    @Benchmark
+    public PriceCalculationResponse calculatePrice() {
+        CalculatePriceRequest request = requests[cursor];
+        cursor = (cursor + 1) & (REQUEST_COUNT - 1);
+        return orderService.calculatePrice(request, staff);
+    }
+}
@@ -0,0 +1,40 @@
+package org.f3.postalmanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings of request authentication.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "auth")
+public class AuthProperties {
+
+    private PrincipalCacheSettings principalCache = new PrincipalCacheSettings();
+
+    private RevocationSettings revocation = new RevocationSettings();
+
+    @Data
+    public static class PrincipalCacheSettings {
+        /**
+         * How long a loaded account authenticates requests without another lookup. Changes
+         * made through this node evict it at once; this bounds staleness across nodes.
+         */
+        private int ttlSeconds = 60;
+
+        /**
+         * Accounts kept at most
+         */
+        private long maximumSize = 10000;
+    }
+
+    @Data
+    public static class RevocationSettings {
+        /**
+         * Interval in milliseconds between removals of revocations whose token has expired
+         */
+        private long cleanupIntervalMs = 3600000;
+    }
+}
@@ -0,0 +1,67 @@
+package org.f3.postalmanagement.config;
+
+import lombok.Data;
+import org.f3.postalmanagement.enums.PackingAlgorithm;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * Tuning for the automatic batching engine.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "batching")
+public class BatchingProperties {
+
+    /**
+     * Number of worker threads processing route pairs in parallel
+     */
+    private int workerThreads = 4;
+
+    /**
+     * Maximum number of route pairs waiting for a worker before the sweep blocks
+     */
+    private int queueCapacity = 1000;
+
+    /**
+     * Default container limits used by the scheduler
+     */
+    private BigDecimal maxWeightPerBatch = new BigDecimal("50.0");
+    private int maxOrdersPerBatch = 100;
+
+    /**
+     * Packing algorithm used when a request does not choose one, and by the scheduler.
+     * First fit keeps the original behaviour; best fit is opt-in.
+     */
+    private PackingAlgorithm packingAlgorithm = PackingAlgorithm.FIRST_FIT_DECREASING;
+
+    /**
+     * Default inner container dimensions in cm for dimension-aware packing
+     * (large bundle from the bin-packing research: 90 x 75 x 45 cm)
+     */
+    private BigDecimal containerLengthCm = new BigDecimal("90");
+    private BigDecimal containerWidthCm = new BigDecimal("75");
+    private BigDecimal containerHeightCm = new BigDecimal("45");
+
+    /**
+     * Scheduled safety-net sweep interval in milliseconds
+     */
+    private long sweepIntervalMs = 300000;
+
+    private Incremental incremental = new Incremental();
+
+    @Data
+    public static class Incremental {
+        /**
+         * Place orders into batches as soon as they become batchable
+         */
+        private boolean enabled = true;
+
+        /**
+         * Coalescing window in milliseconds; events within one window are batched together
+         */
+        private long windowMs = 2000;
+    }
+}
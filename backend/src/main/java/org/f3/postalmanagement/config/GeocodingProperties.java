@@ -0,0 +1,123 @@
+package org.f3.postalmanagement.config;
+
+import lombok.Data;
+import org.f3.postalmanagement.enums.GeocodePrecision;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Tuning for the asynchronous geocoding pipeline.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "geocoding")
+public class GeocodingProperties {
+
+    /**
+     * Sustained request rate allowed against the remote geocoder (Nominatim policy: 1 req/s)
+     */
+    private double requestsPerSecond = 1.0;
+
+    /**
+     * Number of requests that may be sent back to back after an idle period
+     */
+    private int burst = 1;
+
+    /**
+     * Maximum number of distinct addresses waiting to be geocoded; further addresses are dropped
+     */
+    private int queueCapacity = 10000;
+
+    /**
+     * Geocoded addresses written to orders in one transaction
+     */
+    private int backfillBatchSize = 100;
+
+    /**
+     * Longest time a geocoded address waits before being written to its orders
+     */
+    private long backfillFlushIntervalMs = 5000;
+
+    /**
+     * On startup, re-queue orders created within this many hours that are still missing coordinates
+     */
+    private int startupBackfillHours = 24;
+
+    /**
+     * Coarsest provider result written to orders as their coordinates. Coarser results are
+     * dropped and the next provider in the chain is asked.
+     */
+    private GeocodePrecision acceptPrecision = GeocodePrecision.ADDRESS;
+
+    private CacheSettings cache = new CacheSettings();
+
+    private GazetteerSettings gazetteer = new GazetteerSettings();
+
+    private NominatimSettings nominatim = new NominatimSettings();
+
+    @Data
+    public static class CacheSettings {
+        /**
+         * Maximum number of addresses kept in memory
+         */
+        private long maximumSize = 100000;
+
+        /**
+         * Lifetime of resolved addresses
+         */
+        private Duration ttl = Duration.ofDays(90);
+
+        /**
+         * Lifetime of addresses the geocoder could not resolve
+         */
+        private Duration negativeTtl = Duration.ofDays(1);
+
+        /**
+         * Back-off after a transient geocoder error (memory only)
+         */
+        private Duration failureTtl = Duration.ofMinutes(5);
+
+        /**
+         * Number of persisted entries loaded into memory at startup
+         */
+        private int warmUpSize = 20000;
+
+        /**
+         * Interval in milliseconds for deleting expired rows from the cache table
+         */
+        private long pruneIntervalMs = 3600000;
+
+        /**
+         * Interval in milliseconds for recomputing ward centroids
+         */
+        private long centroidRefreshIntervalMs = 3600000;
+    }
+
+    @Data
+    public static class GazetteerSettings {
+        /**
+         * Resolve addresses in-process from the administrative tables and known postal office addresses
+         */
+        private boolean enabled = true;
+
+        /**
+         * Minimum token overlap (Jaccard) between street names for a street-level match
+         */
+        private double streetMatchThreshold = 0.8;
+    }
+
+    @Data
+    public static class NominatimSettings {
+        /**
+         * Query Nominatim for addresses the offline providers cannot resolve
+         */
+        private boolean enabled = true;
+
+        /**
+         * Search endpoint; point this at a self-hosted instance to lift the public rate limit
+         */
+        private String url = "https://nominatim.openstreetmap.org/search";
+    }
+}
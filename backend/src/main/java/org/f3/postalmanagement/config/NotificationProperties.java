@@ -0,0 +1,36 @@
+package org.f3.postalmanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings of the persisted notification inbox.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "notification.inbox")
+public class NotificationProperties {
+
+    /**
+     * Notifications older than this are deleted, read or not
+     */
+    private int retentionDays = 30;
+
+    /**
+     * Interval in milliseconds between deletions of notifications past retention
+     */
+    private long cleanupIntervalMs = 3600000;
+
+    /**
+     * In-memory unread counters are reloaded from the database after this long. Counters are
+     * updated incrementally on the node that stores or reads a notification; the reload
+     * bounds drift when several nodes share the inbox.
+     */
+    private int counterTtlMinutes = 10;
+
+    /**
+     * Largest page returned by the catch-up API
+     */
+    private int maxPageSize = 100;
+}
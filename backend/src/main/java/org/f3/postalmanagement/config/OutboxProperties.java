@@ -0,0 +1,45 @@
+package org.f3.postalmanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tuning for the transactional outbox relay to RabbitMQ.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "outbox")
+public class OutboxProperties {
+
+    /**
+     * Interval in milliseconds between polls for events not yet relayed. Commits also
+     * wake the relay, so this only bounds the delay after a broker outage or restart.
+     */
+    private long relayIntervalMs = 1000;
+
+    /**
+     * Events locked, published and confirmed together
+     */
+    private int batchSize = 200;
+
+    /**
+     * How long to wait for the broker to confirm a batch before it is retried
+     */
+    private long confirmTimeoutMs = 5000;
+
+    /**
+     * Upper bound for the retry delay of an event that failed to publish
+     */
+    private long maxRetryDelaySeconds = 300;
+
+    /**
+     * Relayed events are kept this long so they can be replayed by clearing sent_at
+     */
+    private int retentionHours = 72;
+
+    /**
+     * Interval in milliseconds between deletions of relayed events past retention
+     */
+    private long cleanupIntervalMs = 3600000;
+}
@@ -5,6 +5,7 @@ import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -14,18 +15,22 @@ public class RabbitMQConfig {
     // Exchange names
     public static final String ORDER_EXCHANGE = "order.exchange";
     public static final String NOTIFICATION_EXCHANGE = "notification.exchange";
+    public static final String AUTH_REVOCATION_EXCHANGE = "auth.revocation.exchange";
+    public static final String DELIVERY_SESSION_EXCHANGE = "tracking.session.exchange";
 
     // Queue names
     public static final String NEW_ORDER_QUEUE = "order.new.queue";
     public static final String ORDER_ASSIGNED_QUEUE = "order.assigned.queue";
     public static final String STAFF_NOTIFICATION_QUEUE = "notification.staff.queue";
     public static final String SHIPPER_NOTIFICATION_QUEUE = "notification.shipper.queue";
+    public static final String SYSTEM_NOTIFICATION_QUEUE = "notification.system.queue";
 
     // Routing keys
     public static final String NEW_ORDER_ROUTING_KEY = "order.new";
     public static final String ORDER_ASSIGNED_ROUTING_KEY = "order.assigned";
     public static final String STAFF_NOTIFICATION_ROUTING_KEY = "notification.staff";
     public static final String SHIPPER_NOTIFICATION_ROUTING_KEY = "notification.shipper";
+    public static final String SYSTEM_NOTIFICATION_ROUTING_KEY = "notification.system";
 
     // ==================== EXCHANGES ====================
 
@@ -61,6 +66,11 @@ public class RabbitMQConfig {
         return QueueBuilder.durable(SHIPPER_NOTIFICATION_QUEUE).build();
     }
 
+    @Bean
+    public Queue systemNotificationQueue() {
+        return QueueBuilder.durable(SYSTEM_NOTIFICATION_QUEUE).build();
+    }
+
     // ==================== BINDINGS ====================
 
     @Bean
@@ -83,6 +93,74 @@ public class RabbitMQConfig {
         return BindingBuilder.bind(shipperNotificationQueue).to(notificationExchange).with(SHIPPER_NOTIFICATION_ROUTING_KEY);
     }
 
+    @Bean
+    public Binding systemNotificationBinding(Queue systemNotificationQueue, TopicExchange notificationExchange) {
+        return BindingBuilder.bind(systemNotificationQueue).to(notificationExchange).with(SYSTEM_NOTIFICATION_ROUTING_KEY);
+    }
+
+    // ==================== TOKEN REVOCATION ====================
+
+    @Bean
+    public FanoutExchange authRevocationExchange() {
+        return new FanoutExchange(AUTH_REVOCATION_EXCHANGE);
+    }
+
+    /**
+     * Temporary queue of this node, so every node hears every revocation
+     */
+    @Bean
+    public Queue authRevocationQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding authRevocationBinding(Queue authRevocationQueue, FanoutExchange authRevocationExchange) {
+        return BindingBuilder.bind(authRevocationQueue).to(authRevocationExchange);
+    }
+
+    // ==================== DELIVERY SESSIONS ====================
+
+    @Bean
+    public FanoutExchange deliverySessionExchange() {
+        return new FanoutExchange(DELIVERY_SESSION_EXCHANGE);
+    }
+
+    /**
+     * Temporary queue of this node, so every node hears every delivery session change
+     */
+    @Bean
+    public Queue deliverySessionQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding deliverySessionBinding(Queue deliverySessionQueue, FanoutExchange deliverySessionExchange) {
+        return BindingBuilder.bind(deliverySessionQueue).to(deliverySessionExchange);
+    }
+
+    // ==================== STOMP FAN-OUT ====================
+
+    @Bean
+    @ConditionalOnProperty(prefix = "websocket.fanout", name = "enabled", havingValue = "true")
+    public FanoutExchange stompFanoutExchange(WebSocketProperties properties) {
+        return new FanoutExchange(properties.getFanout().getExchange());
+    }
+
+    /**
+     * Temporary queue of this node: exclusive, removed when the node disconnects
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "websocket.fanout", name = "enabled", havingValue = "true")
+    public Queue stompFanoutQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "websocket.fanout", name = "enabled", havingValue = "true")
+    public Binding stompFanoutBinding(Queue stompFanoutQueue, FanoutExchange stompFanoutExchange) {
+        return BindingBuilder.bind(stompFanoutQueue).to(stompFanoutExchange);
+    }
+
     // ==================== MESSAGE CONVERTER ====================
 
     @Bean
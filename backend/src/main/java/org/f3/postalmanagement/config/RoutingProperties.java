@@ -0,0 +1,70 @@
+package org.f3.postalmanagement.config;
+
+import lombok.Data;
+import org.f3.postalmanagement.enums.RoutingCostFunction;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tuning for hub-to-hub routing.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "routing")
+public class RoutingProperties {
+
+    /**
+     * Interval in milliseconds for rebuilding the in-memory routing graph from the database
+     */
+    private long graphRefreshIntervalMs = 300000;
+
+    /**
+     * Cost function used when a caller does not choose one
+     */
+    private RoutingCostFunction costFunction = RoutingCostFunction.SLA;
+
+    /**
+     * Upper bound for the number of alternative paths a caller may request
+     */
+    private int maxAlternatives = 3;
+
+    /**
+     * Handling time added by the SLA cost for every leg, i.e. for every hub passed
+     */
+    private double slaHubHandlingHours = 4;
+
+    /**
+     * Hours added by the SLA cost per priority step above 1 (lower priority = preferred route)
+     */
+    private double slaPriorityPenaltyHours = 2;
+
+    /**
+     * Speed used to estimate the distance of routes without a configured distance
+     */
+    private double averageSpeedKmh = 50;
+
+    private DeliveryRunSettings deliveryRun = new DeliveryRunSettings();
+
+    @Data
+    public static class DeliveryRunSettings {
+        /**
+         * Time spent improving a delivery run before the best order so far is returned
+         */
+        private long optimizationBudgetMs = 50;
+
+        /**
+         * Road distance over straight-line distance, used for leg lengths and ETAs
+         */
+        private double detourFactor = 1.3;
+
+        /**
+         * Shipper speed between stops
+         */
+        private double averageSpeedKmh = 20;
+
+        /**
+         * Time spent at each stop handing over the parcel
+         */
+        private double serviceMinutesPerStop = 4;
+    }
+}
@@ -43,6 +43,8 @@ public class SecurityConfig {
                         .requestMatchers("/api/absa/**").permitAll()
                         .requestMatchers("/api/test/**").permitAll()
                         .requestMatchers("/api/tracking/order/**").permitAll()
+                        // STOMP sessions are authenticated on CONNECT, see StompAuthenticationInterceptor
+                        .requestMatchers("/ws/**", "/ws-raw").permitAll()
                         .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/offices/**").authenticated()
                         .requestMatchers("/swagger-ui/**",
                                          "/v3/api-docs/**",
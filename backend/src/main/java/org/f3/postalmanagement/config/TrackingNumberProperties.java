@@ -0,0 +1,34 @@
+package org.f3.postalmanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tracking number allocation.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "tracking-number")
+public class TrackingNumberProperties {
+
+    /**
+     * Serials reserved by a node per database round-trip; unused serials are lost on restart
+     */
+    private int blockSize = 1000;
+
+    /**
+     * The next block is reserved in the background once this few numbers are left
+     */
+    private int lowWaterMark = 250;
+
+    /**
+     * Longest time order creation waits for a block when the node ran out of numbers
+     */
+    private long refillTimeoutMs = 10000;
+
+    /**
+     * First serial handed out when the sequence row is created
+     */
+    private long initialValue = 1;
+}
@@ -0,0 +1,144 @@
+package org.f3.postalmanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tuning for live shipper tracking.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "tracking")
+public class TrackingProperties {
+
+    /**
+     * Interval in milliseconds between writes of buffered positions to shipper_locations
+     */
+    private long locationFlushIntervalMs = 5000;
+
+    /**
+     * Positions written per JDBC batch
+     */
+    private int locationFlushBatchSize = 500;
+
+    /**
+     * A shipper counts as active if their last position is newer than this
+     */
+    private int activeWindowMinutes = 30;
+
+    /**
+     * Side of a cell in the grid index over shipper positions, in degrees (0.01 is about 1.1 km)
+     */
+    private double spatialCellSizeDegrees = 0.01;
+
+    private HistorySettings history = new HistorySettings();
+
+    private AssignmentSettings assignment = new AssignmentSettings();
+
+    private PushSettings push = new PushSettings();
+
+    @Data
+    public static class AssignmentSettings {
+        /**
+         * Nearest shippers considered for each order before load is taken into account
+         */
+        private int candidateCount = 10;
+
+        /**
+         * Shippers farther than this from the sender are never picked
+         */
+        private double maxDistanceMeters = 20000;
+
+        /**
+         * Extra distance charged per order a shipper already holds, to spread work
+         */
+        private double loadPenaltyMeters = 1000;
+
+        /**
+         * Shippers holding this many open orders are not assigned more
+         */
+        private int maxActiveOrders = 30;
+    }
+
+    @Data
+    public static class PushSettings {
+        /**
+         * Push shipper positions to /topic/tracking/order/{orderId}
+         */
+        private boolean enabled = true;
+
+        /**
+         * Minimum time in milliseconds between two updates on one order topic
+         */
+        private long minIntervalMs = 1000;
+
+        /**
+         * Positions closer than this to the last one sent are not pushed...
+         */
+        private double minDistanceMeters = 15;
+
+        /**
+         * ...unless this many milliseconds passed, so watchers know the shipper is still online
+         */
+        private long maxIntervalMs = 30000;
+    }
+
+    @Data
+    public static class HistorySettings {
+        /**
+         * Record a breadcrumb trail of every shipper's positions
+         */
+        private boolean enabled = true;
+
+        /**
+         * A ping is only recorded if at least this many seconds passed since the last recorded point...
+         */
+        private int minIntervalSeconds = 5;
+
+        /**
+         * ...and the shipper moved at least this far
+         */
+        private double minDistanceMeters = 10;
+
+        /**
+         * A stationary shipper still gets one point per this many seconds
+         */
+        private int maxIntervalSeconds = 60;
+
+        /**
+         * Points per stored segment; a full segment is written immediately
+         */
+        private int maxPointsPerSegment = 2000;
+
+        /**
+         * Interval in milliseconds after which partly filled segments are written
+         */
+        private long segmentFlushIntervalMs = 300000;
+
+        /**
+         * Segments older than this many days are deleted
+         */
+        private int retentionDays = 90;
+
+        /**
+         * Days older than this are merged into one segment per shipper and downsampled
+         */
+        private int downsampleAfterDays = 7;
+
+        /**
+         * Spacing in seconds between points of downsampled days
+         */
+        private int downsampledIntervalSeconds = 60;
+
+        /**
+         * Interval in milliseconds between retention and downsampling runs
+         */
+        private long maintenanceIntervalMs = 3600000;
+
+        /**
+         * Longest time range a single track query may cover
+         */
+        private int maxQueryDays = 7;
+    }
+}
@@ -0,0 +1,30 @@
+package org.f3.postalmanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Delivery of STOMP messages across backend nodes.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "websocket")
+public class WebSocketProperties {
+
+    private FanoutSettings fanout = new FanoutSettings();
+
+    @Data
+    public static class FanoutSettings {
+        /**
+         * Send every STOMP message through a RabbitMQ fanout exchange so each node delivers it
+         * to its own connected clients. Required when more than one backend node runs.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Fanout exchange shared by all nodes; each node binds its own temporary queue
+         */
+        private String exchange = "stomp.fanout";
+    }
+}
@@ -11,6 +11,7 @@ import org.f3.postalmanagement.dto.response.administrative.WardResponse;
 import org.f3.postalmanagement.dto.response.office.OfficeResponse;
 import org.f3.postalmanagement.dto.response.route.RouteResponse;
 import org.f3.postalmanagement.entity.ApiResponse;
+import org.f3.postalmanagement.enums.RoutingCostFunction;
 import org.f3.postalmanagement.service.IAdministrativeService;
 import org.f3.postalmanagement.service.IRouteService;
 import org.springframework.data.domain.PageRequest;
@@ -204,15 +205,22 @@ public class AdministrativeController {
     @Operation(
             summary = "Calculate package transfer route",
             description = "Calculate the predefined transfer route for a package from origin office to destination ward. " +
-                    "Returns ordered list of stops including hubs and warehouses."
+                    "Returns ordered list of stops including hubs and warehouses. " +
+                    "The hub-to-hub part minimizes the chosen cost (TIME, DISTANCE or SLA); " +
+                    "optionally returns alternative routes through other hubs."
     )
     public ResponseEntity<ApiResponse<RouteResponse>> calculateRoute(
             @Parameter(description = "Origin office UUID", required = true)
             @RequestParam UUID originOfficeId,
             @Parameter(description = "Destination ward code", required = true)
-            @RequestParam String destinationWardCode
+            @RequestParam String destinationWardCode,
+            @Parameter(description = "Cost function for hub-to-hub routing (default from configuration)")
+            @RequestParam(required = false) RoutingCostFunction costFunction,
+            @Parameter(description = "Number of alternative routes to include")
+            @RequestParam(defaultValue = "0") int alternatives
     ) {
-        RouteResponse route = routeService.calculatePackageRoute(originOfficeId, destinationWardCode);
+        RouteResponse route = routeService.calculatePackageRoute(originOfficeId, destinationWardCode,
+                costFunction, alternatives);
         
         return ResponseEntity.ok(
                 ApiResponse.<RouteResponse>builder()
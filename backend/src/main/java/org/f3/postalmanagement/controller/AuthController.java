@@ -8,9 +8,11 @@ import org.f3.postalmanagement.dto.request.auth.CustomerRegisterRequest;
 import org.f3.postalmanagement.dto.request.auth.LoginRequest;
 import org.f3.postalmanagement.dto.response.auth.AuthResponse;
 import org.f3.postalmanagement.entity.ApiResponse;
+import org.f3.postalmanagement.entity.actor.CustomUserDetails;
 import org.f3.postalmanagement.service.IAuthService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -45,4 +47,16 @@ public class AuthController {
                         .build()
         );
     }
+
+    @PostMapping("/logout")
+    @Operation(summary = "Logout", description = "Revoke the token sent with this request on every node")
+    public ResponseEntity<ApiResponse<Void>> logout(@AuthenticationPrincipal CustomUserDetails currentUser) {
+        authService.logout(currentUser);
+        return ResponseEntity.ok(
+                ApiResponse.<Void>builder()
+                        .success(true)
+                        .message("Logout successful")
+                        .build()
+        );
+    }
 }
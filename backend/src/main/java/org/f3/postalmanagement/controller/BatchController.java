@@ -17,9 +17,11 @@ import org.f3.postalmanagement.dto.response.PageResponse;
 import org.f3.postalmanagement.dto.response.batch.AutoBatchResultResponse;
 import org.f3.postalmanagement.dto.response.batch.BatchPackageResponse;
 import org.f3.postalmanagement.dto.response.batch.BatchableDestinationsResponse;
+import org.f3.postalmanagement.dto.response.batch.BatchingRunMetricsResponse;
 import org.f3.postalmanagement.entity.actor.Account;
 import org.f3.postalmanagement.enums.BatchStatus;
 import org.f3.postalmanagement.service.IBatchService;
+import org.f3.postalmanagement.service.batch.BatchingEngine;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -45,6 +47,7 @@ import java.util.UUID;
 public class BatchController {
 
     private final IBatchService batchService;
+    private final BatchingEngine batchingEngine;
 
     // ==================== BATCH CREATION ====================
 
@@ -73,7 +76,8 @@ public class BatchController {
     @Operation(
             summary = "Auto-batch orders",
             description = "Automatically group orders by destination and consolidate into optimized batches. " +
-                    "Uses First Fit Decreasing algorithm to maximize orders per batch while respecting weight limits.",
+                    "Packing algorithm is selectable (FIRST_FIT_DECREASING, BEST_FIT_DECREASING, DIMENSION_AWARE) " +
+                    "to maximize orders per batch while respecting weight, volume and container limits.",
             security = @SecurityRequirement(name = "bearerAuth")
     )
     @ApiResponses({
@@ -89,6 +93,26 @@ public class BatchController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/auto-batch/metrics")
+    @PreAuthorize("hasAnyRole('SYSTEM_ADMIN', 'NATIONAL_MANAGER', 'HUB_ADMIN')")
+    @Operation(
+            summary = "Get auto-batch engine metrics",
+            description = "Get metrics of the most recent scheduled auto-batch run: route pairs scanned, orders batched and wall time.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Metrics retrieved",
+                    content = @Content(schema = @Schema(implementation = BatchingRunMetricsResponse.class))),
+            @ApiResponse(responseCode = "204", description = "The engine has not run yet")
+    })
+    public ResponseEntity<BatchingRunMetricsResponse> getAutoBatchMetrics() {
+        BatchingRunMetricsResponse metrics = batchingEngine.getLastRunMetrics();
+        if (metrics == null) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(metrics);
+    }
+
     // ==================== BATCH OPERATIONS ====================
 
     @PostMapping("/add-orders")
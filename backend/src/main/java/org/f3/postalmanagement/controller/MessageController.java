@@ -15,6 +15,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import org.springframework.security.access.prepost.PreAuthorize;
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
@@ -49,6 +50,19 @@ public class MessageController {
                 .build());
     }
 
+    @GetMapping("/conversation/{userId}")
+    public ResponseEntity<ApiResponse<List<MessageResponse>>> getConversationBefore(
+            @PathVariable UUID userId,
+            @RequestParam(required = false) Instant before,
+            @RequestParam(required = false) UUID beforeId,
+            @RequestParam(defaultValue = "20") int size) {
+        List<MessageResponse> messages = messageService.getConversationBefore(userId, before, beforeId, size);
+        return ResponseEntity.ok(ApiResponse.<List<MessageResponse>>builder()
+                .data(messages)
+                .success(true)
+                .build());
+    }
+
     @GetMapping("/contacts")
     public ResponseEntity<ApiResponse<List<ContactResponse>>> getRecentContacts(
             @RequestParam(defaultValue = "10") int limit) {
@@ -0,0 +1,64 @@
+package org.f3.postalmanagement.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.f3.postalmanagement.dto.notification.NotificationInboxResponse;
+import org.f3.postalmanagement.entity.actor.Account;
+import org.f3.postalmanagement.service.INotificationService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Controller for the notification inbox that backs real-time notifications.
+ */
+@RestController
+@RequestMapping("/api/notifications")
+@RequiredArgsConstructor
+@PreAuthorize("isAuthenticated()")
+@Tag(name = "Notifications", description = "Stored notifications and unread counts")
+public class NotificationController {
+
+    private final INotificationService notificationService;
+
+    @GetMapping
+    @Operation(summary = "Catch up on notifications",
+            description = "Notifications stored after since, oldest first. Reconnecting clients pass the nextSince of their last call.")
+    public ResponseEntity<NotificationInboxResponse> getInbox(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size,
+            @AuthenticationPrincipal(expression = "account") Account currentAccount) {
+        return ResponseEntity.ok(notificationService.getInbox(since, page, size, currentAccount));
+    }
+
+    @GetMapping("/unread-count")
+    @Operation(summary = "Get unread count", description = "Unread notifications of the current user and their office")
+    public ResponseEntity<Long> getUnreadCount(
+            @AuthenticationPrincipal(expression = "account") Account currentAccount) {
+        return ResponseEntity.ok(notificationService.getUnreadCount(currentAccount));
+    }
+
+    @PostMapping("/{notificationId}/read")
+    @Operation(summary = "Mark notification as read")
+    public ResponseEntity<Void> markAsRead(
+            @PathVariable UUID notificationId,
+            @AuthenticationPrincipal(expression = "account") Account currentAccount) {
+        notificationService.markAsRead(notificationId, currentAccount);
+        return ResponseEntity.ok().build();
+    }
+
+    @PostMapping("/read-all")
+    @Operation(summary = "Mark all notifications as read")
+    public ResponseEntity<Void> markAllAsRead(
+            @AuthenticationPrincipal(expression = "account") Account currentAccount) {
+        notificationService.markAllAsRead(currentAccount);
+        return ResponseEntity.ok().build();
+    }
+}
@@ -12,6 +12,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.f3.postalmanagement.dto.request.order.AssignShipperRequest;
+import org.f3.postalmanagement.dto.request.order.AutoAssignShipperRequest;
 import org.f3.postalmanagement.dto.request.order.CalculatePriceRequest;
 import org.f3.postalmanagement.dto.request.order.CreateCommentRequest;
 import org.f3.postalmanagement.dto.request.order.AssignDeliveryRequest;
@@ -36,6 +37,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -304,6 +306,27 @@ public class OrderController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/assign-shipper/auto")
+    @PreAuthorize("hasAnyRole('PO_STAFF', 'PO_WARD_MANAGER', 'PO_PROVINCE_ADMIN')")
+    @Operation(
+            summary = "Auto-assign shippers to pickup orders",
+            description = "Assigns pending pickup orders to the nearest shippers of the office that reported " +
+                    "their position recently, balancing distance against each shipper's open orders. " +
+                    "Orders without sender coordinates or without a shipper in range are left unassigned.",
+            security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Orders that were assigned"),
+            @ApiResponse(responseCode = "400", description = "An order is not in PENDING_PICKUP status"),
+            @ApiResponse(responseCode = "403", description = "Insufficient permissions")
+    })
+    public ResponseEntity<List<OrderResponse>> autoAssignShippersToPickup(
+            @Valid @RequestBody AutoAssignShipperRequest request,
+            @AuthenticationPrincipal(expression = "account") Account currentAccount
+    ) {
+        return ResponseEntity.ok(orderService.autoAssignShippersToPickup(request, currentAccount));
+    }
+
     // ==================== SHIPPER ENDPOINTS ====================
 
     @GetMapping("/shipper/deliveries")
@@ -9,6 +9,7 @@ import lombok.RequiredArgsConstructor;
 import org.f3.postalmanagement.dto.request.employee.CreateShipperRequest;
 import org.f3.postalmanagement.dto.request.employee.UpdateStaffRequest;
 import org.f3.postalmanagement.dto.response.PageResponse;
+import org.f3.postalmanagement.dto.response.employee.DeliveryRunResponse;
 import org.f3.postalmanagement.dto.response.employee.EmployeeResponse;
 import org.f3.postalmanagement.entity.ApiResponse;
 import org.f3.postalmanagement.entity.actor.CustomUserDetails;
@@ -103,6 +104,28 @@ public class ShipperController {
         );
     }
 
+    @GetMapping("/{shipperId}/delivery-run")
+    @PreAuthorize("hasAnyRole('SYSTEM_ADMIN', 'HUB_ADMIN', 'WH_PROVINCE_ADMIN', 'WH_WARD_MANAGER', 'PO_PROVINCE_ADMIN', 'PO_WARD_MANAGER', 'PO_STAFF', 'WH_STAFF', 'SHIPPER')")
+    @Operation(
+            summary = "Get a shipper's delivery run",
+            description = "Suggested stop order for the shipper's orders that are out for delivery, starting from " +
+                    "their last position, with estimated distances and arrival times. Shippers can view their own run."
+    )
+    public ResponseEntity<ApiResponse<DeliveryRunResponse>> getDeliveryRun(
+            @PathVariable UUID shipperId,
+            @AuthenticationPrincipal CustomUserDetails userDetails
+    ) {
+        DeliveryRunResponse response = shipperService.getDeliveryRun(shipperId, userDetails.getAccount());
+
+        return ResponseEntity.ok(
+                ApiResponse.<DeliveryRunResponse>builder()
+                        .success(true)
+                        .message("Delivery run computed successfully")
+                        .data(response)
+                        .build()
+        );
+    }
+
     @PutMapping("/{shipperId}")
     @PreAuthorize("hasAnyRole('SYSTEM_ADMIN', 'HUB_ADMIN', 'WH_PROVINCE_ADMIN', 'WH_WARD_MANAGER', 'PO_PROVINCE_ADMIN', 'PO_WARD_MANAGER')")
     @Operation(
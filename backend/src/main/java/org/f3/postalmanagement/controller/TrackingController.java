@@ -4,15 +4,20 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.f3.postalmanagement.dto.request.tracking.DeliverySessionRequest;
 import org.f3.postalmanagement.dto.request.tracking.LocationUpdateRequest;
+import org.f3.postalmanagement.dto.response.tracking.NearbyShipperResponse;
 import org.f3.postalmanagement.dto.response.tracking.ShipperLocationResponse;
+import org.f3.postalmanagement.dto.response.tracking.ShipperTrackResponse;
 import org.f3.postalmanagement.entity.actor.Account;
 import org.f3.postalmanagement.service.ITrackingService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -44,8 +49,29 @@ public class TrackingController {
         return ResponseEntity.ok(trackingService.getShipperLocation(shipperId));
     }
 
+    @GetMapping("/shipper/{shipperId}/track")
+    @PreAuthorize("hasAnyRole('SYSTEM_ADMIN', 'HUB_ADMIN', 'WH_PROVINCE_ADMIN', 'WH_WARD_MANAGER', 'PO_PROVINCE_ADMIN', 'PO_WARD_MANAGER')")
+    @Operation(summary = "Get shipper track", description = "Recorded positions of a shipper between two instants, as an encoded polyline")
+    public ResponseEntity<ShipperTrackResponse> getShipperTrack(
+            @PathVariable UUID shipperId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(trackingService.getShipperTrack(shipperId, from, to));
+    }
+
+    @GetMapping("/shippers/nearby")
+    @PreAuthorize("hasAnyRole('SYSTEM_ADMIN', 'HUB_ADMIN', 'WH_PROVINCE_ADMIN', 'WH_WARD_MANAGER', 'PO_PROVINCE_ADMIN', 'PO_WARD_MANAGER', 'PO_STAFF')")
+    @Operation(summary = "Find nearest shippers", description = "Shippers with a recent position closest to a point, with their open orders")
+    public ResponseEntity<List<NearbyShipperResponse>> findNearestShippers(
+            @RequestParam double latitude,
+            @RequestParam double longitude,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) UUID officeId) {
+        return ResponseEntity.ok(trackingService.findNearestShippers(latitude, longitude, limit, officeId));
+    }
+
     @GetMapping("/order/{orderId}")
-    @Operation(summary = "Get shipper location for order", description = "Public: customers can track delivery")
+    @Operation(summary = "Get shipper location for order", description = "Public: customers can track delivery. Live updates are pushed on STOMP topic /topic/tracking/order/{orderId}")
     public ResponseEntity<ShipperLocationResponse> getShipperLocationForOrder(@PathVariable UUID orderId) {
         return ResponseEntity.ok(trackingService.getShipperLocationForOrder(orderId));
     }
@@ -70,6 +96,26 @@ public class TrackingController {
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping("/start")
+    @PreAuthorize("hasRole('SHIPPER')")
+    @Operation(summary = "Start delivery run", description = "Set several orders to OUT_FOR_DELIVERY and start tracking them")
+    public ResponseEntity<Void> startDeliveries(
+            @Valid @RequestBody DeliverySessionRequest request,
+            @AuthenticationPrincipal(expression = "account") Account currentAccount) {
+        trackingService.startDeliverySessions(request.getOrderIds(), currentAccount);
+        return ResponseEntity.ok().build();
+    }
+
+    @PostMapping("/end")
+    @PreAuthorize("hasRole('SHIPPER')")
+    @Operation(summary = "End delivery sessions", description = "Stop tracking for several orders")
+    public ResponseEntity<Void> endDeliveries(
+            @Valid @RequestBody DeliverySessionRequest request,
+            @AuthenticationPrincipal(expression = "account") Account currentAccount) {
+        trackingService.endDeliverySessions(request.getOrderIds(), currentAccount);
+        return ResponseEntity.ok().build();
+    }
+
     @GetMapping("/active")
     @PreAuthorize("hasAnyRole('SYSTEM_ADMIN', 'HUB_ADMIN', 'WH_PROVINCE_ADMIN', 'WH_WARD_MANAGER', 'PO_PROVINCE_ADMIN', 'PO_WARD_MANAGER')")
     @Operation(summary = "Get active shippers", description = "Get all shippers currently on delivery")
@@ -0,0 +1,30 @@
+package org.f3.postalmanagement.dto.notification;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Notifications stored since a point in time, oldest first")
+public class NotificationInboxResponse {
+
+    private List<NotificationMessage> notifications;
+
+    @Schema(description = "Unread notifications of the user and their office")
+    private long unreadCount;
+
+    @Schema(description = "Whether another page follows for the same since")
+    private boolean hasNext;
+
+    @Schema(description = "Value to pass as since on the next catch-up once all pages are read. " +
+            "It overlaps the previous call by a few seconds; drop repeats by idempotencyKey.")
+    private LocalDateTime nextSince;
+}
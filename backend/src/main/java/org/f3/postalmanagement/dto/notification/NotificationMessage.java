@@ -21,6 +21,13 @@ import java.util.UUID;
 public class NotificationMessage implements Serializable {
 
     private UUID id;
+
+    /**
+     * Identity of one notification event, the same for every redelivery of it, so relays and
+     * clients can drop duplicates. A later event about the same order gets a new key.
+     */
+    private String idempotencyKey;
+
     private NotificationType type;
     private String title;
     private String message;
@@ -52,8 +59,10 @@ public class NotificationMessage implements Serializable {
             String customerName,
             String pickupAddress
     ) {
+        UUID id = UUID.randomUUID();
         return NotificationMessage.builder()
-                .id(UUID.randomUUID())
+                .id(id)
+                .idempotencyKey(id.toString())
                 .type(NotificationType.NEW_PICKUP_ORDER)
                 .title("New Pickup Order")
                 .message("New order " + trackingNumber + " from " + customerName + " requires pickup at: " + pickupAddress)
@@ -76,8 +85,10 @@ public class NotificationMessage implements Serializable {
             String pickupAddress,
             String assignedByName
     ) {
+        UUID id = UUID.randomUUID();
         return NotificationMessage.builder()
-                .id(UUID.randomUUID())
+                .id(id)
+                .idempotencyKey(id.toString())
                 .type(NotificationType.ORDER_ASSIGNED)
                 .title("New Pickup Assignment")
                 .message("You have been assigned to pickup order " + trackingNumber + " from " + customerName)
@@ -4,6 +4,7 @@ import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
+import org.f3.postalmanagement.enums.PackingAlgorithm;
 
 import java.math.BigDecimal;
 import java.util.UUID;
@@ -51,4 +52,23 @@ public class AutoBatchRequest {
      * that don't fit in existing batches
      */
     private boolean createNewBatches = true;
+
+    /**
+     * Bin-packing algorithm to use.
+     * If null, the configured default (batching.packing-algorithm) is used.
+     */
+    private PackingAlgorithm packingAlgorithm;
+
+    /**
+     * Inner container dimensions in cm, used by DIMENSION_AWARE packing.
+     * If null, the configured default container is used.
+     */
+    @DecimalMin(value = "1", message = "Container length must be positive")
+    private BigDecimal containerLengthCm;
+
+    @DecimalMin(value = "1", message = "Container width must be positive")
+    private BigDecimal containerWidthCm;
+
+    @DecimalMin(value = "1", message = "Container height must be positive")
+    private BigDecimal containerHeightCm;
 }
@@ -0,0 +1,29 @@
+package org.f3.postalmanagement.dto.request.order;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO for staff to let the system pick shippers for pending pickups.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request to assign the nearest available shippers to pending pickup orders")
+public class AutoAssignShipperRequest {
+
+    @Size(max = 200, message = "At most 200 orders can be assigned at once")
+    @Schema(description = "Unassigned pending pickup orders to assign; all of them at the office when empty")
+    private List<UUID> orderIds;
+
+    @Schema(description = "Additional notes for the shippers")
+    private String notes;
+}
@@ -0,0 +1,22 @@
+package org.f3.postalmanagement.dto.request.tracking;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeliverySessionRequest {
+
+    @NotEmpty(message = "At least one order is required")
+    @Size(max = 500, message = "At most 500 orders per call")
+    private List<UUID> orderIds;
+}
@@ -0,0 +1,37 @@
+package org.f3.postalmanagement.dto.response.batch;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Metrics collected for one run of the batching engine.
+ */
+@Data
+@Builder
+@Schema(description = "Batching engine run metrics")
+public class BatchingRunMetricsResponse {
+
+    @Schema(description = "When the run started")
+    private LocalDateTime startedAt;
+
+    @Schema(description = "Number of (origin, destination) pairs with unbatched orders")
+    private int pairsScanned;
+
+    @Schema(description = "Number of pairs that failed to batch")
+    private int pairsFailed;
+
+    @Schema(description = "Unbatched orders reported by the grouped query")
+    private long ordersPending;
+
+    @Schema(description = "Orders placed into batches during the run")
+    private long ordersBatched;
+
+    @Schema(description = "New batches created during the run")
+    private long newBatchesCreated;
+
+    @Schema(description = "Wall-clock duration of the run in milliseconds")
+    private long wallTimeMs;
+}
@@ -0,0 +1,42 @@
+package org.f3.postalmanagement.dto.response.employee;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@Schema(description = "Suggested stop order for a shipper's current deliveries")
+public class DeliveryRunResponse {
+
+    @Schema(description = "Shipper ID")
+    private UUID shipperId;
+
+    @Schema(description = "Latitude the run starts from")
+    private Double startLatitude;
+
+    @Schema(description = "Longitude the run starts from")
+    private Double startLongitude;
+
+    @Schema(description = "Where the start comes from: LIVE (last GPS position), OFFICE (office area) or FIRST_STOP")
+    private String startSource;
+
+    @Schema(description = "Estimated road distance of the whole run in km")
+    private double totalDistanceKm;
+
+    @Schema(description = "Estimated time to finish the run in minutes, including time at each stop")
+    private long estimatedMinutes;
+
+    @Schema(description = "Stops in the suggested order")
+    private List<DeliveryRunStopResponse> stops;
+
+    @Schema(description = "Orders that could not be placed because their address has no known location")
+    private List<UUID> unlocatedOrderIds;
+
+    @Schema(description = "When the run was computed")
+    private LocalDateTime computedAt;
+}
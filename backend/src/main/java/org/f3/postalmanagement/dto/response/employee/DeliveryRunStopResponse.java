@@ -0,0 +1,34 @@
+package org.f3.postalmanagement.dto.response.employee;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@Schema(description = "One stop of a delivery run")
+public class DeliveryRunStopResponse {
+
+    @Schema(description = "Position in the run, starting at 1")
+    private int sequence;
+
+    private UUID orderId;
+    private String trackingNumber;
+    private String receiverName;
+    private String receiverPhone;
+    private String receiverAddress;
+    private Double latitude;
+    private Double longitude;
+
+    @Schema(description = "Location is the centre of the receiver's ward, not the exact address")
+    private boolean locationApproximate;
+
+    @Schema(description = "Estimated road distance from the previous stop in meters")
+    private long legDistanceMeters;
+
+    @Schema(description = "Estimated arrival time")
+    private LocalDateTime estimatedArrival;
+}
@@ -84,6 +84,12 @@ public class OrderResponse {
     @Schema(description = "Sender longitude (for map display)")
     private Double senderLongitude;
 
+    @Schema(description = "True when the sender position is the ward or province centroid, not the exact address")
+    private boolean senderLocationApproximate;
+
+    @Schema(description = "True when the receiver position is the ward or province centroid, not the exact address")
+    private boolean receiverLocationApproximate;
+
     // ==================== PACKAGE INFO ====================
 
     @Schema(description = "Package type", example = "BOX")
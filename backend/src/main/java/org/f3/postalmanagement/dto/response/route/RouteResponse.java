@@ -3,6 +3,7 @@ package org.f3.postalmanagement.dto.response.route;
 import lombok.Builder;
 import lombok.Data;
 import org.f3.postalmanagement.enums.OfficeType;
+import org.f3.postalmanagement.enums.RoutingCostFunction;
 
 import java.util.List;
 import java.util.UUID;
@@ -44,6 +45,16 @@ public class RouteResponse {
      */
     private boolean sameProvince;
 
+    /**
+     * Cost function used to choose the hub-to-hub path.
+     */
+    private RoutingCostFunction costFunction;
+
+    /**
+     * Alternative routes through other hubs, cheapest first (only when requested).
+     */
+    private List<RouteResponse> alternatives;
+
     @Data
     @Builder
     public static class RouteStop {
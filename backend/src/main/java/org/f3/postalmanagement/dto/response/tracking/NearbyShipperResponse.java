@@ -0,0 +1,23 @@
+package org.f3.postalmanagement.dto.response.tracking;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Shipper near a point, with their current load")
+public class NearbyShipperResponse {
+
+    private ShipperLocationResponse location;
+
+    @Schema(description = "Great-circle distance from the query point in meters")
+    private double distanceMeters;
+
+    @Schema(description = "Orders the shipper holds for pickup or delivery")
+    private long openOrders;
+}
@@ -0,0 +1,35 @@
+package org.f3.postalmanagement.dto.response.tracking;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Recorded track of a shipper over a time range")
+public class ShipperTrackResponse {
+
+    private UUID shipperId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    @Schema(description = "Number of points in the track")
+    private int pointCount;
+
+    @Schema(description = "Length of the track in km")
+    private double distanceKm;
+
+    @Schema(description = "Track as a Google encoded polyline (precision 5)")
+    private String polyline;
+
+    @Schema(description = "Epoch second of every point, in polyline order")
+    private List<Long> timestamps;
+}
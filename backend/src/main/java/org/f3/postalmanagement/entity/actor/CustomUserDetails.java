@@ -2,6 +2,7 @@ package org.f3.postalmanagement.entity.actor;
 
 import lombok.Getter;
 import lombok.Setter;
+import org.f3.postalmanagement.jwt.TokenScope;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -16,8 +17,18 @@ public class CustomUserDetails implements UserDetails {
 
     private final Account account;
 
+    /**
+     * Claims of the token the request was authenticated with; null outside token authentication
+     */
+    private final TokenScope scope;
+
     public CustomUserDetails(Account account) {
+        this(account, null);
+    }
+
+    public CustomUserDetails(Account account, TokenScope scope) {
         this.account = account;
+        this.scope = scope;
     }
 
     @Override
@@ -0,0 +1,36 @@
+package org.f3.postalmanagement.entity.auth;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.f3.postalmanagement.entity.BaseEntity;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A token that must no longer authenticate, kept until it would have expired anyway.
+ */
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+    @Index(name = "idx_revoked_token_expires", columnList = "expires_at")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_revoked_token_token", columnNames = "token_id")
+})
+@Getter
+@Setter
+public class RevokedToken extends BaseEntity {
+
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "token_id", nullable = false)
+    private UUID tokenId;
+
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "account_id", nullable = false)
+    private UUID accountId;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,42 @@
+package org.f3.postalmanagement.entity.geocoding;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persisted geocoding result, so the in-memory cache survives restarts.
+ * Entries without coordinates record addresses the geocoder could not resolve.
+ */
+@Entity
+@Table(name = "geocode_cache", indexes = {
+    @Index(name = "idx_geocode_cache_expires_at", columnList = "expires_at")
+})
+@Getter
+@Setter
+public class GeocodeCacheEntry {
+
+    /**
+     * SHA-256 of the normalized address
+     */
+    @Id
+    @Column(name = "address_hash", length = 64)
+    private String addressHash;
+
+    @Column(name = "address", nullable = false, length = 1000)
+    private String address;
+
+    @Column(name = "latitude")
+    private Double latitude;
+
+    @Column(name = "longitude")
+    private Double longitude;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
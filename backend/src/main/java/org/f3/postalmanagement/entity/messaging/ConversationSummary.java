@@ -0,0 +1,56 @@
+package org.f3.postalmanagement.entity.messaging;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.f3.postalmanagement.entity.BaseEntity;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One side of a conversation as shown in the contact list: the last message exchanged
+ * with a contact and how many of the contact's messages the owner has not read. Each
+ * conversation has a row per participant, kept current as messages are sent and read.
+ */
+@Entity
+@Table(name = "conversation_summaries", indexes = {
+    @Index(name = "idx_conversation_summary_owner_last", columnList = "owner_id, last_message_at")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_conversation_summary_owner_contact", columnNames = {"owner_id", "contact_id"})
+})
+@Getter
+@Setter
+public class ConversationSummary extends BaseEntity {
+
+    public static final int PREVIEW_LENGTH = 500;
+
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "owner_id", nullable = false)
+    private UUID ownerId;
+
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "contact_id", nullable = false)
+    private UUID contactId;
+
+    @Column(name = "conversation_id", nullable = false, length = 73)
+    private String conversationId;
+
+    @Column(name = "last_message", length = PREVIEW_LENGTH)
+    private String lastMessage;
+
+    @Column(name = "last_message_at", nullable = false)
+    private Instant lastMessageAt;
+
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "last_sender_id")
+    private UUID lastSenderId;
+
+    /**
+     * Messages from the contact the owner has not read
+     */
+    @Column(name = "unread_count", nullable = false)
+    private long unreadCount;
+}
@@ -6,9 +6,12 @@ import org.f3.postalmanagement.entity.BaseEntity;
 import org.f3.postalmanagement.entity.actor.Account;
 
 import java.time.Instant;
+import java.util.UUID;
 
 @Entity
-@Table(name = "messages")
+@Table(name = "messages", indexes = {
+    @Index(name = "idx_message_conversation_sent", columnList = "conversation_id, sent_at, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -24,6 +27,12 @@ public class Message extends BaseEntity {
     @JoinColumn(name = "receiver_id", nullable = false)
     private Account receiver;
 
+    /**
+     * Same for both directions of a conversation, see {@link #conversationIdOf}
+     */
+    @Column(name = "conversation_id", length = 73)
+    private String conversationId;
+
     @Column(columnDefinition = "TEXT", nullable = false)
     private String content;
 
@@ -39,5 +48,17 @@ public class Message extends BaseEntity {
         if (sentAt == null) {
             sentAt = Instant.now();
         }
+        if (conversationId == null) {
+            conversationId = conversationIdOf(sender.getId(), receiver.getId());
+        }
+    }
+
+    /**
+     * The two account IDs in ascending text order, joined by a colon
+     */
+    public static String conversationIdOf(UUID first, UUID second) {
+        String a = first.toString();
+        String b = second.toString();
+        return a.compareTo(b) <= 0 ? a + ":" + b : b + ":" + a;
     }
 }
@@ -0,0 +1,73 @@
+package org.f3.postalmanagement.entity.notification;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.f3.postalmanagement.entity.BaseEntity;
+import org.f3.postalmanagement.enums.NotificationType;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A notification kept for catch-up. It targets one user, every staff member of one
+ * office, or everyone when both targets are empty. Office notifications share one read
+ * state, like the office's pickup queue they usually announce.
+ */
+@Entity
+@Table(name = "notifications", indexes = {
+    @Index(name = "idx_notification_user_created", columnList = "target_user_id, created_at"),
+    @Index(name = "idx_notification_office_created", columnList = "target_office_id, created_at"),
+    @Index(name = "idx_notification_created", columnList = "created_at")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_notification_idempotency_key", columnNames = "idempotency_key")
+})
+@Getter
+@Setter
+public class Notification extends BaseEntity {
+
+    @Column(name = "idempotency_key", nullable = false, length = 150)
+    private String idempotencyKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", length = 50)
+    private NotificationType type;
+
+    @Column(name = "title")
+    private String title;
+
+    @Column(name = "message", columnDefinition = "TEXT")
+    private String message;
+
+    /**
+     * Type-specific details as JSON
+     */
+    @Column(name = "data", columnDefinition = "TEXT")
+    private String data;
+
+    @Column(name = "priority", length = 20)
+    private String priority;
+
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "target_user_id")
+    private UUID targetUserId;
+
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "target_office_id")
+    private UUID targetOfficeId;
+
+    @Column(name = "source_user_name")
+    private String sourceUserName;
+
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "order_id")
+    private UUID orderId;
+
+    @Column(name = "tracking_number", length = 50)
+    private String trackingNumber;
+
+    @Column(name = "read_at")
+    private LocalDateTime readAt;
+}
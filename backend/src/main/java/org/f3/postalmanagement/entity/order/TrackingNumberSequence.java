@@ -0,0 +1,31 @@
+package org.f3.postalmanagement.entity.order;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Shared counter from which backend nodes reserve blocks of tracking number serials.
+ * The row is locked only while a block is reserved, not per order.
+ */
+@Entity
+@Table(name = "tracking_number_sequences")
+@Getter
+@Setter
+public class TrackingNumberSequence {
+
+    @Id
+    @Column(name = "name", length = 50)
+    private String name;
+
+    /**
+     * First serial not yet reserved by any node
+     */
+    @Column(name = "next_value", nullable = false)
+    private long nextValue;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
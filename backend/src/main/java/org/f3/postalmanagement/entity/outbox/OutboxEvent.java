@@ -0,0 +1,65 @@
+package org.f3.postalmanagement.entity.outbox;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.f3.postalmanagement.entity.BaseEntity;
+
+import java.time.LocalDateTime;
+
+/**
+ * A message for RabbitMQ written in the same transaction as the change it describes.
+ * {@code OutboxRelay} publishes it after commit and records when the broker confirmed it.
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+    @Index(name = "idx_outbox_pending", columnList = "sent_at, next_attempt_at"),
+    @Index(name = "idx_outbox_aggregate", columnList = "aggregate_type, aggregate_id")
+})
+@Getter
+@Setter
+public class OutboxEvent extends BaseEntity {
+
+    /**
+     * Kind of entity the event is about, e.g. ORDER
+     */
+    @Column(name = "aggregate_type", nullable = false, length = 50)
+    private String aggregateType;
+
+    @Column(name = "aggregate_id", length = 36)
+    private String aggregateId;
+
+    @Column(name = "event_type", nullable = false, length = 50)
+    private String eventType;
+
+    @Column(name = "exchange", nullable = false, length = 100)
+    private String exchange;
+
+    @Column(name = "routing_key", nullable = false, length = 100)
+    private String routingKey;
+
+    /**
+     * Message body as serialized by the AMQP message converter
+     */
+    @Lob
+    @Column(name = "payload", nullable = false, columnDefinition = "MEDIUMTEXT")
+    private String payload;
+
+    /**
+     * Type id header the listener's converter maps back to a class
+     */
+    @Column(name = "payload_type", nullable = false, length = 255)
+    private String payloadType;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+}
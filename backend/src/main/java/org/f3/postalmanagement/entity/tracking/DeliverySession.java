@@ -0,0 +1,37 @@
+package org.f3.postalmanagement.entity.tracking;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.f3.postalmanagement.entity.BaseEntity;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * An order a shipper is delivering right now. One row per order, removed when the
+ * delivery session for that order ends.
+ */
+@Entity
+@Table(name = "delivery_sessions", indexes = {
+    @Index(name = "idx_delivery_session_shipper", columnList = "shipper_id")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_delivery_session_order", columnNames = "order_id")
+})
+@Getter
+@Setter
+public class DeliverySession extends BaseEntity {
+
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "shipper_id", nullable = false)
+    private UUID shipperId;
+
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "order_id", nullable = false)
+    private UUID orderId;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+}
@@ -0,0 +1,51 @@
+package org.f3.postalmanagement.entity.tracking;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import org.f3.postalmanagement.entity.BaseEntity;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A run of consecutive positions of one shipper on one day, stored as a
+ * delta-encoded blob (see {@code TrackCodec}) instead of one row per ping.
+ */
+@Entity
+@Table(name = "location_track_segments", indexes = {
+    @Index(name = "idx_track_segment_shipper_time", columnList = "shipper_id, start_time"),
+    @Index(name = "idx_track_segment_date", columnList = "track_date")
+})
+@Getter
+@Setter
+public class LocationTrackSegment extends BaseEntity {
+
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "shipper_id", nullable = false)
+    private UUID shipperId;
+
+    @Column(name = "track_date", nullable = false)
+    private LocalDate trackDate;
+
+    @Column(name = "start_time", nullable = false)
+    private LocalDateTime startTime;
+
+    @Column(name = "end_time", nullable = false)
+    private LocalDateTime endTime;
+
+    @Column(name = "point_count", nullable = false)
+    private int pointCount;
+
+    /**
+     * Spacing the points were downsampled to, 0 for raw segments
+     */
+    @Column(name = "resolution_seconds", nullable = false)
+    private int resolutionSeconds;
+
+    @Column(name = "data", nullable = false, columnDefinition = "MEDIUMBLOB")
+    private byte[] data;
+}
@@ -16,7 +16,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "shipper_locations", indexes = {
     @Index(name = "idx_shipper_location_shipper", columnList = "shipper_id"),
-    @Index(name = "idx_shipper_location_timestamp", columnList = "timestamp")
+    @Index(name = "idx_shipper_location_timestamp", columnList = "timestamp"),
+    @Index(name = "idx_shipper_location_updated", columnList = "updated_at")
 })
 @Getter
 @Setter
@@ -63,7 +64,8 @@ public class ShipperLocation extends BaseEntity {
     private Boolean isActive = true;
 
     /**
-     * Comma-separated list of order IDs currently being delivered
+     * Legacy comma-separated list of order IDs being delivered. Sessions now live in
+     * delivery_sessions; leftover values are migrated and cleared on startup.
      */
     @Column(name = "active_order_ids", length = 1000)
     private String activeOrderIds;
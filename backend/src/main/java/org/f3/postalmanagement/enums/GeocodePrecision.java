@@ -0,0 +1,25 @@
+package org.f3.postalmanagement.enums;
+
+/**
+ * How precisely a geocoding result locates an address, from coarsest to finest.
+ */
+public enum GeocodePrecision {
+    /**
+     * Centre of the province
+     */
+    PROVINCE,
+
+    /**
+     * Centre of the ward
+     */
+    WARD,
+
+    /**
+     * The street address itself
+     */
+    ADDRESS;
+
+    public boolean isAtLeast(GeocodePrecision other) {
+        return compareTo(other) >= 0;
+    }
+}
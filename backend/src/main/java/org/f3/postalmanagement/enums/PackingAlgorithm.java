@@ -0,0 +1,21 @@
+package org.f3.postalmanagement.enums;
+
+/**
+ * Bin-packing algorithm used to place orders into batch packages.
+ */
+public enum PackingAlgorithm {
+    /**
+     * First Fit Decreasing by chargeable weight - first open batch that fits
+     */
+    FIRST_FIT_DECREASING,
+
+    /**
+     * Best Fit Decreasing by chargeable weight - tightest open batch that fits
+     */
+    BEST_FIT_DECREASING,
+
+    /**
+     * 3D extreme-point packing using order dimensions (length/width/height)
+     */
+    DIMENSION_AWARE
+}
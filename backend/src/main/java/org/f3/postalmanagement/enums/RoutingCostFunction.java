@@ -0,0 +1,21 @@
+package org.f3.postalmanagement.enums;
+
+/**
+ * Cost minimized when choosing a path through the transfer network.
+ */
+public enum RoutingCostFunction {
+    /**
+     * Sum of route transit hours
+     */
+    TIME,
+
+    /**
+     * Sum of route distances in km
+     */
+    DISTANCE,
+
+    /**
+     * Transit hours plus handling time at every hub passed and a penalty for non-preferred routes
+     */
+    SLA
+}
@@ -0,0 +1,17 @@
+package org.f3.postalmanagement.jwt;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * An account was changed in a way that affects authentication: deactivated, deleted,
+ * or given new credentials or role.
+ */
+@Getter
+@AllArgsConstructor
+public class AccountChangedEvent {
+
+    private final UUID accountId;
+}
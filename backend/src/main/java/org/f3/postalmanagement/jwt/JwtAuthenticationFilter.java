@@ -1,5 +1,6 @@
 package org.f3.postalmanagement.jwt;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,7 +8,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.f3.postalmanagement.entity.actor.CustomUserDetails;
-import org.f3.postalmanagement.service.impl.UserDetailsServiceImpl;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -18,17 +18,26 @@ import java.io.IOException;
 
 import java.util.UUID;
 
+/**
+ * Authenticates requests carrying a bearer token. The token is parsed once, which also
+ * checks its signature and expiry, and the account comes from the {@link PrincipalCache}.
+ * The token's claims travel with the principal as a {@link TokenScope}; revoked tokens
+ * are turned away by the in-memory {@link TokenRevocationList}.
+ */
 @Component
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
 
-    private final UserDetailsServiceImpl userDetailsService;
+    private final PrincipalCache principalCache;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsServiceImpl userDetailsService) {
+    private final TokenRevocationList revocationList;
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, PrincipalCache principalCache, TokenRevocationList revocationList) {
         this.jwtUtil = jwtUtil;
-        this.userDetailsService = userDetailsService;
+        this.principalCache = principalCache;
+        this.revocationList = revocationList;
     }
 
     @Override
@@ -40,14 +49,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         log.debug("JWT Filter - Path: {}, Auth header present: {}", request.getRequestURI(), authHeader != null);
 
         UUID id = null;
-        String jwt = null;
+        TokenScope scope = null;
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            jwt = authHeader.substring(7);
+            String jwt = authHeader.substring(7);
             log.debug("JWT Filter - Token extracted, length: {}", jwt.length());
             try {
-                id = UUID.fromString(jwtUtil.extractUserId(jwt));
-                log.debug("JWT Filter - User ID extracted: {}", id);
+                // Parsing verifies signature and expiry
+                Claims claims = jwtUtil.parseClaims(jwt);
+                scope = TokenScope.from(claims);
+                if (revocationList.isRevoked(scope.tokenId())) {
+                    log.debug("JWT Filter - Token {} was revoked", scope.tokenId());
+                } else {
+                    id = UUID.fromString(claims.getSubject());
+                    log.debug("JWT Filter - User ID extracted: {}", id);
+                }
             }
             catch (Exception e) {
                 // Log the exception or handle it as needed
@@ -59,8 +75,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         if (id != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             try {
-                CustomUserDetails userDetails = userDetailsService.loadUserById(id);
-                if (jwtUtil.validateToken(jwt, userDetails)) {
+                CustomUserDetails userDetails = new CustomUserDetails(principalCache.get(id).getAccount(), scope);
+                if (userDetails.isEnabled()) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
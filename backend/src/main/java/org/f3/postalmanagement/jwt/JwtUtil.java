@@ -6,6 +6,7 @@ import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import org.f3.postalmanagement.entity.actor.CustomUserDetails;
+import org.f3.postalmanagement.repository.EmployeeRepository;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -19,6 +20,12 @@ import java.util.UUID;
 @Component
 public class JwtUtil {
 
+    public static final String CLAIM_ROLE = "role";
+    public static final String CLAIM_OFFICE_ID = "officeId";
+    public static final String CLAIM_WARD_CODE = "wardCode";
+    public static final String CLAIM_PROVINCE_CODE = "provinceCode";
+    public static final String CLAIM_REGION_ID = "regionId";
+
     @Value("ZUZsJvraCKD/K8VtSbkJuw/4jGPIPHPRuBzNkkI97xN2uw2cJrZCT5pGPABywv0Mp9QtzzRz0wm0AebGxUwtUw==")
     private String secretKey;
 
@@ -42,6 +49,15 @@ public class JwtUtil {
         return claimsResolver.apply(claims);
     }
 
+    /**
+     * Verify the signature and expiry of a token and return its claims
+     *
+     * @throws JwtException when the token is invalid or expired
+     */
+    public Claims parseClaims(String token) {
+        return extractAllClaims(token);
+    }
+
     private Claims extractAllClaims(String token) {
         return Jwts.parserBuilder()
                 .setSigningKey(getSigningKey())
@@ -55,7 +71,22 @@ public class JwtUtil {
     }
 
     public String generateToken(CustomUserDetails userDetails) {
+        return generateToken(userDetails, null);
+    }
+
+    /**
+     * Token carrying the account's role and, for staff, their office and its place in the
+     * administrative hierarchy, so requests can be authorized without loading the employee
+     */
+    public String generateToken(CustomUserDetails userDetails, EmployeeRepository.OfficeScope office) {
         Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_ROLE, userDetails.getAccount().getRole().name());
+        if (office != null) {
+            claims.put(CLAIM_OFFICE_ID, office.getOfficeId().toString());
+            claims.put(CLAIM_WARD_CODE, office.getWardCode());
+            claims.put(CLAIM_PROVINCE_CODE, office.getProvinceCode());
+            claims.put(CLAIM_REGION_ID, office.getRegionId());
+        }
         return createToken(claims, userDetails.getId().toString());
     }
 
@@ -63,6 +94,7 @@ public class JwtUtil {
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
                 .signWith(getSigningKey(), SignatureAlgorithm.HS256)
@@ -0,0 +1,57 @@
+package org.f3.postalmanagement.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.f3.postalmanagement.config.AuthProperties;
+import org.f3.postalmanagement.entity.actor.CustomUserDetails;
+import org.f3.postalmanagement.service.impl.UserDetailsServiceImpl;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Accounts behind recently seen tokens, so authenticated requests skip the account lookup.
+ * <p>
+ * Entries expire after {@code auth.principal-cache.ttl-seconds} and are evicted once an
+ * {@link AccountChangedEvent} commits. Eviction happens after commit so a request running
+ * alongside the change cannot put the old state back.
+ */
+@Component
+@Slf4j
+public class PrincipalCache {
+
+    private final UserDetailsServiceImpl userDetailsService;
+    private final Cache<UUID, CustomUserDetails> principals;
+
+    public PrincipalCache(UserDetailsServiceImpl userDetailsService, AuthProperties properties) {
+        this.userDetailsService = userDetailsService;
+        AuthProperties.PrincipalCacheSettings settings = properties.getPrincipalCache();
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(settings.getMaximumSize())
+                .expireAfterWrite(Duration.ofSeconds(settings.getTtlSeconds()))
+                .build();
+    }
+
+    /**
+     * The account with this ID, loaded on a miss
+     *
+     * @throws org.f3.postalmanagement.exception.AccountNotFoundException when it does not exist
+     */
+    public CustomUserDetails get(UUID accountId) {
+        return principals.get(accountId, userDetailsService::loadUserById);
+    }
+
+    public void invalidate(UUID accountId) {
+        principals.invalidate(accountId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAccountChanged(AccountChangedEvent event) {
+        invalidate(event.getAccountId());
+        log.debug("Evicted cached principal {}", event.getAccountId());
+    }
+}
@@ -0,0 +1,87 @@
+package org.f3.postalmanagement.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.f3.postalmanagement.entity.actor.CustomUserDetails;
+import org.f3.postalmanagement.exception.AccountNotFoundException;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+import java.util.UUID;
+
+/**
+ * Authenticates STOMP sessions with the bearer token of the CONNECT frame, as browsers
+ * cannot set headers on the WebSocket handshake. The session's user is named by the
+ * account ID, which is what user destinations are addressed to. Sessions without a token
+ * stay anonymous and can still follow public topics; an invalid or revoked token is refused.
+ */
+@Component
+@Slf4j
+public class StompAuthenticationInterceptor implements ChannelInterceptor {
+
+    private final JwtUtil jwtUtil;
+
+    private final PrincipalCache principalCache;
+
+    private final TokenRevocationList revocationList;
+
+    public StompAuthenticationInterceptor(JwtUtil jwtUtil, PrincipalCache principalCache, TokenRevocationList revocationList) {
+        this.jwtUtil = jwtUtil;
+        this.principalCache = principalCache;
+        this.revocationList = revocationList;
+    }
+
+    @Override
+    public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || !StompCommand.CONNECT.equals(accessor.getCommand())) {
+            return message;
+        }
+
+        String authHeader = accessor.getFirstNativeHeader("Authorization");
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            accessor.setUser(authenticate(authHeader.substring(7)));
+        } else if (accessor.getUser() instanceof Authentication handshake
+                && handshake.getPrincipal() instanceof CustomUserDetails userDetails) {
+            // Authenticated on the handshake: the HTTP principal is named by the username
+            accessor.setUser(principalOf(userDetails));
+        }
+        return message;
+    }
+
+    private Principal authenticate(String jwt) {
+        try {
+            // Parsing verifies signature and expiry
+            Claims claims = jwtUtil.parseClaims(jwt);
+            TokenScope scope = TokenScope.from(claims);
+            if (revocationList.isRevoked(scope.tokenId())) {
+                throw new MessageDeliveryException("Token was revoked");
+            }
+            CustomUserDetails userDetails = new CustomUserDetails(
+                    principalCache.get(UUID.fromString(claims.getSubject())).getAccount(), scope);
+            if (!userDetails.isEnabled()) {
+                throw new MessageDeliveryException("Account is disabled");
+            }
+            return principalOf(userDetails);
+        } catch (JwtException | IllegalArgumentException | AccountNotFoundException e) {
+            log.debug("STOMP CONNECT with invalid token: {}", e.getMessage());
+            throw new MessageDeliveryException("Invalid token");
+        }
+    }
+
+    private static Principal principalOf(CustomUserDetails userDetails) {
+        return new UsernamePasswordAuthenticationToken(
+                userDetails.getAccount().getId().toString(), null, userDetails.getAuthorities());
+    }
+}
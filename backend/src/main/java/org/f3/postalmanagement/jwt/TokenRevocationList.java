@@ -0,0 +1,108 @@
+package org.f3.postalmanagement.jwt;
+
+import lombok.extern.slf4j.Slf4j;
+import org.f3.postalmanagement.config.RabbitMQConfig;
+import org.f3.postalmanagement.entity.auth.RevokedToken;
+import org.f3.postalmanagement.repository.RevokedTokenRepository;
+import org.f3.postalmanagement.service.outbox.OutboxWriter;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * IDs of revoked tokens that have not expired yet, held in memory on every node.
+ * <p>
+ * A revocation is stored in {@code revoked_tokens} and sent through the outbox to a
+ * fanout exchange that every node listens on, so the check on each request is a single
+ * map lookup. The revoking node adds the token once the revocation commits, the others when
+ * the message arrives. Nodes load the stored revocations on startup; entries are dropped
+ * once the token would have expired.
+ */
+@Component
+@Slf4j
+public class TokenRevocationList {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final OutboxWriter outboxWriter;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Expiry of each revoked token
+     */
+    private final Map<UUID, LocalDateTime> revoked = new ConcurrentHashMap<>();
+
+    public TokenRevocationList(RevokedTokenRepository revokedTokenRepository, OutboxWriter outboxWriter,
+                               ApplicationEventPublisher eventPublisher) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.outboxWriter = outboxWriter;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public boolean isRevoked(UUID tokenId) {
+        return tokenId != null && revoked.containsKey(tokenId);
+    }
+
+    @Transactional
+    public void revoke(UUID accountId, TokenScope scope) {
+        if (scope.tokenId() == null || scope.expiresAt() == null || isRevoked(scope.tokenId())) {
+            return;
+        }
+        RevokedToken token = new RevokedToken();
+        token.setTokenId(scope.tokenId());
+        token.setAccountId(accountId);
+        token.setExpiresAt(scope.expiresAt());
+        revokedTokenRepository.save(token);
+
+        TokenRevokedMessage message = new TokenRevokedMessage(scope.tokenId(), scope.expiresAt());
+        outboxWriter.append("ACCOUNT", accountId, "TOKEN_REVOKED", RabbitMQConfig.AUTH_REVOCATION_EXCHANGE, "", message);
+        // Applied after commit, so a rolled back revocation never turns the token away
+        eventPublisher.publishEvent(message);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRevocationCommitted(TokenRevokedMessage message) {
+        apply(message);
+    }
+
+    @RabbitListener(queues = "#{authRevocationQueue.name}")
+    public void onTokenRevoked(TokenRevokedMessage message) {
+        apply(message);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        for (RevokedToken token : revokedTokenRepository.findByExpiresAtAfter(LocalDateTime.now())) {
+            revoked.put(token.getTokenId(), token.getExpiresAt());
+        }
+        log.info("Loaded {} revoked tokens", revoked.size());
+    }
+
+    @Scheduled(fixedDelayString = "${auth.revocation.cleanup-interval-ms:3600000}")
+    @Transactional
+    public void cleanup() {
+        LocalDateTime now = LocalDateTime.now();
+        revoked.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+        int deleted = revokedTokenRepository.deleteExpired(now);
+        if (deleted > 0) {
+            log.info("Deleted {} expired token revocations", deleted);
+        }
+    }
+
+    private void apply(TokenRevokedMessage message) {
+        if (message.getTokenId() != null && message.getExpiresAt() != null) {
+            revoked.put(message.getTokenId(), message.getExpiresAt());
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package org.f3.postalmanagement.jwt;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Sent to every node when a token is revoked.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRevokedMessage {
+
+    private UUID tokenId;
+
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,38 @@
+package org.f3.postalmanagement.jwt;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+
+/**
+ * What a verified token says about its holder beyond the account ID: the token's own ID
+ * for revocation and, for staff, the office they worked at when they logged in. Fields
+ * are null for tokens issued before these claims existed and for customers.
+ */
+public record TokenScope(UUID tokenId,
+                         UUID officeId,
+                         String wardCode,
+                         String provinceCode,
+                         Integer regionId,
+                         LocalDateTime expiresAt) {
+
+    public static TokenScope from(Claims claims) {
+        String tokenId = claims.getId();
+        String officeId = claims.get(JwtUtil.CLAIM_OFFICE_ID, String.class);
+        return new TokenScope(
+                tokenId != null ? UUID.fromString(tokenId) : null,
+                officeId != null ? UUID.fromString(officeId) : null,
+                claims.get(JwtUtil.CLAIM_WARD_CODE, String.class),
+                claims.get(JwtUtil.CLAIM_PROVINCE_CODE, String.class),
+                claims.get(JwtUtil.CLAIM_REGION_ID, Integer.class),
+                claims.getExpiration() != null
+                        ? LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault())
+                        : null);
+    }
+
+    public boolean hasOffice() {
+        return officeId != null;
+    }
+}
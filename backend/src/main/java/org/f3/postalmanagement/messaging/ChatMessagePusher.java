@@ -0,0 +1,32 @@
+package org.f3.postalmanagement.messaging;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Pushes chat messages to the receiver's {@code /user/queue/messages} once they are
+ * committed, so open conversations update without polling the history. STOMP users are
+ * named by account ID, see {@link org.f3.postalmanagement.jwt.StompAuthenticationInterceptor}.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ChatMessagePusher {
+
+    static final String DESTINATION = "/queue/messages";
+
+    private final StompFanout stompFanout;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMessageSent(ChatMessageSentEvent event) {
+        try {
+            stompFanout.sendToUser(event.getMessage().getReceiverId().toString(), DESTINATION, event.getMessage());
+        } catch (Exception e) {
+            // The message is stored; the receiver still sees it in the history
+            log.warn("Could not push message {}: {}", event.getMessage().getId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package org.f3.postalmanagement.messaging;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.f3.postalmanagement.dto.messaging.MessageResponse;
+
+/**
+ * A chat message was stored; carries it as the receiver sees it.
+ */
+@Getter
+@AllArgsConstructor
+public class ChatMessageSentEvent {
+
+    private final MessageResponse message;
+}
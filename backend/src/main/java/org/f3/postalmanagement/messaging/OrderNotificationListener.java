@@ -1,24 +1,41 @@
 package org.f3.postalmanagement.messaging;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.f3.postalmanagement.config.RabbitMQConfig;
 import org.f3.postalmanagement.dto.notification.NotificationMessage;
+import org.f3.postalmanagement.service.notification.NotificationInbox;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 /**
  * RabbitMQ message listener that forwards messages to WebSocket clients.
  * This allows for message persistence and reliable delivery even if
  * clients are temporarily disconnected.
+ * <p>
+ * This is the only place notifications reach STOMP destinations. Messages redelivered
+ * by the broker are recognised by their idempotency key and sent once. Each notification
+ * is also stored in the {@link NotificationInbox} so offline clients can catch up.
  */
 @Component
 @Slf4j
 @RequiredArgsConstructor
 public class OrderNotificationListener {
 
-    private final SimpMessagingTemplate messagingTemplate;
+    private final StompFanout stompFanout;
+    private final NotificationInbox notificationInbox;
+
+    /**
+     * Idempotency keys forwarded recently
+     */
+    private final Cache<String, Boolean> forwarded = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterWrite(Duration.ofMinutes(10))
+            .build();
 
     /**
      * Listen for new order notifications and forward to appropriate office staff.
@@ -26,18 +43,19 @@ public class OrderNotificationListener {
     @RabbitListener(queues = RabbitMQConfig.NEW_ORDER_QUEUE)
     public void handleNewOrderNotification(NotificationMessage message) {
         log.info("Received new order notification from queue: {}", message.getTrackingNumber());
-        
+        if (isDuplicate(message)) {
+            return;
+        }
+
         try {
             // Forward to all staff at the target office
             if (message.getTargetOfficeId() != null) {
+                notificationInbox.store(message, null, message.getTargetOfficeId());
                 String destination = "/topic/office/" + message.getTargetOfficeId() + "/orders";
-                messagingTemplate.convertAndSend(destination, message);
+                stompFanout.send(destination, message);
                 log.debug("Forwarded new order notification to: {}", destination);
             }
-            
-            // Also store notification for later retrieval (could save to database here)
-            // notificationRepository.save(toEntity(message));
-            
+
         } catch (Exception e) {
             log.error("Error processing new order notification: {}", e.getMessage(), e);
         }
@@ -49,18 +67,22 @@ public class OrderNotificationListener {
     @RabbitListener(queues = RabbitMQConfig.ORDER_ASSIGNED_QUEUE)
     public void handleOrderAssignedNotification(NotificationMessage message) {
         log.info("Received order assignment notification from queue: {}", message.getTrackingNumber());
-        
+        if (isDuplicate(message)) {
+            return;
+        }
+
         try {
             // Forward to specific shipper
             if (message.getTargetUserId() != null) {
-                messagingTemplate.convertAndSendToUser(
+                notificationInbox.store(message, message.getTargetUserId(), null);
+                stompFanout.sendToUser(
                         message.getTargetUserId().toString(),
                         "/queue/assignments",
                         message
                 );
                 log.debug("Forwarded assignment notification to shipper: {}", message.getTargetUserId());
             }
-            
+
         } catch (Exception e) {
             log.error("Error processing order assignment notification: {}", e.getMessage(), e);
         }
@@ -72,13 +94,18 @@ public class OrderNotificationListener {
     @RabbitListener(queues = RabbitMQConfig.STAFF_NOTIFICATION_QUEUE)
     public void handleStaffNotification(NotificationMessage message) {
         log.info("Received staff notification from queue: {}", message.getTitle());
-        
+        if (isDuplicate(message)) {
+            return;
+        }
+
         try {
             if (message.getTargetOfficeId() != null) {
+                notificationInbox.store(message, null, message.getTargetOfficeId());
                 String destination = "/topic/office/" + message.getTargetOfficeId() + "/notifications";
-                messagingTemplate.convertAndSend(destination, message);
+                stompFanout.send(destination, message);
             } else if (message.getTargetUserId() != null) {
-                messagingTemplate.convertAndSendToUser(
+                notificationInbox.store(message, message.getTargetUserId(), null);
+                stompFanout.sendToUser(
                         message.getTargetUserId().toString(),
                         "/queue/notifications",
                         message
@@ -95,10 +122,14 @@ public class OrderNotificationListener {
     @RabbitListener(queues = RabbitMQConfig.SHIPPER_NOTIFICATION_QUEUE)
     public void handleShipperNotification(NotificationMessage message) {
         log.info("Received shipper notification from queue: {}", message.getTitle());
-        
+        if (isDuplicate(message)) {
+            return;
+        }
+
         try {
             if (message.getTargetUserId() != null) {
-                messagingTemplate.convertAndSendToUser(
+                notificationInbox.store(message, message.getTargetUserId(), null);
+                stompFanout.sendToUser(
                         message.getTargetUserId().toString(),
                         "/queue/notifications",
                         message
@@ -108,4 +139,34 @@ public class OrderNotificationListener {
             log.error("Error processing shipper notification: {}", e.getMessage(), e);
         }
     }
+
+    /**
+     * Listen for system-wide notifications and broadcast them to every connected user.
+     */
+    @RabbitListener(queues = RabbitMQConfig.SYSTEM_NOTIFICATION_QUEUE)
+    public void handleSystemNotification(NotificationMessage message) {
+        log.info("Received system notification from queue: {}", message.getTitle());
+        if (isDuplicate(message)) {
+            return;
+        }
+
+        try {
+            notificationInbox.store(message, null, null);
+            stompFanout.send("/topic/system", message);
+        } catch (Exception e) {
+            log.error("Error processing system notification: {}", e.getMessage(), e);
+        }
+    }
+
+    private boolean isDuplicate(NotificationMessage message) {
+        String key = message.getIdempotencyKey();
+        if (key == null) {
+            return false;
+        }
+        if (forwarded.asMap().putIfAbsent(key, Boolean.TRUE) != null) {
+            log.debug("Dropped duplicate notification {}", key);
+            return true;
+        }
+        return false;
+    }
 }
@@ -0,0 +1,27 @@
+package org.f3.postalmanagement.messaging;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A STOMP message on its way to every node: the destination, the user for
+ * user destinations, and the payload already serialized by the STOMP message
+ * converter, so every node sends clients exactly the same bytes.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StompEnvelope {
+
+    /**
+     * Set for user destinations, null for broadcasts
+     */
+    private String user;
+
+    private String destination;
+
+    private byte[] payload;
+
+    private String contentType;
+}
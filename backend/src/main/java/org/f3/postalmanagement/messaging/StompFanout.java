@@ -0,0 +1,136 @@
+package org.f3.postalmanagement.messaging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.f3.postalmanagement.config.WebSocketProperties;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.MessageConversionException;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Entry point for every server-initiated STOMP message.
+ * <p>
+ * With a single node messages go straight to the in-memory broker. With fan-out enabled
+ * they are published once to a RabbitMQ fanout exchange, and {@link StompFanoutListener}
+ * on every node, this one included, hands them to its local broker. Each node only
+ * reaches its own WebSocket sessions, so a client can be connected to any node.
+ * Payloads are serialized once by the publishing node with the STOMP message converter
+ * and delivered as those bytes everywhere. Sent and delivered messages are counted per
+ * destination pattern.
+ */
+@Component
+@Slf4j
+public class StompFanout {
+
+    private static final Pattern ID_SEGMENT = Pattern.compile(
+            "/[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}|/\\d+(?=/|$)");
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final RabbitTemplate rabbitTemplate;
+    private final MeterRegistry meterRegistry;
+    private final WebSocketProperties.FanoutSettings settings;
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public StompFanout(SimpMessagingTemplate messagingTemplate,
+                       RabbitTemplate rabbitTemplate,
+                       MeterRegistry meterRegistry,
+                       WebSocketProperties properties) {
+        this.messagingTemplate = messagingTemplate;
+        this.rabbitTemplate = rabbitTemplate;
+        this.meterRegistry = meterRegistry;
+        this.settings = properties.getFanout();
+    }
+
+    /**
+     * Whether messages travel through the fanout exchange, i.e. this node cannot see all subscribers
+     */
+    public boolean isClustered() {
+        return settings.isEnabled();
+    }
+
+    public void send(String destination, Object payload) {
+        if (!settings.isEnabled()) {
+            messagingTemplate.convertAndSend(destination, payload);
+            count("delivered", null, destination);
+            return;
+        }
+        dispatch(envelopeOf(null, destination, payload));
+    }
+
+    public void sendToUser(String user, String destination, Object payload) {
+        if (!settings.isEnabled()) {
+            messagingTemplate.convertAndSendToUser(user, destination, payload);
+            count("delivered", user, destination);
+            return;
+        }
+        dispatch(envelopeOf(user, destination, payload));
+    }
+
+    /**
+     * Hand a serialized message to this node's broker as is
+     */
+    public void deliverLocally(StompEnvelope envelope) {
+        String destination = envelope.getDestination();
+        if (envelope.getUser() != null) {
+            destination = messagingTemplate.getUserDestinationPrefix()
+                    + envelope.getUser().replace("/", "%2F") + destination;
+        }
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        if (envelope.getContentType() != null) {
+            headers.setContentType(MimeTypeUtils.parseMimeType(envelope.getContentType()));
+        }
+        headers.setLeaveMutable(true);
+        messagingTemplate.send(destination, MessageBuilder.createMessage(envelope.getPayload(), headers.getMessageHeaders()));
+        count("delivered", envelope.getUser(), envelope.getDestination());
+    }
+
+    /**
+     * Serialize once with the converter the local broker uses, so clustered and single-node
+     * clients get the same JSON (ISO dates rather than the AMQP converter's arrays and numbers)
+     */
+    private StompEnvelope envelopeOf(String user, String destination, Object payload) {
+        Message<?> message = messagingTemplate.getMessageConverter().toMessage(payload, null);
+        if (message == null || !(message.getPayload() instanceof byte[] bytes)) {
+            throw new MessageConversionException("Cannot serialize STOMP payload " + payload.getClass().getName());
+        }
+        Object contentType = message.getHeaders().get(MessageHeaders.CONTENT_TYPE);
+        return new StompEnvelope(user, destination, bytes, contentType != null ? contentType.toString() : null);
+    }
+
+    private void dispatch(StompEnvelope envelope) {
+        try {
+            rabbitTemplate.convertAndSend(settings.getExchange(), "", envelope);
+            count("published", envelope.getUser(), envelope.getDestination());
+        } catch (AmqpException e) {
+            // Better to reach this node's clients than nobody
+            log.warn("Fan-out of {} failed, delivering locally only: {}", envelope.getDestination(), e.getMessage());
+            count("failed", envelope.getUser(), envelope.getDestination());
+            deliverLocally(envelope);
+        }
+    }
+
+    private void count(String outcome, String user, String destination) {
+        String path = user != null ? "/user/{user}" + destination : destination;
+        String pattern = ID_SEGMENT.matcher(path).replaceAll("/{id}");
+        counters.computeIfAbsent(outcome + "|" + pattern, key -> Counter.builder("websocket.messages")
+                        .description("Server-initiated STOMP messages")
+                        .tag("destination", pattern)
+                        .tag("outcome", outcome)
+                        .register(meterRegistry))
+                .increment();
+    }
+}
@@ -0,0 +1,34 @@
+package org.f3.postalmanagement.messaging;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.f3.postalmanagement.service.tracking.StompSubscriptionRegistry;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Receives fanned-out STOMP messages on this node's own queue and delivers them to
+ * the clients connected here.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "websocket.fanout", name = "enabled", havingValue = "true")
+public class StompFanoutListener {
+
+    private final StompFanout stompFanout;
+    private final StompSubscriptionRegistry subscriptionRegistry;
+
+    @RabbitListener(queues = "#{stompFanoutQueue.name}")
+    public void handle(StompEnvelope envelope) {
+        if (envelope.getUser() == null && !subscriptionRegistry.mayHaveSubscribers(envelope.getDestination())) {
+            return;
+        }
+        try {
+            stompFanout.deliverLocally(envelope);
+        } catch (Exception e) {
+            log.error("Error delivering fanned-out message to {}: {}", envelope.getDestination(), e.getMessage(), e);
+        }
+    }
+}
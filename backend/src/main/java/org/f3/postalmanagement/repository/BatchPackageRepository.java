@@ -38,20 +38,6 @@ public interface BatchPackageRepository extends JpaRepository<BatchPackage, UUID
                                                 @Param("destinationOfficeId") UUID destinationOfficeId,
                                                 @Param("statuses") List<BatchStatus> statuses);
 
-    /**
-     * Find the best batch for an order (one with most orders already, that can still fit this order)
-     */
-    @Query("SELECT b FROM BatchPackage b WHERE " +
-           "b.originOffice.id = :originOfficeId AND " +
-           "b.destinationOffice.id = :destinationOfficeId AND " +
-           "b.status IN ('OPEN', 'PROCESSING') AND " +
-           "(b.maxOrderCount IS NULL OR b.currentOrderCount < b.maxOrderCount) AND " +
-           "b.currentWeightKg + :orderWeight <= b.maxWeightKg " +
-           "ORDER BY b.currentOrderCount DESC, b.createdAt ASC")
-    List<BatchPackage> findBestBatchForOrder(@Param("originOfficeId") UUID originOfficeId,
-                                              @Param("destinationOfficeId") UUID destinationOfficeId,
-                                              @Param("orderWeight") java.math.BigDecimal orderWeight);
-
     /**
      * Find batches by origin office
      */
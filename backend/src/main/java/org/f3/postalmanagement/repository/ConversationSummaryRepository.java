@@ -0,0 +1,62 @@
+package org.f3.postalmanagement.repository;
+
+import org.f3.postalmanagement.entity.messaging.ConversationSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public interface ConversationSummaryRepository extends JpaRepository<ConversationSummary, UUID> {
+
+    List<ConversationSummary> findByOwnerIdOrderByLastMessageAtDesc(UUID ownerId, Pageable pageable);
+
+    /**
+     * Record a message on one side of a conversation, creating the row on first contact.
+     * The preview only moves forward in time; {@code unreadIncrement} is added to the count.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO conversation_summaries (id, owner_id, contact_id, conversation_id, last_message, " +
+                   "last_message_at, last_sender_id, unread_count, created_at, updated_at) " +
+                   "VALUES (UUID(), :ownerId, :contactId, :conversationId, :lastMessage, :sentAt, :senderId, " +
+                   ":unreadIncrement, NOW(6), NOW(6)) " +
+                   "ON DUPLICATE KEY UPDATE " +
+                   "unread_count = unread_count + VALUES(unread_count), " +
+                   "last_sender_id = IF(VALUES(last_message_at) >= last_message_at, VALUES(last_sender_id), last_sender_id), " +
+                   "last_message = IF(VALUES(last_message_at) >= last_message_at, VALUES(last_message), last_message), " +
+                   "last_message_at = GREATEST(last_message_at, VALUES(last_message_at)), " +
+                   "updated_at = NOW(6)", nativeQuery = true)
+    void recordMessage(@Param("ownerId") String ownerId,
+                       @Param("contactId") String contactId,
+                       @Param("conversationId") String conversationId,
+                       @Param("lastMessage") String lastMessage,
+                       @Param("sentAt") Instant sentAt,
+                       @Param("senderId") String senderId,
+                       @Param("unreadIncrement") long unreadIncrement);
+
+    @Modifying
+    @Query("UPDATE ConversationSummary s SET s.unreadCount = 0 WHERE s.ownerId = :ownerId AND s.contactId = :contactId")
+    int markRead(@Param("ownerId") UUID ownerId, @Param("contactId") UUID contactId);
+
+    /**
+     * Build both sides of every conversation from the messages table
+     */
+    @Modifying
+    @Query(value = "INSERT INTO conversation_summaries (id, owner_id, contact_id, conversation_id, last_message, " +
+                   "last_message_at, last_sender_id, unread_count, created_at, updated_at) " +
+                   "SELECT UUID(), p.owner_id, p.contact_id, p.conversation_id, LEFT(p.content, 500), p.sent_at, p.sender_id, " +
+                   "(SELECT COUNT(*) FROM messages u WHERE u.conversation_id = p.conversation_id " +
+                   "AND u.receiver_id = p.owner_id AND u.is_read = false), NOW(6), NOW(6) " +
+                   "FROM (SELECT x.*, ROW_NUMBER() OVER (PARTITION BY x.owner_id, x.contact_id ORDER BY x.sent_at DESC) AS rn " +
+                   "FROM (SELECT m.sender_id AS owner_id, m.receiver_id AS contact_id, m.conversation_id, m.content, m.sent_at, m.sender_id " +
+                   "FROM messages m " +
+                   "UNION ALL " +
+                   "SELECT m.receiver_id, m.sender_id, m.conversation_id, m.content, m.sent_at, m.sender_id " +
+                   "FROM messages m) x) p " +
+                   "WHERE p.rn = 1", nativeQuery = true)
+    int rebuildAll();
+}
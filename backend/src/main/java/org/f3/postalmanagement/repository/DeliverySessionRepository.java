@@ -0,0 +1,24 @@
+package org.f3.postalmanagement.repository;
+
+import org.f3.postalmanagement.entity.tracking.DeliverySession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface DeliverySessionRepository extends JpaRepository<DeliverySession, UUID> {
+
+    List<DeliverySession> findByOrderIdIn(Collection<UUID> orderIds);
+
+    /**
+     * End the sessions of a shipper for the given orders
+     */
+    @Modifying
+    @Query("DELETE FROM DeliverySession ds WHERE ds.shipperId = :shipperId AND ds.orderId IN :orderIds")
+    int deleteByShipperIdAndOrderIds(@Param("shipperId") UUID shipperId,
+                                     @Param("orderIds") Collection<UUID> orderIds);
+}
@@ -81,4 +81,19 @@ Page<Employee> findByProvinceCodeAndRoleAndOfficeTypesWithSearch(
                                                 Pageable pageable);
     @Query("SELECT e FROM Employee e WHERE LOWER(e.phoneNumber) LIKE LOWER(CONCAT('%', :phone, '%'))")
     Page<Employee> findByPhoneNumberContaining(@Param("phone") String phone, Pageable pageable);
+
+    /**
+     * Office of an employee and where it sits, in one query
+     */
+    @Query("SELECT o.id AS officeId, w.code AS wardCode, p.code AS provinceCode, r.id AS regionId " +
+           "FROM Employee e JOIN e.office o JOIN o.region r LEFT JOIN o.ward w LEFT JOIN w.province p " +
+           "WHERE e.id = :employeeId")
+    Optional<OfficeScope> findOfficeScope(@Param("employeeId") UUID employeeId);
+
+    interface OfficeScope {
+        UUID getOfficeId();
+        String getWardCode();
+        String getProvinceCode();
+        Integer getRegionId();
+    }
 }
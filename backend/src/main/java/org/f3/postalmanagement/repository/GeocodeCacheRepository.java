@@ -0,0 +1,24 @@
+package org.f3.postalmanagement.repository;
+
+import org.f3.postalmanagement.entity.geocoding.GeocodeCacheEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface GeocodeCacheRepository extends JpaRepository<GeocodeCacheEntry, String> {
+
+    /**
+     * Most recent unexpired entries, for warming up the in-memory cache.
+     */
+    @Query("SELECT e FROM GeocodeCacheEntry e WHERE e.expiresAt > :now ORDER BY e.createdAt DESC")
+    List<GeocodeCacheEntry> findUnexpired(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM GeocodeCacheEntry e WHERE e.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
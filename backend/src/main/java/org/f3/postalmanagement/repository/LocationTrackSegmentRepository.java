@@ -0,0 +1,43 @@
+package org.f3.postalmanagement.repository;
+
+import org.f3.postalmanagement.entity.tracking.LocationTrackSegment;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface LocationTrackSegmentRepository extends JpaRepository<LocationTrackSegment, UUID> {
+
+    /**
+     * Segments of a shipper overlapping a time range, in time order
+     */
+    @Query("SELECT s FROM LocationTrackSegment s WHERE s.shipperId = :shipperId " +
+           "AND s.startTime <= :to AND s.endTime >= :from ORDER BY s.startTime ASC")
+    List<LocationTrackSegment> findOverlapping(@Param("shipperId") UUID shipperId,
+                                               @Param("from") LocalDateTime from,
+                                               @Param("to") LocalDateTime to);
+
+    List<LocationTrackSegment> findByShipperIdAndTrackDateOrderByStartTimeAsc(UUID shipperId, LocalDate trackDate);
+
+    /**
+     * Shipper days up to a date that still hold raw segments
+     */
+    @Query("SELECT DISTINCT s.shipperId AS shipperId, s.trackDate AS trackDate FROM LocationTrackSegment s " +
+           "WHERE s.trackDate <= :until AND s.resolutionSeconds = 0")
+    List<ShipperDay> findRawDaysUntil(@Param("until") LocalDate until, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM LocationTrackSegment s WHERE s.trackDate < :before")
+    int deleteByTrackDateBefore(@Param("before") LocalDate before);
+
+    interface ShipperDay {
+        UUID getShipperId();
+        LocalDate getTrackDate();
+    }
+}
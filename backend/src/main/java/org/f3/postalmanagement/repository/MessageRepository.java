@@ -5,30 +5,44 @@ import org.f3.postalmanagement.entity.messaging.Message;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface MessageRepository extends JpaRepository<Message, UUID> {
 
-    @Query("SELECT m FROM Message m WHERE " +
-           "(m.sender = :user1 AND m.receiver = :user2) OR " +
-           "(m.sender = :user2 AND m.receiver = :user1) " +
-           "ORDER BY m.sentAt DESC")
-    Page<Message> findConversation(@Param("user1") Account user1, @Param("user2") Account user2, Pageable pageable);
+    @Query("SELECT m FROM Message m WHERE m.conversationId = :conversationId ORDER BY m.sentAt DESC, m.id DESC")
+    Page<Message> findConversation(@Param("conversationId") String conversationId, Pageable pageable);
 
-    @Query("SELECT COUNT(m) FROM Message m WHERE m.receiver = :user AND m.sender = :sender AND m.isRead = false")
-    long countUnreadMessages(@Param("user") Account user, @Param("sender") Account sender);
-    
-    @org.springframework.data.jpa.repository.Modifying
+    /**
+     * Messages of a conversation after the cursor ({@code before}, {@code beforeId}) in
+     * newest-first order; messages sent in the same instant are ordered by ID
+     */
+    @Query("SELECT m FROM Message m WHERE m.conversationId = :conversationId " +
+           "AND (m.sentAt < :before OR (m.sentAt = :before AND m.id < :beforeId)) " +
+           "ORDER BY m.sentAt DESC, m.id DESC")
+    List<Message> findConversationBefore(@Param("conversationId") String conversationId,
+                                         @Param("before") Instant before,
+                                         @Param("beforeId") UUID beforeId,
+                                         Pageable pageable);
+
+    @Modifying
     @Query("UPDATE Message m SET m.isRead = true WHERE m.sender = :sender AND m.receiver = :receiver AND m.isRead = false")
     void markAsRead(@Param("sender") Account sender, @Param("receiver") Account receiver);
 
-    // Simplified query to fetch recent messages for Java-side processing
-    @Query("SELECT m FROM Message m WHERE m.sender = :user OR m.receiver = :user ORDER BY m.sentAt DESC")
-    List<Message> findRecentMessagesByUser(@Param("user") Account user, Pageable pageable);
+    /**
+     * Fill the conversation ID of messages stored before it existed, in the same order as
+     * {@link Message#conversationIdOf}
+     */
+    @Modifying
+    @Query(value = "UPDATE messages SET conversation_id = IF(sender_id < receiver_id, " +
+                   "CONCAT(sender_id, ':', receiver_id), CONCAT(receiver_id, ':', sender_id)) " +
+                   "WHERE conversation_id IS NULL", nativeQuery = true)
+    int backfillConversationIds();
 }
@@ -0,0 +1,47 @@
+package org.f3.postalmanagement.repository;
+
+import org.f3.postalmanagement.entity.notification.Notification;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface NotificationRepository extends JpaRepository<Notification, UUID> {
+
+    boolean existsByIdempotencyKey(String idempotencyKey);
+
+    /**
+     * Notifications for a user, their office and everyone, created after {@code since}, oldest first
+     */
+    @Query("SELECT n FROM Notification n WHERE n.createdAt > :since AND " +
+           "(n.targetUserId = :userId OR n.targetOfficeId = :officeId OR " +
+           "(n.targetUserId IS NULL AND n.targetOfficeId IS NULL)) " +
+           "ORDER BY n.createdAt ASC, n.id ASC")
+    Slice<Notification> findInbox(@Param("userId") UUID userId,
+                                  @Param("officeId") UUID officeId,
+                                  @Param("since") LocalDateTime since,
+                                  Pageable pageable);
+
+    @Query("SELECT COUNT(n) FROM Notification n WHERE n.targetUserId = :userId AND n.readAt IS NULL")
+    long countUnreadByUser(@Param("userId") UUID userId);
+
+    @Query("SELECT COUNT(n) FROM Notification n WHERE n.targetOfficeId = :officeId AND n.targetUserId IS NULL AND n.readAt IS NULL")
+    long countUnreadByOffice(@Param("officeId") UUID officeId);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.readAt = :readAt WHERE n.targetUserId = :userId AND n.readAt IS NULL")
+    int markAllReadByUser(@Param("userId") UUID userId, @Param("readAt") LocalDateTime readAt);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.readAt = :readAt WHERE n.targetOfficeId = :officeId AND n.targetUserId IS NULL AND n.readAt IS NULL")
+    int markAllReadByOffice(@Param("officeId") UUID officeId, @Param("readAt") LocalDateTime readAt);
+
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") LocalDateTime before);
+}
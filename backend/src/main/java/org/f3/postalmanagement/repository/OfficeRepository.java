@@ -28,6 +28,13 @@ public interface OfficeRepository extends JpaRepository<Office, UUID> {
 
     List<Office> findAllByOfficeTypeIn(List<OfficeType> officeTypes);
 
+    /**
+     * Offices of the given types with region, ward and province loaded, for use outside a session.
+     */
+    @Query("SELECT o FROM Office o LEFT JOIN FETCH o.region LEFT JOIN FETCH o.ward w LEFT JOIN FETCH w.province " +
+           "WHERE o.officeType IN :officeTypes")
+    List<Office> findAllWithLocationByOfficeTypeIn(@Param("officeTypes") List<OfficeType> officeTypes);
+
     @Query("SELECT o FROM Office o WHERE o.ward.province.code = :provinceCode AND o.officeType = :officeType")
     List<Office> findAllByProvinceCodeAndOfficeType(@Param("provinceCode") String provinceCode, @Param("officeType") OfficeType officeType);
 
@@ -87,4 +94,19 @@ public interface OfficeRepository extends JpaRepository<Office, UUID> {
     Page<Office> searchOfficesByTypeAndQuery(@Param("search") String search,
                                              @Param("officeType") OfficeType officeType,
                                              Pageable pageable);
+
+    /**
+     * Every office with its parent, ward, province and region, for the in-memory hierarchy
+     */
+    @Query("SELECT o.id AS id, pa.id AS parentId, w.code AS wardCode, p.code AS provinceCode, r.id AS regionId " +
+           "FROM Office o LEFT JOIN o.parent pa LEFT JOIN o.ward w LEFT JOIN w.province p LEFT JOIN o.region r")
+    List<HierarchyRow> findHierarchyRows();
+
+    interface HierarchyRow {
+        UUID getId();
+        UUID getParentId();
+        String getWardCode();
+        String getProvinceCode();
+        Integer getRegionId();
+    }
 }
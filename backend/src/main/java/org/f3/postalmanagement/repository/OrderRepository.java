@@ -5,9 +5,12 @@ import org.f3.postalmanagement.enums.OrderStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -24,6 +27,12 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
      */
     boolean existsByTrackingNumber(String trackingNumber);
 
+    /**
+     * Which of the given tracking numbers are already used
+     */
+    @Query("SELECT o.trackingNumber FROM Order o WHERE o.trackingNumber IN :trackingNumbers")
+    List<String> findExistingTrackingNumbers(@Param("trackingNumbers") Collection<String> trackingNumbers);
+
     /**
      * Find orders by sender phone
      */
@@ -114,6 +123,31 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
            "ORDER BY o.createdAt DESC")
     Page<Order> findAssignedPickupOrders(@Param("shipperId") UUID shipperId, Pageable pageable);
 
+    /**
+     * Orders of a shipper in a status with the receiver ward, for planning a delivery run
+     */
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.receiverWard w LEFT JOIN FETCH w.province " +
+           "WHERE o.assignedShipper.id = :shipperId AND o.status = :status")
+    List<Order> findWithReceiverWardByShipperAndStatus(@Param("shipperId") UUID shipperId,
+                                                       @Param("status") OrderStatus status);
+
+    /**
+     * Open orders held by each of the given shippers, for load-aware assignment
+     */
+    @Query("SELECT o.assignedShipper.id AS shipperId, COUNT(o) AS orderCount FROM Order o " +
+           "WHERE o.assignedShipper.id IN :shipperIds AND o.status IN :statuses " +
+           "GROUP BY o.assignedShipper.id")
+    List<ShipperLoad> countByShipperIds(@Param("shipperIds") Collection<UUID> shipperIds,
+                                        @Param("statuses") Collection<OrderStatus> statuses);
+
+    /**
+     * Projection of the number of open orders of a shipper
+     */
+    interface ShipperLoad {
+        UUID getShipperId();
+        long getOrderCount();
+    }
+
     /**
      * Find unbatched orders at an office that are ready for batching
      */
@@ -126,6 +160,30 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
                                                @Param("destinationOfficeId") UUID destinationOfficeId,
                                                @Param("statuses") java.util.List<OrderStatus> statuses);
 
+    /**
+     * Find every (origin, destination) route that currently has unbatched orders.
+     * One grouped query replaces the per-office-pair sweep of the batching engine.
+     */
+    @Query("SELECT o.originOffice.id AS originOfficeId, " +
+           "o.destinationOffice.id AS destinationOfficeId, " +
+           "COUNT(o) AS orderCount " +
+           "FROM Order o WHERE " +
+           "o.batchPackage IS NULL AND " +
+           "o.destinationOffice IS NOT NULL AND " +
+           "o.originOffice.id <> o.destinationOffice.id AND " +
+           "o.status IN :statuses " +
+           "GROUP BY o.originOffice.id, o.destinationOffice.id")
+    List<UnbatchedRoutePair> findUnbatchedRoutePairs(@Param("statuses") java.util.List<OrderStatus> statuses);
+
+    /**
+     * Projection of an origin/destination pair with pending unbatched orders
+     */
+    interface UnbatchedRoutePair {
+        UUID getOriginOfficeId();
+        UUID getDestinationOfficeId();
+        long getOrderCount();
+    }
+
     /**
      * Count unbatched orders for a destination
      */
@@ -191,4 +249,58 @@ public interface OrderRepository extends JpaRepository<Order, UUID> {
     Page<Order> findByReceiverPhoneAndStatusIn(@Param("receiverPhone") String receiverPhone,
                                                 @Param("statuses") java.util.List<OrderStatus> statuses,
                                                 Pageable pageable);
+
+    /**
+     * Back-fill geocoded sender coordinates onto orders sharing one address.
+     */
+    @Modifying
+    @Query("UPDATE Order o SET o.senderLatitude = :latitude, o.senderLongitude = :longitude WHERE o.id IN :orderIds")
+    int updateSenderCoordinates(@Param("orderIds") Collection<UUID> orderIds,
+                                @Param("latitude") Double latitude,
+                                @Param("longitude") Double longitude);
+
+    /**
+     * Back-fill geocoded receiver coordinates onto orders sharing one address.
+     */
+    @Modifying
+    @Query("UPDATE Order o SET o.receiverLatitude = :latitude, o.receiverLongitude = :longitude WHERE o.id IN :orderIds")
+    int updateReceiverCoordinates(@Param("orderIds") Collection<UUID> orderIds,
+                                  @Param("latitude") Double latitude,
+                                  @Param("longitude") Double longitude);
+
+    /**
+     * Recent orders still missing sender or receiver coordinates, with wards and provinces loaded.
+     */
+    @Query("SELECT o FROM Order o " +
+           "JOIN FETCH o.senderWard sw JOIN FETCH sw.province " +
+           "JOIN FETCH o.receiverWard rw JOIN FETCH rw.province " +
+           "WHERE (o.senderLatitude IS NULL OR o.receiverLatitude IS NULL) AND o.createdAt >= :since " +
+           "ORDER BY o.createdAt DESC")
+    List<Order> findMissingCoordinatesSince(@Param("since") LocalDateTime since, Pageable pageable);
+
+    /**
+     * Average geocoded sender coordinates per ward.
+     */
+    @Query("SELECT o.senderWard.code AS wardCode, o.senderWard.province.code AS provinceCode, " +
+           "AVG(o.senderLatitude) AS latitude, AVG(o.senderLongitude) AS longitude, COUNT(o) AS sampleCount " +
+           "FROM Order o WHERE o.senderLatitude IS NOT NULL AND o.senderLongitude IS NOT NULL " +
+           "GROUP BY o.senderWard.code, o.senderWard.province.code")
+    List<WardCoordinates> averageSenderCoordinatesByWard();
+
+    /**
+     * Average geocoded receiver coordinates per ward.
+     */
+    @Query("SELECT o.receiverWard.code AS wardCode, o.receiverWard.province.code AS provinceCode, " +
+           "AVG(o.receiverLatitude) AS latitude, AVG(o.receiverLongitude) AS longitude, COUNT(o) AS sampleCount " +
+           "FROM Order o WHERE o.receiverLatitude IS NOT NULL AND o.receiverLongitude IS NOT NULL " +
+           "GROUP BY o.receiverWard.code, o.receiverWard.province.code")
+    List<WardCoordinates> averageReceiverCoordinatesByWard();
+
+    interface WardCoordinates {
+        String getWardCode();
+        String getProvinceCode();
+        Double getLatitude();
+        Double getLongitude();
+        long getSampleCount();
+    }
 }
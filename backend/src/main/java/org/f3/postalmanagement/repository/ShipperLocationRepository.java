@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -17,16 +18,26 @@ public interface ShipperLocationRepository extends JpaRepository<ShipperLocation
      */
     Optional<ShipperLocation> findByShipperId(UUID shipperId);
 
+    @Query("SELECT sl FROM ShipperLocation sl JOIN FETCH sl.shipper WHERE sl.shipper.id = :shipperId")
+    Optional<ShipperLocation> findWithShipperByShipperId(@Param("shipperId") UUID shipperId);
+
+    /**
+     * All positions with their shipper, for loading the in-memory store
+     */
+    @Query("SELECT sl FROM ShipperLocation sl JOIN FETCH sl.shipper")
+    List<ShipperLocation> findAllWithShipper();
+
     /**
-     * Check if shipper has active location
+     * Positions written after a point in time, with their shipper, to pick up writes of other nodes
      */
-    boolean existsByShipperIdAndIsActiveTrue(UUID shipperId);
+    @Query("SELECT sl FROM ShipperLocation sl JOIN FETCH sl.shipper WHERE sl.updatedAt > :since")
+    List<ShipperLocation> findUpdatedSinceWithShipper(@Param("since") LocalDateTime since);
 
     /**
      * Find active shippers (for admin dashboard)
      */
     @Query("SELECT sl FROM ShipperLocation sl WHERE sl.isActive = true AND sl.timestamp > :since")
-    java.util.List<ShipperLocation> findActiveShippers(@Param("since") LocalDateTime since);
+    List<ShipperLocation> findActiveShippers(@Param("since") LocalDateTime since);
 
     /**
      * Cleanup old inactive locations
@@ -36,8 +47,8 @@ public interface ShipperLocationRepository extends JpaRepository<ShipperLocation
     void deleteInactiveOlderThan(@Param("before") LocalDateTime before);
 
     /**
-     * Find shipper location by order ID (searches in activeOrderIds)
+     * Rows still holding sessions in the legacy active_order_ids column
      */
-    @Query("SELECT sl FROM ShipperLocation sl WHERE sl.isActive = true AND sl.activeOrderIds LIKE %:orderId%")
-    Optional<ShipperLocation> findByActiveOrderId(@Param("orderId") String orderId);
+    @Query("SELECT sl FROM ShipperLocation sl JOIN FETCH sl.shipper WHERE sl.activeOrderIds IS NOT NULL")
+    List<ShipperLocation> findWithLegacyActiveOrders();
 }
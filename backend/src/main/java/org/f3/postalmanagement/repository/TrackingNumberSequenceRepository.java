@@ -0,0 +1,26 @@
+package org.f3.postalmanagement.repository;
+
+import jakarta.persistence.LockModeType;
+import org.f3.postalmanagement.entity.order.TrackingNumberSequence;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface TrackingNumberSequenceRepository extends JpaRepository<TrackingNumberSequence, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM TrackingNumberSequence s WHERE s.name = :name")
+    Optional<TrackingNumberSequence> findForUpdate(@Param("name") String name);
+
+    /**
+     * Create the sequence row unless it exists; concurrent callers neither fail nor deadlock
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO tracking_number_sequences (name, next_value, updated_at) " +
+                   "VALUES (:name, :initialValue, NOW(6))", nativeQuery = true)
+    int insertIfAbsent(@Param("name") String name, @Param("initialValue") long initialValue);
+}
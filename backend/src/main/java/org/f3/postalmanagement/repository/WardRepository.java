@@ -13,6 +13,9 @@ public interface WardRepository extends JpaRepository<Ward, String> {
 
     List<Ward> findByProvince_Code(String provinceCode);
 
+    @Query("SELECT w FROM Ward w JOIN FETCH w.province")
+    List<Ward> findAllWithProvince();
+
     Page<Ward> findByProvince_CodeOrderByNameAsc(String provinceCode, Pageable pageable);
 
     @Query("SELECT w FROM Ward w " +
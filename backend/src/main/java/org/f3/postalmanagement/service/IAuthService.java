@@ -2,10 +2,16 @@ package org.f3.postalmanagement.service;
 
 import org.f3.postalmanagement.dto.request.auth.CustomerRegisterRequest;
 import org.f3.postalmanagement.dto.response.auth.AuthResponse;
+import org.f3.postalmanagement.entity.actor.CustomUserDetails;
 
 public interface IAuthService {
 
     AuthResponse login(String username, String password);
 
     void register(CustomerRegisterRequest request);
+
+    /**
+     * Revoke the token the current request was authenticated with
+     */
+    void logout(CustomUserDetails currentUser);
 }
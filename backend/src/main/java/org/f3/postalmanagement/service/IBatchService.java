@@ -11,6 +11,7 @@ import org.f3.postalmanagement.entity.actor.Account;
 import org.f3.postalmanagement.enums.BatchStatus;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.UUID;
 
 /**
@@ -43,6 +44,18 @@ public interface IBatchService {
      */
     AutoBatchResultResponse autoBatchOrders(AutoBatchRequest request, Account currentAccount);
 
+    /**
+     * Incrementally place newly batchable orders of one route into the best-fit open batch.
+     * A new batch with default limits is opened when no existing batch can take an order.
+     * Orders that are no longer batchable (already batched, status changed) are ignored.
+     *
+     * @param originOfficeId the route origin office
+     * @param destinationOfficeId the route destination office
+     * @param orderIds the orders to place
+     * @return number of orders placed into batches
+     */
+    int batchOrdersIncrementally(UUID originOfficeId, UUID destinationOfficeId, Collection<UUID> orderIds);
+
     // ==================== BATCH OPERATIONS ====================
 
     /**
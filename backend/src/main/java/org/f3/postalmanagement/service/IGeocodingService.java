@@ -9,13 +9,24 @@ public interface IGeocodingService {
 
     /**
      * Geocode an address to latitude/longitude coordinates.
-     * Results are cached to avoid repeated API calls.
+     * Results, including misses, are cached with a bounded TTL.
      *
      * @param address the full address string
-     * @return coordinates as [latitude, longitude] or empty if geocoding failed
+     * @return coordinates as [latitude, longitude] or empty if geocoding failed or was
+     *         coarser than {@code geocoding.accept-precision}
      */
     Optional<double[]> geocodeAddress(String address);
 
+    /**
+     * Approximate location of a ward, falling back to its province.
+     * Used for display while an address has no exact coordinates.
+     *
+     * @param wardCode the ward code
+     * @param provinceCode the province code of the ward
+     * @return coordinates as [latitude, longitude] or empty if nothing is known about the area
+     */
+    Optional<double[]> approximateLocation(String wardCode, String provinceCode);
+
     /**
      * Clear the geocoding cache.
      */
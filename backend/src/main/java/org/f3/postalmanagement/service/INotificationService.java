@@ -1,7 +1,10 @@
 package org.f3.postalmanagement.service;
 
+import org.f3.postalmanagement.dto.notification.NotificationInboxResponse;
 import org.f3.postalmanagement.dto.notification.NotificationMessage;
+import org.f3.postalmanagement.entity.actor.Account;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 /**
@@ -33,4 +36,26 @@ public interface INotificationService {
      * Broadcast notification to all connected users (system-wide).
      */
     void broadcastSystemNotification(NotificationMessage message);
+
+    /**
+     * Notifications of the current user, their office and the whole system stored after {@code since}.
+     * Reconnecting clients call this with the last {@code nextSince} they received.
+     */
+    NotificationInboxResponse getInbox(LocalDateTime since, int page, int size, Account currentAccount);
+
+    /**
+     * Unread notifications of the current user and their office.
+     */
+    long getUnreadCount(Account currentAccount);
+
+    /**
+     * Mark one notification of the current user or their office as read.
+     * System broadcasts have no read state and are rejected.
+     */
+    void markAsRead(UUID notificationId, Account currentAccount);
+
+    /**
+     * Mark every notification of the current user and their office as read.
+     */
+    void markAllAsRead(Account currentAccount);
 }
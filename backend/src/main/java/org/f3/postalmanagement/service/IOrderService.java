@@ -1,6 +1,7 @@
 package org.f3.postalmanagement.service;
 
 import org.f3.postalmanagement.dto.request.order.AssignShipperRequest;
+import org.f3.postalmanagement.dto.request.order.AutoAssignShipperRequest;
 import org.f3.postalmanagement.enums.OrderStatus;
 import org.f3.postalmanagement.dto.request.order.CalculatePriceRequest;
 import org.f3.postalmanagement.dto.request.order.CreateCommentRequest;
@@ -16,6 +17,7 @@ import org.f3.postalmanagement.dto.response.order.PriceCalculationResponse;
 import org.f3.postalmanagement.entity.actor.Account;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -132,6 +134,17 @@ public interface IOrderService {
      */
     OrderResponse assignShipperToPickup(AssignShipperRequest request, Account currentAccount);
 
+    /**
+     * Assign pending pickup orders to the nearest available shippers of the staff's office,
+     * weighing distance to the sender against each shipper's open orders.
+     * Orders without sender coordinates or without a shipper in range stay unassigned.
+     *
+     * @param request the orders to assign, or none for all unassigned pending pickups
+     * @param currentAccount the staff's account
+     * @return the orders that were assigned
+     */
+    List<OrderResponse> autoAssignShippersToPickup(AutoAssignShipperRequest request, Account currentAccount);
+
     /**
      * Get orders assigned to a shipper for pickup.
      *
@@ -2,8 +2,11 @@ package org.f3.postalmanagement.service;
 
 import org.f3.postalmanagement.dto.response.route.RouteResponse;
 import org.f3.postalmanagement.entity.unit.Office;
+import org.f3.postalmanagement.enums.RoutingCostFunction;
+import org.f3.postalmanagement.service.route.HubRoutingGraph;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -22,7 +25,19 @@ public interface IRouteService {
     RouteResponse calculatePackageRoute(UUID originOfficeId, String destinationWardCode);
 
     /**
-     * Get the hub-to-hub path between two regions using BFS.
+     * Calculate the full transfer route for a package with a chosen cost function and alternatives.
+     *
+     * @param originOfficeId The source office ID (ward or province level)
+     * @param destinationWardCode The destination ward code
+     * @param costFunction Cost minimized for the hub-to-hub part, or null for the configured default
+     * @param alternatives Number of alternative routes to include (capped by configuration)
+     * @return RouteResponse containing ordered list of stops and the alternatives
+     */
+    RouteResponse calculatePackageRoute(UUID originOfficeId, String destinationWardCode,
+                                        RoutingCostFunction costFunction, int alternatives);
+
+    /**
+     * Get the cheapest hub-to-hub path between two regions under the configured cost function.
      *
      * @param fromRegionId Source region ID
      * @param toRegionId Destination region ID
@@ -38,4 +53,14 @@ public interface IRouteService {
      * @return Estimated hours for the entire journey
      */
     int calculateEstimatedTransitHours(UUID originOfficeId, String destinationWardCode);
+
+    /**
+     * Find the path packages would take between two network offices if a transfer route were unavailable.
+     *
+     * @param fromOfficeId Start of the route
+     * @param toOfficeId End of the route
+     * @param excludedRouteId The route to avoid
+     * @return The cheapest path avoiding the route, or empty if there is none
+     */
+    Optional<HubRoutingGraph.HubPath> findAlternativePath(UUID fromOfficeId, UUID toOfficeId, UUID excludedRouteId);
 }
@@ -3,6 +3,7 @@ package org.f3.postalmanagement.service;
 import org.f3.postalmanagement.dto.request.employee.CreateShipperRequest;
 import org.f3.postalmanagement.dto.request.employee.UpdateStaffRequest;
 import org.f3.postalmanagement.dto.response.PageResponse;
+import org.f3.postalmanagement.dto.response.employee.DeliveryRunResponse;
 import org.f3.postalmanagement.dto.response.employee.EmployeeResponse;
 import org.f3.postalmanagement.entity.actor.Account;
 import org.springframework.data.domain.Pageable;
@@ -60,4 +61,14 @@ public interface IShipperService {
      * @param currentAccount the account of the user making the request
      */
     void deleteShipper(UUID shipperId, Account currentAccount);
+
+    /**
+     * Get the suggested stop order for a shipper's orders that are out for delivery.
+     * Shippers can only request their own run.
+     *
+     * @param shipperId the shipper ID
+     * @param currentAccount the account of the user making the request
+     * @return the ordered delivery run
+     */
+    DeliveryRunResponse getDeliveryRun(UUID shipperId, Account currentAccount);
 }
@@ -1,9 +1,13 @@
 package org.f3.postalmanagement.service;
 
 import org.f3.postalmanagement.dto.request.tracking.LocationUpdateRequest;
+import org.f3.postalmanagement.dto.response.tracking.NearbyShipperResponse;
 import org.f3.postalmanagement.dto.response.tracking.ShipperLocationResponse;
+import org.f3.postalmanagement.dto.response.tracking.ShipperTrackResponse;
 import org.f3.postalmanagement.entity.actor.Account;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -32,13 +36,33 @@ public interface ITrackingService {
      */
     void startDeliverySession(UUID orderId, Account currentAccount);
 
+    /**
+     * Start delivery sessions for a whole delivery run in one call.
+     */
+    void startDeliverySessions(Collection<UUID> orderIds, Account currentAccount);
+
     /**
      * End delivery session - stops tracking for completed/failed orders.
      */
     void endDeliverySession(UUID orderId, Account currentAccount);
 
+    /**
+     * End delivery sessions for several orders in one call.
+     */
+    void endDeliverySessions(Collection<UUID> orderIds, Account currentAccount);
+
     /**
      * Get all active shippers (for admin monitoring).
      */
     List<ShipperLocationResponse> getActiveShippers();
+
+    /**
+     * Shippers nearest to a point that reported their position recently, closest first.
+     */
+    List<NearbyShipperResponse> findNearestShippers(double latitude, double longitude, int limit, UUID officeId);
+
+    /**
+     * Get the recorded track of a shipper between two instants.
+     */
+    ShipperTrackResponse getShipperTrack(UUID shipperId, LocalDateTime from, LocalDateTime to);
 }
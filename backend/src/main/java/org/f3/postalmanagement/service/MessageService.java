@@ -1,15 +1,22 @@
 package org.f3.postalmanagement.service;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.f3.postalmanagement.dto.messaging.ContactResponse;
 import org.f3.postalmanagement.dto.messaging.MessageResponse;
 import org.f3.postalmanagement.dto.messaging.SendMessageRequest;
 import org.f3.postalmanagement.entity.actor.Account;
 import org.f3.postalmanagement.entity.actor.Employee;
+import org.f3.postalmanagement.entity.messaging.ConversationSummary;
 import org.f3.postalmanagement.entity.messaging.Message;
+import org.f3.postalmanagement.messaging.ChatMessageSentEvent;
 import org.f3.postalmanagement.repository.AccountRepository;
+import org.f3.postalmanagement.repository.ConversationSummaryRepository;
 import org.f3.postalmanagement.repository.EmployeeRepository;
 import org.f3.postalmanagement.repository.MessageRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -22,12 +29,17 @@ import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
+@Slf4j
 @RequiredArgsConstructor
 public class MessageService {
 
+    private static final int MAX_HISTORY_PAGE = 100;
+
     private final MessageRepository messageRepository;
     private final AccountRepository accountRepository;
     private final EmployeeRepository employeeRepository;
+    private final ConversationSummaryRepository conversationSummaryRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public MessageResponse sendMessage(SendMessageRequest request) {
@@ -82,6 +94,10 @@ public class MessageService {
                 .build();
 
         message = messageRepository.save(message);
+        recordInSummaries(message);
+
+        // Delivered to the receiver after commit
+        eventPublisher.publishEvent(new ChatMessageSentEvent(mapToResponse(message, receiver.getId())));
 
         return mapToResponse(message, sender.getId());
     }
@@ -92,39 +108,59 @@ public class MessageService {
         Account otherUser = accountRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
-        return messageRepository.findConversation(currentUser, otherUser, pageable)
+        return messageRepository.findConversation(Message.conversationIdOf(currentUser.getId(), otherUser.getId()), pageable)
                 .map(msg -> mapToResponse(msg, currentUser.getId()));
     }
 
+    /**
+     * Up to {@code size} messages with another user older than the cursor, newest first.
+     * The next page is requested with the {@code sentAt} and {@code id} of the last message
+     * returned, so messages sent in the same instant are neither skipped nor repeated.
+     */
+    @Transactional(readOnly = true)
+    public List<MessageResponse> getConversationBefore(UUID userId, Instant before, UUID beforeId, int size) {
+        Account currentUser = getCurrentAccount();
+        String conversationId = Message.conversationIdOf(currentUser.getId(), userId);
+        int limit = Math.min(Math.max(size, 1), MAX_HISTORY_PAGE);
+        Instant cursor = before != null ? before : Instant.now().plusSeconds(1);
+        return messageRepository.findConversationBefore(conversationId, cursor, before != null ? beforeId : null,
+                        PageRequest.of(0, limit))
+                .stream()
+                .map(msg -> mapToResponse(msg, currentUser.getId()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Contacts ordered by last activity, read from the conversation summaries
+     */
     @Transactional(readOnly = true)
     public List<ContactResponse> getRecentContacts(Pageable pageable) {
         Account currentUser = getCurrentAccount();
-        // Fetch more messages than contacts needed to ensure we find distinct users
-        // e.g. if we want 10 contacts, fetch last 50 messages to be safe
-        List<Message> recentMessages = messageRepository.findRecentMessagesByUser(currentUser, PageRequest.of(0, 50));
-
-        return recentMessages.stream()
-                .map(msg -> msg.getSender().getId().equals(currentUser.getId()) ? msg.getReceiver() : msg.getSender())
-                .distinct()
-                .limit(pageable.getPageSize())
-                .map(contact -> {
-                    long unread = messageRepository.countUnreadMessages(currentUser, contact);
-                    // Optimized: we already have the messages, but finding exact last one per user in list is easier via query for correctness
-                    // or just filter from the list we fetched if we trust it covers it. 
-                    // To be strictly correct and simple, let's query the specific conversation's last msg.
-                    Page<Message> lastMsgPage = messageRepository.findConversation(currentUser, contact, Pageable.ofSize(1));
-                    Message lastMsg = lastMsgPage.hasContent() ? lastMsgPage.getContent().get(0) : null;
-                    
-                    String name = getDisplayName(contact);
+        List<ConversationSummary> summaries = conversationSummaryRepository.findByOwnerIdOrderByLastMessageAtDesc(
+                currentUser.getId(), PageRequest.of(0, pageable.getPageSize()));
+        if (summaries.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<UUID> contactIds = summaries.stream().map(ConversationSummary::getContactId).toList();
+        Map<UUID, Account> accounts = accountRepository.findAllById(contactIds).stream()
+                .collect(Collectors.toMap(Account::getId, account -> account));
+        Map<UUID, Employee> employees = employeeRepository.findAllById(contactIds).stream()
+                .collect(Collectors.toMap(Employee::getId, employee -> employee));
 
+        return summaries.stream()
+                .filter(summary -> accounts.containsKey(summary.getContactId()))
+                .map(summary -> {
+                    Account contact = accounts.get(summary.getContactId());
+                    Employee employee = employees.get(summary.getContactId());
                     return ContactResponse.builder()
                             .id(contact.getId())
-                            .name(name)
-                            .phoneNumber(getPhoneNumber(contact))
+                            .name(employee != null ? employee.getFullName() : contact.getUsername())
+                            .phoneNumber(employee != null ? employee.getPhoneNumber() : "")
                             .role(contact.getRole().name())
-                            .unreadCount(unread)
-                            .lastMessage(lastMsg != null ? lastMsg.getContent() : "")
-                            .sentAt(lastMsg != null ? lastMsg.getSentAt().toString() : "")
+                            .unreadCount(summary.getUnreadCount())
+                            .lastMessage(summary.getLastMessage() != null ? summary.getLastMessage() : "")
+                            .sentAt(summary.getLastMessageAt().toString())
                             .build();
                 })
                 .collect(Collectors.toList());
@@ -182,6 +218,40 @@ public class MessageService {
                 .orElseThrow(() -> new IllegalArgumentException("Sender not found"));
 
         messageRepository.markAsRead(sender, currentUser);
+        conversationSummaryRepository.markRead(currentUser.getId(), sender.getId());
+    }
+
+    /**
+     * Move both sides of the conversation to this message; only the receiver gains an unread one
+     */
+    private void recordInSummaries(Message message) {
+        String content = message.getContent();
+        String preview = content.length() > ConversationSummary.PREVIEW_LENGTH
+                ? content.substring(0, ConversationSummary.PREVIEW_LENGTH)
+                : content;
+        String senderId = message.getSender().getId().toString();
+        String receiverId = message.getReceiver().getId().toString();
+        conversationSummaryRepository.recordMessage(senderId, receiverId, message.getConversationId(),
+                preview, message.getSentAt(), senderId, 0);
+        conversationSummaryRepository.recordMessage(receiverId, senderId, message.getConversationId(),
+                preview, message.getSentAt(), senderId, 1);
+    }
+
+    /**
+     * Give messages stored before conversation IDs existed theirs, and build the
+     * conversation summaries once if messages predate them
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void migrateLegacyMessages() {
+        int updated = messageRepository.backfillConversationIds();
+        if (updated > 0) {
+            log.info("Assigned conversation IDs to {} messages", updated);
+        }
+        if (conversationSummaryRepository.count() == 0 && messageRepository.count() > 0) {
+            int built = conversationSummaryRepository.rebuildAll();
+            log.info("Built {} conversation summaries from existing messages", built);
+        }
     }
 
     private Account getCurrentAccount() {
@@ -196,11 +266,6 @@ public class MessageService {
         return emp.map(Employee::getFullName).orElse(account.getUsername());
     }
     
-    private String getPhoneNumber(Account account) {
-        Optional<Employee> emp = employeeRepository.findByAccount(account);
-        return emp.map(Employee::getPhoneNumber).orElse("");
-    }
-
     private MessageResponse mapToResponse(Message msg, UUID currentUserId) {
         return MessageResponse.builder()
                 .id(msg.getId())
@@ -0,0 +1,90 @@
+package org.f3.postalmanagement.service.batch;
+
+import org.f3.postalmanagement.entity.order.BatchPackage;
+import org.f3.postalmanagement.entity.order.Order;
+
+import java.math.BigDecimal;
+
+/**
+ * Capacity checks and counter updates for placing orders into batch packages.
+ * Shared by manual batching, auto-batching strategies and incremental batching.
+ */
+public final class BatchCapacity {
+
+    private BatchCapacity() {
+    }
+
+    /**
+     * Check weight, order count and (when known) volume limits
+     */
+    public static boolean canFit(BatchPackage batch, Order order) {
+        if (!canFitByWeightAndCount(batch, order)) {
+            return false;
+        }
+
+        // Check volume if applicable
+        if (batch.getMaxVolumeCm3() != null && batch.getCurrentVolumeCm3() != null) {
+            BigDecimal orderVolume = volumeOf(order);
+            if (orderVolume != null
+                    && batch.getCurrentVolumeCm3().add(orderVolume).compareTo(batch.getMaxVolumeCm3()) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Check weight and order count limits only
+     */
+    public static boolean canFitByWeightAndCount(BatchPackage batch, Order order) {
+        BigDecimal newWeight = batch.getCurrentWeightKg().add(order.getChargeableWeightKg());
+        if (newWeight.compareTo(batch.getMaxWeightKg()) > 0) {
+            return false;
+        }
+        return batch.getMaxOrderCount() == null || batch.getCurrentOrderCount() < batch.getMaxOrderCount();
+    }
+
+    /**
+     * Link the order to the batch and update batch counters
+     */
+    public static void addOrder(BatchPackage batch, Order order) {
+        order.setBatchPackage(batch);
+
+        batch.setCurrentOrderCount(batch.getCurrentOrderCount() + 1);
+        batch.setCurrentWeightKg(batch.getCurrentWeightKg().add(order.getChargeableWeightKg()));
+
+        // Update volume if available
+        BigDecimal orderVolume = volumeOf(order);
+        if (orderVolume != null && batch.getCurrentVolumeCm3() != null) {
+            batch.setCurrentVolumeCm3(batch.getCurrentVolumeCm3().add(orderVolume));
+        }
+    }
+
+    /**
+     * Unlink the order from the batch and update batch counters
+     */
+    public static void removeOrder(BatchPackage batch, Order order) {
+        order.setBatchPackage(null);
+
+        batch.setCurrentOrderCount(batch.getCurrentOrderCount() - 1);
+        batch.setCurrentWeightKg(batch.getCurrentWeightKg().subtract(order.getChargeableWeightKg()));
+
+        // Update volume if available
+        BigDecimal orderVolume = volumeOf(order);
+        if (orderVolume != null && batch.getCurrentVolumeCm3() != null) {
+            batch.setCurrentVolumeCm3(batch.getCurrentVolumeCm3().subtract(orderVolume));
+        }
+    }
+
+    /**
+     * Volume in cm3, or null if any dimension is missing
+     */
+    public static BigDecimal volumeOf(Order order) {
+        if (order.getLengthCm() != null && order.getWidthCm() != null && order.getHeightCm() != null) {
+            return order.getLengthCm()
+                    .multiply(order.getWidthCm())
+                    .multiply(order.getHeightCm());
+        }
+        return null;
+    }
+}
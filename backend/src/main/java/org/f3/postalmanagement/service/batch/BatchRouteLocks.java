@@ -0,0 +1,40 @@
+package org.f3.postalmanagement.service.batch;
+
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Serializes batching work per (origin, destination) route so the scheduled sweep
+ * and incremental batching never update the same open batches concurrently.
+ * Uses a fixed number of lock stripes to keep memory bounded.
+ */
+@Component
+public class BatchRouteLocks {
+
+    private static final int STRIPES = 256;
+
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+
+    public BatchRouteLocks() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Run the action while holding the lock of the given route.
+     * The lock is held until the action returns, so a transaction started inside is committed before release.
+     */
+    public <T> T withRouteLock(UUID originOfficeId, UUID destinationOfficeId, Supplier<T> action) {
+        ReentrantLock lock = locks[Math.floorMod(31 * originOfficeId.hashCode() + destinationOfficeId.hashCode(), STRIPES)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
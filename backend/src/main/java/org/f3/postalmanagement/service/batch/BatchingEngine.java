@@ -0,0 +1,187 @@
+package org.f3.postalmanagement.service.batch;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.f3.postalmanagement.config.BatchingProperties;
+import org.f3.postalmanagement.dto.request.batch.AutoBatchRequest;
+import org.f3.postalmanagement.dto.response.batch.AutoBatchResultResponse;
+import org.f3.postalmanagement.dto.response.batch.BatchingRunMetricsResponse;
+import org.f3.postalmanagement.entity.actor.Account;
+import org.f3.postalmanagement.entity.actor.Employee;
+import org.f3.postalmanagement.enums.OrderStatus;
+import org.f3.postalmanagement.repository.EmployeeRepository;
+import org.f3.postalmanagement.repository.OrderRepository;
+import org.f3.postalmanagement.repository.OrderRepository.UnbatchedRoutePair;
+import org.f3.postalmanagement.service.IBatchService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Demand-driven batching engine.
+ *
+ * Instead of sweeping every origin x destination office pair, one grouped query
+ * returns only the routes that actually have unbatched orders. Each route is then
+ * batched on a bounded worker pool, in its own transaction (via {@link IBatchService}).
+ */
+@Service
+@Slf4j
+public class BatchingEngine {
+
+    private static final List<OrderStatus> BATCHABLE_STATUSES = Arrays.asList(
+            OrderStatus.AT_ORIGIN_OFFICE,
+            OrderStatus.SORTED_AT_ORIGIN
+    );
+
+    private final IBatchService batchService;
+    private final OrderRepository orderRepository;
+    private final EmployeeRepository employeeRepository;
+    private final BatchingProperties properties;
+    private final BatchRouteLocks routeLocks;
+    private final ThreadPoolTaskExecutor executor;
+
+    private final AtomicReference<BatchingRunMetricsResponse> lastRun = new AtomicReference<>();
+    private final Timer runTimer;
+    private final Counter pairsCounter;
+    private final Counter ordersBatchedCounter;
+    private final Counter pairFailuresCounter;
+
+    public BatchingEngine(IBatchService batchService,
+                          OrderRepository orderRepository,
+                          EmployeeRepository employeeRepository,
+                          BatchingProperties properties,
+                          BatchRouteLocks routeLocks,
+                          @Qualifier("batchingExecutor") ThreadPoolTaskExecutor executor,
+                          MeterRegistry meterRegistry) {
+        this.batchService = batchService;
+        this.orderRepository = orderRepository;
+        this.employeeRepository = employeeRepository;
+        this.properties = properties;
+        this.routeLocks = routeLocks;
+        this.executor = executor;
+
+        this.runTimer = Timer.builder("batching.run.duration")
+                .description("Wall time of a batching engine run")
+                .register(meterRegistry);
+        this.pairsCounter = Counter.builder("batching.pairs.scanned")
+                .description("Route pairs with unbatched orders processed by the engine")
+                .register(meterRegistry);
+        this.ordersBatchedCounter = Counter.builder("batching.orders.batched")
+                .description("Orders placed into batches by the engine")
+                .register(meterRegistry);
+        this.pairFailuresCounter = Counter.builder("batching.pairs.failed")
+                .description("Route pairs that failed to batch")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Batch all pending orders, processing only routes that have demand.
+     *
+     * @return metrics for this run
+     */
+    public BatchingRunMetricsResponse runOnce() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long start = System.nanoTime();
+
+        List<UnbatchedRoutePair> pairs = orderRepository.findUnbatchedRoutePairs(BATCHABLE_STATUSES);
+
+        AtomicInteger pairsFailed = new AtomicInteger();
+        AtomicLong ordersBatched = new AtomicLong();
+        AtomicLong newBatches = new AtomicLong();
+        long ordersPending = 0;
+
+        // Scheduler account per origin office, resolved once per run instead of once per pair
+        Map<UUID, Optional<Account>> accountsByOrigin = new ConcurrentHashMap<>();
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>(pairs.size());
+        for (UnbatchedRoutePair pair : pairs) {
+            ordersPending += pair.getOrderCount();
+            futures.add(CompletableFuture.runAsync(() -> {
+                try {
+                    Account account = accountsByOrigin
+                            .computeIfAbsent(pair.getOriginOfficeId(), this::findSchedulerAccount)
+                            .orElseThrow(() -> new IllegalStateException(
+                                    "No employee found for office: " + pair.getOriginOfficeId()));
+
+                    AutoBatchResultResponse result = routeLocks.withRouteLock(
+                            pair.getOriginOfficeId(), pair.getDestinationOfficeId(),
+                            () -> batchService.autoBatchOrders(buildRequest(pair), account));
+                    ordersBatched.addAndGet(result.getOrdersAddedToBatches());
+                    newBatches.addAndGet(result.getNewBatchesCreated());
+                } catch (Exception e) {
+                    pairsFailed.incrementAndGet();
+                    log.warn("Auto-batch failed for route {} -> {}: {}",
+                            pair.getOriginOfficeId(), pair.getDestinationOfficeId(), e.getMessage());
+                }
+            }, executor));
+        }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        long wallTimeNanos = System.nanoTime() - start;
+        BatchingRunMetricsResponse metrics = BatchingRunMetricsResponse.builder()
+                .startedAt(startedAt)
+                .pairsScanned(pairs.size())
+                .pairsFailed(pairsFailed.get())
+                .ordersPending(ordersPending)
+                .ordersBatched(ordersBatched.get())
+                .newBatchesCreated(newBatches.get())
+                .wallTimeMs(TimeUnit.NANOSECONDS.toMillis(wallTimeNanos))
+                .build();
+
+        lastRun.set(metrics);
+        runTimer.record(wallTimeNanos, TimeUnit.NANOSECONDS);
+        pairsCounter.increment(pairs.size());
+        ordersBatchedCounter.increment(ordersBatched.get());
+        pairFailuresCounter.increment(pairsFailed.get());
+
+        if (!pairs.isEmpty()) {
+            log.info("Batching run: {} pairs, {} of {} orders batched, {} new batches, {} failed, {} ms",
+                    metrics.getPairsScanned(), metrics.getOrdersBatched(), metrics.getOrdersPending(),
+                    metrics.getNewBatchesCreated(), metrics.getPairsFailed(), metrics.getWallTimeMs());
+        }
+        return metrics;
+    }
+
+    /**
+     * Get metrics of the most recent run, or null if the engine has not run yet.
+     */
+    public BatchingRunMetricsResponse getLastRunMetrics() {
+        return lastRun.get();
+    }
+
+    private AutoBatchRequest buildRequest(UnbatchedRoutePair pair) {
+        AutoBatchRequest request = new AutoBatchRequest();
+        request.setDestinationOfficeId(pair.getDestinationOfficeId());
+        request.setMaxWeightPerBatch(properties.getMaxWeightPerBatch());
+        request.setMaxOrdersPerBatch(properties.getMaxOrdersPerBatch());
+        request.setCreateNewBatches(true);
+        return request;
+    }
+
+    /**
+     * Uses the first employee of an office as the acting account for scheduler execution.
+     */
+    private Optional<Account> findSchedulerAccount(UUID officeId) {
+        return employeeRepository.findByOfficeId(officeId)
+                .stream()
+                .findFirst()
+                .map(Employee::getAccount);
+    }
+}
@@ -0,0 +1,74 @@
+package org.f3.postalmanagement.service.batch;
+
+import org.f3.postalmanagement.entity.order.BatchPackage;
+import org.f3.postalmanagement.entity.order.Order;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiPredicate;
+
+/**
+ * In-memory best-fit lookup over open batches of a single route.
+ *
+ * Batches are ordered by remaining weight capacity, so the tightest batch that can
+ * still take an order is found with a ceiling lookup (O(log m)) instead of a
+ * query or a linear scan per order.
+ */
+public class BestFitBatchIndex {
+
+    private final TreeMap<BigDecimal, List<BatchPackage>> byRemainingWeight = new TreeMap<>();
+    private final Map<BatchPackage, BigDecimal> keys = new IdentityHashMap<>();
+    private final BiPredicate<BatchPackage, Order> fits;
+
+    /**
+     * @param fits full capacity check (weight, volume, order count) applied to weight candidates
+     */
+    public BestFitBatchIndex(BiPredicate<BatchPackage, Order> fits) {
+        this.fits = fits;
+    }
+
+    public void add(BatchPackage batch) {
+        BigDecimal key = batch.getRemainingWeightCapacity();
+        byRemainingWeight.computeIfAbsent(key, k -> new ArrayList<>()).add(batch);
+        keys.put(batch, key);
+    }
+
+    /**
+     * Find the batch with the least remaining weight capacity that still fits the order.
+     *
+     * @return the best batch, or null if none fits
+     */
+    public BatchPackage findBestFit(Order order) {
+        for (List<BatchPackage> candidates : byRemainingWeight.tailMap(order.getChargeableWeightKg(), true).values()) {
+            for (BatchPackage batch : candidates) {
+                if (fits.test(batch, order)) {
+                    return batch;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Re-position a batch after its current weight has changed.
+     */
+    public void update(BatchPackage batch) {
+        BigDecimal oldKey = keys.remove(batch);
+        if (oldKey != null) {
+            List<BatchPackage> bucket = byRemainingWeight.get(oldKey);
+            bucket.remove(batch);
+            if (bucket.isEmpty()) {
+                byRemainingWeight.remove(oldKey);
+            }
+        }
+        add(batch);
+    }
+
+    public int size() {
+        return keys.size();
+    }
+}
@@ -0,0 +1,80 @@
+package org.f3.postalmanagement.service.batch;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.f3.postalmanagement.config.BatchingProperties;
+import org.f3.postalmanagement.service.IBatchService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Event-driven incremental batching.
+ *
+ * Collects {@link OrderBatchableEvent}s after the publishing transaction commits and
+ * flushes them once per coalescing window, so a burst of orders for the same route is
+ * placed in a single transaction. Orders that fail here are picked up by the scheduled sweep.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IncrementalBatchingListener {
+
+    private final IBatchService batchService;
+    private final BatchRouteLocks routeLocks;
+    private final BatchingProperties properties;
+
+    private final ConcurrentMap<RouteKey, Set<UUID>> pending = new ConcurrentHashMap<>();
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderBatchable(OrderBatchableEvent event) {
+        if (!properties.getIncremental().isEnabled() || event.getDestinationOfficeId() == null
+                || event.getOriginOfficeId().equals(event.getDestinationOfficeId())) {
+            return;
+        }
+
+        RouteKey key = new RouteKey(event.getOriginOfficeId(), event.getDestinationOfficeId());
+        pending.compute(key, (k, orderIds) -> {
+            Set<UUID> ids = orderIds != null ? orderIds : new HashSet<>();
+            ids.add(event.getOrderId());
+            return ids;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${batching.incremental.window-ms:2000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        for (RouteKey key : new ArrayList<>(pending.keySet())) {
+            Set<UUID> orderIds = pending.remove(key);
+            if (orderIds == null || orderIds.isEmpty()) {
+                continue;
+            }
+
+            try {
+                int placed = routeLocks.withRouteLock(key.originOfficeId(), key.destinationOfficeId(),
+                        () -> batchService.batchOrdersIncrementally(
+                                key.originOfficeId(), key.destinationOfficeId(), List.copyOf(orderIds)));
+                log.debug("Incremental batching placed {} of {} orders for route {} -> {}",
+                        placed, orderIds.size(), key.originOfficeId(), key.destinationOfficeId());
+            } catch (Exception e) {
+                log.warn("Incremental batching failed for route {} -> {}, leaving {} orders to the sweep: {}",
+                        key.originOfficeId(), key.destinationOfficeId(), orderIds.size(), e.getMessage());
+            }
+        }
+    }
+
+    private record RouteKey(UUID originOfficeId, UUID destinationOfficeId) {
+    }
+}
@@ -0,0 +1,19 @@
+package org.f3.postalmanagement.service.batch;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Published when an order reaches a batchable state (AT_ORIGIN_OFFICE / SORTED_AT_ORIGIN)
+ * so it can be placed into an open batch without waiting for the scheduled sweep.
+ */
+@Getter
+@AllArgsConstructor
+public class OrderBatchableEvent {
+
+    private final UUID orderId;
+    private final UUID originOfficeId;
+    private final UUID destinationOfficeId;
+}
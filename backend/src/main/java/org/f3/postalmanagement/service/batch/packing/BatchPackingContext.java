@@ -0,0 +1,45 @@
+package org.f3.postalmanagement.service.batch.packing;
+
+import org.f3.postalmanagement.entity.order.BatchPackage;
+import org.f3.postalmanagement.entity.order.Order;
+
+import java.util.List;
+
+/**
+ * State of one auto-batch run for a single route, handed to a {@link BatchPackingStrategy}.
+ * Strategies decide placement only; counters and persistence stay with the batch service.
+ */
+public interface BatchPackingContext {
+
+    /**
+     * Open batches of the route, fullest first
+     */
+    List<BatchPackage> getOpenBatches();
+
+    /**
+     * Check weight, order count and volume limits of a batch for an order
+     */
+    boolean canFit(BatchPackage batch, Order order);
+
+    /**
+     * Open a new batch for the route.
+     *
+     * @return the new batch, or null if creating batches is not allowed
+     */
+    BatchPackage openNewBatch();
+
+    /**
+     * Place an order into a batch and update the batch counters
+     */
+    void assign(Order order, BatchPackage batch);
+
+    /**
+     * Record an order that could not be placed
+     */
+    void skip(Order order, String reason);
+
+    /**
+     * Inner dimensions of a batch container, used by dimension-aware strategies
+     */
+    ExtremePointPacker.Box getContainerDimensionsMm();
+}
@@ -0,0 +1,31 @@
+package org.f3.postalmanagement.service.batch.packing;
+
+import org.f3.postalmanagement.enums.PackingAlgorithm;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registry of available packing strategies by algorithm.
+ */
+@Component
+public class BatchPackingStrategies {
+
+    private final Map<PackingAlgorithm, BatchPackingStrategy> strategies = new EnumMap<>(PackingAlgorithm.class);
+
+    public BatchPackingStrategies(List<BatchPackingStrategy> strategies) {
+        for (BatchPackingStrategy strategy : strategies) {
+            this.strategies.put(strategy.getAlgorithm(), strategy);
+        }
+    }
+
+    public BatchPackingStrategy get(PackingAlgorithm algorithm) {
+        BatchPackingStrategy strategy = strategies.get(algorithm);
+        if (strategy == null) {
+            throw new IllegalStateException("No packing strategy registered for " + algorithm);
+        }
+        return strategy;
+    }
+}
@@ -0,0 +1,27 @@
+package org.f3.postalmanagement.service.batch.packing;
+
+import org.f3.postalmanagement.entity.order.Order;
+import org.f3.postalmanagement.enums.PackingAlgorithm;
+
+import java.util.List;
+
+/**
+ * Bin-packing strategy used by auto-batching.
+ * Implementations are stateless Spring beans registered in {@link BatchPackingStrategies}.
+ */
+public interface BatchPackingStrategy {
+
+    /**
+     * The algorithm this strategy implements
+     */
+    PackingAlgorithm getAlgorithm();
+
+    /**
+     * Place every order into a batch via {@link BatchPackingContext#assign}
+     * or report it via {@link BatchPackingContext#skip}.
+     *
+     * @param orders unbatched orders of one route, all within the max batch weight
+     * @param context the packing context of the route
+     */
+    void pack(List<Order> orders, BatchPackingContext context);
+}
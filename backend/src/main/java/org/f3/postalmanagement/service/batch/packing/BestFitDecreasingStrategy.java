@@ -0,0 +1,50 @@
+package org.f3.postalmanagement.service.batch.packing;
+
+import org.f3.postalmanagement.entity.order.BatchPackage;
+import org.f3.postalmanagement.entity.order.Order;
+import org.f3.postalmanagement.enums.PackingAlgorithm;
+import org.f3.postalmanagement.service.batch.BestFitBatchIndex;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Best Fit Decreasing: orders sorted by chargeable weight (heaviest first),
+ * each placed into the batch with the least remaining weight capacity that can fit it.
+ * Batches are kept in a weight-ordered tree, so each lookup is O(log m).
+ */
+@Component
+public class BestFitDecreasingStrategy implements BatchPackingStrategy {
+
+    @Override
+    public PackingAlgorithm getAlgorithm() {
+        return PackingAlgorithm.BEST_FIT_DECREASING;
+    }
+
+    @Override
+    public void pack(List<Order> orders, BatchPackingContext context) {
+        List<Order> sorted = new ArrayList<>(orders);
+        sorted.sort(Comparator.comparing(Order::getChargeableWeightKg).reversed());
+
+        BestFitBatchIndex index = new BestFitBatchIndex(context::canFit);
+        context.getOpenBatches().forEach(index::add);
+
+        for (Order order : sorted) {
+            BatchPackage targetBatch = index.findBestFit(order);
+
+            if (targetBatch == null) {
+                targetBatch = context.openNewBatch();
+                if (targetBatch == null) {
+                    context.skip(order, "No available batch for order " + order.getTrackingNumber());
+                    continue;
+                }
+                index.add(targetBatch);
+            }
+
+            context.assign(order, targetBatch);
+            index.update(targetBatch);
+        }
+    }
+}
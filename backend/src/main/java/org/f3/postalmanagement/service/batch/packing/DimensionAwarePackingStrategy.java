@@ -0,0 +1,127 @@
+package org.f3.postalmanagement.service.batch.packing;
+
+import org.f3.postalmanagement.entity.order.BatchPackage;
+import org.f3.postalmanagement.entity.order.Order;
+import org.f3.postalmanagement.enums.PackingAlgorithm;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Dimension-aware packing using {@link ExtremePointPacker} on each batch container.
+ *
+ * Orders are sorted by volume (largest first) and placed into the first candidate batch
+ * that passes the weight/count/volume limits and has room geometrically. Open batches are
+ * seeded by replaying their current orders. Orders without dimensions are limited by weight only.
+ *
+ * To keep packing fast on large backlogs, only the most recently opened batches are tried,
+ * and batches stop being candidates once they are nearly full.
+ */
+@Component
+public class DimensionAwarePackingStrategy implements BatchPackingStrategy {
+
+    private static final int MAX_CANDIDATE_BATCHES = 8;
+    private static final double FULL_FILL_RATE = 0.95;
+
+    @Override
+    public PackingAlgorithm getAlgorithm() {
+        return PackingAlgorithm.DIMENSION_AWARE;
+    }
+
+    @Override
+    public void pack(List<Order> orders, BatchPackingContext context) {
+        ExtremePointPacker.Box container = context.getContainerDimensionsMm();
+        ExtremePointPacker emptyContainer = new ExtremePointPacker(container);
+
+        List<Order> sorted = new ArrayList<>(orders);
+        sorted.sort(Comparator.comparing(DimensionAwarePackingStrategy::volumeOf)
+                .thenComparing(Order::getChargeableWeightKg)
+                .reversed());
+
+        List<PackedBatch> candidates = new ArrayList<>();
+        for (BatchPackage batch : context.getOpenBatches()) {
+            PackedBatch packed = replay(batch, container);
+            if (packed != null) {
+                candidates.add(packed);
+            }
+        }
+
+        for (Order order : sorted) {
+            ExtremePointPacker.Box item = toBox(order);
+            if (item != null && !emptyContainer.canContain(item)) {
+                context.skip(order, "Order " + order.getTrackingNumber() + " exceeds batch container dimensions");
+                continue;
+            }
+
+            PackedBatch target = null;
+            int from = Math.max(0, candidates.size() - MAX_CANDIDATE_BATCHES);
+            for (int i = candidates.size() - 1; i >= from; i--) {
+                PackedBatch candidate = candidates.get(i);
+                if (context.canFit(candidate.batch(), order)
+                        && (item == null || candidate.packer().add(item))) {
+                    target = candidate;
+                    break;
+                }
+            }
+
+            if (target == null) {
+                BatchPackage newBatch = context.openNewBatch();
+                if (newBatch == null) {
+                    context.skip(order, "No available batch for order " + order.getTrackingNumber());
+                    continue;
+                }
+                target = new PackedBatch(newBatch, new ExtremePointPacker(container));
+                if (item != null) {
+                    target.packer().add(item);
+                }
+                candidates.add(target);
+            }
+
+            context.assign(order, target.batch());
+            if (target.packer().getFillRate() >= FULL_FILL_RATE) {
+                candidates.remove(target);
+            }
+        }
+    }
+
+    /**
+     * Rebuild the geometric state of an open batch from its orders.
+     *
+     * @return the packed batch, or null if its contents cannot be reproduced in the container
+     */
+    private PackedBatch replay(BatchPackage batch, ExtremePointPacker.Box container) {
+        ExtremePointPacker packer = new ExtremePointPacker(container);
+        List<Order> existing = new ArrayList<>(batch.getOrders());
+        existing.sort(Comparator.comparing(DimensionAwarePackingStrategy::volumeOf).reversed());
+        for (Order order : existing) {
+            ExtremePointPacker.Box item = toBox(order);
+            if (item != null && !packer.add(item)) {
+                return null;
+            }
+        }
+        return new PackedBatch(batch, packer);
+    }
+
+    private static ExtremePointPacker.Box toBox(Order order) {
+        if (order.getLengthCm() == null || order.getWidthCm() == null || order.getHeightCm() == null) {
+            return null;
+        }
+        return new ExtremePointPacker.Box(
+                ExtremePointPacker.toMillimeters(order.getLengthCm()),
+                ExtremePointPacker.toMillimeters(order.getWidthCm()),
+                ExtremePointPacker.toMillimeters(order.getHeightCm()));
+    }
+
+    private static BigDecimal volumeOf(Order order) {
+        if (order.getLengthCm() == null || order.getWidthCm() == null || order.getHeightCm() == null) {
+            return BigDecimal.ZERO;
+        }
+        return order.getLengthCm().multiply(order.getWidthCm()).multiply(order.getHeightCm());
+    }
+
+    private record PackedBatch(BatchPackage batch, ExtremePointPacker packer) {
+    }
+}
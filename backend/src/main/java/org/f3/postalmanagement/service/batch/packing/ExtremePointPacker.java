@@ -0,0 +1,224 @@
+package org.f3.postalmanagement.service.batch.packing;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 3D extreme-point packer for a single container, ported from the
+ * PackerEngine prototype in bin_packing_research/pack.py.
+ *
+ * Items are placed at extreme points (lowest z, then y, then x), trying all
+ * six orientations, with a 60% support rule for stacked items and a penalty
+ * for leaving unusable slivers against the container walls. Units are millimeters.
+ */
+public class ExtremePointPacker {
+
+    private static final double MIN_SUPPORT_RATIO = 0.60;
+    private static final int DEAD_SPACE_MM = 50;
+    private static final double DEAD_SPACE_PENALTY = 100000;
+    private static final Comparator<Point> EXTREME_POINT_ORDER = Comparator
+            .comparingInt(Point::z).thenComparingInt(Point::y).thenComparingInt(Point::x);
+
+    private final Box container;
+    private final List<Placement> placements = new ArrayList<>();
+    private List<Point> extremePoints = new ArrayList<>(List.of(new Point(0, 0, 0)));
+    private long occupiedVolume;
+
+    public ExtremePointPacker(Box container) {
+        this.container = container;
+    }
+
+    /**
+     * Try to place an item.
+     *
+     * @return true if the item was placed
+     */
+    public boolean add(Box item) {
+        Point bestPoint = null;
+        Box bestOrientation = null;
+        double bestScore = Double.MAX_VALUE;
+
+        List<Point> sortedPoints = new ArrayList<>(extremePoints);
+        sortedPoints.sort(EXTREME_POINT_ORDER);
+
+        for (Point ep : sortedPoints) {
+            for (Box orientation : item.orientations()) {
+                if (!canPlace(ep, orientation)) {
+                    continue;
+                }
+                int gapX = container.length() - (ep.x() + orientation.length());
+                int gapY = container.width() - (ep.y() + orientation.width());
+                double deadSpacePenalty = 0;
+                if (gapX > 0 && gapX < DEAD_SPACE_MM) {
+                    deadSpacePenalty += DEAD_SPACE_PENALTY;
+                }
+                if (gapY > 0 && gapY < DEAD_SPACE_MM) {
+                    deadSpacePenalty += DEAD_SPACE_PENALTY;
+                }
+                double score = ep.z() * 1_000_000d + ep.y() * 100d + ep.x() + deadSpacePenalty
+                        - orientation.area() / 100d;
+                if (score < bestScore) {
+                    bestScore = score;
+                    bestPoint = ep;
+                    bestOrientation = orientation;
+                }
+            }
+            // A floor position with a good footprint is good enough
+            if (bestPoint != null && bestPoint.z() == 0 && bestScore < -100) {
+                break;
+            }
+        }
+
+        if (bestPoint == null) {
+            return false;
+        }
+
+        placements.add(new Placement(bestPoint, bestOrientation));
+        occupiedVolume += bestOrientation.volume();
+        updateExtremePoints(bestPoint, bestOrientation);
+        return true;
+    }
+
+    /**
+     * Check whether an item fits an empty container in at least one orientation
+     */
+    public boolean canContain(Box item) {
+        for (Box orientation : item.orientations()) {
+            if (orientation.length() <= container.length()
+                    && orientation.width() <= container.width()
+                    && orientation.height() <= container.height()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public double getFillRate() {
+        long containerVolume = container.volume();
+        return containerVolume > 0 ? (double) occupiedVolume / containerVolume : 0;
+    }
+
+    public int getItemCount() {
+        return placements.size();
+    }
+
+    private boolean canPlace(Point p, Box box) {
+        if (p.x() + box.length() > container.length()
+                || p.y() + box.width() > container.width()
+                || p.z() + box.height() > container.height()) {
+            return false;
+        }
+        for (Placement placement : placements) {
+            if (intersects(p, box, placement)) {
+                return false;
+            }
+        }
+        return isSupported(p, box);
+    }
+
+    private boolean intersects(Point p, Box box, Placement other) {
+        return p.x() < other.point().x() + other.box().length() && p.x() + box.length() > other.point().x()
+                && p.y() < other.point().y() + other.box().width() && p.y() + box.width() > other.point().y()
+                && p.z() < other.point().z() + other.box().height() && p.z() + box.height() > other.point().z();
+    }
+
+    private boolean isSupported(Point p, Box box) {
+        if (p.z() == 0) {
+            return true;
+        }
+        long supportedArea = 0;
+        for (Placement other : placements) {
+            if (other.point().z() + other.box().height() != p.z()) {
+                continue;
+            }
+            int ix = Math.max(p.x(), other.point().x());
+            int iy = Math.max(p.y(), other.point().y());
+            int ix2 = Math.min(p.x() + box.length(), other.point().x() + other.box().length());
+            int iy2 = Math.min(p.y() + box.width(), other.point().y() + other.box().width());
+            if (ix < ix2 && iy < iy2) {
+                supportedArea += (long) (ix2 - ix) * (iy2 - iy);
+            }
+        }
+        return (double) supportedArea / box.area() >= MIN_SUPPORT_RATIO;
+    }
+
+    private void updateExtremePoints(Point p, Box box) {
+        Box unit = new Box(1, 1, 1);
+        List<Point> candidates = List.of(
+                new Point(p.x() + box.length(), p.y(), p.z()),
+                new Point(p.x(), p.y() + box.width(), p.z()),
+                new Point(p.x(), p.y(), p.z() + box.height()));
+
+        for (Point candidate : candidates) {
+            if (candidate.x() >= container.length() || candidate.y() >= container.width()
+                    || candidate.z() >= container.height()) {
+                continue;
+            }
+            boolean occupied = false;
+            for (Placement placement : placements) {
+                if (intersects(candidate, unit, placement)) {
+                    occupied = true;
+                    break;
+                }
+            }
+            if (!occupied && !extremePoints.contains(candidate)) {
+                extremePoints.add(candidate);
+            }
+        }
+
+        // Drop extreme points swallowed by the new placement
+        List<Point> valid = new ArrayList<>(extremePoints.size());
+        for (Point ep : extremePoints) {
+            boolean inside = ep.x() >= p.x() && ep.x() < p.x() + box.length()
+                    && ep.y() >= p.y() && ep.y() < p.y() + box.width()
+                    && ep.z() >= p.z() && ep.z() < p.z() + box.height();
+            if (!inside) {
+                valid.add(ep);
+            }
+        }
+        extremePoints = valid;
+    }
+
+    /**
+     * Convert centimeters to whole millimeters, rounding up so items are never under-sized.
+     */
+    public static int toMillimeters(BigDecimal centimeters) {
+        return centimeters.movePointRight(1).setScale(0, RoundingMode.CEILING).intValueExact();
+    }
+
+    /**
+     * Axis-aligned box dimensions in millimeters: length along x, width along y, height along z.
+     */
+    public record Box(int length, int width, int height) {
+
+        public long volume() {
+            return (long) length * width * height;
+        }
+
+        public long area() {
+            return (long) length * width;
+        }
+
+        public List<Box> orientations() {
+            Set<Box> unique = new LinkedHashSet<>();
+            unique.add(new Box(length, width, height));
+            unique.add(new Box(length, height, width));
+            unique.add(new Box(width, length, height));
+            unique.add(new Box(width, height, length));
+            unique.add(new Box(height, length, width));
+            unique.add(new Box(height, width, length));
+            return new ArrayList<>(unique);
+        }
+    }
+
+    private record Point(int x, int y, int z) {
+    }
+
+    private record Placement(Point point, Box box) {
+    }
+}
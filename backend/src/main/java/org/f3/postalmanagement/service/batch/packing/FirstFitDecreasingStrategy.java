@@ -0,0 +1,54 @@
+package org.f3.postalmanagement.service.batch.packing;
+
+import org.f3.postalmanagement.entity.order.BatchPackage;
+import org.f3.postalmanagement.entity.order.Order;
+import org.f3.postalmanagement.enums.PackingAlgorithm;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * First Fit Decreasing: orders sorted by chargeable weight (heaviest first),
+ * each placed into the first batch that can fit it. O(n·m).
+ */
+@Component
+public class FirstFitDecreasingStrategy implements BatchPackingStrategy {
+
+    @Override
+    public PackingAlgorithm getAlgorithm() {
+        return PackingAlgorithm.FIRST_FIT_DECREASING;
+    }
+
+    @Override
+    public void pack(List<Order> orders, BatchPackingContext context) {
+        List<Order> sorted = new ArrayList<>(orders);
+        sorted.sort(Comparator.comparing(Order::getChargeableWeightKg).reversed());
+
+        List<BatchPackage> batches = new ArrayList<>(context.getOpenBatches());
+
+        for (Order order : sorted) {
+            BatchPackage targetBatch = null;
+            for (BatchPackage batch : batches) {
+                if (context.canFit(batch, order)) {
+                    targetBatch = batch;
+                    break;
+                }
+            }
+
+            if (targetBatch == null) {
+                targetBatch = context.openNewBatch();
+                if (targetBatch != null) {
+                    batches.add(targetBatch);
+                }
+            }
+
+            if (targetBatch != null) {
+                context.assign(order, targetBatch);
+            } else {
+                context.skip(order, "No available batch for order " + order.getTrackingNumber());
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package org.f3.postalmanagement.service.geocoding;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cached geocoding result. Entries without coordinates mark addresses that could not be resolved.
+ */
+public record CachedGeocode(Double latitude, Double longitude, LocalDateTime expiresAt) {
+
+    public boolean isResolved() {
+        return latitude != null && longitude != null;
+    }
+
+    public double[] coordinates() {
+        return new double[]{latitude, longitude};
+    }
+}
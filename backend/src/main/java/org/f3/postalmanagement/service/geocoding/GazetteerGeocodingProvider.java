@@ -0,0 +1,292 @@
+package org.f3.postalmanagement.service.geocoding;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.f3.postalmanagement.config.GeocodingProperties;
+import org.f3.postalmanagement.dto.seed.SpxOfficeData;
+import org.f3.postalmanagement.dto.seed.SpxOfficeItem;
+import org.f3.postalmanagement.entity.administrative.Province;
+import org.f3.postalmanagement.entity.administrative.Ward;
+import org.f3.postalmanagement.enums.GeocodePrecision;
+import org.f3.postalmanagement.repository.ProvinceRepository;
+import org.f3.postalmanagement.repository.WardRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+
+/**
+ * Offline geocoder built from the province and ward tables and the bundled postal office list.
+ * <p>
+ * Addresses are split on commas and folded (diacritics removed, administrative prefixes
+ * dropped). The province is matched from the end of the address and the ward within that
+ * province. If the street part matches a known postal office address the office coordinates
+ * are returned; otherwise the ward or province centre is returned with the matching precision.
+ * Every lookup is a handful of hash map reads.
+ */
+@Component
+@Order(0)
+@Slf4j
+public class GazetteerGeocodingProvider implements GeocodingProvider {
+
+    private static final String POSTAL_OFFICES_RESOURCE = "data/postal_offices.json";
+
+    /**
+     * Common abbreviations mapped to the folded province name they stand for
+     */
+    private static final Map<String, String> PROVINCE_ALIASES = Map.of(
+            "hcm", "ho chi minh",
+            "tphcm", "ho chi minh",
+            "sai gon", "ho chi minh",
+            "hn", "ha noi",
+            "tp hn", "ha noi");
+
+    private final ProvinceRepository provinceRepository;
+    private final WardRepository wardRepository;
+    private final WardCentroidIndex wardCentroidIndex;
+    private final GeocodingProperties.GazetteerSettings settings;
+
+    private volatile Index index;
+
+    public GazetteerGeocodingProvider(ProvinceRepository provinceRepository,
+                                      WardRepository wardRepository,
+                                      WardCentroidIndex wardCentroidIndex,
+                                      GeocodingProperties properties) {
+        this.provinceRepository = provinceRepository;
+        this.wardRepository = wardRepository;
+        this.wardCentroidIndex = wardCentroidIndex;
+        this.settings = properties.getGazetteer();
+    }
+
+    @Override
+    public String getName() {
+        return "gazetteer";
+    }
+
+    @Override
+    public Optional<GeocodeMatch> geocode(String address) {
+        Index current = index;
+        if (current == null || address == null || address.isBlank()) {
+            return Optional.empty();
+        }
+        ParsedAddress parsed = current.parse(address);
+        if (parsed == null) {
+            return Optional.empty();
+        }
+
+        if (parsed.wardCode() != null) {
+            KnownPoint point = current.findPoint(parsed);
+            if (point != null) {
+                return Optional.of(match(point.latitude(), point.longitude(), GeocodePrecision.ADDRESS));
+            }
+            double[] ward = current.wardPoints().get(parsed.wardCode());
+            if (ward == null) {
+                ward = wardCentroidIndex.find(parsed.wardCode(), null).orElse(null);
+            }
+            if (ward != null) {
+                return Optional.of(match(ward[0], ward[1], GeocodePrecision.WARD));
+            }
+        }
+
+        double[] province = current.provincePoints().get(parsed.provinceCode());
+        if (province == null) {
+            province = wardCentroidIndex.find(null, parsed.provinceCode()).orElse(null);
+        }
+        return province != null
+                ? Optional.of(match(province[0], province[1], GeocodePrecision.PROVINCE))
+                : Optional.empty();
+    }
+
+    /**
+     * Built before the geocoding pipeline starts its startup back-fill
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onApplicationReady() {
+        if (settings.isEnabled()) {
+            refresh();
+        }
+    }
+
+    /**
+     * Rebuild the gazetteer from the administrative tables and the postal office list
+     */
+    public synchronized void refresh() {
+        long startTime = System.currentTimeMillis();
+
+        Map<String, String> provinceByName = new HashMap<>();
+        for (Province province : provinceRepository.findAll()) {
+            provinceByName.put(VietnameseText.foldPlaceName(province.getName()), province.getCode());
+        }
+        PROVINCE_ALIASES.forEach((alias, name) -> {
+            String code = provinceByName.get(name);
+            if (code != null) {
+                provinceByName.putIfAbsent(alias, code);
+            }
+        });
+
+        Map<String, Map<String, String>> wardsByProvince = new HashMap<>();
+        for (Ward ward : wardRepository.findAllWithProvince()) {
+            wardsByProvince.computeIfAbsent(ward.getProvince().getCode(), k -> new HashMap<>())
+                    .put(VietnameseText.foldPlaceName(ward.getName()), ward.getCode());
+        }
+
+        Index built = new Index(provinceByName, wardsByProvince, new HashMap<>(), new HashMap<>(), new HashMap<>(),
+                settings.getStreetMatchThreshold());
+        int points = loadPostalOffices(built);
+        index = built;
+
+        log.info("Gazetteer built in {}ms: {} provinces, {} wards, {} postal office addresses",
+                System.currentTimeMillis() - startTime, provinceByName.size(),
+                wardsByProvince.values().stream().mapToInt(Map::size).sum(), points);
+    }
+
+    private int loadPostalOffices(Index built) {
+        List<SpxOfficeItem> offices;
+        try (InputStream in = new ClassPathResource(POSTAL_OFFICES_RESOURCE).getInputStream()) {
+            SpxOfficeData data = new ObjectMapper()
+                    .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                    .readValue(in, SpxOfficeData.class);
+            offices = data.getData() != null && data.getData().getList() != null ? data.getData().getList() : List.of();
+        } catch (IOException e) {
+            log.warn("Postal office list {} not loaded, gazetteer has no street-level points", POSTAL_OFFICES_RESOURCE, e);
+            return 0;
+        }
+
+        Map<String, double[]> wardSums = new HashMap<>();
+        Map<String, double[]> provinceSums = new HashMap<>();
+        Set<String> seen = new HashSet<>();
+        for (SpxOfficeItem office : offices) {
+            String address = office.getAddress();
+            if (address == null || office.getLatitude() == null || office.getLongitude() == null
+                    || !seen.add(VietnameseText.fold(address))) {
+                continue;
+            }
+            ParsedAddress parsed = built.parse(address);
+            if (parsed == null) {
+                continue;
+            }
+            double latitude = office.getLatitude();
+            double longitude = office.getLongitude();
+            addSample(provinceSums, parsed.provinceCode(), latitude, longitude);
+            if (parsed.wardCode() != null) {
+                addSample(wardSums, parsed.wardCode(), latitude, longitude);
+                if (parsed.houseNumber() != null) {
+                    built.points().computeIfAbsent(parsed.wardCode(), k -> new ArrayList<>())
+                            .add(new KnownPoint(parsed.houseNumber(), parsed.streetTokens(), latitude, longitude));
+                }
+            }
+        }
+        wardSums.forEach((code, sum) -> built.wardPoints().put(code, new double[]{sum[0] / sum[2], sum[1] / sum[2]}));
+        provinceSums.forEach((code, sum) -> built.provincePoints().put(code, new double[]{sum[0] / sum[2], sum[1] / sum[2]}));
+        return seen.size();
+    }
+
+    private static void addSample(Map<String, double[]> sums, String key, double latitude, double longitude) {
+        double[] sum = sums.computeIfAbsent(key, k -> new double[3]);
+        sum[0] += latitude;
+        sum[1] += longitude;
+        sum[2]++;
+    }
+
+    private GeocodeMatch match(double latitude, double longitude, GeocodePrecision precision) {
+        return new GeocodeMatch(latitude, longitude, precision, getName());
+    }
+
+    /**
+     * Address reduced to the parts the gazetteer can match
+     */
+    private record ParsedAddress(String provinceCode, String wardCode, String houseNumber, Set<String> streetTokens) {
+    }
+
+    private record KnownPoint(String houseNumber, Set<String> streetTokens, double latitude, double longitude) {
+    }
+
+    /**
+     * Immutable once published
+     *
+     * @param provinceByName folded province name to province code
+     * @param wardsByProvince province code to folded ward name to ward code
+     * @param points ward code to known street addresses in that ward
+     * @param wardPoints ward code to the centre of its known addresses
+     * @param provincePoints province code to the centre of its known addresses
+     */
+    private record Index(Map<String, String> provinceByName,
+                         Map<String, Map<String, String>> wardsByProvince,
+                         Map<String, List<KnownPoint>> points,
+                         Map<String, double[]> wardPoints,
+                         Map<String, double[]> provincePoints,
+                         double streetMatchThreshold) {
+
+        ParsedAddress parse(String address) {
+            List<String> segments = VietnameseText.segments(address);
+
+            // Each loop leaves its index one before the matching segment
+            // Province: the last segment that names one
+            int provinceAt = segments.size() - 1;
+            String provinceCode = null;
+            for (; provinceAt >= 0 && provinceCode == null; provinceAt--) {
+                provinceCode = provinceByName.get(VietnameseText.foldPlaceName(segments.get(provinceAt)));
+            }
+            if (provinceCode == null) {
+                return null;
+            }
+
+            // Ward: the closest preceding segment naming a ward of that province
+            Map<String, String> wards = wardsByProvince.getOrDefault(provinceCode, Map.of());
+            int wardAt = provinceAt;
+            String wardCode = null;
+            for (; wardAt >= 0 && wardCode == null; wardAt--) {
+                wardCode = wards.get(VietnameseText.foldPlaceName(segments.get(wardAt)));
+            }
+            if (wardCode == null || wardAt < 0) {
+                return new ParsedAddress(provinceCode, wardCode, null, Set.of());
+            }
+
+            // Street: the first segment, "<house number> <street name>"
+            String[] tokens = segments.get(0).split(" ");
+            String houseNumber = Character.isDigit(tokens[0].charAt(0)) ? tokens[0] : null;
+            Set<String> streetTokens = new HashSet<>(Arrays.asList(tokens).subList(houseNumber != null ? 1 : 0, tokens.length));
+            return new ParsedAddress(provinceCode, wardCode, houseNumber, streetTokens);
+        }
+
+        KnownPoint findPoint(ParsedAddress parsed) {
+            if (parsed.houseNumber() == null) {
+                return null;
+            }
+            KnownPoint best = null;
+            double bestScore = streetMatchThreshold;
+            for (KnownPoint point : points.getOrDefault(parsed.wardCode(), List.of())) {
+                if (!point.houseNumber().equals(parsed.houseNumber())) {
+                    continue;
+                }
+                double score = jaccard(point.streetTokens(), parsed.streetTokens());
+                if (score >= bestScore) {
+                    best = point;
+                    bestScore = score;
+                }
+            }
+            return best;
+        }
+
+        private static double jaccard(Set<String> a, Set<String> b) {
+            if (a.isEmpty() && b.isEmpty()) {
+                return 1.0;
+            }
+            int common = 0;
+            for (String token : a) {
+                if (b.contains(token)) {
+                    common++;
+                }
+            }
+            return (double) common / (a.size() + b.size() - common);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package org.f3.postalmanagement.service.geocoding;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.extern.slf4j.Slf4j;
+import org.f3.postalmanagement.config.GeocodingProperties;
+import org.f3.postalmanagement.entity.geocoding.GeocodeCacheEntry;
+import org.f3.postalmanagement.repository.GeocodeCacheRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Two-tier geocoding cache: a size-bounded in-memory cache (Caffeine, W-TinyLFU admission)
+ * in front of the {@code geocode_cache} table.
+ * <p>
+ * Every entry carries its own expiry: resolved addresses live long, unresolved ones
+ * (negative entries) expire sooner so they are retried, and transient failures are only
+ * remembered in memory for a short time.
+ */
+@Component
+@Slf4j
+public class GeocodeCache {
+
+    private final GeocodeCacheRepository repository;
+    private final GeocodingProperties.CacheSettings settings;
+    private final Cache<String, CachedGeocode> memory;
+
+    public GeocodeCache(GeocodeCacheRepository repository, GeocodingProperties properties) {
+        this.repository = repository;
+        this.settings = properties.getCache();
+        this.memory = Caffeine.newBuilder()
+                .maximumSize(settings.getMaximumSize())
+                .expireAfter(new Expiry<String, CachedGeocode>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedGeocode value, long currentTime) {
+                        return nanosUntil(value.expiresAt());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedGeocode value, long currentTime, long currentDuration) {
+                        return nanosUntil(value.expiresAt());
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedGeocode value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Cache key for an address: trimmed, lower-cased, whitespace collapsed
+     */
+    public static String normalize(String address) {
+        return address.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Look up an address in memory, then in the table
+     */
+    public Optional<CachedGeocode> get(String address) {
+        String key = normalize(address);
+        CachedGeocode cached = memory.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<CachedGeocode> persisted = repository.findById(hash(key))
+                .filter(entry -> entry.getExpiresAt().isAfter(LocalDateTime.now()))
+                .map(entry -> new CachedGeocode(entry.getLatitude(), entry.getLongitude(), entry.getExpiresAt()));
+        persisted.ifPresent(value -> memory.put(key, value));
+        return persisted;
+    }
+
+    public void putResolved(String address, double latitude, double longitude) {
+        put(address, new CachedGeocode(latitude, longitude, LocalDateTime.now().plus(settings.getTtl())), true);
+    }
+
+    /**
+     * Remember that the geocoder has no result for an address
+     */
+    public void putUnresolved(String address) {
+        put(address, new CachedGeocode(null, null, LocalDateTime.now().plus(settings.getNegativeTtl())), true);
+    }
+
+    /**
+     * Back off from an address after a transient error, without persisting it
+     */
+    public void putFailed(String address) {
+        put(address, new CachedGeocode(null, null, LocalDateTime.now().plus(settings.getFailureTtl())), false);
+    }
+
+    @Transactional
+    public void clear() {
+        memory.invalidateAll();
+        repository.deleteAllInBatch();
+    }
+
+    public long estimatedSize() {
+        return memory.estimatedSize();
+    }
+
+    /**
+     * Load the most recent entries so a fresh node does not start cold
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        List<GeocodeCacheEntry> entries = repository.findUnexpired(LocalDateTime.now(),
+                PageRequest.of(0, settings.getWarmUpSize()));
+        for (GeocodeCacheEntry entry : entries) {
+            memory.put(normalize(entry.getAddress()),
+                    new CachedGeocode(entry.getLatitude(), entry.getLongitude(), entry.getExpiresAt()));
+        }
+        log.info("Geocode cache warmed up with {} entries", entries.size());
+    }
+
+    @Scheduled(fixedDelayString = "${geocoding.cache.prune-interval-ms:3600000}")
+    @Transactional
+    public void pruneExpired() {
+        int deleted = repository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.debug("Pruned {} expired geocode cache entries", deleted);
+        }
+    }
+
+    private void put(String address, CachedGeocode value, boolean persist) {
+        String key = normalize(address);
+        memory.put(key, value);
+        if (!persist) {
+            return;
+        }
+        try {
+            GeocodeCacheEntry entry = new GeocodeCacheEntry();
+            entry.setAddressHash(hash(key));
+            entry.setAddress(key);
+            entry.setLatitude(value.latitude());
+            entry.setLongitude(value.longitude());
+            entry.setExpiresAt(value.expiresAt());
+            entry.setCreatedAt(LocalDateTime.now());
+            repository.save(entry);
+        } catch (RuntimeException e) {
+            // The in-memory entry is still valid; persistence is best effort
+            log.warn("Failed to persist geocode cache entry for '{}'", address, e);
+        }
+    }
+
+    private static long nanosUntil(LocalDateTime expiresAt) {
+        return Math.max(0, Duration.between(LocalDateTime.now(), expiresAt).toNanos());
+    }
+
+    private static String hash(String key) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(key.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package org.f3.postalmanagement.service.geocoding;
+
+import org.f3.postalmanagement.enums.GeocodePrecision;
+
+/**
+ * Coordinates returned by a {@link GeocodingProvider}, with how precise they are.
+ */
+public record GeocodeMatch(double latitude, double longitude, GeocodePrecision precision, String provider) {
+
+    public double[] coordinates() {
+        return new double[]{latitude, longitude};
+    }
+}
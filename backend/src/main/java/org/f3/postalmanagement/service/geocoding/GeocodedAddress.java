@@ -0,0 +1,10 @@
+package org.f3.postalmanagement.service.geocoding;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Coordinates of one address and the orders that use it as sender or receiver address.
+ */
+public record GeocodedAddress(double latitude, double longitude, List<UUID> senderOrderIds, List<UUID> receiverOrderIds) {
+}
@@ -0,0 +1,37 @@
+package org.f3.postalmanagement.service.geocoding;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.f3.postalmanagement.repository.OrderRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Writes geocoded coordinates to orders, one bulk update per address and role.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class GeocodingBackfillWriter {
+
+    private final OrderRepository orderRepository;
+
+    @Transactional
+    public int write(List<GeocodedAddress> results) {
+        int updated = 0;
+        for (GeocodedAddress result : results) {
+            if (!result.senderOrderIds().isEmpty()) {
+                updated += orderRepository.updateSenderCoordinates(
+                        result.senderOrderIds(), result.latitude(), result.longitude());
+            }
+            if (!result.receiverOrderIds().isEmpty()) {
+                updated += orderRepository.updateReceiverCoordinates(
+                        result.receiverOrderIds(), result.latitude(), result.longitude());
+            }
+        }
+        log.debug("Back-filled coordinates for {} addresses ({} order updates)", results.size(), updated);
+        return updated;
+    }
+}
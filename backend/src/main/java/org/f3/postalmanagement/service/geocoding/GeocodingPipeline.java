@@ -0,0 +1,207 @@
+package org.f3.postalmanagement.service.geocoding;
+
+import lombok.extern.slf4j.Slf4j;
+import org.f3.postalmanagement.config.GeocodingProperties;
+import org.f3.postalmanagement.entity.administrative.Ward;
+import org.f3.postalmanagement.entity.order.Order;
+import org.f3.postalmanagement.repository.OrderRepository;
+import org.f3.postalmanagement.service.IGeocodingService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Geocodes order addresses off the request path.
+ * <p>
+ * Addresses are queued after the order transaction commits. Identical addresses waiting
+ * in the queue are merged, so each distinct address is geocoded once for all of its orders.
+ * A single worker drains the queue at the rate allowed by the geocoder and writes the
+ * coordinates back to the orders in batched updates.
+ */
+@Component
+@Slf4j
+public class GeocodingPipeline {
+
+    private static final int STARTUP_BACKFILL_LIMIT = 5000;
+
+    private final IGeocodingService geocodingService;
+    private final GeocodingBackfillWriter backfillWriter;
+    private final OrderRepository orderRepository;
+    private final GeocodingProperties properties;
+    private final ThreadPoolTaskExecutor executor;
+
+    private final Map<String, PendingAddress> pending = new ConcurrentHashMap<>();
+    private final BlockingQueue<PendingAddress> queue;
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    public GeocodingPipeline(IGeocodingService geocodingService,
+                             GeocodingBackfillWriter backfillWriter,
+                             OrderRepository orderRepository,
+                             GeocodingProperties properties,
+                             @Qualifier("geocodingExecutor") ThreadPoolTaskExecutor executor) {
+        this.geocodingService = geocodingService;
+        this.backfillWriter = backfillWriter;
+        this.orderRepository = orderRepository;
+        this.properties = properties;
+        this.executor = executor;
+        this.queue = new LinkedBlockingQueue<>(properties.getQueueCapacity());
+    }
+
+    /**
+     * Address string sent to the geocoder for an address line and its ward
+     */
+    public static String fullAddress(String addressLine, Ward ward) {
+        return String.format("%s, %s, %s", addressLine, ward.getName(), ward.getProvince().getName());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOrderGeocodingRequested(OrderGeocodingRequestedEvent event) {
+        enqueue(event.getSenderAddress(), event.getOrderId(), AddressRole.SENDER);
+        enqueue(event.getReceiverAddress(), event.getOrderId(), AddressRole.RECEIVER);
+        scheduleDrain();
+    }
+
+    /**
+     * Re-queue recent orders whose addresses were still queued when the application stopped
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillAfterRestart() {
+        LocalDateTime since = LocalDateTime.now().minusHours(properties.getStartupBackfillHours());
+        List<Order> orders = orderRepository.findMissingCoordinatesSince(since, PageRequest.of(0, STARTUP_BACKFILL_LIMIT));
+        for (Order order : orders) {
+            if (order.getSenderLatitude() == null) {
+                enqueue(fullAddress(order.getSenderAddressLine1(), order.getSenderWard()), order.getId(), AddressRole.SENDER);
+            }
+            if (order.getReceiverLatitude() == null) {
+                enqueue(fullAddress(order.getReceiverAddressLine1(), order.getReceiverWard()), order.getId(), AddressRole.RECEIVER);
+            }
+        }
+        if (!orders.isEmpty()) {
+            log.info("Queued {} orders missing coordinates for geocoding", orders.size());
+            scheduleDrain();
+        }
+    }
+
+    /**
+     * Number of distinct addresses waiting to be geocoded
+     */
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    private void enqueue(String address, UUID orderId, AddressRole role) {
+        if (address == null || address.isBlank()) {
+            return;
+        }
+        String key = address.trim().toLowerCase();
+        pending.compute(key, (k, existing) -> {
+            if (existing != null) {
+                existing.add(orderId, role);
+                return existing;
+            }
+            PendingAddress created = new PendingAddress(k, address);
+            created.add(orderId, role);
+            if (!queue.offer(created)) {
+                log.warn("Geocoding queue full, order {} keeps no {} coordinates", orderId, role.name().toLowerCase());
+                return null;
+            }
+            return created;
+        });
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        List<GeocodedAddress> results = new ArrayList<>();
+        long firstResultAt = 0;
+        try {
+            PendingAddress item;
+            while ((item = queue.poll()) != null) {
+                // Once removed from the map no more orders can join this address
+                pending.remove(item.key, item);
+                geocode(item).ifPresent(results::add);
+
+                if (!results.isEmpty() && firstResultAt == 0) {
+                    firstResultAt = System.currentTimeMillis();
+                }
+                boolean batchFull = results.size() >= properties.getBackfillBatchSize();
+                boolean waitedLongEnough = !results.isEmpty()
+                        && System.currentTimeMillis() - firstResultAt >= properties.getBackfillFlushIntervalMs();
+                if (batchFull || waitedLongEnough) {
+                    flush(results);
+                    firstResultAt = 0;
+                }
+            }
+            flush(results);
+        } finally {
+            draining.set(false);
+            // Addresses queued while the worker was finishing
+            if (!queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+    }
+
+    private Optional<GeocodedAddress> geocode(PendingAddress item) {
+        try {
+            return geocodingService.geocodeAddress(item.address)
+                    .map(coordinates -> new GeocodedAddress(coordinates[0], coordinates[1],
+                            List.copyOf(item.senderOrderIds), List.copyOf(item.receiverOrderIds)));
+        } catch (RuntimeException e) {
+            log.warn("Geocoding failed for address: {}", item.address, e);
+            return Optional.empty();
+        }
+    }
+
+    private void flush(List<GeocodedAddress> results) {
+        if (results.isEmpty()) {
+            return;
+        }
+        try {
+            backfillWriter.write(results);
+        } catch (RuntimeException e) {
+            log.error("Failed to back-fill coordinates for {} addresses", results.size(), e);
+        }
+        results.clear();
+    }
+
+    private enum AddressRole {
+        SENDER,
+        RECEIVER
+    }
+
+    /**
+     * A distinct address waiting in the queue, with every order waiting for it
+     */
+    private static class PendingAddress {
+        private final String key;
+        private final String address;
+        private final Set<UUID> senderOrderIds = new LinkedHashSet<>();
+        private final Set<UUID> receiverOrderIds = new LinkedHashSet<>();
+
+        PendingAddress(String key, String address) {
+            this.key = key;
+            this.address = address;
+        }
+
+        void add(UUID orderId, AddressRole role) {
+            (role == AddressRole.SENDER ? senderOrderIds : receiverOrderIds).add(orderId);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package org.f3.postalmanagement.service.geocoding;
+
+import java.util.Optional;
+
+/**
+ * One source of coordinates in the geocoding chain.
+ * <p>
+ * Providers are tried in {@link org.springframework.core.annotation.Order} order; cheap
+ * in-process providers come first so remote ones are only asked about their misses.
+ */
+public interface GeocodingProvider {
+
+    /**
+     * Short name used in logs and metrics
+     */
+    String getName();
+
+    /**
+     * Resolve an address.
+     *
+     * @return the match, or empty if the provider does not know the address
+     * @throws RuntimeException on a transient failure; the result is then not cached for long
+     */
+    Optional<GeocodeMatch> geocode(String address);
+}
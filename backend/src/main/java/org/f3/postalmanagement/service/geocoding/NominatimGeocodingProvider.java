@@ -0,0 +1,84 @@
+package org.f3.postalmanagement.service.geocoding;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.f3.postalmanagement.config.GeocodingProperties;
+import org.f3.postalmanagement.enums.GeocodePrecision;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+/**
+ * Remote geocoder speaking the Nominatim search API, either the public service or a
+ * self-hosted instance. Complies with the Nominatim usage policy: rate limited, proper User-Agent.
+ */
+@Component
+@Order(100)
+@Slf4j
+public class NominatimGeocodingProvider implements GeocodingProvider {
+
+    private static final String USER_AGENT = "PostalManagementSystem/1.0 (Contact: admin@postalmanagement.vn)";
+
+    private final RestTemplate restTemplate = new RestTemplate();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final GeocodingProperties.NominatimSettings settings;
+    private final TokenBucket rateLimiter;
+
+    public NominatimGeocodingProvider(GeocodingProperties properties) {
+        this.settings = properties.getNominatim();
+        this.rateLimiter = new TokenBucket(properties.getRequestsPerSecond(), properties.getBurst());
+    }
+
+    @Override
+    public String getName() {
+        return "nominatim";
+    }
+
+    @Override
+    public Optional<GeocodeMatch> geocode(String address) {
+        if (!settings.isEnabled() || address == null || address.isBlank()) {
+            return Optional.empty();
+        }
+
+        // Rate limiting: wait for a token instead of serializing callers
+        try {
+            rateLimiter.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Geocoding rate limiting interrupted", e);
+        }
+
+        String url = String.format("%s?q=%s&format=json&limit=1&countrycodes=vn",
+                settings.getUrl(), URLEncoder.encode(address, StandardCharsets.UTF_8));
+
+        // Set proper User-Agent as required by Nominatim policy
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("User-Agent", USER_AGENT);
+        ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+
+        JsonNode results;
+        try {
+            results = objectMapper.readTree(response.getBody());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unreadable Nominatim response", e);
+        }
+        if (!results.isArray() || results.isEmpty()) {
+            return Optional.empty();
+        }
+
+        JsonNode firstResult = results.get(0);
+        return Optional.of(new GeocodeMatch(firstResult.get("lat").asDouble(), firstResult.get("lon").asDouble(),
+                GeocodePrecision.ADDRESS, getName()));
+    }
+}
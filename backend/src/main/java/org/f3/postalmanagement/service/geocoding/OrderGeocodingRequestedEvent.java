@@ -0,0 +1,19 @@
+package org.f3.postalmanagement.service.geocoding;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Published when an order is created so its sender and receiver addresses
+ * are geocoded after the transaction commits.
+ */
+@Getter
+@AllArgsConstructor
+public class OrderGeocodingRequestedEvent {
+
+    private final UUID orderId;
+    private final String senderAddress;
+    private final String receiverAddress;
+}
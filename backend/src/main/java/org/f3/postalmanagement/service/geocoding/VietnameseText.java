@@ -0,0 +1,98 @@
+package org.f3.postalmanagement.service.geocoding;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Normalization of Vietnamese place names and addresses for matching.
+ */
+public final class VietnameseText {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]+");
+
+    /**
+     * Abbreviated prefix at the start of a folded name, followed by a space or a number as in "p12"
+     */
+    private static final Pattern ABBREVIATED_PREFIX = Pattern.compile("^(tp|tx|tt|p|q|h|x)(?: |(?=[0-9]))");
+
+    private static final Map<String, String> ABBREVIATIONS = Map.of(
+            "tp", "thanh pho",
+            "tx", "thi xa",
+            "tt", "thi tran",
+            "p", "phuong",
+            "q", "quan",
+            "h", "huyen",
+            "x", "xa");
+
+    /**
+     * Administrative prefixes dropped from the start of a name, longest first
+     */
+    private static final List<String> ADMINISTRATIVE_PREFIXES = List.of(
+            "thanh pho", "thi tran", "thi xa", "dac khu", "phuong", "huyen", "quan", "tinh", "xa");
+
+    private VietnameseText() {
+    }
+
+    /**
+     * Remove diacritics, lower-case and collapse punctuation into single spaces,
+     * e.g. "Tp. Hồ Chí Minh" becomes "tp ho chi minh"
+     */
+    public static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        String stripped = COMBINING_MARKS.matcher(decomposed).replaceAll("")
+                .replace('đ', 'd')
+                .replace('Đ', 'D')
+                .toLowerCase(Locale.ROOT);
+        return NON_ALPHANUMERIC.matcher(stripped).replaceAll(" ").trim();
+    }
+
+    /**
+     * Folded name without its administrative prefix, e.g. "Phường Bình Thạnh" becomes "binh thanh".
+     * Numbered wards such as "Phường 12" keep their prefix so they do not collide with house numbers.
+     * Abbreviated prefixes are spelled out first, so "P.12" matches "Phường 12".
+     */
+    public static String foldPlaceName(String name) {
+        String folded = expandAbbreviation(fold(name));
+        for (String prefix : ADMINISTRATIVE_PREFIXES) {
+            if (folded.startsWith(prefix + " ")) {
+                String rest = folded.substring(prefix.length() + 1);
+                return Character.isDigit(rest.charAt(0)) ? folded : rest;
+            }
+        }
+        return folded;
+    }
+
+    /**
+     * Spell out an abbreviated administrative prefix of a folded name, e.g. "q 1" becomes "quan 1"
+     */
+    static String expandAbbreviation(String folded) {
+        Matcher matcher = ABBREVIATED_PREFIX.matcher(folded);
+        if (!matcher.find() || matcher.end() == folded.length()) {
+            return folded;
+        }
+        return ABBREVIATIONS.get(matcher.group(1)) + " " + folded.substring(matcher.end());
+    }
+
+    /**
+     * Folded, comma-separated parts of an address
+     */
+    public static List<String> segments(String address) {
+        List<String> segments = new ArrayList<>();
+        for (String part : address.split(",")) {
+            String folded = fold(part);
+            if (!folded.isEmpty()) {
+                segments.add(folded);
+            }
+        }
+        return segments;
+    }
+}
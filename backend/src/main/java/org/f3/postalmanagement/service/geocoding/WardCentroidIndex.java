@@ -0,0 +1,106 @@
+package org.f3.postalmanagement.service.geocoding;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.f3.postalmanagement.repository.OrderRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Approximate location of every ward and province, for display while an exact
+ * geocode is missing.
+ * <p>
+ * The ward table has no coordinates, so centroids are the average of the geocoded
+ * sender and receiver addresses of orders in each ward. Provinces get the
+ * sample-weighted average of their wards. Lookups are plain map reads.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class WardCentroidIndex {
+
+    private final OrderRepository orderRepository;
+
+    private volatile Centroids centroids = new Centroids(Map.of(), Map.of());
+
+    /**
+     * Centroid of the ward, or of its province if the ward has no samples
+     */
+    public Optional<double[]> find(String wardCode, String provinceCode) {
+        Centroids current = centroids;
+        Accumulator ward = wardCode != null ? current.wards().get(wardCode) : null;
+        if (ward != null) {
+            return Optional.of(ward.centroid());
+        }
+        Accumulator province = provinceCode != null ? current.provinces().get(provinceCode) : null;
+        return province != null ? Optional.of(province.centroid()) : Optional.empty();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${geocoding.cache.centroid-refresh-interval-ms:3600000}",
+            initialDelayString = "${geocoding.cache.centroid-refresh-interval-ms:3600000}")
+    public void scheduledRefresh() {
+        refresh();
+    }
+
+    /**
+     * Rebuild the centroids from the geocoded orders
+     */
+    public void refresh() {
+        Map<String, Accumulator> wards = new HashMap<>();
+        Map<String, Accumulator> provinces = new HashMap<>();
+        add(orderRepository.averageSenderCoordinatesByWard(), wards, provinces);
+        add(orderRepository.averageReceiverCoordinatesByWard(), wards, provinces);
+
+        centroids = new Centroids(Map.copyOf(wards), Map.copyOf(provinces));
+        log.info("Ward centroids refreshed: {} wards, {} provinces", wards.size(), provinces.size());
+    }
+
+    private void add(List<OrderRepository.WardCoordinates> rows,
+                     Map<String, Accumulator> wards, Map<String, Accumulator> provinces) {
+        for (OrderRepository.WardCoordinates row : rows) {
+            if (row.getLatitude() == null || row.getLongitude() == null) {
+                continue;
+            }
+            wards.computeIfAbsent(row.getWardCode(), k -> new Accumulator())
+                    .add(row.getLatitude(), row.getLongitude(), row.getSampleCount());
+            if (row.getProvinceCode() != null) {
+                provinces.computeIfAbsent(row.getProvinceCode(), k -> new Accumulator())
+                        .add(row.getLatitude(), row.getLongitude(), row.getSampleCount());
+            }
+        }
+    }
+
+    private record Centroids(Map<String, Accumulator> wards, Map<String, Accumulator> provinces) {
+    }
+
+    /**
+     * Sample-weighted running average; only mutated while a refresh builds a new index
+     */
+    private static class Accumulator {
+        private double latitudeSum;
+        private double longitudeSum;
+        private long samples;
+
+        void add(double latitude, double longitude, long count) {
+            latitudeSum += latitude * count;
+            longitudeSum += longitude * count;
+            samples += count;
+        }
+
+        double[] centroid() {
+            return new double[]{latitudeSum / samples, longitudeSum / samples};
+        }
+    }
+}
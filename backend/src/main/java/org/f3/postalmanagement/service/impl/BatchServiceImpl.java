@@ -2,6 +2,7 @@ package org.f3.postalmanagement.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.f3.postalmanagement.config.BatchingProperties;
 import org.f3.postalmanagement.dto.request.batch.AddOrdersToBatchRequest;
 import org.f3.postalmanagement.dto.request.batch.AutoBatchRequest;
 import org.f3.postalmanagement.dto.request.batch.CreateBatchRequest;
@@ -17,6 +18,7 @@ import org.f3.postalmanagement.entity.order.Order;
 import org.f3.postalmanagement.entity.unit.Office;
 import org.f3.postalmanagement.enums.BatchStatus;
 import org.f3.postalmanagement.enums.OrderStatus;
+import org.f3.postalmanagement.enums.PackingAlgorithm;
 import org.f3.postalmanagement.enums.Role;
 import org.f3.postalmanagement.exception.BadRequestException;
 import org.f3.postalmanagement.exception.ForbiddenException;
@@ -26,6 +28,14 @@ import org.f3.postalmanagement.repository.EmployeeRepository;
 import org.f3.postalmanagement.repository.OfficeRepository;
 import org.f3.postalmanagement.repository.OrderRepository;
 import org.f3.postalmanagement.service.IBatchService;
+import org.f3.postalmanagement.service.batch.BatchCapacity;
+import org.f3.postalmanagement.service.batch.BestFitBatchIndex;
+import org.f3.postalmanagement.service.batch.OrderBatchableEvent;
+import org.f3.postalmanagement.service.batch.packing.BatchPackingContext;
+import org.f3.postalmanagement.service.batch.packing.BatchPackingStrategies;
+import org.f3.postalmanagement.service.batch.packing.BatchPackingStrategy;
+import org.f3.postalmanagement.service.batch.packing.ExtremePointPacker;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -51,6 +61,14 @@ public class BatchServiceImpl implements IBatchService {
     private final OrderRepository orderRepository;
     private final OfficeRepository officeRepository;
     private final EmployeeRepository employeeRepository;
+    private final BatchingProperties batchingProperties;
+    private final BatchPackingStrategies packingStrategies;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final List<OrderStatus> BATCHABLE_STATUSES = Arrays.asList(
+            OrderStatus.AT_ORIGIN_OFFICE,
+            OrderStatus.SORTED_AT_ORIGIN
+    );
 
     private static final DateTimeFormatter BATCH_CODE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
 
@@ -118,58 +136,35 @@ public class BatchServiceImpl implements IBatchService {
                 .filter(o -> o.getDestinationOffice() != null)
                 .collect(Collectors.groupingBy(o -> o.getDestinationOffice().getId()));
 
+        PackingAlgorithm algorithm = request.getPackingAlgorithm() != null
+                ? request.getPackingAlgorithm() : batchingProperties.getPackingAlgorithm();
+        BatchPackingStrategy strategy = packingStrategies.get(algorithm);
+
         // Process each destination
         for (Map.Entry<UUID, List<Order>> entry : ordersByDestination.entrySet()) {
             UUID destinationId = entry.getKey();
-            List<Order> orders = entry.getValue();
-
-            // Sort orders by weight (descending) for better bin packing - First Fit Decreasing
-            orders.sort((a, b) -> b.getChargeableWeightKg().compareTo(a.getChargeableWeightKg()));
-
-            // Get or create batches for this destination
-            List<BatchPackage> availableBatches = batchPackageRepository.findOpenBatchesForRoute(
-                    originOffice.getId(), destinationId, Arrays.asList(BatchStatus.OPEN, BatchStatus.PROCESSING));
 
-            for (Order order : orders) {
+            List<Order> packable = new ArrayList<>(entry.getValue().size());
+            for (Order order : entry.getValue()) {
                 // Skip orders that exceed the max batch weight
                 if (order.getChargeableWeightKg().compareTo(request.getMaxWeightPerBatch()) > 0) {
                     skippedOrderIds.add(order.getId());
                     skipReasons.add("Order " + order.getTrackingNumber() + " exceeds max batch weight");
                     continue;
                 }
+                packable.add(order);
+            }
 
-                BatchPackage targetBatch = null;
-
-                // First Fit Decreasing Algorithm: Find the first batch that can fit this order
-                for (BatchPackage batch : availableBatches) {
-                    if (canFitOrder(batch, order, request)) {
-                        targetBatch = batch;
-                        if (!updatedBatches.containsKey(batch.getId())) {
-                            existingBatchesUsed++;
-                        }
-                        break;
-                    }
-                }
-
-                // If no existing batch can fit, create a new one
-                if (targetBatch == null && request.isCreateNewBatches()) {
-                    Office destOffice = officeRepository.findById(destinationId)
-                            .orElseThrow(() -> new NotFoundException("Destination office not found"));
+            // Get existing batches for this destination
+            List<BatchPackage> availableBatches = batchPackageRepository.findOpenBatchesForRoute(
+                    originOffice.getId(), destinationId, Arrays.asList(BatchStatus.OPEN, BatchStatus.PROCESSING));
 
-                    targetBatch = createNewBatch(originOffice, destOffice, request, employee);
-                    availableBatches.add(targetBatch);
-                    newBatchesCreated++;
-                }
+            AutoBatchSession session = new AutoBatchSession(originOffice, destinationId, availableBatches,
+                    request, employee, updatedBatches, skippedOrderIds, skipReasons);
+            strategy.pack(packable, session);
 
-                // Add order to batch
-                if (targetBatch != null) {
-                    addOrderToBatch(targetBatch, order);
-                    updatedBatches.put(targetBatch.getId(), targetBatch);
-                } else {
-                    skippedOrderIds.add(order.getId());
-                    skipReasons.add("No available batch for order " + order.getTrackingNumber());
-                }
-            }
+            newBatchesCreated += session.newBatchesCreated;
+            existingBatchesUsed += session.existingBatchesUsed;
         }
 
         // Save all updated batches
@@ -190,9 +185,9 @@ public class BatchServiceImpl implements IBatchService {
                 .collect(Collectors.toList());
 
         int ordersAdded = unbatchedOrders.size() - skippedOrderIds.size();
-        log.info("Auto-batched {} orders into {} batches ({} new, {} existing) at office {}",
+        log.info("Auto-batched {} orders into {} batches ({} new, {} existing) at office {} using {}",
                 ordersAdded, updatedBatches.size(), newBatchesCreated, existingBatchesUsed,
-                originOffice.getOfficeName());
+                originOffice.getOfficeName(), algorithm);
 
         return AutoBatchResultResponse.builder()
                 .totalOrdersProcessed(unbatchedOrders.size())
@@ -206,6 +201,59 @@ public class BatchServiceImpl implements IBatchService {
                 .build();
     }
 
+    @Override
+    public int batchOrdersIncrementally(UUID originOfficeId, UUID destinationOfficeId, Collection<UUID> orderIds) {
+        List<Order> orders = orderRepository.findAllById(orderIds).stream()
+                .filter(o -> o.getBatchPackage() == null)
+                .filter(o -> BATCHABLE_STATUSES.contains(o.getStatus()))
+                .filter(o -> o.getOriginOffice().getId().equals(originOfficeId))
+                .filter(o -> o.getDestinationOffice() != null
+                        && o.getDestinationOffice().getId().equals(destinationOfficeId))
+                .sorted((a, b) -> b.getChargeableWeightKg().compareTo(a.getChargeableWeightKg()))
+                .collect(Collectors.toList());
+
+        if (orders.isEmpty()) {
+            return 0;
+        }
+
+        // One query for the route, then best-fit lookups in memory
+        BestFitBatchIndex index = new BestFitBatchIndex(BatchCapacity::canFit);
+        batchPackageRepository.findOpenBatchesForRoute(originOfficeId, destinationOfficeId,
+                Arrays.asList(BatchStatus.OPEN, BatchStatus.PROCESSING)).forEach(index::add);
+
+        AutoBatchRequest defaults = new AutoBatchRequest();
+        defaults.setMaxWeightPerBatch(batchingProperties.getMaxWeightPerBatch());
+        defaults.setMaxOrdersPerBatch(batchingProperties.getMaxOrdersPerBatch());
+
+        Map<UUID, BatchPackage> updatedBatches = new LinkedHashMap<>();
+        List<Order> placed = new ArrayList<>();
+
+        for (Order order : orders) {
+            if (order.getChargeableWeightKg().compareTo(defaults.getMaxWeightPerBatch()) > 0) {
+                // Oversized orders are left for manual batching
+                continue;
+            }
+
+            BatchPackage targetBatch = index.findBestFit(order);
+            if (targetBatch == null) {
+                targetBatch = createNewBatch(order.getOriginOffice(), order.getDestinationOffice(), defaults, null);
+                index.add(targetBatch);
+            }
+
+            BatchCapacity.addOrder(targetBatch, order);
+            index.update(targetBatch);
+            updatedBatches.put(targetBatch.getId(), targetBatch);
+            placed.add(order);
+        }
+
+        batchPackageRepository.saveAll(updatedBatches.values());
+        orderRepository.saveAll(placed);
+
+        log.debug("Incrementally batched {} of {} orders into {} batches for route {} -> {}",
+                placed.size(), orders.size(), updatedBatches.size(), originOfficeId, destinationOfficeId);
+        return placed.size();
+    }
+
     // ==================== BATCH OPERATIONS ====================
 
     @Override
@@ -239,12 +287,12 @@ public class BatchServiceImpl implements IBatchService {
                 throw new BadRequestException("Order " + order.getTrackingNumber() +
                         " is from different origin office");
             }
-            if (!canFitOrderInBatch(batch, order)) {
+            if (!BatchCapacity.canFitByWeightAndCount(batch, order)) {
                 throw new BadRequestException("Order " + order.getTrackingNumber() +
                         " exceeds batch capacity");
             }
 
-            addOrderToBatch(batch, order);
+            BatchCapacity.addOrder(batch, order);
         }
 
         batch.setStatus(BatchStatus.PROCESSING);
@@ -275,11 +323,12 @@ public class BatchServiceImpl implements IBatchService {
             throw new BadRequestException("Order is not in this batch");
         }
 
-        removeOrderFromBatchInternal(batch, order);
+        BatchCapacity.removeOrder(batch, order);
         order.setStatus(OrderStatus.AT_ORIGIN_OFFICE);
 
         batchPackageRepository.save(batch);
         orderRepository.save(order);
+        publishBatchable(List.of(order));
 
         log.info("Removed order {} from batch {}", order.getTrackingNumber(), batch.getBatchCode());
         return mapToBatchResponse(batch, true);
@@ -439,6 +488,7 @@ public class BatchServiceImpl implements IBatchService {
 
         batch = batchPackageRepository.save(batch);
         orderRepository.saveAll(batch.getOrders());
+        publishBatchable(batch.getOrders());
         log.info("Cancelled batch {}", batch.getBatchCode());
 
         return mapToBatchResponse(batch, false);
@@ -579,6 +629,18 @@ public class BatchServiceImpl implements IBatchService {
 
     // ==================== HELPER METHODS ====================
 
+    /**
+     * Hand orders released from a batch back to incremental batching once this transaction commits
+     */
+    private void publishBatchable(Collection<Order> orders) {
+        for (Order order : orders) {
+            if (order.getDestinationOffice() != null) {
+                eventPublisher.publishEvent(new OrderBatchableEvent(order.getId(),
+                        order.getOriginOffice().getId(), order.getDestinationOffice().getId()));
+            }
+        }
+    }
+
     private Employee getEmployeeFromAccount(Account account) {
         if (account.getRole() == Role.CUSTOMER) {
             throw new ForbiddenException("Customers cannot access batch operations");
@@ -602,49 +664,7 @@ public class BatchServiceImpl implements IBatchService {
 
     private List<Order> getUnbatchedOrders(UUID originOfficeId, UUID destinationOfficeId) {
         // Get orders that are at origin, not batched, and ready for transit
-        List<OrderStatus> validStatuses = Arrays.asList(
-                OrderStatus.AT_ORIGIN_OFFICE,
-                OrderStatus.SORTED_AT_ORIGIN
-        );
-
-        return orderRepository.findUnbatchedOrders(originOfficeId, destinationOfficeId, validStatuses);
-    }
-
-    private boolean canFitOrder(BatchPackage batch, Order order, AutoBatchRequest request) {
-        // Check weight capacity
-        BigDecimal newWeight = batch.getCurrentWeightKg().add(order.getChargeableWeightKg());
-        if (newWeight.compareTo(batch.getMaxWeightKg()) > 0) {
-            return false;
-        }
-
-        // Check order count
-        if (batch.getMaxOrderCount() != null && batch.getCurrentOrderCount() >= batch.getMaxOrderCount()) {
-            return false;
-        }
-
-        // Check volume if applicable
-        if (batch.getMaxVolumeCm3() != null && order.getLengthCm() != null) {
-            BigDecimal orderVolume = calculateVolume(order);
-            if (orderVolume != null) {
-                BigDecimal newVolume = batch.getCurrentVolumeCm3().add(orderVolume);
-                if (newVolume.compareTo(batch.getMaxVolumeCm3()) > 0) {
-                    return false;
-                }
-            }
-        }
-
-        return true;
-    }
-
-    private boolean canFitOrderInBatch(BatchPackage batch, Order order) {
-        BigDecimal newWeight = batch.getCurrentWeightKg().add(order.getChargeableWeightKg());
-        if (newWeight.compareTo(batch.getMaxWeightKg()) > 0) {
-            return false;
-        }
-        if (batch.getMaxOrderCount() != null && batch.getCurrentOrderCount() >= batch.getMaxOrderCount()) {
-            return false;
-        }
-        return true;
+        return orderRepository.findUnbatchedOrders(originOfficeId, destinationOfficeId, BATCHABLE_STATUSES);
     }
 
     private BatchPackage createNewBatch(Office origin, Office destination, AutoBatchRequest request, Employee employee) {
@@ -661,41 +681,91 @@ public class BatchServiceImpl implements IBatchService {
         return batchPackageRepository.save(batch);
     }
 
-    private void addOrderToBatch(BatchPackage batch, Order order) {
-        order.setBatchPackage(batch);
-        
-        // Update batch counters
-        batch.setCurrentOrderCount(batch.getCurrentOrderCount() + 1);
-        batch.setCurrentWeightKg(batch.getCurrentWeightKg().add(order.getChargeableWeightKg()));
-
-        // Update volume if available
-        BigDecimal orderVolume = calculateVolume(order);
-        if (orderVolume != null && batch.getCurrentVolumeCm3() != null) {
-            batch.setCurrentVolumeCm3(batch.getCurrentVolumeCm3().add(orderVolume));
+    /**
+     * Packing context for one route of an auto-batch run.
+     */
+    private class AutoBatchSession implements BatchPackingContext {
+
+        private final Office originOffice;
+        private final UUID destinationId;
+        private final List<BatchPackage> openBatches;
+        private final AutoBatchRequest request;
+        private final Employee employee;
+        private final Map<UUID, BatchPackage> updatedBatches;
+        private final List<UUID> skippedOrderIds;
+        private final List<String> skipReasons;
+
+        private Office destinationOffice;
+        private int newBatchesCreated;
+        private int existingBatchesUsed;
+
+        AutoBatchSession(Office originOffice, UUID destinationId, List<BatchPackage> openBatches,
+                         AutoBatchRequest request, Employee employee, Map<UUID, BatchPackage> updatedBatches,
+                         List<UUID> skippedOrderIds, List<String> skipReasons) {
+            this.originOffice = originOffice;
+            this.destinationId = destinationId;
+            this.openBatches = Collections.unmodifiableList(openBatches);
+            this.request = request;
+            this.employee = employee;
+            this.updatedBatches = updatedBatches;
+            this.skippedOrderIds = skippedOrderIds;
+            this.skipReasons = skipReasons;
+        }
+
+        @Override
+        public List<BatchPackage> getOpenBatches() {
+            return openBatches;
+        }
+
+        @Override
+        public boolean canFit(BatchPackage batch, Order order) {
+            return BatchCapacity.canFit(batch, order);
+        }
+
+        @Override
+        public BatchPackage openNewBatch() {
+            if (!request.isCreateNewBatches()) {
+                return null;
+            }
+            if (destinationOffice == null) {
+                destinationOffice = officeRepository.findById(destinationId)
+                        .orElseThrow(() -> new NotFoundException("Destination office not found"));
+            }
+            BatchPackage batch = createNewBatch(originOffice, destinationOffice, request, employee);
+            newBatchesCreated++;
+            // Mark as touched so it is not counted as an existing batch
+            updatedBatches.put(batch.getId(), batch);
+            return batch;
         }
-    }
 
-    private void removeOrderFromBatchInternal(BatchPackage batch, Order order) {
-        order.setBatchPackage(null);
-
-        // Update batch counters
-        batch.setCurrentOrderCount(batch.getCurrentOrderCount() - 1);
-        batch.setCurrentWeightKg(batch.getCurrentWeightKg().subtract(order.getChargeableWeightKg()));
+        @Override
+        public void assign(Order order, BatchPackage batch) {
+            if (!updatedBatches.containsKey(batch.getId())) {
+                existingBatchesUsed++;
+            }
+            BatchCapacity.addOrder(batch, order);
+            updatedBatches.put(batch.getId(), batch);
+        }
 
-        // Update volume if available
-        BigDecimal orderVolume = calculateVolume(order);
-        if (orderVolume != null && batch.getCurrentVolumeCm3() != null) {
-            batch.setCurrentVolumeCm3(batch.getCurrentVolumeCm3().subtract(orderVolume));
+        @Override
+        public void skip(Order order, String reason) {
+            skippedOrderIds.add(order.getId());
+            skipReasons.add(reason);
         }
-    }
 
-    private BigDecimal calculateVolume(Order order) {
-        if (order.getLengthCm() != null && order.getWidthCm() != null && order.getHeightCm() != null) {
-            return order.getLengthCm()
-                    .multiply(order.getWidthCm())
-                    .multiply(order.getHeightCm());
+        @Override
+        public ExtremePointPacker.Box getContainerDimensionsMm() {
+            BigDecimal length = request.getContainerLengthCm() != null
+                    ? request.getContainerLengthCm() : batchingProperties.getContainerLengthCm();
+            BigDecimal width = request.getContainerWidthCm() != null
+                    ? request.getContainerWidthCm() : batchingProperties.getContainerWidthCm();
+            BigDecimal height = request.getContainerHeightCm() != null
+                    ? request.getContainerHeightCm() : batchingProperties.getContainerHeightCm();
+            return new ExtremePointPacker.Box(
+                    ExtremePointPacker.toMillimeters(length),
+                    ExtremePointPacker.toMillimeters(width),
+                    ExtremePointPacker.toMillimeters(height));
         }
-        return null;
     }
 
     private BatchPackageResponse mapToBatchResponse(BatchPackage batch, boolean includeOrders) {
@@ -750,7 +820,7 @@ public class BatchServiceImpl implements IBatchService {
     }
 
     private OrderSummaryResponse mapToOrderSummary(Order order) {
-        BigDecimal volume = calculateVolume(order);
+        BigDecimal volume = BatchCapacity.volumeOf(order);
 
         return OrderSummaryResponse.builder()
                 .id(order.getId())
@@ -21,7 +21,9 @@ import org.f3.postalmanagement.repository.OfficeRepository;
 import org.f3.postalmanagement.repository.OrderRepository;
 import org.f3.postalmanagement.repository.ProvinceRepository;
 import org.f3.postalmanagement.service.IConsolidationRouteService;
+import org.f3.postalmanagement.service.batch.OrderBatchableEvent;
 import org.f3.postalmanagement.service.consolidation.ConsolidationRouteAuthorizationValidator;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -46,6 +48,7 @@ public class ConsolidationRouteServiceImpl implements IConsolidationRouteService
     private final OfficeRepository officeRepository;
     private final ProvinceRepository provinceRepository;
     private final ConsolidationRouteAuthorizationValidator consolidationRouteAuthorizationValidator;
+    private final ApplicationEventPublisher eventPublisher;
 
     // ==================== ROUTE MANAGEMENT ====================
 
@@ -267,6 +270,11 @@ public class ConsolidationRouteServiceImpl implements IConsolidationRouteService
         orderRepository.save(order);
         log.info("Assigned order {} to consolidation route {} (ward: {})",
                 orderId, assignedRoute.getId(), originWardCode);
+
+        if (order.getDestinationOffice() != null) {
+            eventPublisher.publishEvent(new OrderBatchableEvent(order.getId(),
+                    originOffice.getId(), order.getDestinationOffice().getId()));
+        }
     }
 
     @Override
@@ -1,38 +1,39 @@
 package org.f3.postalmanagement.service.impl;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.f3.postalmanagement.config.GeocodingProperties;
 import org.f3.postalmanagement.service.IGeocodingService;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
+import org.f3.postalmanagement.service.geocoding.CachedGeocode;
+import org.f3.postalmanagement.service.geocoding.GeocodeCache;
+import org.f3.postalmanagement.service.geocoding.GeocodeMatch;
+import org.f3.postalmanagement.service.geocoding.GeocodingProvider;
+import org.f3.postalmanagement.service.geocoding.WardCentroidIndex;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
-import java.util.Map;
+import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Geocoding service implementation using Nominatim API.
- * Complies with Nominatim usage policy: max 1 request/second, caching, proper User-Agent.
+ * Geocoding service backed by a chain of providers: the offline gazetteer first,
+ * remote Nominatim only for addresses it cannot resolve precisely enough.
+ * Called from the geocoding pipeline worker, never on the request path.
  */
 @Service
 @Slf4j
 public class GeocodingServiceImpl implements IGeocodingService {
 
-    private static final String NOMINATIM_URL = "https://nominatim.openstreetmap.org/search";
-    private static final String USER_AGENT = "PostalManagementSystem/1.0 (Contact: admin@postalmanagement.vn)";
-    private static final long MIN_REQUEST_INTERVAL_MS = 1000; // 1 second as per policy
-
-    private final Map<String, double[]> geocodeCache = new ConcurrentHashMap<>();
-    private final RestTemplate restTemplate = new RestTemplate();
-    private final ObjectMapper objectMapper = new ObjectMapper();
-    private long lastRequestTime = 0;
+    private final List<GeocodingProvider> providers;
+    private final GeocodeCache geocodeCache;
+    private final WardCentroidIndex wardCentroidIndex;
+    private final GeocodingProperties properties;
+
+    public GeocodingServiceImpl(List<GeocodingProvider> providers, GeocodeCache geocodeCache,
+                                WardCentroidIndex wardCentroidIndex, GeocodingProperties properties) {
+        this.providers = providers;
+        this.geocodeCache = geocodeCache;
+        this.wardCentroidIndex = wardCentroidIndex;
+        this.properties = properties;
+    }
 
     @Override
     public Optional<double[]> geocodeAddress(String address) {
@@ -40,66 +41,52 @@ public class GeocodingServiceImpl implements IGeocodingService {
             return Optional.empty();
         }
 
-        // Check cache first
-        String normalizedAddress = address.trim().toLowerCase();
-        if (geocodeCache.containsKey(normalizedAddress)) {
-            double[] cached = geocodeCache.get(normalizedAddress);
-            return cached != null ? Optional.of(cached) : Optional.empty();
+        // Check cache first; unresolved entries short-circuit until they expire
+        Optional<CachedGeocode> cached = geocodeCache.get(address);
+        if (cached.isPresent()) {
+            return cached.get().isResolved() ? Optional.of(cached.get().coordinates()) : Optional.empty();
         }
 
-        // Rate limiting: ensure at least 1 second between requests
-        synchronized (this) {
-            long now = System.currentTimeMillis();
-            long timeSinceLastRequest = now - lastRequestTime;
-            if (timeSinceLastRequest < MIN_REQUEST_INTERVAL_MS) {
-                try {
-                    Thread.sleep(MIN_REQUEST_INTERVAL_MS - timeSinceLastRequest);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    log.warn("Geocoding rate limiting interrupted", e);
-                }
+        GeocodeMatch accepted = null;
+        boolean failed = false;
+        for (GeocodingProvider provider : providers) {
+            Optional<GeocodeMatch> match;
+            try {
+                match = provider.geocode(address);
+            } catch (RuntimeException e) {
+                log.warn("Geocoding provider {} failed for address: {}", provider.getName(), address, e);
+                failed = true;
+                continue;
+            }
+            // Coarser results would put every address of a ward on one point; orders without
+            // coordinates are shown at approximateLocation instead
+            if (match.isPresent() && match.get().precision().isAtLeast(properties.getAcceptPrecision())) {
+                accepted = match.get();
+                break;
             }
-            lastRequestTime = System.currentTimeMillis();
         }
 
-        try {
-            String encodedAddress = URLEncoder.encode(address, StandardCharsets.UTF_8);
-            String url = String.format("%s?q=%s&format=json&limit=1&countrycodes=vn",
-                    NOMINATIM_URL, encodedAddress);
-
-            // Set proper User-Agent as required by Nominatim policy
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("User-Agent", USER_AGENT);
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-
-            ResponseEntity<String> responseEntity = restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
-            String response = responseEntity.getBody();
-            JsonNode results = objectMapper.readTree(response);
-
-            if (results.isArray() && results.size() > 0) {
-                JsonNode firstResult = results.get(0);
-                double lat = firstResult.get("lat").asDouble();
-                double lon = firstResult.get("lon").asDouble();
-                double[] coordinates = new double[]{lat, lon};
-
-                // Cache the result
-                geocodeCache.put(normalizedAddress, coordinates);
-                log.info("Geocoded address '{}' to [{}, {}]", address, lat, lon);
-
-                return Optional.of(coordinates);
+        if (accepted == null) {
+            if (failed) {
+                // Transient failure, only suppress retries briefly
+                geocodeCache.putFailed(address);
             } else {
-                // Cache null result to avoid repeated failed geocoding
-                geocodeCache.put(normalizedAddress, null);
+                // Negative result, kept for the shorter negative TTL
+                geocodeCache.putUnresolved(address);
                 log.warn("No geocoding results found for address: {}", address);
-                return Optional.empty();
             }
-
-        } catch (Exception e) {
-            log.error("Geocoding failed for address: {}", address, e);
-            // Cache null result to avoid repeated failures
-            geocodeCache.put(normalizedAddress, null);
             return Optional.empty();
         }
+
+        geocodeCache.putResolved(address, accepted.latitude(), accepted.longitude());
+        log.debug("Geocoded address '{}' to [{}, {}] via {} ({})",
+                address, accepted.latitude(), accepted.longitude(), accepted.provider(), accepted.precision());
+        return Optional.of(accepted.coordinates());
+    }
+
+    @Override
+    public Optional<double[]> approximateLocation(String wardCode, String provinceCode) {
+        return wardCentroidIndex.find(wardCode, provinceCode);
     }
 
     @Override
@@ -10,8 +10,10 @@ import org.f3.postalmanagement.entity.actor.CustomUserDetails;
 import org.f3.postalmanagement.enums.Role;
 import org.f3.postalmanagement.enums.SubscriptionPlan;
 import org.f3.postalmanagement.jwt.JwtUtil;
+import org.f3.postalmanagement.jwt.TokenRevocationList;
 import org.f3.postalmanagement.repository.AccountRepository;
 import org.f3.postalmanagement.repository.CustomerRepository;
+import org.f3.postalmanagement.repository.EmployeeRepository;
 import org.f3.postalmanagement.repository.ProvinceRepository;
 import org.f3.postalmanagement.repository.WardRepository;
 import org.f3.postalmanagement.entity.administrative.Ward;
@@ -38,6 +40,8 @@ public class IAuthServiceImpl implements IAuthService {
     private final CustomerRepository customerRepository;
     private final WardRepository wardRepository;
     private final ProvinceRepository provinceRepository;
+    private final EmployeeRepository employeeRepository;
+    private final TokenRevocationList tokenRevocationList;
     private final PasswordEncoder passwordEncoder;
 
     @Override
@@ -56,7 +60,10 @@ public class IAuthServiceImpl implements IAuthService {
         );
 
         CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
-        String token = jwtUtil.generateToken(userDetails);
+        EmployeeRepository.OfficeScope office = userDetails.getAccount().getRole() != Role.CUSTOMER
+                ? employeeRepository.findOfficeScope(userDetails.getId()).orElse(null)
+                : null;
+        String token = jwtUtil.generateToken(userDetails, office);
 
         log.info("Login successful for username: {}", username);
         return AuthResponse.builder()
@@ -111,4 +118,13 @@ public class IAuthServiceImpl implements IAuthService {
         customerRepository.save(customer);
         log.debug("Customer created with account ID: {}", account.getId());
     }
+
+    @Override
+    public void logout(CustomUserDetails currentUser) {
+        if (currentUser == null || currentUser.getScope() == null) {
+            return;
+        }
+        tokenRevocationList.revoke(currentUser.getId(), currentUser.getScope());
+        log.info("Logout for username: {}", currentUser.getUsername());
+    }
 }
@@ -2,93 +2,178 @@ package org.f3.postalmanagement.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.f3.postalmanagement.config.NotificationProperties;
 import org.f3.postalmanagement.config.RabbitMQConfig;
+import org.f3.postalmanagement.dto.notification.NotificationInboxResponse;
 import org.f3.postalmanagement.dto.notification.NotificationMessage;
+import org.f3.postalmanagement.entity.actor.Account;
+import org.f3.postalmanagement.entity.notification.Notification;
+import org.f3.postalmanagement.exception.BadRequestException;
+import org.f3.postalmanagement.exception.ForbiddenException;
+import org.f3.postalmanagement.exception.NotFoundException;
+import org.f3.postalmanagement.repository.EmployeeRepository;
+import org.f3.postalmanagement.repository.NotificationRepository;
 import org.f3.postalmanagement.service.INotificationService;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.f3.postalmanagement.service.notification.NotificationInbox;
+import org.f3.postalmanagement.service.outbox.OutboxWriter;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 /**
  * Implementation of notification service using RabbitMQ for message queuing
  * and WebSocket (STOMP) for real-time delivery to clients.
+ * <p>
+ * Every notification takes one path: it is written to the outbox in the calling
+ * transaction, relayed to RabbitMQ once that commits, and delivered to the matching
+ * STOMP destination by {@code OrderNotificationListener}, which also stores it in the
+ * inbox served by the read methods below.
  */
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class NotificationServiceImpl implements INotificationService {
 
-    private final RabbitTemplate rabbitTemplate;
-    private final SimpMessagingTemplate messagingTemplate;
+    /**
+     * How far each catch-up cursor reaches back, so notifications committing while the
+     * previous call ran are not skipped
+     */
+    private static final long CATCH_UP_OVERLAP_SECONDS = 5;
+
+    private final OutboxWriter outboxWriter;
+    private final NotificationInbox notificationInbox;
+    private final NotificationRepository notificationRepository;
+    private final EmployeeRepository employeeRepository;
+    private final NotificationProperties notificationProperties;
 
     @Override
     public void notifyOfficeNewPickupOrder(UUID officeId, String officeName, NotificationMessage message) {
         log.info("Sending new pickup order notification to office: {} ({})", officeName, officeId);
-        
-        // Send to RabbitMQ for persistence and processing
-        rabbitTemplate.convertAndSend(
-                RabbitMQConfig.ORDER_EXCHANGE,
-                RabbitMQConfig.NEW_ORDER_ROUTING_KEY,
-                message
-        );
-        
-        // Also send directly via WebSocket to connected staff at this office
-        String destination = "/topic/office/" + officeId + "/orders";
-        messagingTemplate.convertAndSend(destination, message);
-        
-        log.debug("Notification sent to destination: {}", destination);
+        message.setTargetOfficeId(officeId);
+        publish(RabbitMQConfig.ORDER_EXCHANGE, RabbitMQConfig.NEW_ORDER_ROUTING_KEY, message);
     }
 
     @Override
     public void notifyShipperAssignment(UUID shipperId, NotificationMessage message) {
         log.info("Sending assignment notification to shipper: {}", shipperId);
-        
-        // Send to RabbitMQ for persistence
-        rabbitTemplate.convertAndSend(
-                RabbitMQConfig.ORDER_EXCHANGE,
-                RabbitMQConfig.ORDER_ASSIGNED_ROUTING_KEY,
-                message
-        );
-        
-        // Send directly to specific shipper via WebSocket
-        // Using user-specific destination: /user/{userId}/queue/assignments
-        messagingTemplate.convertAndSendToUser(
-                shipperId.toString(),
-                "/queue/assignments",
-                message
-        );
-        
-        log.debug("Assignment notification sent to shipper: {}", shipperId);
+        message.setTargetUserId(shipperId);
+        publish(RabbitMQConfig.ORDER_EXCHANGE, RabbitMQConfig.ORDER_ASSIGNED_ROUTING_KEY, message);
     }
 
     @Override
     public void notifyUser(UUID userId, NotificationMessage message) {
         log.info("Sending notification to user: {}", userId);
-        
-        // Send to user-specific queue
-        messagingTemplate.convertAndSendToUser(
-                userId.toString(),
-                "/queue/notifications",
-                message
-        );
+        message.setTargetUserId(userId);
+        message.setTargetOfficeId(null);
+        publish(RabbitMQConfig.NOTIFICATION_EXCHANGE, RabbitMQConfig.STAFF_NOTIFICATION_ROUTING_KEY, message);
     }
 
     @Override
     public void notifyOffice(UUID officeId, NotificationMessage message) {
         log.info("Sending notification to office: {}", officeId);
-        
-        // Broadcast to all staff at this office
-        String destination = "/topic/office/" + officeId + "/notifications";
-        messagingTemplate.convertAndSend(destination, message);
+        message.setTargetOfficeId(officeId);
+        publish(RabbitMQConfig.NOTIFICATION_EXCHANGE, RabbitMQConfig.STAFF_NOTIFICATION_ROUTING_KEY, message);
     }
 
     @Override
     public void broadcastSystemNotification(NotificationMessage message) {
         log.info("Broadcasting system notification: {}", message.getTitle());
-        
-        // Broadcast to all connected users
-        messagingTemplate.convertAndSend("/topic/system", message);
+        publish(RabbitMQConfig.NOTIFICATION_EXCHANGE, RabbitMQConfig.SYSTEM_NOTIFICATION_ROUTING_KEY, message);
+    }
+
+    private void publish(String exchange, String routingKey, NotificationMessage message) {
+        if (message.getId() == null) {
+            message.setId(UUID.randomUUID());
+        }
+        if (message.getIdempotencyKey() == null) {
+            message.setIdempotencyKey(message.getId().toString());
+        }
+        if (message.getTimestamp() == null) {
+            message.setTimestamp(LocalDateTime.now());
+        }
+        String eventType = message.getType() != null ? message.getType().name() : "NOTIFICATION";
+        if (message.getOrderId() != null) {
+            outboxWriter.append("ORDER", message.getOrderId(), eventType, exchange, routingKey, message);
+        } else {
+            outboxWriter.append("NOTIFICATION", message.getId(), eventType, exchange, routingKey, message);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public NotificationInboxResponse getInbox(LocalDateTime since, int page, int size, Account currentAccount) {
+        UUID officeId = officeOf(currentAccount);
+        LocalDateTime oldest = LocalDateTime.now().minusDays(notificationProperties.getRetentionDays());
+        LocalDateTime from = since == null || since.isBefore(oldest) ? oldest : since;
+        int pageSize = Math.min(Math.max(size, 1), notificationProperties.getMaxPageSize());
+        LocalDateTime queriedAt = LocalDateTime.now();
+
+        Slice<Notification> slice = notificationRepository.findInbox(
+                currentAccount.getId(), officeId, from, PageRequest.of(Math.max(page, 0), pageSize));
+        List<NotificationMessage> notifications = slice.getContent().stream()
+                .map(notificationInbox::toMessage)
+                .toList();
+
+        LocalDateTime nextSince = queriedAt.minusSeconds(CATCH_UP_OVERLAP_SECONDS);
+        return NotificationInboxResponse.builder()
+                .notifications(notifications)
+                .unreadCount(notificationInbox.unreadCount(currentAccount.getId(), officeId))
+                .hasNext(slice.hasNext())
+                .nextSince(nextSince.isAfter(from) ? nextSince : from)
+                .build();
+    }
+
+    @Override
+    public long getUnreadCount(Account currentAccount) {
+        return notificationInbox.unreadCount(currentAccount.getId(), officeOf(currentAccount));
+    }
+
+    @Override
+    @Transactional
+    public void markAsRead(UUID notificationId, Account currentAccount) {
+        Notification notification = notificationRepository.findById(notificationId)
+                .orElseThrow(() -> new NotFoundException("Notification not found"));
+        if (notification.getTargetUserId() == null && notification.getTargetOfficeId() == null) {
+            // One row is shared by every user, so it has no read state of its own
+            throw new BadRequestException("System notifications cannot be marked as read");
+        }
+        boolean own = currentAccount.getId().equals(notification.getTargetUserId())
+                || (notification.getTargetUserId() == null
+                    && notification.getTargetOfficeId().equals(officeOf(currentAccount)));
+        if (!own) {
+            throw new ForbiddenException("Notification belongs to another user");
+        }
+        if (notification.getReadAt() == null) {
+            notification.setReadAt(LocalDateTime.now());
+            notificationRepository.save(notification);
+            notificationInbox.markedRead(notification);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void markAllAsRead(Account currentAccount) {
+        LocalDateTime now = LocalDateTime.now();
+        notificationRepository.markAllReadByUser(currentAccount.getId(), now);
+        notificationInbox.markedAllReadByUser(currentAccount.getId());
+        UUID officeId = officeOf(currentAccount);
+        if (officeId != null) {
+            notificationRepository.markAllReadByOffice(officeId, now);
+            notificationInbox.markedAllReadByOffice(officeId);
+        }
+    }
+
+    /**
+     * Office of a staff account; null for customers
+     */
+    private UUID officeOf(Account account) {
+        return employeeRepository.findById(account.getId())
+                .map(employee -> employee.getOffice() != null ? employee.getOffice().getId() : null)
+                .orElse(null);
     }
 }
@@ -4,6 +4,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.f3.postalmanagement.dto.notification.NotificationMessage;
 import org.f3.postalmanagement.dto.request.order.AssignShipperRequest;
+import org.f3.postalmanagement.dto.request.order.AutoAssignShipperRequest;
 import org.f3.postalmanagement.dto.request.order.CalculatePriceRequest;
 import org.f3.postalmanagement.dto.request.order.CreateCommentRequest;
 import org.f3.postalmanagement.dto.request.order.AssignDeliveryRequest;
@@ -30,12 +31,20 @@ import org.f3.postalmanagement.enums.PackageType;
 import org.f3.postalmanagement.enums.Role;
 import org.f3.postalmanagement.enums.ServiceType;
 import org.f3.postalmanagement.enums.SubscriptionPlan;
+import org.f3.postalmanagement.exception.NotFoundException;
 import org.f3.postalmanagement.repository.*;
 import org.f3.postalmanagement.service.IABSAService;
 import org.f3.postalmanagement.service.IGeocodingService;
 import org.f3.postalmanagement.service.INotificationService;
 import org.f3.postalmanagement.service.IOrderService;
+import org.f3.postalmanagement.service.batch.OrderBatchableEvent;
+import org.f3.postalmanagement.service.geocoding.GeocodingPipeline;
+import org.f3.postalmanagement.service.geocoding.OrderGeocodingRequestedEvent;
+import org.f3.postalmanagement.service.order.PickupShipperSelector;
+import org.f3.postalmanagement.service.order.TrackingNumberGenerator;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
@@ -47,8 +56,11 @@ import java.time.DayOfWeek;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -56,6 +68,11 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class OrderServiceImpl implements IOrderService {
 
+    /**
+     * Pending pickups taken per auto-assignment run when no orders are given
+     */
+    private static final int AUTO_ASSIGN_LIMIT = 200;
+
     private final OrderRepository orderRepository;
     private final OrderStatusHistoryRepository statusHistoryRepository;
     private final OrderCommentRepository orderCommentRepository;
@@ -67,6 +84,9 @@ public class OrderServiceImpl implements IOrderService {
     private final INotificationService notificationService;
     private final IABSAService absaService;
     private final IGeocodingService geocodingService;
+    private final TrackingNumberGenerator trackingNumberGenerator;
+    private final PickupShipperSelector pickupShipperSelector;
+    private final ApplicationEventPublisher eventPublisher;
 
     // ==================== PRICING CONSTANTS ====================
     // In a real system, these would come from a PriceTable entity
@@ -291,7 +311,7 @@ public class OrderServiceImpl implements IOrderService {
         LocalDateTime estimatedDelivery = calculateEstimatedDeliveryDate(deliveryDays);
         
         // Generate tracking number
-        String trackingNumber = generateTrackingNumber();
+        String trackingNumber = trackingNumberGenerator.next();
         
         // Create order
         Order order = new Order();
@@ -346,11 +366,11 @@ public class OrderServiceImpl implements IOrderService {
         order.setDeliveryInstructions(request.getDeliveryInstructions());
         order.setInternalNotes(request.getInternalNotes());
 
-        // Geocode addresses to get coordinates (stored for map display)
-        geocodeOrderAddresses(order);
-
         // Save order
         Order savedOrder = orderRepository.save(order);
+
+        // Coordinates for map display are geocoded after commit
+        requestGeocoding(savedOrder);
         
         // Create initial status history
         OrderStatusHistory history = new OrderStatusHistory();
@@ -602,24 +622,16 @@ public class OrderServiceImpl implements IOrderService {
         };
     }
 
-    private String generateTrackingNumber() {
-        // Format: VN + 9 digits(e.g., VN123456789)
-        Random random = new Random();
-        String number;
-        do {
-            int randomNumber = 100000000 + random.nextInt(900000000);
-            number = "VN" + randomNumber;
-        } while (orderRepository.existsByTrackingNumber(number));
-
-        return number;
-    }
-
     private OrderResponse mapToOrderResponse(Order order) {
         String dimensions = null;
         if (order.getLengthCm() != null && order.getWidthCm() != null && order.getHeightCm() != null) {
             dimensions = order.getLengthCm() + " x " + order.getWidthCm() + " x " + order.getHeightCm() + " cm";
         }
-        
+
+        // Until the address is geocoded, show the ward (or province) centroid
+        double[] senderLocation = locationOf(order.getSenderLatitude(), order.getSenderLongitude(), order.getSenderWard());
+        double[] receiverLocation = locationOf(order.getReceiverLatitude(), order.getReceiverLongitude(), order.getReceiverWard());
+
         return OrderResponse.builder()
                 .orderId(order.getId())
                 .trackingNumber(order.getTrackingNumber())
@@ -630,16 +642,18 @@ public class OrderServiceImpl implements IOrderService {
                 .senderWardCode(order.getSenderWard() != null ? order.getSenderWard().getCode() : null)
                 .senderWardName(order.getSenderWard() != null ? order.getSenderWard().getName() : null)
                 .senderProvinceName(order.getSenderWard() != null && order.getSenderWard().getProvince() != null ? order.getSenderWard().getProvince().getName() : null)
-                .senderLatitude(order.getSenderLatitude())
-                .senderLongitude(order.getSenderLongitude())
+                .senderLatitude(senderLocation != null ? senderLocation[0] : null)
+                .senderLongitude(senderLocation != null ? senderLocation[1] : null)
+                .senderLocationApproximate(senderLocation != null && order.getSenderLatitude() == null)
                 .receiverName(order.getReceiverName())
                 .receiverPhone(order.getReceiverPhone())
                 .receiverAddressLine1(order.getReceiverAddressLine1())
                 .receiverWardCode(order.getReceiverWard() != null ? order.getReceiverWard().getCode() : null)
                 .receiverWardName(order.getReceiverWard() != null ? order.getReceiverWard().getName() : null)
                 .receiverProvinceName(order.getReceiverWard() != null && order.getReceiverWard().getProvince() != null ? order.getReceiverWard().getProvince().getName() : null)
-                .receiverLatitude(order.getReceiverLatitude())
-                .receiverLongitude(order.getReceiverLongitude())
+                .receiverLatitude(receiverLocation != null ? receiverLocation[0] : null)
+                .receiverLongitude(receiverLocation != null ? receiverLocation[1] : null)
+                .receiverLocationApproximate(receiverLocation != null && order.getReceiverLatitude() == null)
                 .packageType(order.getPackageType())
                 .packageDescription(order.getPackageDescription())
                 .weightKg(order.getWeightKg())
@@ -665,6 +679,17 @@ public class OrderServiceImpl implements IOrderService {
                 .build();
     }
 
+    private double[] locationOf(Double latitude, Double longitude, Ward ward) {
+        if (latitude != null && longitude != null) {
+            return new double[]{latitude, longitude};
+        }
+        if (ward == null) {
+            return null;
+        }
+        String provinceCode = ward.getProvince() != null ? ward.getProvince().getCode() : null;
+        return geocodingService.approximateLocation(ward.getCode(), provinceCode).orElse(null);
+    }
+
     private String getStatusDescription(OrderStatus status) {
         return switch (status) {
             case CREATED -> "Order created at post office";
@@ -791,7 +816,7 @@ public class OrderServiceImpl implements IOrderService {
         LocalDateTime estimatedDelivery = calculateEstimatedDeliveryDate(deliveryDays);
         
         // Generate tracking number
-        String trackingNumber = generateTrackingNumber();
+        String trackingNumber = trackingNumberGenerator.next();
         
         // Create order
         Order order = new Order();
@@ -845,11 +870,11 @@ public class OrderServiceImpl implements IOrderService {
         // Notes
         order.setDeliveryInstructions(request.getDeliveryInstructions());
 
-        // Geocode addresses to get coordinates (stored for map display)
-        geocodeOrderAddresses(order);
-
         // Save order
         Order savedOrder = orderRepository.save(order);
+
+        // Coordinates for map display are geocoded after commit
+        requestGeocoding(savedOrder);
         
         // Create initial status history
         OrderStatusHistory history = new OrderStatusHistory();
@@ -928,13 +953,63 @@ public class OrderServiceImpl implements IOrderService {
             throw new IllegalArgumentException("Shipper must belong to the same office");
         }
         
+        return mapToOrderResponse(assignPickup(order, shipper, currentEmployee, request.getNotes()));
+    }
+
+    @Override
+    @Transactional
+    public List<OrderResponse> autoAssignShippersToPickup(AutoAssignShipperRequest request, Account currentAccount) {
+        validatePOStaffRole(currentAccount);
+        Employee currentEmployee = getCurrentEmployee(currentAccount);
+        UUID officeId = currentEmployee.getOffice().getId();
+
+        List<Order> orders;
+        if (request.getOrderIds() == null || request.getOrderIds().isEmpty()) {
+            orders = orderRepository.findPendingPickupOrdersByOfficeId(officeId, PageRequest.of(0, AUTO_ASSIGN_LIMIT))
+                    .getContent();
+        } else {
+            Set<UUID> ids = new LinkedHashSet<>(request.getOrderIds());
+            orders = orderRepository.findAllById(ids);
+            if (orders.size() != ids.size()) {
+                throw new NotFoundException("Order not found");
+            }
+            for (Order order : orders) {
+                if (order.getStatus() != OrderStatus.PENDING_PICKUP) {
+                    throw new IllegalArgumentException("Order " + order.getTrackingNumber() + " is not in PENDING_PICKUP status");
+                }
+                if (!order.getOriginOffice().getId().equals(officeId)) {
+                    throw new AccessDeniedException("You can only assign shippers for orders at your office");
+                }
+                // Reassigning is a deliberate choice of shipper, made through the manual assignment
+                if (order.getAssignedShipper() != null) {
+                    throw new IllegalArgumentException("Order " + order.getTrackingNumber() + " already has a shipper assigned");
+                }
+            }
+        }
+
+        Map<UUID, UUID> selected = pickupShipperSelector.select(officeId, orders);
+        Map<UUID, Employee> shippers = new HashMap<>();
+        employeeRepository.findAllById(selected.values()).forEach(shipper -> shippers.put(shipper.getId(), shipper));
+
+        List<OrderResponse> assigned = new ArrayList<>();
+        for (Order order : orders) {
+            Employee shipper = shippers.get(selected.get(order.getId()));
+            if (shipper != null) {
+                assigned.add(mapToOrderResponse(assignPickup(order, shipper, currentEmployee, request.getNotes())));
+            }
+        }
+        log.info("Auto-assigned {} of {} pickup orders at office {}", assigned.size(), orders.size(), officeId);
+        return assigned;
+    }
+
+    private Order assignPickup(Order order, Employee shipper, Employee currentEmployee, String notes) {
         // Assign shipper
         order.setAssignedShipper(shipper);
         
         // Add notes if provided
-        if (request.getNotes() != null && !request.getNotes().isBlank()) {
+        if (notes != null && !notes.isBlank()) {
             String existingNotes = order.getInternalNotes() != null ? order.getInternalNotes() + "\n" : "";
-            order.setInternalNotes(existingNotes + "Pickup notes: " + request.getNotes());
+            order.setInternalNotes(existingNotes + "Pickup notes: " + notes);
         }
         
         Order savedOrder = orderRepository.save(order);
@@ -963,7 +1038,7 @@ public class OrderServiceImpl implements IOrderService {
         );
         notificationService.notifyShipperAssignment(shipper.getId(), notification);
         
-        return mapToOrderResponse(savedOrder);
+        return savedOrder;
     }
 
     @Override
@@ -1246,6 +1321,12 @@ public class OrderServiceImpl implements IOrderService {
 
         log.info("Order {} accepted by staff {}", order.getTrackingNumber(), currentEmployee.getFullName());
 
+        // Place the order into an open batch once this transaction commits
+        if (savedOrder.getDestinationOffice() != null) {
+            eventPublisher.publishEvent(new OrderBatchableEvent(savedOrder.getId(),
+                    savedOrder.getOriginOffice().getId(), savedOrder.getDestinationOffice().getId()));
+        }
+
         return mapToOrderResponse(savedOrder);
     }
 
@@ -1458,37 +1539,13 @@ public class OrderServiceImpl implements IOrderService {
     }
 
     /**
-     * Geocode sender and receiver addresses and store coordinates in order.
-     * Geocoding is done asynchronously to avoid blocking order creation.
+     * Queue sender and receiver addresses for geocoding once the order is committed.
+     * Coordinates are back-filled asynchronously, so order creation never waits for the geocoder.
      */
-    private void geocodeOrderAddresses(Order order) {
-        try {
-            // Geocode sender address
-            String senderFullAddress = String.format("%s, %s, %s",
-                    order.getSenderAddressLine1(),
-                    order.getSenderWard().getName(),
-                    order.getSenderWard().getProvince().getName());
-
-            geocodingService.geocodeAddress(senderFullAddress).ifPresent(coords -> {
-                order.setSenderLatitude(coords[0]);
-                order.setSenderLongitude(coords[1]);
-                log.debug("Geocoded sender address: [{}, {}]", coords[0], coords[1]);
-            });
-
-            // Geocode receiver address
-            String receiverFullAddress = String.format("%s, %s, %s",
-                    order.getReceiverAddressLine1(),
-                    order.getReceiverWard().getName(),
-                    order.getReceiverWard().getProvince().getName());
-
-            geocodingService.geocodeAddress(receiverFullAddress).ifPresent(coords -> {
-                order.setReceiverLatitude(coords[0]);
-                order.setReceiverLongitude(coords[1]);
-                log.debug("Geocoded receiver address: [{}, {}]", coords[0], coords[1]);
-            });
-        } catch (Exception e) {
-            // Don't fail order creation if geocoding fails
-            log.warn("Failed to geocode addresses for order, continuing without coordinates", e);
-        }
+    private void requestGeocoding(Order order) {
+        eventPublisher.publishEvent(new OrderGeocodingRequestedEvent(
+                order.getId(),
+                GeocodingPipeline.fullAddress(order.getSenderAddressLine1(), order.getSenderWard()),
+                GeocodingPipeline.fullAddress(order.getReceiverAddressLine1(), order.getReceiverWard())));
     }
 }
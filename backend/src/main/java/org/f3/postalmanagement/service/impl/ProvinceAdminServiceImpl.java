@@ -20,6 +20,7 @@ import org.f3.postalmanagement.entity.unit.OfficePair;
 import org.f3.postalmanagement.entity.unit.WardOfficeAssignment;
 import org.f3.postalmanagement.enums.OfficeType;
 import org.f3.postalmanagement.enums.Role;
+import org.f3.postalmanagement.jwt.AccountChangedEvent;
 import org.f3.postalmanagement.repository.AccountRepository;
 import org.f3.postalmanagement.repository.EmployeeRepository;
 import org.f3.postalmanagement.repository.OfficeRepository;
@@ -27,6 +28,8 @@ import org.f3.postalmanagement.repository.OfficePairRepository;
 import org.f3.postalmanagement.repository.WardOfficeAssignmentRepository;
 import org.f3.postalmanagement.repository.WardRepository;
 import org.f3.postalmanagement.service.IProvinceAdminService;
+import org.f3.postalmanagement.service.office.OfficesChangedEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
@@ -52,6 +55,7 @@ public class ProvinceAdminServiceImpl implements IProvinceAdminService {
     private final AccountRepository accountRepository;
     private final WardRepository wardRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -390,6 +394,7 @@ public class ProvinceAdminServiceImpl implements IProvinceAdminService {
         // Save both offices
         Office savedWarehouse = officeRepository.save(wardWarehouse);
         Office savedPostOffice = officeRepository.save(wardPostOffice);
+        eventPublisher.publishEvent(new OfficesChangedEvent(List.of(savedWarehouse.getId(), savedPostOffice.getId())));
 
         // Create OfficePair to link warehouse and post office
         OfficePair officePair = new OfficePair();
@@ -784,6 +789,7 @@ public class ProvinceAdminServiceImpl implements IProvinceAdminService {
         }
 
         Employee savedStaff = employeeRepository.save(staff);
+        eventPublisher.publishEvent(new AccountChangedEvent(staff.getId()));
         log.info("Updated staff {} by admin {}", staffId, currentAccount.getUsername());
 
         return mapToEmployeeResponse(savedStaff);
@@ -817,6 +823,7 @@ public class ProvinceAdminServiceImpl implements IProvinceAdminService {
         // Also deactivate the account
         staff.getAccount().setActive(false);
         accountRepository.save(staff.getAccount());
+        eventPublisher.publishEvent(new AccountChangedEvent(staff.getId()));
 
         log.info("Deleted staff {} by admin {}", staffId, currentAccount.getUsername());
     }
@@ -2,6 +2,7 @@ package org.f3.postalmanagement.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.f3.postalmanagement.config.RoutingProperties;
 import org.f3.postalmanagement.dto.request.route.CreateTransferRouteRequest;
 import org.f3.postalmanagement.dto.request.route.DisableRouteRequest;
 import org.f3.postalmanagement.dto.response.route.DisruptionResponse;
@@ -21,13 +22,17 @@ import org.f3.postalmanagement.repository.RouteDisruptionRepository;
 import org.f3.postalmanagement.repository.TransferRouteRepository;
 import org.f3.postalmanagement.service.IReroutingService;
 import org.f3.postalmanagement.service.IRouteService;
+import org.f3.postalmanagement.service.route.HubRoutingGraph;
 import org.f3.postalmanagement.service.route.RouteAuthorizationValidator;
+import org.f3.postalmanagement.service.route.TransferRouteTopologyChangedEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of rerouting service for managing route disruptions.
@@ -43,6 +48,8 @@ public class ReroutingServiceImpl implements IReroutingService {
     private final OfficeRepository officeRepository;
     private final IRouteService routeService;
     private final RouteAuthorizationValidator routeAuthorizationValidator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RoutingProperties routingProperties;
 
     @Override
     @Transactional
@@ -117,6 +124,7 @@ public class ReroutingServiceImpl implements IReroutingService {
         }
 
         transferRouteRepository.save(reverseRoute);
+        eventPublisher.publishEvent(new TransferRouteTopologyChangedEvent(route.getId()));
 
         log.info("Bi-directional transfer routes created by {}: {} ↔ {}", currentAccount.getEmail(),
                 fromHub.getOfficeName(), toHub.getOfficeName());
@@ -155,12 +163,10 @@ public class ReroutingServiceImpl implements IReroutingService {
         List<BatchPackage> affectedBatches = batchPackageRepository
                 .findActiveBatchesBetweenHubs(route.getFromHub().getId(), route.getToHub().getId());
 
-        // Check if alternative route exists
-        boolean hasAlternative = checkForAlternativeRoute(
-                route.getFromHub().getRegion().getId(),
-                route.getToHub().getRegion().getId(),
-                routeId
-        );
+        // Cheapest path the network would use without this route
+        HubRoutingGraph.HubPath alternativePath = routeService.findAlternativePath(
+                route.getFromHub().getId(), route.getToHub().getId(), routeId).orElse(null);
+        boolean hasAlternative = alternativePath != null;
 
         // Count total orders affected
         int totalOrders = affectedBatches.stream()
@@ -190,8 +196,8 @@ public class ReroutingServiceImpl implements IReroutingService {
                 .affectedBatchCount(affectedBatches.size())
                 .affectedOrderCount(totalOrders)
                 .hasAlternativeRoute(hasAlternative)
-                .alternativeRouteDescription(hasAlternative ? "Alternative path available via other hubs" : null)
-                .additionalHours(hasAlternative ? estimateAdditionalHours(route) : null)
+                .alternativeRouteDescription(hasAlternative ? describePath(alternativePath) : null)
+                .additionalHours(hasAlternative ? estimateAdditionalHours(route, alternativePath) : null)
                 .affectedBatches(batchSummaries)
                 .build();
     }
@@ -217,6 +223,7 @@ public class ReroutingServiceImpl implements IReroutingService {
         // Disable the route
         route.setIsActive(false);
         transferRouteRepository.save(route);
+        eventPublisher.publishEvent(new TransferRouteTopologyChangedEvent(routeId));
 
         // Create disruption record
         RouteDisruption disruption = new RouteDisruption();
@@ -236,8 +243,8 @@ public class ReroutingServiceImpl implements IReroutingService {
                 routeId, currentAccount.getEmail(), affectedBatches.size(), totalOrders);
 
         // Note: In a production system, you would trigger batch rerouting here
-        // For now, the BFS algorithm in RouteService will automatically use alternative routes
-        // when calculatePackageRoute is called, since it filters by isActive = true
+        // The routing graph is rebuilt after commit without this route,
+        // so calculatePackageRoute automatically uses alternative routes
 
         return mapToDisruptionResponse(disruption);
     }
@@ -255,6 +262,7 @@ public class ReroutingServiceImpl implements IReroutingService {
         // Re-enable the route
         route.setIsActive(true);
         transferRouteRepository.save(route);
+        eventPublisher.publishEvent(new TransferRouteTopologyChangedEvent(routeId));
 
         // Close active disruption
         RouteDisruption activeDisruption = routeDisruptionRepository.findActiveByRouteId(routeId);
@@ -287,23 +295,19 @@ public class ReroutingServiceImpl implements IReroutingService {
 
     // ==================== HELPER METHODS ====================
 
-    private boolean checkForAlternativeRoute(Integer fromRegionId, Integer toRegionId, UUID excludedRouteId) {
-        // Use the existing BFS to check if an alternative path exists
-        // Since we haven't disabled the route yet, we need to simulate it
-        // For now, we check if there are other active routes from the same region
-        List<TransferRoute> alternatives = transferRouteRepository.findAllByIsActiveTrue().stream()
-                .filter(r -> !r.getId().equals(excludedRouteId))
-                .filter(r -> r.getFromHub().getRegion().getId().equals(fromRegionId) ||
-                             r.getToHub().getRegion().getId().equals(toRegionId))
-                .toList();
-
-        return !alternatives.isEmpty();
+    private String describePath(HubRoutingGraph.HubPath path) {
+        return path.stops().stream()
+                .map(Office::getOfficeName)
+                .collect(Collectors.joining(" → "));
     }
 
-    private Integer estimateAdditionalHours(TransferRoute disabledRoute) {
-        // Rough estimate: alternative routes typically add 4-8 hours
-        // In a real system, this would calculate actual path differences
-        return disabledRoute.getTransitHours() != null ? disabledRoute.getTransitHours() / 2 : 4;
+    private Integer estimateAdditionalHours(TransferRoute disabledRoute, HubRoutingGraph.HubPath alternativePath) {
+        // Alternative transit plus handling at each extra hub, compared to the direct route
+        int handlingHours = (int) Math.round(routingProperties.getSlaHubHandlingHours());
+        int directHours = disabledRoute.getTransitHours() != null
+                ? disabledRoute.getTransitHours()
+                : HubRoutingGraph.DEFAULT_TRANSIT_HOURS;
+        return Math.max(0, alternativePath.estimatedHours(handlingHours) - directHours);
     }
 
     private TransferRouteResponse mapToRouteResponse(TransferRoute route) {
@@ -2,22 +2,26 @@ package org.f3.postalmanagement.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.f3.postalmanagement.config.RoutingProperties;
 import org.f3.postalmanagement.dto.response.route.RouteResponse;
 import org.f3.postalmanagement.entity.administrative.Ward;
 import org.f3.postalmanagement.entity.unit.Office;
-import org.f3.postalmanagement.entity.unit.TransferRoute;
 import org.f3.postalmanagement.enums.OfficeType;
+import org.f3.postalmanagement.enums.RoutingCostFunction;
 import org.f3.postalmanagement.repository.OfficeRepository;
-import org.f3.postalmanagement.repository.TransferRouteRepository;
 import org.f3.postalmanagement.repository.WardRepository;
 import org.f3.postalmanagement.service.IRouteService;
+import org.f3.postalmanagement.service.route.HubRoutingGraph;
+import org.f3.postalmanagement.service.route.HubRoutingGraphHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
 
 /**
- * Implementation of route calculation service using BFS for hub-to-hub routing.
+ * Implementation of route calculation service.
+ * Hub-to-hub paths are read from the precomputed in-memory {@link HubRoutingGraph},
+ * weighted by the configured {@link RoutingCostFunction}.
  */
 @Service
 @Slf4j
@@ -25,8 +29,9 @@ import java.util.*;
 public class RouteServiceImpl implements IRouteService {
 
     private final OfficeRepository officeRepository;
-    private final TransferRouteRepository transferRouteRepository;
     private final WardRepository wardRepository;
+    private final HubRoutingGraphHolder routingGraphHolder;
+    private final RoutingProperties routingProperties;
 
     // Average processing time at each stop (hours)
     private static final int WAREHOUSE_PROCESSING_HOURS = 2;
@@ -35,6 +40,13 @@ public class RouteServiceImpl implements IRouteService {
     @Override
     @Transactional(readOnly = true)
     public RouteResponse calculatePackageRoute(UUID originOfficeId, String destinationWardCode) {
+        return calculatePackageRoute(originOfficeId, destinationWardCode, null, 0);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public RouteResponse calculatePackageRoute(UUID originOfficeId, String destinationWardCode,
+                                               RoutingCostFunction costFunction, int alternatives) {
         // Get origin office
         Office originOffice = officeRepository.findById(originOfficeId)
                 .orElseThrow(() -> new IllegalArgumentException("Origin office not found: " + originOfficeId));
@@ -43,15 +55,51 @@ public class RouteServiceImpl implements IRouteService {
         Ward destinationWard = wardRepository.findById(destinationWardCode)
                 .orElseThrow(() -> new IllegalArgumentException("Destination ward not found: " + destinationWardCode));
 
-        // Build the route
+        RoutingCostFunction selectedCostFunction = costFunction != null ? costFunction : routingProperties.getCostFunction();
+        int alternativeCount = Math.max(0, Math.min(alternatives, routingProperties.getMaxAlternatives()));
+
+        Integer originRegionId = originOffice.getRegion().getId();
+        Integer destRegionId = destinationWard.getProvince().getAdministrativeRegion().getId();
+        boolean sameRegion = originRegionId.equals(destRegionId);
+
+        // Use one graph snapshot for the whole route
+        HubRoutingGraph graph = routingGraphHolder.current();
+        if (sameRegion) {
+            return buildRoute(graph, originOffice, destinationWard, null, selectedCostFunction);
+        }
+
+        // Cheapest hub path first, then the alternatives
+        List<HubRoutingGraph.HubPath> hubPaths = graph.findHubPaths(originRegionId, destRegionId,
+                selectedCostFunction, alternativeCount + 1);
+        if (hubPaths.isEmpty()) {
+            log.warn("No path found between regions {} and {}", originRegionId, destRegionId);
+            return buildRoute(graph, originOffice, destinationWard, null, selectedCostFunction);
+        }
+
+        RouteResponse route = buildRoute(graph, originOffice, destinationWard, hubPaths.get(0), selectedCostFunction);
+        if (alternativeCount > 0) {
+            route.setAlternatives(hubPaths.stream()
+                    .skip(1)
+                    .map(path -> buildRoute(graph, originOffice, destinationWard, path, selectedCostFunction))
+                    .toList());
+        }
+        return route;
+    }
+
+    /**
+     * Build the stop list: origin, province warehouse, origin hub, hub path, destination warehouse, ward office.
+     *
+     * @param hubPath hub-to-hub path, or null if the route stays in one region
+     */
+    private RouteResponse buildRoute(HubRoutingGraph graph, Office originOffice, Ward destinationWard,
+                                     HubRoutingGraph.HubPath hubPath, RoutingCostFunction costFunction) {
         List<RouteResponse.RouteStop> stops = new ArrayList<>();
         int cumulativeHours = 0;
         int stopOrder = 1;
         int totalDistanceKm = 0;
 
-        Integer originRegionId = originOffice.getRegion().getId();
-        Integer destRegionId = destinationWard.getProvince().getAdministrativeRegion().getId();
-        boolean sameRegion = originRegionId.equals(destRegionId);
+        boolean sameRegion = originOffice.getRegion().getId()
+                .equals(destinationWard.getProvince().getAdministrativeRegion().getId());
         boolean sameProvince = originOffice.getProvince() != null && 
                 originOffice.getProvince().getCode().equals(destinationWard.getProvince().getCode());
 
@@ -62,7 +110,7 @@ public class RouteServiceImpl implements IRouteService {
         if (originOffice.getOfficeType() == OfficeType.WARD_POST || 
             originOffice.getOfficeType() == OfficeType.PROVINCE_POST) {
             // Find province warehouse for origin
-            Office originWarehouse = findProvinceWarehouse(originOffice.getProvince().getCode());
+            Office originWarehouse = findProvinceWarehouse(graph, originOffice.getProvince().getCode());
             if (originWarehouse != null) {
                 cumulativeHours += WAREHOUSE_PROCESSING_HOURS;
                 stops.add(buildRouteStop(originWarehouse, stopOrder++, cumulativeHours));
@@ -70,37 +118,25 @@ public class RouteServiceImpl implements IRouteService {
         }
 
         // Step 3: Get origin hub
-        Office originHub = getHubForOffice(originOffice);
+        Office originHub = getHubForOffice(graph, originOffice);
         if (originHub != null && !isAlreadyInStops(stops, originHub.getId())) {
             cumulativeHours += HUB_PROCESSING_HOURS;
             stops.add(buildRouteStop(originHub, stopOrder++, cumulativeHours));
         }
 
         // Step 4: Hub-to-hub routing (if different regions)
-        if (!sameRegion && originHub != null) {
-            List<Office> hubPath = getHubPath(originRegionId, destRegionId);
-            
+        if (hubPath != null && originHub != null) {
             // Skip the first hub (already added) and add intermediate + destination hubs
-            for (int i = 1; i < hubPath.size(); i++) {
-                Office hub = hubPath.get(i);
-                
-                // Calculate transit time from previous hub
-                Office prevHub = hubPath.get(i - 1);
-                TransferRoute route = transferRouteRepository.findByFromHubIdAndToHubId(prevHub.getId(), hub.getId())
-                        .orElse(null);
-                if (route != null) {
-                    cumulativeHours += route.getTransitHours();
-                    totalDistanceKm += route.getDistanceKm() != null ? route.getDistanceKm() : 0;
-                } else {
-                    cumulativeHours += HUB_PROCESSING_HOURS; // Default if route not found
-                }
-                
-                stops.add(buildRouteStop(hub, stopOrder++, cumulativeHours));
+            for (int i = 1; i < hubPath.stops().size(); i++) {
+                HubRoutingGraph.Leg leg = hubPath.legs().get(i - 1);
+                cumulativeHours += leg.transitHours();
+                totalDistanceKm += leg.distanceKm();
+                stops.add(buildRouteStop(hubPath.stops().get(i), stopOrder++, cumulativeHours));
             }
         }
 
         // Step 5: Go to destination province warehouse
-        Office destWarehouse = findProvinceWarehouse(destinationWard.getProvince().getCode());
+        Office destWarehouse = findProvinceWarehouse(graph, destinationWard.getProvince().getCode());
         if (destWarehouse != null && !isAlreadyInStops(stops, destWarehouse.getId())) {
             cumulativeHours += WAREHOUSE_PROCESSING_HOURS;
             stops.add(buildRouteStop(destWarehouse, stopOrder++, cumulativeHours));
@@ -120,74 +156,26 @@ public class RouteServiceImpl implements IRouteService {
                 .totalDistanceKm(totalDistanceKm)
                 .sameRegion(sameRegion)
                 .sameProvince(sameProvince)
+                .costFunction(costFunction)
                 .build();
     }
 
     @Override
-    @Transactional(readOnly = true)
     public List<Office> getHubPath(Integer fromRegionId, Integer toRegionId) {
+        HubRoutingGraph graph = routingGraphHolder.current();
         if (fromRegionId.equals(toRegionId)) {
             // Same region, just return the hub for that region
-            List<Office> hubs = officeRepository.findAllByOfficeType(OfficeType.HUB);
-            return hubs.stream()
-                    .filter(h -> h.getRegion().getId().equals(fromRegionId))
-                    .findFirst()
+            return graph.findHubForRegion(fromRegionId)
                     .map(List::of)
                     .orElse(Collections.emptyList());
         }
 
-        // Build adjacency graph from active routes
-        Map<UUID, List<TransferRoute>> adjacencyMap = new HashMap<>();
-        Map<UUID, Office> hubMap = new HashMap<>();
-        Map<Integer, Office> regionToHub = new HashMap<>();
-
-        List<TransferRoute> allRoutes = transferRouteRepository.findAllByIsActiveTrue();
-        for (TransferRoute route : allRoutes) {
-            adjacencyMap.computeIfAbsent(route.getFromHub().getId(), k -> new ArrayList<>()).add(route);
-            hubMap.put(route.getFromHub().getId(), route.getFromHub());
-            hubMap.put(route.getToHub().getId(), route.getToHub());
-            regionToHub.put(route.getFromHub().getRegion().getId(), route.getFromHub());
-            regionToHub.put(route.getToHub().getRegion().getId(), route.getToHub());
-        }
-
-        Office startHub = regionToHub.get(fromRegionId);
-        Office endHub = regionToHub.get(toRegionId);
-
-        if (startHub == null || endHub == null) {
-            log.warn("No hub found for regions {} or {}", fromRegionId, toRegionId);
-            return Collections.emptyList();
-        }
-
-        // BFS to find shortest path
-        Queue<UUID> queue = new LinkedList<>();
-        Map<UUID, UUID> parentMap = new HashMap<>();
-        Set<UUID> visited = new HashSet<>();
-
-        queue.add(startHub.getId());
-        visited.add(startHub.getId());
-        parentMap.put(startHub.getId(), null);
-
-        while (!queue.isEmpty()) {
-            UUID currentId = queue.poll();
-
-            if (currentId.equals(endHub.getId())) {
-                // Found the destination, reconstruct path
-                return reconstructPath(parentMap, hubMap, startHub.getId(), endHub.getId());
-            }
-
-            List<TransferRoute> neighbors = adjacencyMap.getOrDefault(currentId, Collections.emptyList());
-            for (TransferRoute route : neighbors) {
-                UUID neighborId = route.getToHub().getId();
-                if (!visited.contains(neighborId)) {
-                    visited.add(neighborId);
-                    parentMap.put(neighborId, currentId);
-                    queue.add(neighborId);
-                }
-            }
-        }
-
-        log.warn("No path found between regions {} and {}", fromRegionId, toRegionId);
-        return Collections.emptyList();
+        return graph.findHubPath(fromRegionId, toRegionId, routingProperties.getCostFunction())
+                .map(HubRoutingGraph.HubPath::stops)
+                .orElseGet(() -> {
+                    log.warn("No path found between regions {} and {}", fromRegionId, toRegionId);
+                    return Collections.emptyList();
+                });
     }
 
     @Override
@@ -197,21 +185,15 @@ public class RouteServiceImpl implements IRouteService {
         return route.getEstimatedHours();
     }
 
-    // ==================== HELPER METHODS ====================
-
-    private List<Office> reconstructPath(Map<UUID, UUID> parentMap, Map<UUID, Office> hubMap, UUID startId, UUID endId) {
-        List<Office> path = new ArrayList<>();
-        UUID currentId = endId;
-
-        while (currentId != null) {
-            path.add(0, hubMap.get(currentId));
-            currentId = parentMap.get(currentId);
-        }
-
-        return path;
+    @Override
+    public Optional<HubRoutingGraph.HubPath> findAlternativePath(UUID fromOfficeId, UUID toOfficeId, UUID excludedRouteId) {
+        return routingGraphHolder.current().findPathAvoiding(fromOfficeId, toOfficeId,
+                routingProperties.getCostFunction(), Set.of(excludedRouteId));
     }
 
-    private Office getHubForOffice(Office office) {
+    // ==================== HELPER METHODS ====================
+
+    private Office getHubForOffice(HubRoutingGraph graph, Office office) {
         // If office is a hub, return it
         if (office.getOfficeType() == OfficeType.HUB) {
             return office;
@@ -227,15 +209,11 @@ public class RouteServiceImpl implements IRouteService {
         }
 
         // Fallback: find hub for the office's region
-        return officeRepository.findAllByOfficeType(OfficeType.HUB).stream()
-                .filter(h -> h.getRegion().getId().equals(office.getRegion().getId()))
-                .findFirst()
-                .orElse(null);
+        return graph.findHubForRegion(office.getRegion().getId()).orElse(null);
     }
 
-    private Office findProvinceWarehouse(String provinceCode) {
-        List<Office> warehouses = officeRepository.findByProvinceCodeAndOfficeType(provinceCode, OfficeType.PROVINCE_WAREHOUSE);
-        return warehouses.isEmpty() ? null : warehouses.get(0);
+    private Office findProvinceWarehouse(HubRoutingGraph graph, String provinceCode) {
+        return graph.findProvinceWarehouse(provinceCode).orElse(null);
     }
 
     private Office findWardOffice(String wardCode) {
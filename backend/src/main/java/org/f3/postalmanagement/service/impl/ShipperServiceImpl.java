@@ -5,16 +5,20 @@ import lombok.extern.slf4j.Slf4j;
 import org.f3.postalmanagement.dto.request.employee.CreateShipperRequest;
 import org.f3.postalmanagement.dto.request.employee.UpdateStaffRequest;
 import org.f3.postalmanagement.dto.response.PageResponse;
+import org.f3.postalmanagement.dto.response.employee.DeliveryRunResponse;
 import org.f3.postalmanagement.dto.response.employee.EmployeeResponse;
 import org.f3.postalmanagement.entity.actor.Account;
 import org.f3.postalmanagement.entity.actor.Employee;
 import org.f3.postalmanagement.entity.unit.Office;
 import org.f3.postalmanagement.enums.OfficeType;
 import org.f3.postalmanagement.enums.Role;
+import org.f3.postalmanagement.jwt.AccountChangedEvent;
 import org.f3.postalmanagement.repository.AccountRepository;
 import org.f3.postalmanagement.repository.EmployeeRepository;
 import org.f3.postalmanagement.repository.OfficeRepository;
 import org.f3.postalmanagement.service.IShipperService;
+import org.f3.postalmanagement.service.route.DeliveryRunPlanner;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
@@ -34,6 +38,8 @@ public class ShipperServiceImpl implements IShipperService {
     private final EmployeeRepository employeeRepository;
     private final OfficeRepository officeRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DeliveryRunPlanner deliveryRunPlanner;
 
     @Override
     @Transactional
@@ -195,6 +201,7 @@ public class ShipperServiceImpl implements IShipperService {
         }
 
         Employee savedShipper = employeeRepository.save(shipper);
+        eventPublisher.publishEvent(new AccountChangedEvent(shipper.getId()));
         log.info("Updated shipper {} by {}", shipperId, currentAccount.getUsername());
 
         return mapToEmployeeResponse(savedShipper);
@@ -221,10 +228,33 @@ public class ShipperServiceImpl implements IShipperService {
         employeeRepository.delete(shipper);
         shipper.getAccount().setActive(false);
         accountRepository.save(shipper.getAccount());
+        eventPublisher.publishEvent(new AccountChangedEvent(shipper.getId()));
 
         log.info("Deleted shipper {} by {}", shipperId, currentAccount.getUsername());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public DeliveryRunResponse getDeliveryRun(UUID shipperId, Account currentAccount) {
+        Employee shipper = employeeRepository.findById(shipperId)
+                .orElseThrow(() -> new IllegalArgumentException("Shipper not found with ID: " + shipperId));
+
+        if (shipper.getAccount().getRole() != Role.SHIPPER) {
+            throw new IllegalArgumentException("Employee is not a shipper");
+        }
+
+        if (currentAccount.getRole() == Role.SHIPPER) {
+            if (!shipper.getId().equals(currentAccount.getId())) {
+                throw new AccessDeniedException("You can only view your own delivery run");
+            }
+        } else {
+            validateWarehouseRole(currentAccount);
+            validateShipperAccess(currentAccount.getRole(), getCurrentEmployee(currentAccount), shipper, "view");
+        }
+
+        return deliveryRunPlanner.plan(shipper);
+    }
+
     private void validateWarehouseRole(Account currentAccount) {
         Role role = currentAccount.getRole();
         if (role != Role.HUB_ADMIN && role != Role.WH_PROVINCE_ADMIN && role != Role.WH_WARD_MANAGER &&
@@ -2,26 +2,45 @@ package org.f3.postalmanagement.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.f3.postalmanagement.config.TrackingProperties;
 import org.f3.postalmanagement.dto.request.tracking.LocationUpdateRequest;
+import org.f3.postalmanagement.dto.response.tracking.NearbyShipperResponse;
 import org.f3.postalmanagement.dto.response.tracking.ShipperLocationResponse;
+import org.f3.postalmanagement.dto.response.tracking.ShipperTrackResponse;
 import org.f3.postalmanagement.entity.actor.Account;
 import org.f3.postalmanagement.entity.actor.Employee;
 import org.f3.postalmanagement.entity.order.Order;
-import org.f3.postalmanagement.entity.tracking.ShipperLocation;
+import org.f3.postalmanagement.entity.tracking.DeliverySession;
 import org.f3.postalmanagement.enums.OrderStatus;
 import org.f3.postalmanagement.exception.BadRequestException;
 import org.f3.postalmanagement.exception.ForbiddenException;
 import org.f3.postalmanagement.exception.NotFoundException;
+import org.f3.postalmanagement.repository.DeliverySessionRepository;
 import org.f3.postalmanagement.repository.EmployeeRepository;
 import org.f3.postalmanagement.repository.OrderRepository;
-import org.f3.postalmanagement.repository.ShipperLocationRepository;
 import org.f3.postalmanagement.service.ITrackingService;
+import org.f3.postalmanagement.service.order.PickupShipperSelector;
+import org.f3.postalmanagement.service.tracking.DeliverySessionRegistry;
+import org.f3.postalmanagement.service.tracking.DeliverySessionsChangedEvent;
+import org.f3.postalmanagement.service.tracking.LivePosition;
+import org.f3.postalmanagement.service.tracking.LocationHistoryRecorder;
+import org.f3.postalmanagement.service.tracking.OrderTrackingPublisher;
+import org.f3.postalmanagement.service.tracking.ShipperLocationStore;
+import org.f3.postalmanagement.service.tracking.ShipperSpatialIndex;
+import org.f3.postalmanagement.service.tracking.TrackCodec;
+import org.f3.postalmanagement.service.tracking.TrackPoints;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -30,156 +49,208 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class TrackingServiceImpl implements ITrackingService {
 
-    private final ShipperLocationRepository locationRepository;
     private final EmployeeRepository employeeRepository;
     private final OrderRepository orderRepository;
+    private final DeliverySessionRepository sessionRepository;
+    private final DeliverySessionRegistry sessionRegistry;
+    private final ShipperLocationStore locationStore;
+    private final LocationHistoryRecorder historyRecorder;
+    private final OrderTrackingPublisher orderTrackingPublisher;
+    private final PickupShipperSelector pickupShipperSelector;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TrackingProperties trackingProperties;
+
+    /**
+     * Upper bound on shippers returned by a nearby search
+     */
+    private static final int MAX_NEARBY_LIMIT = 50;
 
     @Override
-    @Transactional
     public void updateLocation(LocationUpdateRequest request, Account currentAccount) {
-        Employee shipper = employeeRepository.findByAccount(currentAccount)
-                .orElseThrow(() -> new NotFoundException("Shipper not found"));
+        ShipperLocationStore.ShipperIdentity shipper = locationStore.identityOf(currentAccount);
 
-        ShipperLocation location = locationRepository.findByShipperId(shipper.getId())
-                .orElseGet(() -> {
-                    ShipperLocation newLocation = new ShipperLocation();
-                    newLocation.setShipper(shipper);
-                    return newLocation;
-                });
-
-        location.setLatitude(request.getLatitude());
-        location.setLongitude(request.getLongitude());
-        location.setAccuracy(request.getAccuracy());
-        location.setHeading(request.getHeading());
-        location.setSpeed(request.getSpeed());
-        location.setTimestamp(LocalDateTime.now());
-        location.setIsActive(true);
-
-        locationRepository.save(location);
-        log.debug("Updated location for shipper {}: {}, {}", 
-            shipper.getId(), request.getLatitude(), request.getLongitude());
+        // Buffered in memory, written to shipper_locations by the next flush
+        LivePosition position = locationStore.update(new LivePosition(
+                shipper.shipperId(),
+                shipper.fullName(),
+                shipper.phoneNumber(),
+                shipper.officeId(),
+                request.getLatitude(),
+                request.getLongitude(),
+                request.getAccuracy(),
+                request.getHeading(),
+                request.getSpeed(),
+                LocalDateTime.now(),
+                true));
+        historyRecorder.record(position);
+        orderTrackingPublisher.publish(position);
+        log.debug("Updated location for shipper {}: {}, {}",
+            shipper.shipperId(), request.getLatitude(), request.getLongitude());
     }
 
     @Override
-    @Transactional(readOnly = true)
     public ShipperLocationResponse getShipperLocation(UUID shipperId) {
-        ShipperLocation location = locationRepository.findByShipperId(shipperId)
+        LivePosition position = locationStore.find(shipperId)
                 .orElseThrow(() -> new NotFoundException("Shipper location not found"));
-        return mapToResponse(location);
+        return position.toResponse();
     }
 
     @Override
     @Transactional(readOnly = true)
     public ShipperLocationResponse getShipperLocationForOrder(UUID orderId) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new NotFoundException("Order not found"));
+        // Orders on a delivery session resolve to their shipper without touching the database
+        UUID shipperId = sessionRegistry.shipperOf(orderId).orElse(null);
+        if (shipperId == null) {
+            Order order = orderRepository.findById(orderId)
+                    .orElseThrow(() -> new NotFoundException("Order not found"));
 
-        // Only allow tracking when order is OUT_FOR_DELIVERY
-        if (order.getStatus() != OrderStatus.OUT_FOR_DELIVERY) {
-            throw new BadRequestException("Order is not currently out for delivery");
-        }
+            // Only allow tracking when order is OUT_FOR_DELIVERY
+            if (order.getStatus() != OrderStatus.OUT_FOR_DELIVERY) {
+                throw new BadRequestException("Order is not currently out for delivery");
+            }
 
-        if (order.getAssignedShipper() == null) {
-            throw new BadRequestException("No shipper assigned to this order");
+            if (order.getAssignedShipper() == null) {
+                throw new BadRequestException("No shipper assigned to this order");
+            }
+            shipperId = order.getAssignedShipper().getId();
         }
 
-        ShipperLocation location = locationRepository.findByShipperId(order.getAssignedShipper().getId())
+        LivePosition position = locationStore.find(shipperId)
                 .orElseThrow(() -> new NotFoundException("Shipper location not available"));
 
-        return mapToResponse(location);
+        return position.toResponse();
     }
 
     @Override
     @Transactional
     public void startDeliverySession(UUID orderId, Account currentAccount) {
+        startDeliverySessions(List.of(orderId), currentAccount);
+    }
+
+    @Override
+    @Transactional
+    public void startDeliverySessions(Collection<UUID> orderIds, Account currentAccount) {
         Employee shipper = employeeRepository.findByAccount(currentAccount)
                 .orElseThrow(() -> new NotFoundException("Shipper not found"));
 
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new NotFoundException("Order not found"));
+        Set<UUID> ids = new LinkedHashSet<>(orderIds);
+        List<Order> orders = orderRepository.findAllById(ids);
+        if (orders.size() != ids.size()) {
+            throw new NotFoundException("Order not found");
+        }
 
-        // Verify shipper is assigned to this order
-        if (order.getAssignedShipper() == null || 
-            !order.getAssignedShipper().getId().equals(shipper.getId())) {
-            throw new ForbiddenException("You are not assigned to this order");
+        // Verify shipper is assigned to every order
+        for (Order order : orders) {
+            if (order.getAssignedShipper() == null ||
+                !order.getAssignedShipper().getId().equals(shipper.getId())) {
+                throw new ForbiddenException("You are not assigned to order " + order.getTrackingNumber());
+            }
+            order.setStatus(OrderStatus.OUT_FOR_DELIVERY);
         }
+        orderRepository.saveAll(orders);
 
-        // Update order status
-        order.setStatus(OrderStatus.OUT_FOR_DELIVERY);
-        orderRepository.save(order);
-
-        // Update shipper location record with active order
-        ShipperLocation location = locationRepository.findByShipperId(shipper.getId())
-                .orElseGet(() -> {
-                    ShipperLocation newLocation = new ShipperLocation();
-                    newLocation.setShipper(shipper);
-                    newLocation.setTimestamp(LocalDateTime.now());
-                    return newLocation;
-                });
-
-        // Add order to active orders list
-        String activeOrders = location.getActiveOrderIds();
-        if (activeOrders == null || activeOrders.isEmpty()) {
-            activeOrders = orderId.toString();
-        } else if (!activeOrders.contains(orderId.toString())) {
-            activeOrders = activeOrders + "," + orderId.toString();
+        // One session per order; a session left by a previous shipper is taken over
+        Map<UUID, DeliverySession> sessions = sessionRepository.findByOrderIdIn(ids).stream()
+                .collect(Collectors.toMap(DeliverySession::getOrderId, session -> session));
+        LocalDateTime now = LocalDateTime.now();
+        List<DeliverySession> changed = new ArrayList<>();
+        for (UUID orderId : ids) {
+            DeliverySession session = sessions.get(orderId);
+            if (session != null && session.getShipperId().equals(shipper.getId())) {
+                continue;
+            }
+            if (session == null) {
+                session = new DeliverySession();
+                session.setOrderId(orderId);
+            }
+            session.setShipperId(shipper.getId());
+            session.setStartedAt(now);
+            changed.add(session);
         }
-        location.setActiveOrderIds(activeOrders);
-        location.setIsActive(true);
-        locationRepository.save(location);
+        sessionRepository.saveAll(changed);
+        DeliverySessionsChangedEvent event = new DeliverySessionsChangedEvent(shipper.getId(), List.copyOf(ids), true);
+        eventPublisher.publishEvent(event);
+        sessionRegistry.replicate(event);
 
-        log.info("Shipper {} started delivery for order {}", shipper.getId(), orderId);
+        log.info("Shipper {} started delivery for {} orders", shipper.getId(), ids.size());
     }
 
     @Override
     @Transactional
     public void endDeliverySession(UUID orderId, Account currentAccount) {
+        endDeliverySessions(List.of(orderId), currentAccount);
+    }
+
+    @Override
+    @Transactional
+    public void endDeliverySessions(Collection<UUID> orderIds, Account currentAccount) {
         Employee shipper = employeeRepository.findByAccount(currentAccount)
                 .orElseThrow(() -> new NotFoundException("Shipper not found"));
 
-        ShipperLocation location = locationRepository.findByShipperId(shipper.getId())
-                .orElse(null);
-
-        if (location != null && location.getActiveOrderIds() != null) {
-            // Remove order from active list
-            List<String> orderIds = Arrays.stream(location.getActiveOrderIds().split(","))
-                    .filter(id -> !id.equals(orderId.toString()))
-                    .collect(Collectors.toList());
+        Set<UUID> ids = new LinkedHashSet<>(orderIds);
+        int ended = sessionRepository.deleteByShipperIdAndOrderIds(shipper.getId(), ids);
+        DeliverySessionsChangedEvent event = new DeliverySessionsChangedEvent(shipper.getId(), List.copyOf(ids), false);
+        eventPublisher.publishEvent(event);
+        sessionRegistry.replicate(event);
 
-            if (orderIds.isEmpty()) {
-                location.setActiveOrderIds(null);
-                location.setIsActive(false);
-            } else {
-                location.setActiveOrderIds(String.join(",", orderIds));
-            }
-            locationRepository.save(location);
-        }
-
-        log.info("Shipper {} ended delivery for order {}", shipper.getId(), orderId);
+        log.info("Shipper {} ended delivery for {} orders", shipper.getId(), ended);
     }
 
     @Override
-    @Transactional(readOnly = true)
     public List<ShipperLocationResponse> getActiveShippers() {
-        LocalDateTime since = LocalDateTime.now().minusMinutes(30);
-        return locationRepository.findActiveShippers(since).stream()
-                .map(this::mapToResponse)
+        return locationStore.findActive().stream()
+                .map(LivePosition::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<NearbyShipperResponse> findNearestShippers(double latitude, double longitude, int limit, UUID officeId) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new BadRequestException("Invalid coordinates");
+        }
+        LocalDateTime since = LocalDateTime.now().minusMinutes(trackingProperties.getActiveWindowMinutes());
+        List<ShipperSpatialIndex.Neighbour> nearest = locationStore.findNearest(latitude, longitude,
+                Math.max(1, Math.min(limit, MAX_NEARBY_LIMIT)),
+                trackingProperties.getAssignment().getMaxDistanceMeters(),
+                position -> position.timestamp().isAfter(since)
+                        && (officeId == null || officeId.equals(position.officeId())));
+
+        Set<UUID> shipperIds = nearest.stream()
+                .map(neighbour -> neighbour.position().shipperId())
+                .collect(Collectors.toSet());
+        Map<UUID, Long> load = pickupShipperSelector.loadOf(shipperIds);
+        return nearest.stream()
+                .map(neighbour -> NearbyShipperResponse.builder()
+                        .location(neighbour.position().toResponse())
+                        .distanceMeters(Math.round(neighbour.distanceMeters()))
+                        .openOrders(load.getOrDefault(neighbour.position().shipperId(), 0L))
+                        .build())
                 .collect(Collectors.toList());
     }
 
-    private ShipperLocationResponse mapToResponse(ShipperLocation location) {
-        Employee shipper = location.getShipper();
-        return ShipperLocationResponse.builder()
-                .shipperId(shipper.getId())
-                .shipperName(shipper.getFullName())
-                .shipperPhone(shipper.getPhoneNumber())
-                .latitude(location.getLatitude())
-                .longitude(location.getLongitude())
-                .accuracy(location.getAccuracy())
-                .heading(location.getHeading())
-                .speed(location.getSpeed())
-                .timestamp(location.getTimestamp())
-                .isActive(location.getIsActive())
+    @Override
+    public ShipperTrackResponse getShipperTrack(UUID shipperId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new BadRequestException("'from' must be before 'to'");
+        }
+        int maxQueryDays = trackingProperties.getHistory().getMaxQueryDays();
+        if (Duration.between(from, to).compareTo(Duration.ofDays(maxQueryDays)) > 0) {
+            throw new BadRequestException("Track range cannot exceed " + maxQueryDays + " days");
+        }
+
+        TrackPoints points = historyRecorder.track(shipperId, from, to);
+        List<Long> timestamps = new ArrayList<>(points.size());
+        for (int i = 0; i < points.size(); i++) {
+            timestamps.add(points.time(i));
+        }
+        return ShipperTrackResponse.builder()
+                .shipperId(shipperId)
+                .from(from)
+                .to(to)
+                .pointCount(points.size())
+                .distanceKm(Math.round(points.lengthMeters() / 10.0) / 100.0)
+                .polyline(TrackCodec.toPolyline(points))
+                .timestamps(timestamps)
                 .build();
     }
 }
@@ -12,9 +12,11 @@ import org.f3.postalmanagement.entity.actor.Employee;
 import org.f3.postalmanagement.entity.unit.Office;
 import org.f3.postalmanagement.enums.OfficeType;
 import org.f3.postalmanagement.enums.Role;
+import org.f3.postalmanagement.jwt.AccountChangedEvent;
 import org.f3.postalmanagement.repository.AccountRepository;
 import org.f3.postalmanagement.repository.EmployeeRepository;
 import org.f3.postalmanagement.service.IWardManagerService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
@@ -32,6 +34,7 @@ public class WardManagerServiceImpl implements IWardManagerService {
     private final EmployeeRepository employeeRepository;
     private final AccountRepository accountRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -279,6 +282,7 @@ public class WardManagerServiceImpl implements IWardManagerService {
         }
 
         Employee savedStaff = employeeRepository.save(staff);
+        eventPublisher.publishEvent(new AccountChangedEvent(staff.getId()));
         log.info("Updated staff {} by manager {}", staffId, currentAccount.getUsername());
 
         return mapToEmployeeResponse(savedStaff);
@@ -312,6 +316,7 @@ public class WardManagerServiceImpl implements IWardManagerService {
         // Also deactivate the account
         staff.getAccount().setActive(false);
         accountRepository.save(staff.getAccount());
+        eventPublisher.publishEvent(new AccountChangedEvent(staff.getId()));
 
         log.info("Deleted staff {} by manager {}", staffId, currentAccount.getUsername());
     }
@@ -0,0 +1,201 @@
+package org.f3.postalmanagement.service.notification;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.f3.postalmanagement.config.NotificationProperties;
+import org.f3.postalmanagement.dto.notification.NotificationMessage;
+import org.f3.postalmanagement.entity.notification.Notification;
+import org.f3.postalmanagement.repository.NotificationRepository;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Persists delivered notifications and keeps unread counters per user and per office.
+ * <p>
+ * A counter is loaded with one count query the first time it is needed and from then on
+ * moved by every store and read on this node, so polling the unread badge never scans
+ * the table. Counters expire after {@code counter-ttl-minutes} and are reloaded, which
+ * corrects changes made on other nodes.
+ */
+@Component
+@Slf4j
+public class NotificationInbox {
+
+    private final NotificationRepository notificationRepository;
+    private final ObjectMapper objectMapper;
+    private final NotificationProperties properties;
+
+    private final Cache<Target, AtomicLong> unread;
+
+    public NotificationInbox(NotificationRepository notificationRepository,
+                             ObjectMapper objectMapper,
+                             NotificationProperties properties) {
+        this.notificationRepository = notificationRepository;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.unread = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(Duration.ofMinutes(properties.getCounterTtlMinutes()))
+                .build();
+    }
+
+    /**
+     * Keep a notification for its user, its office, or everyone when both are null.
+     * Notifications already stored under the same idempotency key are ignored.
+     */
+    public void store(NotificationMessage message, UUID targetUserId, UUID targetOfficeId) {
+        String key = message.getIdempotencyKey() != null ? message.getIdempotencyKey() : String.valueOf(message.getId());
+        Notification notification = new Notification();
+        notification.setIdempotencyKey(key);
+        notification.setType(message.getType());
+        notification.setTitle(message.getTitle());
+        notification.setMessage(message.getMessage());
+        notification.setData(writeData(message.getData()));
+        notification.setPriority(message.getPriority());
+        notification.setTargetUserId(targetUserId);
+        notification.setTargetOfficeId(targetUserId == null ? targetOfficeId : null);
+        notification.setSourceUserName(message.getSourceUserName());
+        notification.setOrderId(message.getOrderId());
+        notification.setTrackingNumber(message.getTrackingNumber());
+        try {
+            if (notificationRepository.existsByIdempotencyKey(key)) {
+                return;
+            }
+            notificationRepository.save(notification);
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Notification {} already stored", key);
+            return;
+        } catch (DataAccessException e) {
+            // The live push still goes out; only catch-up misses this one
+            log.warn("Could not store notification {}: {}", key, e.getMessage());
+            return;
+        }
+        adjust(targetOf(notification), 1);
+    }
+
+    /**
+     * Unread notifications addressed to the user plus those of their office
+     */
+    public long unreadCount(UUID userId, UUID officeId) {
+        long count = counter(new Target(userId, false)).get();
+        if (officeId != null) {
+            count += counter(new Target(officeId, true)).get();
+        }
+        return count;
+    }
+
+    /**
+     * Record that one notification was marked as read
+     */
+    public void markedRead(Notification notification) {
+        adjust(targetOf(notification), -1);
+    }
+
+    public void markedAllReadByUser(UUID userId) {
+        unread.put(new Target(userId, false), new AtomicLong());
+    }
+
+    public void markedAllReadByOffice(UUID officeId) {
+        unread.put(new Target(officeId, true), new AtomicLong());
+    }
+
+    public NotificationMessage toMessage(Notification notification) {
+        return NotificationMessage.builder()
+                .id(notification.getId())
+                .idempotencyKey(notification.getIdempotencyKey())
+                .type(notification.getType())
+                .title(notification.getTitle())
+                .message(notification.getMessage())
+                .data(readData(notification.getData()))
+                .timestamp(notification.getCreatedAt())
+                .targetUserId(notification.getTargetUserId())
+                .targetOfficeId(notification.getTargetOfficeId())
+                .sourceUserName(notification.getSourceUserName())
+                .orderId(notification.getOrderId())
+                .trackingNumber(notification.getTrackingNumber())
+                .read(notification.getReadAt() != null)
+                .priority(notification.getPriority())
+                .build();
+    }
+
+    @Scheduled(fixedDelayString = "${notification.inbox.cleanup-interval-ms:3600000}")
+    @Transactional
+    public void prune() {
+        LocalDateTime before = LocalDateTime.now().minusDays(properties.getRetentionDays());
+        int deleted = notificationRepository.deleteCreatedBefore(before);
+        if (deleted > 0) {
+            // Some of them may have been unread
+            unread.invalidateAll();
+            log.info("Deleted {} notifications older than {} days", deleted, properties.getRetentionDays());
+        }
+    }
+
+    private AtomicLong counter(Target target) {
+        return unread.get(target, key -> new AtomicLong(key.office()
+                ? notificationRepository.countUnreadByOffice(key.id())
+                : notificationRepository.countUnreadByUser(key.id())));
+    }
+
+    /**
+     * Move a counter that is already loaded; an absent one is counted fresh when next needed
+     */
+    private void adjust(Target target, long delta) {
+        if (target == null) {
+            return;
+        }
+        unread.asMap().computeIfPresent(target, (key, count) -> {
+            count.updateAndGet(value -> Math.max(0, value + delta));
+            return count;
+        });
+    }
+
+    private static Target targetOf(Notification notification) {
+        if (notification.getTargetUserId() != null) {
+            return new Target(notification.getTargetUserId(), false);
+        }
+        if (notification.getTargetOfficeId() != null) {
+            return new Target(notification.getTargetOfficeId(), true);
+        }
+        return null;
+    }
+
+    private String writeData(Object data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not serialize notification data: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private Object readData(String data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(data);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Owner of a counter: a user, or an office for notifications addressed to the whole office
+     */
+    private record Target(UUID id, boolean office) {
+    }
+}
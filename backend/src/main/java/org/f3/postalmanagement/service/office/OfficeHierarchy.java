@@ -0,0 +1,91 @@
+package org.f3.postalmanagement.service.office;
+
+import org.f3.postalmanagement.repository.OfficeRepository;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Immutable snapshot of every office with the closure of its ancestors and the ward,
+ * province and region it belongs to, so hierarchy checks are map and set lookups.
+ */
+public final class OfficeHierarchy {
+
+    private final long version;
+    private final Map<UUID, Node> nodes;
+
+    private OfficeHierarchy(long version, Map<UUID, Node> nodes) {
+        this.version = version;
+        this.nodes = nodes;
+    }
+
+    public static OfficeHierarchy build(long version, List<OfficeRepository.HierarchyRow> rows) {
+        Map<UUID, OfficeRepository.HierarchyRow> byId = new HashMap<>(rows.size() * 2);
+        for (OfficeRepository.HierarchyRow row : rows) {
+            byId.put(row.getId(), row);
+        }
+        Map<UUID, Set<UUID>> ancestors = new HashMap<>(rows.size() * 2);
+        Map<UUID, Node> nodes = new HashMap<>(rows.size() * 2);
+        for (OfficeRepository.HierarchyRow row : rows) {
+            nodes.put(row.getId(), new Node(row.getId(), row.getParentId(), row.getWardCode(), row.getProvinceCode(),
+                    row.getRegionId(), ancestorsOf(row.getId(), byId, ancestors)));
+        }
+        return new OfficeHierarchy(version, Map.copyOf(nodes));
+    }
+
+    public Optional<Node> find(UUID officeId) {
+        return Optional.ofNullable(nodes.get(officeId));
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Parent, grandparent and so on, memoized so each office is walked once. A cycle in
+     * the parent links ends the walk instead of looping.
+     */
+    private static Set<UUID> ancestorsOf(UUID officeId, Map<UUID, OfficeRepository.HierarchyRow> byId,
+                                         Map<UUID, Set<UUID>> memo) {
+        Set<UUID> known = memo.get(officeId);
+        if (known != null) {
+            return known;
+        }
+        Set<UUID> result = new HashSet<>();
+        OfficeRepository.HierarchyRow row = byId.get(officeId);
+        UUID parentId = row != null ? row.getParentId() : null;
+        while (parentId != null && !parentId.equals(officeId) && result.add(parentId)) {
+            Set<UUID> parentAncestors = memo.get(parentId);
+            if (parentAncestors != null) {
+                result.addAll(parentAncestors);
+                break;
+            }
+            OfficeRepository.HierarchyRow parent = byId.get(parentId);
+            parentId = parent != null ? parent.getParentId() : null;
+        }
+        result.remove(officeId);
+        Set<UUID> closure = Set.copyOf(result);
+        memo.put(officeId, closure);
+        return closure;
+    }
+
+    public record Node(UUID id, UUID parentId, String wardCode, String provinceCode, Integer regionId,
+                       Set<UUID> ancestors) {
+
+        /**
+         * Whether this office is the given office or lies beneath it
+         */
+        public boolean isWithin(UUID officeId) {
+            return id.equals(officeId) || ancestors.contains(officeId);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package org.f3.postalmanagement.service.office;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.f3.postalmanagement.repository.OfficeRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current {@link OfficeHierarchy} and swaps it atomically when offices change.
+ * <p>
+ * The snapshot is rebuilt from one query after office changes commit, and periodically so
+ * that changes made by other nodes are picked up. An office missing from the snapshot
+ * triggers an early rebuild, at most once every {@link #MISS_REFRESH_INTERVAL_NANOS}.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class OfficeHierarchyIndex {
+
+    private static final long MISS_REFRESH_INTERVAL_NANOS = 5_000_000_000L;
+
+    private final OfficeRepository officeRepository;
+
+    private final AtomicReference<OfficeHierarchy> current = new AtomicReference<>();
+
+    private volatile long lastRefreshNanos;
+
+    /**
+     * Current snapshot, built on first use
+     */
+    public OfficeHierarchy current() {
+        OfficeHierarchy hierarchy = current.get();
+        if (hierarchy != null) {
+            return hierarchy;
+        }
+        synchronized (this) {
+            hierarchy = current.get();
+            return hierarchy != null ? hierarchy : refresh();
+        }
+    }
+
+    /**
+     * The office, rebuilding the snapshot first if it is unknown and the last rebuild is not recent
+     */
+    public Optional<OfficeHierarchy.Node> find(UUID officeId) {
+        Optional<OfficeHierarchy.Node> node = current().find(officeId);
+        if (node.isEmpty() && System.nanoTime() - lastRefreshNanos > MISS_REFRESH_INTERVAL_NANOS) {
+            node = refresh().find(officeId);
+        }
+        return node;
+    }
+
+    /**
+     * Rebuild the hierarchy from the database and publish it
+     */
+    public synchronized OfficeHierarchy refresh() {
+        long startTime = System.currentTimeMillis();
+        List<OfficeRepository.HierarchyRow> rows = officeRepository.findHierarchyRows();
+
+        OfficeHierarchy previous = current.get();
+        long version = previous != null ? previous.getVersion() + 1 : 1;
+        OfficeHierarchy hierarchy = OfficeHierarchy.build(version, rows);
+        current.set(hierarchy);
+        lastRefreshNanos = System.nanoTime();
+
+        log.debug("Office hierarchy v{} built in {}ms: {} offices",
+                version, System.currentTimeMillis() - startTime, hierarchy.size());
+        return hierarchy;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        OfficeHierarchy hierarchy = refresh();
+        log.info("Office hierarchy v{} loaded with {} offices", hierarchy.getVersion(), hierarchy.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onOfficesChanged(OfficesChangedEvent event) {
+        OfficeHierarchy hierarchy = refresh();
+        log.info("Office hierarchy v{} rebuilt after change to offices {}", hierarchy.getVersion(), event.getOfficeIds());
+    }
+
+    @Scheduled(fixedDelayString = "${office-hierarchy.refresh-interval-ms:300000}",
+            initialDelayString = "${office-hierarchy.refresh-interval-ms:300000}")
+    public void scheduledRefresh() {
+        refresh();
+    }
+}
@@ -4,24 +4,28 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.f3.postalmanagement.entity.actor.Account;
 import org.f3.postalmanagement.entity.actor.Employee;
-import org.f3.postalmanagement.entity.unit.Office;
-import org.f3.postalmanagement.enums.OfficeType;
 import org.f3.postalmanagement.enums.Role;
 import org.f3.postalmanagement.exception.ForbiddenException;
+import org.f3.postalmanagement.jwt.TokenScope;
 import org.f3.postalmanagement.repository.EmployeeRepository;
-import org.f3.postalmanagement.repository.OfficeRepository;
+import org.f3.postalmanagement.utils.SecurityUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.UUID;
 
+/**
+ * Decides whether a user may manage an office, province or ward. Checks are lookups in
+ * the {@link OfficeHierarchyIndex}; only the user's office ID may need a query, and not
+ * even that when the request carries a token with office claims.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class OfficeHierarchyValidator {
 
     private final EmployeeRepository employeeRepository;
-    private final OfficeRepository officeRepository;
+    private final OfficeHierarchyIndex officeHierarchyIndex;
 
     /**
      * Validates if user can manage the office, throwing exception if not.
@@ -45,42 +49,36 @@ public class OfficeHierarchyValidator {
             return true;
         }
 
-        // Get user's employee record
-        Employee employee = employeeRepository.findById(user.getId())
-                .orElseThrow(() -> new ForbiddenException("Employee not found"));
-
-        Office userOffice = employee.getOffice();
+        OfficeHierarchy.Node userOffice = userOfficeOf(user);
         if (userOffice == null) {
             log.warn("User {} has no assigned office", user.getId());
             return false;
         }
 
         // Get target office
-        Office targetOffice = officeRepository.findById(officeId)
+        OfficeHierarchy.Node targetOffice = officeHierarchyIndex.find(officeId)
                 .orElseThrow(() -> new ForbiddenException("Office not found"));
 
         // HUB_ADMIN: Can manage if their office is the target or a parent
         if (user.getRole() == Role.HUB_ADMIN) {
-            return canManageOfficeHierarchy(userOffice, targetOffice);
+            return targetOffice.isWithin(userOffice.id());
         }
 
         // PROVINCE_ADMIN (PO or WH): Can manage if same province
         if (user.getRole() == Role.PO_PROVINCE_ADMIN ||
             user.getRole() == Role.WH_PROVINCE_ADMIN) {
-            return isInSameProvince(userOffice, targetOffice);
+            return userOffice.provinceCode() != null && userOffice.provinceCode().equals(targetOffice.provinceCode());
         }
 
         // WARD_MANAGER (PO or WH): Can manage if same ward
         if (user.getRole() == Role.PO_WARD_MANAGER ||
             user.getRole() == Role.WH_WARD_MANAGER) {
-            return isInSameWard(userOffice, targetOffice);
+            return userOffice.wardCode() != null && userOffice.wardCode().equals(targetOffice.wardCode());
         }
 
         return false;
     }
 
-    // ... (Keep the rest of your existing methods: canManageProvince, canManageWard, and private helpers)
-    
     @Transactional(readOnly = true)
     public boolean canManageProvince(Account user, String provinceCode) {
         if (user.getRole() == Role.SYSTEM_ADMIN) return true;
@@ -90,13 +88,8 @@ public class OfficeHierarchyValidator {
             return false;
         }
 
-        Employee employee = employeeRepository.findById(user.getId())
-                .orElseThrow(() -> new ForbiddenException("Employee not found"));
-
-        Office userOffice = employee.getOffice();
-        if (userOffice == null) return false;
-
-        return isOfficeInProvince(userOffice, provinceCode);
+        OfficeHierarchy.Node userOffice = userOfficeOf(user);
+        return userOffice != null && userOffice.provinceCode() != null && userOffice.provinceCode().equals(provinceCode);
     }
 
     @Transactional(readOnly = true)
@@ -108,62 +101,24 @@ public class OfficeHierarchyValidator {
             return false;
         }
 
-        Employee employee = employeeRepository.findById(user.getId())
-                .orElseThrow(() -> new ForbiddenException("Employee not found"));
-
-        Office userOffice = employee.getOffice();
-        if (userOffice == null) return false;
-
-        return isOfficeInWard(userOffice, wardCode);
-    }
-
-    private boolean canManageOfficeHierarchy(Office sourceOffice, Office targetOffice) {
-        if (sourceOffice.getId().equals(targetOffice.getId())) {
-            return true;
-        }
-        Office current = targetOffice.getParent();
-        while (current != null) {
-            if (current.getId().equals(sourceOffice.getId())) {
-                return true;
-            }
-            current = current.getParent();
-        }
-        return false;
-    }
-
-    private boolean isInSameProvince(Office office1, Office office2) {
-        String province1 = getProvinceCode(office1);
-        String province2 = getProvinceCode(office2);
-        return province1 != null && province1.equals(province2);
+        OfficeHierarchy.Node userOffice = userOfficeOf(user);
+        return userOffice != null && userOffice.wardCode() != null && userOffice.wardCode().equals(wardCode);
     }
 
-    private boolean isInSameWard(Office office1, Office office2) {
-        String ward1 = getWardCode(office1);
-        String ward2 = getWardCode(office2);
-        return ward1 != null && ward1.equals(ward2);
-    }
-
-    private boolean isOfficeInProvince(Office office, String provinceCode) {
-        String officeProvince = getProvinceCode(office);
-        return officeProvince != null && officeProvince.equals(provinceCode);
-    }
-
-    private boolean isOfficeInWard(Office office, String wardCode) {
-        String officeWard = getWardCode(office);
-        return officeWard != null && officeWard.equals(wardCode);
-    }
-
-    private String getProvinceCode(Office office) {
-        if (office.getWard() != null && office.getWard().getProvince() != null) {
-            return office.getWard().getProvince().getCode();
-        }
-        return null;
-    }
-
-    private String getWardCode(Office office) {
-        if (office.getWard() != null) {
-            return office.getWard().getCode();
-        }
-        return null;
+    /**
+     * The user's office in the hierarchy index. Its ID comes from the current token when
+     * the token belongs to this user, otherwise from their employee record.
+     */
+    private OfficeHierarchy.Node userOfficeOf(Account user) {
+        UUID officeId = SecurityUtils.getCurrentScope()
+                .filter(TokenScope::hasOffice)
+                .filter(scope -> user.getId().equals(SecurityUtils.getCurrentAccountId()))
+                .map(TokenScope::officeId)
+                .orElseGet(() -> {
+                    Employee employee = employeeRepository.findById(user.getId())
+                            .orElseThrow(() -> new ForbiddenException("Employee not found"));
+                    return employee.getOffice() != null ? employee.getOffice().getId() : null;
+                });
+        return officeId != null ? officeHierarchyIndex.find(officeId).orElse(null) : null;
     }
-}
\ No newline at end of file
+}
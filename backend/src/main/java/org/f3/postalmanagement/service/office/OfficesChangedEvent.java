@@ -0,0 +1,18 @@
+package org.f3.postalmanagement.service.office;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published when offices are created or moved in the hierarchy,
+ * so the in-memory office hierarchy is rebuilt once the change is committed.
+ */
+@Getter
+@AllArgsConstructor
+public class OfficesChangedEvent {
+
+    private final List<UUID> officeIds;
+}
@@ -0,0 +1,111 @@
+package org.f3.postalmanagement.service.order;
+
+import org.f3.postalmanagement.config.TrackingProperties;
+import org.f3.postalmanagement.entity.order.Order;
+import org.f3.postalmanagement.enums.OrderStatus;
+import org.f3.postalmanagement.repository.OrderRepository;
+import org.f3.postalmanagement.service.tracking.LivePosition;
+import org.f3.postalmanagement.service.tracking.ShipperLocationStore;
+import org.f3.postalmanagement.service.tracking.ShipperSpatialIndex;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * Picks a shipper for each pending pickup from the live positions of the office's shippers.
+ * <p>
+ * Candidates are the nearest shippers to the sender that pinged recently. Each candidate is
+ * scored by distance plus a penalty per open order, and a shipper's load grows with every
+ * order given to them in the same run, so a batch is spread over the office instead of
+ * landing on whoever happens to be closest.
+ */
+@Component
+public class PickupShipperSelector {
+
+    static final List<OrderStatus> OPEN_STATUSES = List.of(OrderStatus.PENDING_PICKUP, OrderStatus.OUT_FOR_DELIVERY);
+
+    private final ShipperLocationStore locationStore;
+    private final OrderRepository orderRepository;
+    private final TrackingProperties trackingProperties;
+
+    public PickupShipperSelector(ShipperLocationStore locationStore,
+                                 OrderRepository orderRepository,
+                                 TrackingProperties trackingProperties) {
+        this.locationStore = locationStore;
+        this.orderRepository = orderRepository;
+        this.trackingProperties = trackingProperties;
+    }
+
+    /**
+     * Shipper chosen for each order, keyed by order ID. Orders without sender coordinates or
+     * without an available shipper in range are left out.
+     */
+    public Map<UUID, UUID> select(UUID officeId, List<Order> orders) {
+        TrackingProperties.AssignmentSettings settings = trackingProperties.getAssignment();
+        LocalDateTime since = LocalDateTime.now().minusMinutes(trackingProperties.getActiveWindowMinutes());
+        Predicate<LivePosition> available = position -> officeId.equals(position.officeId())
+                && position.timestamp().isAfter(since);
+
+        Map<UUID, List<ShipperSpatialIndex.Neighbour>> candidates = new LinkedHashMap<>();
+        Set<UUID> shipperIds = new HashSet<>();
+        for (Order order : orders) {
+            if (order.getSenderLatitude() == null || order.getSenderLongitude() == null) {
+                continue;
+            }
+            List<ShipperSpatialIndex.Neighbour> nearest = locationStore.findNearest(
+                    order.getSenderLatitude(), order.getSenderLongitude(),
+                    settings.getCandidateCount(), settings.getMaxDistanceMeters(), available);
+            candidates.put(order.getId(), nearest);
+            nearest.forEach(neighbour -> shipperIds.add(neighbour.position().shipperId()));
+        }
+        if (shipperIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<UUID, Long> load = loadOf(shipperIds);
+        Map<UUID, UUID> assignment = new LinkedHashMap<>();
+        candidates.forEach((orderId, nearest) -> {
+            UUID best = null;
+            double bestScore = Double.MAX_VALUE;
+            for (ShipperSpatialIndex.Neighbour neighbour : nearest) {
+                UUID shipperId = neighbour.position().shipperId();
+                long openOrders = load.getOrDefault(shipperId, 0L);
+                if (openOrders >= settings.getMaxActiveOrders()) {
+                    continue;
+                }
+                double score = neighbour.distanceMeters() + openOrders * settings.getLoadPenaltyMeters();
+                if (score < bestScore) {
+                    bestScore = score;
+                    best = shipperId;
+                }
+            }
+            if (best != null) {
+                assignment.put(orderId, best);
+                load.merge(best, 1L, Long::sum);
+            }
+        });
+        return assignment;
+    }
+
+    /**
+     * Open orders per shipper, with one grouped query
+     */
+    public Map<UUID, Long> loadOf(Set<UUID> shipperIds) {
+        Map<UUID, Long> load = new HashMap<>();
+        if (shipperIds.isEmpty()) {
+            return load;
+        }
+        for (OrderRepository.ShipperLoad row : orderRepository.countByShipperIds(shipperIds, OPEN_STATUSES)) {
+            load.put(row.getShipperId(), row.getOrderCount());
+        }
+        return load;
+    }
+}
@@ -0,0 +1,50 @@
+package org.f3.postalmanagement.service.order;
+
+import lombok.RequiredArgsConstructor;
+import org.f3.postalmanagement.entity.order.TrackingNumberSequence;
+import org.f3.postalmanagement.repository.TrackingNumberSequenceRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reserves blocks of serials from the shared sequence row.
+ * <p>
+ * Runs in its own transaction so the row lock is released immediately, whatever
+ * the calling order transaction does afterwards.
+ */
+@Component
+@RequiredArgsConstructor
+public class TrackingNumberBlockAllocator {
+
+    static final String SEQUENCE_NAME = "tracking_number";
+
+    private final TrackingNumberSequenceRepository sequenceRepository;
+
+    /**
+     * Create the sequence row if no node has done so yet. Runs before and apart from
+     * {@link #reserve}: on MySQL, two locking reads that both miss the row and then insert
+     * it deadlock instead of one of them failing on the duplicate key.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void ensureSequence(long initialValue) {
+        sequenceRepository.insertIfAbsent(SEQUENCE_NAME, initialValue);
+    }
+
+    /**
+     * Reserve {@code size} consecutive serials for this node
+     *
+     * @return the first serial of the block
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public long reserve(int size) {
+        TrackingNumberSequence sequence = sequenceRepository.findForUpdate(SEQUENCE_NAME)
+                .orElseThrow(() -> new IllegalStateException("Tracking number sequence has not been created"));
+        long start = sequence.getNextValue();
+        sequence.setNextValue(start + size);
+        sequence.setUpdatedAt(LocalDateTime.now());
+        return start;
+    }
+}
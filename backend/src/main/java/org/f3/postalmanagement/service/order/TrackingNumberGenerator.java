@@ -0,0 +1,234 @@
+package org.f3.postalmanagement.service.order;
+
+import lombok.extern.slf4j.Slf4j;
+import org.f3.postalmanagement.config.TrackingNumberProperties;
+import org.f3.postalmanagement.repository.OrderRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Hands out unique tracking numbers in the {@code VN} + 9 digit format.
+ * <p>
+ * The 9 digits are an 8 digit serial followed by a UPU S10 check digit. Each node reserves
+ * a block of serials from a shared database sequence and serves numbers from memory until
+ * the block runs out, so nodes never hand out the same serial and there is one database
+ * round-trip per block instead of per order. Serials are scrambled with a bijection so that
+ * consecutive orders do not get adjacent numbers. Numbers already used by older, randomly
+ * generated orders are skipped, checked once per block.
+ * <p>
+ * Blocks are reserved by a background worker once the node runs low, never by the order
+ * thread: that thread already holds a connection for its transaction, and reserving in a
+ * separate transaction would need a second one. Order threads only wait, without holding
+ * the lock, if the node ran out before the next block arrived.
+ */
+@Component
+@Slf4j
+public class TrackingNumberGenerator {
+
+    private static final String PREFIX = "VN";
+    private static final long SERIAL_SPACE = 100_000_000L;
+
+    /**
+     * Coprime with 10^8, which makes the scrambling a bijection over all 8 digit serials
+     */
+    private static final long SCRAMBLE_MULTIPLIER = 48_271L;
+    private static final long SCRAMBLE_OFFSET = 31_415_926L;
+
+    private static final int[] S10_WEIGHTS = {8, 6, 4, 2, 3, 5, 9, 7};
+
+    private final TrackingNumberBlockAllocator allocator;
+    private final OrderRepository orderRepository;
+    private final TrackingNumberProperties properties;
+    private final ThreadPoolTaskExecutor executor;
+
+    /**
+     * Numbers ready to hand out; guarded by this
+     */
+    private final Deque<String> available = new ArrayDeque<>();
+
+    private final AtomicBoolean refilling = new AtomicBoolean();
+
+    /**
+     * Why the last reservation failed, reported to one waiting caller; guarded by this
+     */
+    private RuntimeException refillFailure;
+
+    /**
+     * Whether this node has made sure the shared sequence row exists; only used by the worker
+     */
+    private boolean sequenceEnsured;
+
+    public TrackingNumberGenerator(TrackingNumberBlockAllocator allocator,
+                                   OrderRepository orderRepository,
+                                   TrackingNumberProperties properties,
+                                   @Qualifier("trackingNumberExecutor") ThreadPoolTaskExecutor executor) {
+        this.allocator = allocator;
+        this.orderRepository = orderRepository;
+        this.properties = properties;
+        this.executor = executor;
+    }
+
+    /**
+     * Next unused tracking number, e.g. VN123456785
+     *
+     * @throws IllegalStateException if no block could be reserved in time
+     */
+    public String next() {
+        String number;
+        boolean low;
+        synchronized (this) {
+            awaitNumbers();
+            number = available.poll();
+            low = available.size() <= properties.getLowWaterMark();
+        }
+        if (low) {
+            prefetch();
+        }
+        return number;
+    }
+
+    /**
+     * Reserve the first block before the first order arrives
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        prefetch();
+    }
+
+    /**
+     * Whether a tracking number has the expected format and a valid check digit
+     */
+    public static boolean isValid(String trackingNumber) {
+        if (trackingNumber == null || trackingNumber.length() != PREFIX.length() + 9
+                || !trackingNumber.startsWith(PREFIX)) {
+            return false;
+        }
+        String digits = trackingNumber.substring(PREFIX.length());
+        if (!digits.chars().allMatch(Character::isDigit)) {
+            return false;
+        }
+        return checkDigit(digits.substring(0, 8)) == digits.charAt(8) - '0';
+    }
+
+    static String format(long serial) {
+        long scrambled = (serial * SCRAMBLE_MULTIPLIER + SCRAMBLE_OFFSET) % SERIAL_SPACE;
+        String digits = String.format("%08d", scrambled);
+        return PREFIX + digits + checkDigit(digits);
+    }
+
+    /**
+     * UPU S10 check digit over 8 serial digits
+     */
+    static int checkDigit(String digits) {
+        int sum = 0;
+        for (int i = 0; i < S10_WEIGHTS.length; i++) {
+            sum += (digits.charAt(i) - '0') * S10_WEIGHTS[i];
+        }
+        int check = 11 - sum % 11;
+        return check == 10 ? 0 : check == 11 ? 5 : check;
+    }
+
+    /**
+     * Must be called with the lock held; wait() releases it while the worker reserves
+     */
+    private void awaitNumbers() {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getRefillTimeoutMs());
+        while (available.isEmpty()) {
+            if (!refilling.get()) {
+                if (refillFailure != null) {
+                    RuntimeException failure = refillFailure;
+                    refillFailure = null;
+                    throw new IllegalStateException("Could not reserve tracking numbers", failure);
+                }
+                prefetch();
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                throw new IllegalStateException("Timed out waiting for tracking numbers");
+            }
+            try {
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for tracking numbers", e);
+            }
+        }
+    }
+
+    private void prefetch() {
+        if (!refilling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(this::refill);
+        } catch (TaskRejectedException e) {
+            refilling.set(false);
+            log.warn("Could not schedule tracking number reservation: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Runs on the worker, outside any order transaction
+     */
+    private void refill() {
+        try {
+            Set<String> block = reserveFreeBlock();
+            synchronized (this) {
+                available.addAll(block);
+                refillFailure = null;
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to reserve tracking numbers", e);
+            synchronized (this) {
+                refillFailure = e;
+            }
+        } finally {
+            refilling.set(false);
+            synchronized (this) {
+                notifyAll();
+            }
+        }
+    }
+
+    private Set<String> reserveFreeBlock() {
+        while (true) {
+            long start = reserveBlock();
+            long end = start + properties.getBlockSize();
+            if (end > SERIAL_SPACE) {
+                throw new IllegalStateException("Tracking number serials exhausted at " + start);
+            }
+
+            Set<String> block = new LinkedHashSet<>();
+            for (long serial = start; serial < end; serial++) {
+                block.add(format(serial));
+            }
+            Set<String> taken = new HashSet<>(orderRepository.findExistingTrackingNumbers(block));
+            block.removeAll(taken);
+
+            log.debug("Reserved tracking number serials [{}, {}), {} already in use", start, end, taken.size());
+            if (!block.isEmpty()) {
+                return block;
+            }
+        }
+    }
+
+    private long reserveBlock() {
+        if (!sequenceEnsured) {
+            allocator.ensureSequence(properties.getInitialValue());
+            sequenceEnsured = true;
+        }
+        return allocator.reserve(properties.getBlockSize());
+    }
+}
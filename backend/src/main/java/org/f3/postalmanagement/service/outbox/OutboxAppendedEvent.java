@@ -0,0 +1,8 @@
+package org.f3.postalmanagement.service.outbox;
+
+/**
+ * Published when events are added to the outbox, so the relay runs as soon as the
+ * transaction commits instead of waiting for its next poll.
+ */
+public class OutboxAppendedEvent {
+}
@@ -0,0 +1,157 @@
+package org.f3.postalmanagement.service.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.f3.postalmanagement.config.OutboxProperties;
+import org.f3.postalmanagement.entity.outbox.OutboxEvent;
+import org.f3.postalmanagement.repository.OutboxEventRepository;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Publishes {@code outbox_events} to RabbitMQ.
+ * <p>
+ * Due events are locked with {@code FOR UPDATE SKIP LOCKED}, published on one channel and
+ * confirmed by the broker as a batch before they are marked sent in the same transaction.
+ * A batch that is not confirmed stays unsent and is retried with exponential backoff, so
+ * delivery is at least once; consumers drop repeats by idempotency key. Runs on a single
+ * worker, woken after every commit that appended events and on a fixed poll.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor executor;
+    private final OutboxProperties properties;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicBoolean rerun = new AtomicBoolean();
+
+    public OutboxRelay(OutboxEventRepository outboxRepository,
+                       RabbitTemplate rabbitTemplate,
+                       PlatformTransactionManager transactionManager,
+                       @Qualifier("outboxExecutor") ThreadPoolTaskExecutor executor,
+                       OutboxProperties properties) {
+        this.outboxRepository = outboxRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = executor;
+        this.properties = properties;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAppended(OutboxAppendedEvent event) {
+        wake();
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay-interval-ms:1000}")
+    public void poll() {
+        wake();
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.cleanup-interval-ms:3600000}")
+    public void cleanup() {
+        LocalDateTime before = LocalDateTime.now().minusHours(properties.getRetentionHours());
+        Integer deleted = transactionTemplate.execute(status -> outboxRepository.deleteSentBefore(before));
+        if (deleted != null && deleted > 0) {
+            log.info("Deleted {} relayed outbox events", deleted);
+        }
+    }
+
+    private void wake() {
+        if (running.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        } else {
+            rerun.set(true);
+        }
+    }
+
+    private void drain() {
+        try {
+            do {
+                rerun.set(false);
+                Integer relayed;
+                do {
+                    relayed = transactionTemplate.execute(status -> relayBatch());
+                } while (relayed != null && relayed >= properties.getBatchSize());
+            } while (rerun.get());
+        } catch (RuntimeException e) {
+            log.error("Outbox relay failed", e);
+        } finally {
+            running.set(false);
+            // Commits that arrived while the worker was finishing
+            if (rerun.get()) {
+                wake();
+            }
+        }
+    }
+
+    /**
+     * Publish one batch; returns how many events were sent, or 0 when the broker did not confirm
+     */
+    private int relayBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> batch = outboxRepository.lockDue(now, properties.getBatchSize());
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        try {
+            rabbitTemplate.invoke(operations -> {
+                for (OutboxEvent event : batch) {
+                    operations.send(event.getExchange(), event.getRoutingKey(), toMessage(event));
+                }
+                operations.waitForConfirmsOrDie(properties.getConfirmTimeoutMs());
+                return null;
+            });
+        } catch (AmqpException e) {
+            for (OutboxEvent event : batch) {
+                int attempts = event.getAttempts() + 1;
+                long delay = Math.min(1L << Math.min(attempts, 20), properties.getMaxRetryDelaySeconds());
+                event.setAttempts(attempts);
+                event.setNextAttemptAt(now.plusSeconds(delay));
+                event.setLastError(truncate(e.getMessage()));
+            }
+            log.warn("Broker did not confirm {} outbox events, retrying later: {}", batch.size(), e.getMessage());
+            return 0;
+        }
+        List<UUID> ids = batch.stream().map(OutboxEvent::getId).toList();
+        outboxRepository.markSent(ids, LocalDateTime.now());
+        log.debug("Relayed {} outbox events", batch.size());
+        return batch.size();
+    }
+
+    private static Message toMessage(OutboxEvent event) {
+        MessageProperties messageProperties = new MessageProperties();
+        messageProperties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        messageProperties.setContentEncoding(StandardCharsets.UTF_8.name());
+        messageProperties.setMessageId(event.getId().toString());
+        messageProperties.setHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME, event.getPayloadType());
+        return new Message(event.getPayload().getBytes(StandardCharsets.UTF_8), messageProperties);
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() <= 500 ? error : error.substring(0, 500);
+    }
+}
@@ -0,0 +1,58 @@
+package org.f3.postalmanagement.service.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.f3.postalmanagement.entity.outbox.OutboxEvent;
+import org.f3.postalmanagement.repository.OutboxEventRepository;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * Adds messages for RabbitMQ to {@code outbox_events} inside the caller's transaction.
+ * The payload is serialized once here with the same converter the listeners use, and
+ * the relay sends those bytes unchanged.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+
+    private final OutboxEventRepository outboxRepository;
+    private final MessageConverter messageConverter;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Queue a message for publishing once the current transaction commits
+     *
+     * @param aggregateType kind of entity the event is about, e.g. ORDER
+     * @param aggregateId ID of that entity, if any
+     * @param eventType what happened, e.g. ORDER_ASSIGNED
+     */
+    @Transactional(propagation = Propagation.REQUIRED)
+    public OutboxEvent append(String aggregateType, Object aggregateId, String eventType,
+                              String exchange, String routingKey, Object payload) {
+        Message message = messageConverter.toMessage(payload, new MessageProperties());
+
+        OutboxEvent event = new OutboxEvent();
+        event.setAggregateType(aggregateType);
+        event.setAggregateId(aggregateId != null ? aggregateId.toString() : null);
+        event.setEventType(eventType);
+        event.setExchange(exchange);
+        event.setRoutingKey(routingKey);
+        event.setPayload(new String(message.getBody(), StandardCharsets.UTF_8));
+        event.setPayloadType(String.valueOf(message.getMessageProperties().getHeaders()
+                .get(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME)));
+        event.setNextAttemptAt(LocalDateTime.now());
+        OutboxEvent saved = outboxRepository.save(event);
+
+        eventPublisher.publishEvent(new OutboxAppendedEvent());
+        return saved;
+    }
+}
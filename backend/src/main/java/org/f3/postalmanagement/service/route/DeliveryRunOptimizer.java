@@ -0,0 +1,210 @@
+package org.f3.postalmanagement.service.route;
+
+/**
+ * Orders the stops of a delivery run so the shipper drives as little as possible.
+ * <p>
+ * The run is an open path that starts at node 0 (the shipper) and visits every other node
+ * once without returning. A nearest-neighbour tour is improved with 2-opt (reverse a stretch
+ * of the path) and Or-opt (move a run of up to three stops elsewhere, either way round)
+ * until no move helps or the time budget is spent. Stops are compared through a
+ * precomputed distance matrix, which keeps 100+ stops well within a few milliseconds.
+ */
+public final class DeliveryRunOptimizer {
+
+    private static final double EPSILON = 1e-9;
+    private static final int MAX_SEGMENT = 3;
+
+    private DeliveryRunOptimizer() {
+    }
+
+    /**
+     * Visiting order of nodes {@code 1..n}, not including the start node 0
+     *
+     * @param distances symmetric or asymmetric cost between every pair of nodes, node 0 being the start
+     * @param budgetNanos time after which improvement stops and the best path so far is returned
+     */
+    public static int[] optimize(double[][] distances, long budgetNanos) {
+        int nodes = distances.length;
+        if (nodes <= 1) {
+            return new int[0];
+        }
+        long deadline = System.nanoTime() + budgetNanos;
+        int[] tour = nearestNeighbour(distances);
+
+        boolean improved = true;
+        while (improved && System.nanoTime() < deadline) {
+            improved = twoOpt(tour, distances, deadline);
+            improved |= orOpt(tour, distances, deadline);
+        }
+
+        int[] order = new int[nodes - 1];
+        System.arraycopy(tour, 1, order, 0, nodes - 1);
+        return order;
+    }
+
+    /**
+     * Length of an open path through the given nodes, starting at node 0
+     */
+    public static double length(int[] order, double[][] distances) {
+        double total = 0;
+        int previous = 0;
+        for (int node : order) {
+            total += distances[previous][node];
+            previous = node;
+        }
+        return total;
+    }
+
+    private static int[] nearestNeighbour(double[][] distances) {
+        int nodes = distances.length;
+        int[] tour = new int[nodes];
+        boolean[] visited = new boolean[nodes];
+        visited[0] = true;
+        for (int position = 1; position < nodes; position++) {
+            int current = tour[position - 1];
+            int best = -1;
+            for (int candidate = 1; candidate < nodes; candidate++) {
+                if (!visited[candidate] && (best < 0 || distances[current][candidate] < distances[current][best])) {
+                    best = candidate;
+                }
+            }
+            tour[position] = best;
+            visited[best] = true;
+        }
+        return tour;
+    }
+
+    /**
+     * Reverse tour[i..j] whenever that shortens the path. Reversal changes the direction of
+     * the inner legs, so both directions are summed for asymmetric matrices.
+     */
+    private static boolean twoOpt(int[] tour, double[][] d, long deadline) {
+        int last = tour.length - 1;
+        boolean improved = false;
+        for (int i = 1; i < last; i++) {
+            if (System.nanoTime() >= deadline) {
+                break;
+            }
+            for (int j = i + 1; j <= last; j++) {
+                int a = tour[i - 1];
+                int b = tour[i];
+                int c = tour[j];
+                double delta = d[a][c] - d[a][b];
+                if (j < last) {
+                    int e = tour[j + 1];
+                    delta += d[b][e] - d[c][e];
+                }
+                if (delta < -EPSILON && delta + reversalCost(tour, d, i, j) < -EPSILON) {
+                    reverse(tour, i, j);
+                    improved = true;
+                }
+            }
+        }
+        return improved;
+    }
+
+    /**
+     * Change in inner leg cost when tour[i..j] is walked backwards; zero for symmetric distances
+     */
+    private static double reversalCost(int[] tour, double[][] d, int i, int j) {
+        double delta = 0;
+        for (int k = i; k < j; k++) {
+            delta += d[tour[k + 1]][tour[k]] - d[tour[k]][tour[k + 1]];
+        }
+        return delta;
+    }
+
+    /**
+     * Move a run of one to three consecutive stops between two other stops, keeping or
+     * flipping its direction, whenever that shortens the path
+     */
+    private static boolean orOpt(int[] tour, double[][] d, long deadline) {
+        int last = tour.length - 1;
+        boolean improved = false;
+        for (int length = 1; length <= MAX_SEGMENT; length++) {
+            for (int i = 1; i + length - 1 <= last; i++) {
+                if (System.nanoTime() >= deadline) {
+                    return improved;
+                }
+                int end = i + length - 1;
+                int first = tour[i];
+                int tail = tour[end];
+                int previous = tour[i - 1];
+                int next = end < last ? tour[end + 1] : -1;
+
+                double removed = d[previous][first] + (next >= 0 ? d[tail][next] - d[previous][next] : 0);
+                double inner = segmentCost(tour, d, i, end);
+                double innerReversed = segmentCost(tour, d, end, i);
+
+                int bestPosition = -1;
+                boolean bestReversed = false;
+                double bestGain = EPSILON;
+                for (int p = 0; p <= last; p++) {
+                    if (p >= i - 1 && p <= end) {
+                        continue;
+                    }
+                    int u = tour[p];
+                    int v = p < last ? tour[p + 1] : -1;
+                    double base = v >= 0 ? d[u][v] : 0;
+                    double forward = d[u][first] + (v >= 0 ? d[tail][v] : 0) - base;
+                    double backward = d[u][tail] + (v >= 0 ? d[first][v] : 0) - base + innerReversed - inner;
+                    if (removed - forward > bestGain) {
+                        bestGain = removed - forward;
+                        bestPosition = p;
+                        bestReversed = false;
+                    }
+                    if (removed - backward > bestGain) {
+                        bestGain = removed - backward;
+                        bestPosition = p;
+                        bestReversed = true;
+                    }
+                }
+                if (bestPosition >= 0) {
+                    move(tour, i, end, bestPosition, bestReversed);
+                    improved = true;
+                }
+            }
+        }
+        return improved;
+    }
+
+    /**
+     * Cost of walking tour positions from {@code from} to {@code to}, in either direction
+     */
+    private static double segmentCost(int[] tour, double[][] d, int from, int to) {
+        double cost = 0;
+        int step = from <= to ? 1 : -1;
+        for (int k = from; k != to; k += step) {
+            cost += d[tour[k]][tour[k + step]];
+        }
+        return cost;
+    }
+
+    static void reverse(int[] tour, int from, int to) {
+        while (from < to) {
+            int swap = tour[from];
+            tour[from++] = tour[to];
+            tour[to--] = swap;
+        }
+    }
+
+    /**
+     * Take tour[from..to] out and put it back right after the node now at position {@code after}
+     */
+    static void move(int[] tour, int from, int to, int after, boolean reversed) {
+        int length = to - from + 1;
+        int[] segment = new int[length];
+        for (int k = 0; k < length; k++) {
+            segment[k] = tour[reversed ? to - k : from + k];
+        }
+        if (after < from) {
+            // Shift tour[after+1 .. from-1] right to make room
+            System.arraycopy(tour, after + 1, tour, after + 1 + length, from - after - 1);
+            System.arraycopy(segment, 0, tour, after + 1, length);
+        } else {
+            // Shift tour[to+1 .. after] left over the gap
+            System.arraycopy(tour, to + 1, tour, from, after - to);
+            System.arraycopy(segment, 0, tour, after - length + 1, length);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package org.f3.postalmanagement.service.route;
+
+import lombok.extern.slf4j.Slf4j;
+import org.f3.postalmanagement.config.RoutingProperties;
+import org.f3.postalmanagement.config.TrackingProperties;
+import org.f3.postalmanagement.dto.response.employee.DeliveryRunResponse;
+import org.f3.postalmanagement.dto.response.employee.DeliveryRunStopResponse;
+import org.f3.postalmanagement.entity.actor.Employee;
+import org.f3.postalmanagement.entity.administrative.Ward;
+import org.f3.postalmanagement.entity.order.Order;
+import org.f3.postalmanagement.enums.OrderStatus;
+import org.f3.postalmanagement.repository.OrderRepository;
+import org.f3.postalmanagement.service.IGeocodingService;
+import org.f3.postalmanagement.service.tracking.LivePosition;
+import org.f3.postalmanagement.service.tracking.ShipperLocationStore;
+import org.f3.postalmanagement.service.tracking.TrackPoints;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Builds the suggested stop order for the orders a shipper is out delivering.
+ * <p>
+ * The run starts at the shipper's last GPS position when it is recent, otherwise at the
+ * office's area. Receivers without exact coordinates are placed at their ward's centre.
+ * Leg distances are straight lines scaled by a detour factor, which is cheap enough to
+ * recompute the whole run on every assignment change.
+ */
+@Component
+@Slf4j
+public class DeliveryRunPlanner {
+
+    private final OrderRepository orderRepository;
+    private final ShipperLocationStore locationStore;
+    private final IGeocodingService geocodingService;
+    private final TrackingProperties trackingProperties;
+    private final RoutingProperties.DeliveryRunSettings settings;
+
+    public DeliveryRunPlanner(OrderRepository orderRepository,
+                              ShipperLocationStore locationStore,
+                              IGeocodingService geocodingService,
+                              TrackingProperties trackingProperties,
+                              RoutingProperties routingProperties) {
+        this.orderRepository = orderRepository;
+        this.locationStore = locationStore;
+        this.geocodingService = geocodingService;
+        this.trackingProperties = trackingProperties;
+        this.settings = routingProperties.getDeliveryRun();
+    }
+
+    public DeliveryRunResponse plan(Employee shipper) {
+        List<Order> orders = orderRepository.findWithReceiverWardByShipperAndStatus(
+                shipper.getId(), OrderStatus.OUT_FOR_DELIVERY);
+
+        List<Order> stops = new ArrayList<>(orders.size());
+        List<double[]> points = new ArrayList<>(orders.size());
+        List<UUID> unlocated = new ArrayList<>();
+        for (Order order : orders) {
+            double[] point = locationOf(order.getReceiverLatitude(), order.getReceiverLongitude(), order.getReceiverWard());
+            if (point == null) {
+                unlocated.add(order.getId());
+            } else {
+                stops.add(order);
+                points.add(point);
+            }
+        }
+
+        String startSource = "LIVE";
+        double[] start = liveStart(shipper.getId());
+        if (start == null) {
+            startSource = "OFFICE";
+            start = shipper.getOffice() != null ? locationOf(null, null, shipper.getOffice().getWard()) : null;
+        }
+        if (start == null && !points.isEmpty()) {
+            startSource = "FIRST_STOP";
+            start = points.get(0);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        DeliveryRunResponse.DeliveryRunResponseBuilder response = DeliveryRunResponse.builder()
+                .shipperId(shipper.getId())
+                .unlocatedOrderIds(unlocated)
+                .computedAt(now);
+        if (start == null) {
+            return response.stops(List.of()).build();
+        }
+
+        long began = System.nanoTime();
+        double[][] distances = distanceMatrix(start, points);
+        int[] sequence = DeliveryRunOptimizer.optimize(distances, settings.getOptimizationBudgetMs() * 1_000_000L);
+        log.debug("Sequenced {} stops for shipper {} in {} us",
+                sequence.length, shipper.getId(), (System.nanoTime() - began) / 1000);
+
+        double metersPerMinute = settings.getAverageSpeedKmh() * 1000 / 60;
+        List<DeliveryRunStopResponse> runStops = new ArrayList<>(sequence.length);
+        double totalMeters = 0;
+        double minutes = 0;
+        int previous = 0;
+        for (int node : sequence) {
+            Order order = stops.get(node - 1);
+            double[] point = points.get(node - 1);
+            double leg = distances[previous][node];
+            totalMeters += leg;
+            minutes += leg / metersPerMinute;
+            runStops.add(DeliveryRunStopResponse.builder()
+                    .sequence(runStops.size() + 1)
+                    .orderId(order.getId())
+                    .trackingNumber(order.getTrackingNumber())
+                    .receiverName(order.getReceiverName())
+                    .receiverPhone(order.getReceiverPhone())
+                    .receiverAddress(order.getReceiverAddressLine1())
+                    .latitude(point[0])
+                    .longitude(point[1])
+                    .locationApproximate(order.getReceiverLatitude() == null)
+                    .legDistanceMeters(Math.round(leg))
+                    .estimatedArrival(now.plusSeconds(Math.round(minutes * 60)))
+                    .build());
+            minutes += settings.getServiceMinutesPerStop();
+            previous = node;
+        }
+
+        return response
+                .startLatitude(start[0])
+                .startLongitude(start[1])
+                .startSource(startSource)
+                .totalDistanceKm(Math.round(totalMeters / 10.0) / 100.0)
+                .estimatedMinutes(Math.round(minutes))
+                .stops(runStops)
+                .build();
+    }
+
+    private double[] liveStart(UUID shipperId) {
+        LocalDateTime since = LocalDateTime.now().minusMinutes(trackingProperties.getActiveWindowMinutes());
+        return locationStore.find(shipperId)
+                .filter(position -> position.timestamp().isAfter(since))
+                .map(DeliveryRunPlanner::pointOf)
+                .orElse(null);
+    }
+
+    private double[] locationOf(Double latitude, Double longitude, Ward ward) {
+        if (latitude != null && longitude != null) {
+            return new double[]{latitude, longitude};
+        }
+        if (ward == null) {
+            return null;
+        }
+        String provinceCode = ward.getProvince() != null ? ward.getProvince().getCode() : null;
+        return geocodingService.approximateLocation(ward.getCode(), provinceCode).orElse(null);
+    }
+
+    /**
+     * Road distance estimate between every pair of nodes; node 0 is the start
+     */
+    private double[][] distanceMatrix(double[] start, List<double[]> points) {
+        int nodes = points.size() + 1;
+        double[][] distances = new double[nodes][nodes];
+        for (int i = 0; i < nodes; i++) {
+            double[] from = i == 0 ? start : points.get(i - 1);
+            for (int j = i + 1; j < nodes; j++) {
+                double[] to = points.get(j - 1);
+                double meters = TrackPoints.distanceMeters(from[0], from[1], to[0], to[1]) * settings.getDetourFactor();
+                distances[i][j] = meters;
+                distances[j][i] = meters;
+            }
+        }
+        return distances;
+    }
+
+    private static double[] pointOf(LivePosition position) {
+        return new double[]{position.latitude().doubleValue(), position.longitude().doubleValue()};
+    }
+}
@@ -0,0 +1,429 @@
+package org.f3.postalmanagement.service.route;
+
+import org.f3.postalmanagement.entity.unit.Office;
+import org.f3.postalmanagement.entity.unit.TransferRoute;
+import org.f3.postalmanagement.enums.OfficeType;
+import org.f3.postalmanagement.enums.RoutingCostFunction;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable snapshot of the transfer network: hubs, province warehouses and active routes.
+ * <p>
+ * The cheapest path between every pair of offices is precomputed for each {@link RoutingCostFunction}
+ * (Dijkstra, ties broken by fewer hops). Alternative paths are computed on demand with Yen's
+ * k-shortest paths algorithm and memoized for the lifetime of the snapshot.
+ * <p>
+ * Topology changes produce a new snapshot with a higher version (see {@link HubRoutingGraphHolder}).
+ */
+public final class HubRoutingGraph {
+
+    /**
+     * Transit hours assumed for a route without a configured value
+     */
+    public static final int DEFAULT_TRANSIT_HOURS = 4;
+
+    private final long version;
+    private final LocalDateTime builtAt;
+    private final RoutingCostModel costModel;
+    private final int routeCount;
+    private final Map<Integer, Office> hubByRegion;
+    private final Map<String, Office> warehouseByProvince;
+
+    // Nodes are addressed by index; outgoing[i] holds the legs leaving offices[i]
+    private final Office[] offices;
+    private final Map<UUID, Integer> indexById;
+    private final Leg[][] outgoing;
+    private final int[][] outgoingTargets;
+
+    private final Map<RoutingCostFunction, HubPath[][]> shortestPaths;
+    private final Map<AlternativesKey, List<HubPath>> alternatives = new ConcurrentHashMap<>();
+
+    private HubRoutingGraph(long version, RoutingCostModel costModel, List<Office> officeList,
+                            List<List<Leg>> adjacency, int routeCount) {
+        this.version = version;
+        this.builtAt = LocalDateTime.now();
+        this.costModel = costModel;
+        this.routeCount = routeCount;
+
+        int size = officeList.size();
+        this.offices = officeList.toArray(new Office[0]);
+        Map<UUID, Integer> indexes = new HashMap<>();
+        Map<Integer, Office> hubs = new HashMap<>();
+        Map<String, Office> warehouses = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            Office office = offices[i];
+            indexes.put(office.getId(), i);
+            if (office.getOfficeType() == OfficeType.HUB && office.getRegion() != null) {
+                hubs.putIfAbsent(office.getRegion().getId(), office);
+            } else if (office.getOfficeType() == OfficeType.PROVINCE_WAREHOUSE && office.getProvince() != null) {
+                warehouses.putIfAbsent(office.getProvince().getCode(), office);
+            }
+        }
+        this.indexById = Map.copyOf(indexes);
+        this.hubByRegion = Map.copyOf(hubs);
+        this.warehouseByProvince = Map.copyOf(warehouses);
+
+        this.outgoing = new Leg[size][];
+        this.outgoingTargets = new int[size][];
+        for (int i = 0; i < size; i++) {
+            List<Leg> legs = adjacency.get(i);
+            outgoing[i] = legs.toArray(new Leg[0]);
+            outgoingTargets[i] = legs.stream().mapToInt(leg -> indexes.get(leg.toOfficeId())).toArray();
+        }
+
+        Map<RoutingCostFunction, HubPath[][]> paths = new EnumMap<>(RoutingCostFunction.class);
+        for (RoutingCostFunction costFunction : RoutingCostFunction.values()) {
+            HubPath[][] table = new HubPath[size][];
+            for (int source = 0; source < size; source++) {
+                ShortestPathTree tree = shortestPathTree(source, costFunction, Collections.emptySet(), null);
+                table[source] = new HubPath[size];
+                for (int target = 0; target < size; target++) {
+                    table[source][target] = tree.pathTo(target);
+                }
+            }
+            paths.put(costFunction, table);
+        }
+        this.shortestPaths = paths;
+    }
+
+    /**
+     * Build a snapshot.
+     *
+     * @param version version number of the snapshot
+     * @param costModel leg costs for each cost function
+     * @param offices hubs and province warehouses, with region and province loaded
+     * @param activeRoutes active transfer routes; routes touching unknown offices are ignored
+     */
+    public static HubRoutingGraph build(long version, RoutingCostModel costModel, List<Office> offices,
+                                        List<TransferRoute> activeRoutes) {
+        Map<UUID, Integer> indexes = new HashMap<>();
+        List<Office> officeList = new ArrayList<>();
+        for (Office office : offices) {
+            if (indexes.putIfAbsent(office.getId(), officeList.size()) == null) {
+                officeList.add(office);
+            }
+        }
+
+        // Keep one leg per office pair: preferred priority first, then fastest
+        List<Map<UUID, Leg>> legsByTarget = new ArrayList<>();
+        officeList.forEach(office -> legsByTarget.add(new LinkedHashMap<>()));
+        int routeCount = 0;
+        for (TransferRoute route : activeRoutes) {
+            Integer from = indexes.get(route.getFromHub().getId());
+            if (from == null || !indexes.containsKey(route.getToHub().getId())) {
+                continue;
+            }
+            Leg leg = Leg.of(route);
+            Leg existing = legsByTarget.get(from).get(leg.toOfficeId());
+            if (existing == null) {
+                routeCount++;
+            }
+            if (existing == null || leg.isPreferredOver(existing)) {
+                legsByTarget.get(from).put(leg.toOfficeId(), leg);
+            }
+        }
+
+        List<List<Leg>> adjacency = legsByTarget.stream()
+                .map(legs -> (List<Leg>) new ArrayList<>(legs.values()))
+                .toList();
+        return new HubRoutingGraph(version, costModel, officeList, adjacency, routeCount);
+    }
+
+    // ==================== LOOKUPS ====================
+
+    public long getVersion() {
+        return version;
+    }
+
+    public LocalDateTime getBuiltAt() {
+        return builtAt;
+    }
+
+    public int getRouteCount() {
+        return routeCount;
+    }
+
+    public Optional<Office> findHubForRegion(Integer regionId) {
+        return Optional.ofNullable(hubByRegion.get(regionId));
+    }
+
+    public Optional<Office> findProvinceWarehouse(String provinceCode) {
+        return Optional.ofNullable(warehouseByProvince.get(provinceCode));
+    }
+
+    /**
+     * Precomputed cheapest path between the hubs of two regions
+     */
+    public Optional<HubPath> findHubPath(Integer fromRegionId, Integer toRegionId, RoutingCostFunction costFunction) {
+        Office fromHub = hubByRegion.get(fromRegionId);
+        Office toHub = hubByRegion.get(toRegionId);
+        if (fromHub == null || toHub == null) {
+            return Optional.empty();
+        }
+        return findPath(fromHub.getId(), toHub.getId(), costFunction);
+    }
+
+    /**
+     * Precomputed cheapest path between two offices of the network
+     */
+    public Optional<HubPath> findPath(UUID fromOfficeId, UUID toOfficeId, RoutingCostFunction costFunction) {
+        Integer from = indexById.get(fromOfficeId);
+        Integer to = indexById.get(toOfficeId);
+        if (from == null || to == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(shortestPaths.get(costFunction)[from][to]);
+    }
+
+    /**
+     * Cheapest path between two offices that does not use any of the given routes.
+     * Computed on demand.
+     */
+    public Optional<HubPath> findPathAvoiding(UUID fromOfficeId, UUID toOfficeId, RoutingCostFunction costFunction,
+                                              Set<UUID> excludedRouteIds) {
+        Integer from = indexById.get(fromOfficeId);
+        Integer to = indexById.get(toOfficeId);
+        if (from == null || to == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(shortestPathTree(from, costFunction, excludedRouteIds, null).pathTo(to));
+    }
+
+    /**
+     * Up to {@code k} loopless paths between the hubs of two regions, cheapest first.
+     * The first element is the same path as {@link #findHubPath}.
+     */
+    public List<HubPath> findHubPaths(Integer fromRegionId, Integer toRegionId, RoutingCostFunction costFunction, int k) {
+        Office fromHub = hubByRegion.get(fromRegionId);
+        Office toHub = hubByRegion.get(toRegionId);
+        if (fromHub == null || toHub == null || k <= 0) {
+            return Collections.emptyList();
+        }
+        Integer from = indexById.get(fromHub.getId());
+        Integer to = indexById.get(toHub.getId());
+        return alternatives.computeIfAbsent(new AlternativesKey(from, to, costFunction, k),
+                key -> kShortestPaths(key.from(), key.to(), key.costFunction(), key.k()));
+    }
+
+    /**
+     * Direct route between two offices
+     */
+    public Optional<Leg> findLeg(UUID fromOfficeId, UUID toOfficeId) {
+        Integer from = indexById.get(fromOfficeId);
+        if (from == null) {
+            return Optional.empty();
+        }
+        for (Leg leg : outgoing[from]) {
+            if (leg.toOfficeId().equals(toOfficeId)) {
+                return Optional.of(leg);
+            }
+        }
+        return Optional.empty();
+    }
+
+    // ==================== PATH SEARCH ====================
+
+    /**
+     * Dijkstra from one office, skipping excluded routes and excluded offices
+     */
+    private ShortestPathTree shortestPathTree(int source, RoutingCostFunction costFunction,
+                                              Set<UUID> excludedRouteIds, boolean[] excludedNodes) {
+        int size = offices.length;
+        double[] cost = new double[size];
+        int[] hops = new int[size];
+        Leg[] via = new Leg[size];
+        int[] parent = new int[size];
+        Arrays.fill(cost, Double.POSITIVE_INFINITY);
+        Arrays.fill(parent, -1);
+        boolean[] settled = new boolean[size];
+
+        cost[source] = 0;
+        PriorityQueue<QueueEntry> queue = new PriorityQueue<>();
+        queue.add(new QueueEntry(source, 0, 0));
+
+        while (!queue.isEmpty()) {
+            QueueEntry entry = queue.poll();
+            int node = entry.node();
+            if (settled[node]) {
+                continue;
+            }
+            settled[node] = true;
+
+            Leg[] legs = outgoing[node];
+            int[] targets = outgoingTargets[node];
+            for (int i = 0; i < legs.length; i++) {
+                int target = targets[i];
+                if (settled[target] || (excludedNodes != null && excludedNodes[target])
+                        || excludedRouteIds.contains(legs[i].routeId())) {
+                    continue;
+                }
+                double newCost = cost[node] + costModel.cost(legs[i], costFunction);
+                int newHops = hops[node] + 1;
+                if (newCost < cost[target] || (newCost == cost[target] && newHops < hops[target])) {
+                    cost[target] = newCost;
+                    hops[target] = newHops;
+                    via[target] = legs[i];
+                    parent[target] = node;
+                    queue.add(new QueueEntry(target, newCost, newHops));
+                }
+            }
+        }
+        return new ShortestPathTree(source, cost, via, parent);
+    }
+
+    /**
+     * Yen's algorithm for the k cheapest loopless paths
+     */
+    private List<HubPath> kShortestPaths(int source, int target, RoutingCostFunction costFunction, int k) {
+        HubPath first = shortestPaths.get(costFunction)[source][target];
+        if (first == null) {
+            return Collections.emptyList();
+        }
+
+        List<HubPath> accepted = new ArrayList<>();
+        accepted.add(first);
+        PriorityQueue<HubPath> candidates = new PriorityQueue<>(
+                Comparator.comparingDouble(HubPath::cost).thenComparingInt(path -> path.legs().size()));
+        Set<List<Leg>> seen = new HashSet<>();
+        seen.add(first.legs());
+
+        while (accepted.size() < k) {
+            HubPath previous = accepted.get(accepted.size() - 1);
+            for (int i = 0; i < previous.legs().size(); i++) {
+                List<Leg> rootLegs = previous.legs().subList(0, i);
+                int spurNode = indexById.get(previous.stops().get(i).getId());
+
+                // Do not repeat the next leg of any accepted path sharing this root
+                Set<UUID> excludedRoutes = new HashSet<>();
+                for (HubPath path : accepted) {
+                    if (path.legs().size() > i && path.legs().subList(0, i).equals(rootLegs)) {
+                        excludedRoutes.add(path.legs().get(i).routeId());
+                    }
+                }
+                // Keep the path loopless: the root offices cannot be visited again
+                boolean[] excludedNodes = new boolean[offices.length];
+                for (int j = 0; j < i; j++) {
+                    excludedNodes[indexById.get(previous.stops().get(j).getId())] = true;
+                }
+
+                HubPath spur = shortestPathTree(spurNode, costFunction, excludedRoutes, excludedNodes).pathTo(target);
+                if (spur == null) {
+                    continue;
+                }
+                List<Leg> legs = new ArrayList<>(rootLegs);
+                legs.addAll(spur.legs());
+                if (seen.add(legs)) {
+                    candidates.add(pathOf(legs, costFunction));
+                }
+            }
+            if (candidates.isEmpty()) {
+                break;
+            }
+            accepted.add(candidates.poll());
+        }
+        return List.copyOf(accepted);
+    }
+
+    private HubPath pathOf(List<Leg> legs, RoutingCostFunction costFunction) {
+        List<Office> stops = new ArrayList<>(legs.size() + 1);
+        stops.add(offices[indexById.get(legs.get(0).fromOfficeId())]);
+        double cost = 0;
+        for (Leg leg : legs) {
+            stops.add(offices[indexById.get(leg.toOfficeId())]);
+            cost += costModel.cost(leg, costFunction);
+        }
+        return HubPath.of(stops, legs, cost);
+    }
+
+    private record QueueEntry(int node, double cost, int hops) implements Comparable<QueueEntry> {
+        @Override
+        public int compareTo(QueueEntry other) {
+            int byCost = Double.compare(cost, other.cost);
+            return byCost != 0 ? byCost : Integer.compare(hops, other.hops);
+        }
+    }
+
+    private record AlternativesKey(int from, int to, RoutingCostFunction costFunction, int k) {
+    }
+
+    private final class ShortestPathTree {
+        private final int source;
+        private final double[] cost;
+        private final Leg[] via;
+        private final int[] parent;
+
+        ShortestPathTree(int source, double[] cost, Leg[] via, int[] parent) {
+            this.source = source;
+            this.cost = cost;
+            this.via = via;
+            this.parent = parent;
+        }
+
+        HubPath pathTo(int target) {
+            if (target != source && parent[target] < 0) {
+                return null;
+            }
+            LinkedList<Office> stops = new LinkedList<>();
+            LinkedList<Leg> legs = new LinkedList<>();
+            for (int node = target; node != source; node = parent[node]) {
+                stops.addFirst(offices[node]);
+                legs.addFirst(via[node]);
+            }
+            stops.addFirst(offices[source]);
+            return HubPath.of(stops, legs, cost[target]);
+        }
+    }
+
+    // ==================== VALUES ====================
+
+    /**
+     * One direct transfer route
+     */
+    public record Leg(UUID routeId, UUID fromOfficeId, UUID toOfficeId, int transitHours, int distanceKm, int priority) {
+
+        static Leg of(TransferRoute route) {
+            return new Leg(
+                    route.getId(),
+                    route.getFromHub().getId(),
+                    route.getToHub().getId(),
+                    route.getTransitHours() != null ? route.getTransitHours() : DEFAULT_TRANSIT_HOURS,
+                    route.getDistanceKm() != null ? route.getDistanceKm() : 0,
+                    route.getPriority() != null ? route.getPriority() : 1
+            );
+        }
+
+        boolean isPreferredOver(Leg other) {
+            if (priority != other.priority) {
+                return priority < other.priority;
+            }
+            return transitHours < other.transitHours;
+        }
+    }
+
+    /**
+     * Path through the network with its stops (including both ends), legs, totals
+     * and its cost under the cost function it was searched with
+     */
+    public record HubPath(List<Office> stops, List<Leg> legs, int transitHours, int distanceKm, double cost) {
+
+        static HubPath of(List<Office> stops, List<Leg> legs, double cost) {
+            int transitHours = 0;
+            int distanceKm = 0;
+            for (Leg leg : legs) {
+                transitHours += leg.transitHours();
+                distanceKm += leg.distanceKm();
+            }
+            return new HubPath(List.copyOf(stops), List.copyOf(legs), transitHours, distanceKm, cost);
+        }
+
+        /**
+         * Transit hours plus handling time at every intermediate stop
+         */
+        public int estimatedHours(int handlingHoursPerStop) {
+            return transitHours + Math.max(0, stops.size() - 2) * handlingHoursPerStop;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package org.f3.postalmanagement.service.route;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.f3.postalmanagement.config.RoutingProperties;
+import org.f3.postalmanagement.entity.unit.Office;
+import org.f3.postalmanagement.entity.unit.TransferRoute;
+import org.f3.postalmanagement.enums.OfficeType;
+import org.f3.postalmanagement.repository.OfficeRepository;
+import org.f3.postalmanagement.repository.TransferRouteRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current {@link HubRoutingGraph} and swaps it atomically when the topology changes.
+ * <p>
+ * Readers call {@link #current()} and work on that snapshot for the whole request.
+ * The graph is rebuilt after route changes commit, and periodically so that changes
+ * made by other nodes or directly in the database are picked up.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class HubRoutingGraphHolder {
+
+    private static final List<OfficeType> ROUTABLE_OFFICE_TYPES = List.of(OfficeType.HUB, OfficeType.PROVINCE_WAREHOUSE);
+
+    private final OfficeRepository officeRepository;
+    private final TransferRouteRepository transferRouteRepository;
+    private final RoutingProperties routingProperties;
+
+    private final AtomicReference<HubRoutingGraph> current = new AtomicReference<>();
+
+    /**
+     * Current snapshot, built on first use
+     */
+    public HubRoutingGraph current() {
+        HubRoutingGraph graph = current.get();
+        if (graph != null) {
+            return graph;
+        }
+        synchronized (this) {
+            graph = current.get();
+            return graph != null ? graph : refresh();
+        }
+    }
+
+    /**
+     * Rebuild the graph from the database and publish it
+     */
+    public synchronized HubRoutingGraph refresh() {
+        long startTime = System.currentTimeMillis();
+        List<Office> offices = officeRepository.findAllWithLocationByOfficeTypeIn(ROUTABLE_OFFICE_TYPES);
+        List<TransferRoute> routes = transferRouteRepository.findAllByIsActiveTrue();
+
+        HubRoutingGraph previous = current.get();
+        long version = previous != null ? previous.getVersion() + 1 : 1;
+        HubRoutingGraph graph = HubRoutingGraph.build(version, RoutingCostModel.from(routingProperties), offices, routes);
+        current.set(graph);
+
+        log.debug("Routing graph v{} built in {}ms: {} offices, {} routes",
+                version, System.currentTimeMillis() - startTime, offices.size(), graph.getRouteCount());
+        return graph;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        HubRoutingGraph graph = refresh();
+        log.info("Routing graph v{} loaded with {} routes", graph.getVersion(), graph.getRouteCount());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTopologyChanged(TransferRouteTopologyChangedEvent event) {
+        HubRoutingGraph graph = refresh();
+        log.info("Routing graph v{} rebuilt after change to route {}", graph.getVersion(), event.getRouteId());
+    }
+
+    @Scheduled(fixedDelayString = "${routing.graph-refresh-interval-ms:300000}",
+            initialDelayString = "${routing.graph-refresh-interval-ms:300000}")
+    public void scheduledRefresh() {
+        refresh();
+    }
+}
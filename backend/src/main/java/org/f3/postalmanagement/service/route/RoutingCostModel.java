@@ -0,0 +1,26 @@
+package org.f3.postalmanagement.service.route;
+
+import org.f3.postalmanagement.config.RoutingProperties;
+import org.f3.postalmanagement.enums.RoutingCostFunction;
+
+/**
+ * Cost of travelling one leg under each {@link RoutingCostFunction}.
+ */
+public record RoutingCostModel(double hubHandlingHours, double priorityPenaltyHours, double averageSpeedKmh) {
+
+    public static RoutingCostModel from(RoutingProperties properties) {
+        return new RoutingCostModel(
+                properties.getSlaHubHandlingHours(),
+                properties.getSlaPriorityPenaltyHours(),
+                properties.getAverageSpeedKmh()
+        );
+    }
+
+    public double cost(HubRoutingGraph.Leg leg, RoutingCostFunction costFunction) {
+        return switch (costFunction) {
+            case TIME -> leg.transitHours();
+            case DISTANCE -> leg.distanceKm() > 0 ? leg.distanceKm() : leg.transitHours() * averageSpeedKmh;
+            case SLA -> leg.transitHours() + hubHandlingHours + (leg.priority() - 1) * priorityPenaltyHours;
+        };
+    }
+}
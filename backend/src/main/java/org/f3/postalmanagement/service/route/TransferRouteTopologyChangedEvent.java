@@ -0,0 +1,17 @@
+package org.f3.postalmanagement.service.route;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Published when a transfer route is created, disabled or enabled,
+ * so the in-memory routing graph is rebuilt once the change is committed.
+ */
+@Getter
+@AllArgsConstructor
+public class TransferRouteTopologyChangedEvent {
+
+    private final UUID routeId;
+}
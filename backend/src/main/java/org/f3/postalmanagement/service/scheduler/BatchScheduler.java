@@ -2,7 +2,6 @@ package org.f3.postalmanagement.service.scheduler;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.f3.postalmanagement.dto.request.batch.AutoBatchRequest;
 import org.f3.postalmanagement.entity.actor.Account;
 import org.f3.postalmanagement.entity.actor.Employee;
 import org.f3.postalmanagement.entity.order.BatchPackage;
@@ -11,14 +10,13 @@ import org.f3.postalmanagement.enums.BatchStatus;
 import org.f3.postalmanagement.enums.Role;
 import org.f3.postalmanagement.repository.BatchPackageRepository;
 import org.f3.postalmanagement.repository.EmployeeRepository;
-import org.f3.postalmanagement.repository.OfficeRepository;
 import org.f3.postalmanagement.service.IBatchService;
+import org.f3.postalmanagement.service.batch.BatchingEngine;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
@@ -33,53 +31,21 @@ import java.util.UUID;
 public class BatchScheduler {
 
     private final IBatchService batchService;
+    private final BatchingEngine batchingEngine;
     private final BatchPackageRepository batchPackageRepository;
-    private final OfficeRepository officeRepository;
     private final EmployeeRepository employeeRepository;
 
     /**
-     * Auto-batch unbatched orders every 5 minutes (MVP setting).
-     * In production, this would be more frequent or triggered by thresholds.
+     * Safety-net sweep for orders missed by incremental batching (every 5 minutes by default).
+     * Only routes that actually have unbatched orders are processed; see {@link BatchingEngine}.
+     * Not transactional: each route pair is batched in its own transaction.
      */
-    @Scheduled(fixedDelay = 300000, initialDelay = 60000) // 5 min delay, 1 min initial
-    @Transactional
+    @Scheduled(fixedDelayString = "${batching.sweep-interval-ms:300000}", initialDelay = 60000) // 1 min initial
     public void autoBatchUnbatchedOrders() {
         try {
             log.debug("Starting auto-batch scheduler");
-
-            // Get all offices (staff will be auto-created from their office)
-            List<Office> offices = officeRepository.findAll();
-
-            for (Office origin : offices) {
-                // For each origin office, batch to all other offices
-                for (Office destination : offices) {
-                    if (origin.getId().equals(destination.getId())) {
-                        continue; // Skip same origin/destination
-                    }
-
-                    try {
-                        // Create auto-batch request
-                        AutoBatchRequest request = new AutoBatchRequest();
-                        request.setDestinationOfficeId(destination.getId());
-                        request.setMaxWeightPerBatch(BigDecimal.valueOf(50.0)); // 50 kg default
-                        request.setMaxOrdersPerBatch(100);
-                        request.setCreateNewBatches(true);
-
-                        // Create system account for scheduler execution
-                        Account systemAccount = createSystemAccount(origin);
-
-                        // Execute auto-batch
-                        batchService.autoBatchOrders(request, systemAccount);
-
-                    } catch (Exception e) {
-                        log.warn("Auto-batch failed for route {} -> {}: {}",
-                                origin.getOfficeName(), destination.getOfficeName(), e.getMessage());
-                    }
-                }
-            }
-
+            batchingEngine.runOnce();
             log.debug("Auto-batch scheduler completed successfully");
-
         } catch (Exception e) {
             log.error("Auto-batch scheduler failed", e);
         }
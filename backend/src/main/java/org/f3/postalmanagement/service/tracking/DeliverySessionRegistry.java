@@ -0,0 +1,170 @@
+package org.f3.postalmanagement.service.tracking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.f3.postalmanagement.config.RabbitMQConfig;
+import org.f3.postalmanagement.entity.tracking.DeliverySession;
+import org.f3.postalmanagement.entity.tracking.ShipperLocation;
+import org.f3.postalmanagement.repository.DeliverySessionRepository;
+import org.f3.postalmanagement.repository.ShipperLocationRepository;
+import org.f3.postalmanagement.service.outbox.OutboxWriter;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory view of {@code delivery_sessions} in both directions: the orders a shipper
+ * is delivering and the shipper delivering an order.
+ * <p>
+ * Loaded once on startup and then kept in step by {@link DeliverySessionsChangedEvent}
+ * after each commit, so lookups never touch the database. Changes are also sent through
+ * the outbox to a fanout exchange, so the other nodes apply them as well.
+ */
+@Component
+@Slf4j
+public class DeliverySessionRegistry {
+
+    private final DeliverySessionRepository sessionRepository;
+    private final ShipperLocationRepository locationRepository;
+    private final ShipperLocationStore locationStore;
+    private final OutboxWriter outboxWriter;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Tells this node's own replicated changes apart from those of other nodes
+     */
+    private final UUID nodeId = UUID.randomUUID();
+
+    private final Map<UUID, UUID> shipperByOrder = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<UUID>> ordersByShipper = new ConcurrentHashMap<>();
+
+    public DeliverySessionRegistry(DeliverySessionRepository sessionRepository,
+                                   ShipperLocationRepository locationRepository,
+                                   ShipperLocationStore locationStore,
+                                   OutboxWriter outboxWriter,
+                                   ApplicationEventPublisher eventPublisher) {
+        this.sessionRepository = sessionRepository;
+        this.locationRepository = locationRepository;
+        this.locationStore = locationStore;
+        this.outboxWriter = outboxWriter;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public Optional<UUID> shipperOf(UUID orderId) {
+        return Optional.ofNullable(shipperByOrder.get(orderId));
+    }
+
+    public Set<UUID> ordersOf(UUID shipperId) {
+        Set<UUID> orders = ordersByShipper.get(shipperId);
+        return orders != null ? Collections.unmodifiableSet(orders) : Set.of();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSessionsChanged(DeliverySessionsChangedEvent event) {
+        UUID shipperId = event.getShipperId();
+        if (event.isStarted()) {
+            event.getOrderIds().forEach(orderId -> add(shipperId, orderId));
+        } else {
+            event.getOrderIds().forEach(orderId -> remove(shipperId, orderId));
+        }
+        // The node that made the change stores the flag; the others read it back from the database
+        if (!event.isReplicated()) {
+            locationStore.setActive(shipperId, ordersByShipper.containsKey(shipperId));
+        }
+    }
+
+    /**
+     * Send a local change to the other nodes once the caller's transaction commits
+     */
+    public void replicate(DeliverySessionsChangedEvent event) {
+        outboxWriter.append("SHIPPER", event.getShipperId(),
+                event.isStarted() ? "DELIVERY_SESSIONS_STARTED" : "DELIVERY_SESSIONS_ENDED",
+                RabbitMQConfig.DELIVERY_SESSION_EXCHANGE, "",
+                new DeliverySessionsChangedMessage(nodeId, event.getShipperId(),
+                        List.copyOf(event.getOrderIds()), event.isStarted()));
+    }
+
+    @RabbitListener(queues = "#{deliverySessionQueue.name}")
+    public void onSessionsReplicated(DeliverySessionsChangedMessage message) {
+        if (nodeId.equals(message.getOriginNodeId()) || message.getShipperId() == null
+                || message.getOrderIds() == null) {
+            return;
+        }
+        eventPublisher.publishEvent(new DeliverySessionsChangedEvent(
+                message.getShipperId(), message.getOrderIds(), message.isStarted(), true));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void load() {
+        migrateLegacySessions();
+        for (DeliverySession session : sessionRepository.findAll()) {
+            add(session.getShipperId(), session.getOrderId());
+        }
+        log.info("Loaded {} delivery sessions of {} shippers", shipperByOrder.size(), ordersByShipper.size());
+    }
+
+    private void add(UUID shipperId, UUID orderId) {
+        UUID previous = shipperByOrder.put(orderId, shipperId);
+        if (previous != null && !previous.equals(shipperId)) {
+            detach(previous, orderId);
+        }
+        ordersByShipper.computeIfAbsent(shipperId, id -> ConcurrentHashMap.newKeySet()).add(orderId);
+    }
+
+    private void remove(UUID shipperId, UUID orderId) {
+        if (shipperByOrder.remove(orderId, shipperId)) {
+            detach(shipperId, orderId);
+        }
+    }
+
+    private void detach(UUID shipperId, UUID orderId) {
+        ordersByShipper.computeIfPresent(shipperId, (id, orders) -> {
+            orders.remove(orderId);
+            return orders.isEmpty() ? null : orders;
+        });
+    }
+
+    /**
+     * Move sessions still kept in the old comma-separated shipper_locations.active_order_ids
+     * column into delivery_sessions
+     */
+    private void migrateLegacySessions() {
+        List<ShipperLocation> legacy = locationRepository.findWithLegacyActiveOrders();
+        if (legacy.isEmpty()) {
+            return;
+        }
+        Set<UUID> orderIds = new HashSet<>();
+        for (ShipperLocation location : legacy) {
+            for (String orderId : location.getActiveOrderIds().split(",")) {
+                if (orderId.isBlank()) {
+                    continue;
+                }
+                UUID id = UUID.fromString(orderId.trim());
+                if (Boolean.TRUE.equals(location.getIsActive()) && orderIds.add(id)) {
+                    DeliverySession session = new DeliverySession();
+                    session.setShipperId(location.getShipper().getId());
+                    session.setOrderId(id);
+                    session.setStartedAt(location.getUpdatedAt() != null ? location.getUpdatedAt() : LocalDateTime.now());
+                    sessionRepository.save(session);
+                }
+            }
+            location.setActiveOrderIds(null);
+        }
+        log.info("Migrated {} delivery sessions from shipper_locations.active_order_ids", orderIds.size());
+    }
+}
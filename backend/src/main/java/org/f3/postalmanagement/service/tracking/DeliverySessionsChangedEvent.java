@@ -0,0 +1,30 @@
+package org.f3.postalmanagement.service.tracking;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Published when a shipper starts or ends delivery sessions, so in-memory
+ * indexes follow the delivery_sessions table once the transaction commits.
+ * Changes made on other nodes are published again locally as replicated events.
+ */
+@Getter
+@AllArgsConstructor
+public class DeliverySessionsChangedEvent {
+
+    private final UUID shipperId;
+    private final Collection<UUID> orderIds;
+    private final boolean started;
+
+    /**
+     * Whether the change was made on another node
+     */
+    private final boolean replicated;
+
+    public DeliverySessionsChangedEvent(UUID shipperId, Collection<UUID> orderIds, boolean started) {
+        this(shipperId, orderIds, started, false);
+    }
+}
@@ -0,0 +1,28 @@
+package org.f3.postalmanagement.service.tracking;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Sent to every node when a shipper starts or ends delivery sessions.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeliverySessionsChangedMessage {
+
+    /**
+     * Node that made the change and already applied it
+     */
+    private UUID originNodeId;
+
+    private UUID shipperId;
+
+    private List<UUID> orderIds;
+
+    private boolean started;
+}
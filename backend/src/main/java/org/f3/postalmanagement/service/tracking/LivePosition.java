@@ -0,0 +1,45 @@
+package org.f3.postalmanagement.service.tracking;
+
+import org.f3.postalmanagement.dto.response.tracking.ShipperLocationResponse;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Latest known position of a shipper, held in memory by {@link ShipperLocationStore}.
+ */
+public record LivePosition(
+        UUID shipperId,
+        String shipperName,
+        String shipperPhone,
+        UUID officeId,
+        BigDecimal latitude,
+        BigDecimal longitude,
+        Double accuracy,
+        Double heading,
+        Double speed,
+        LocalDateTime timestamp,
+        boolean active
+) {
+
+    public LivePosition withActive(boolean active) {
+        return new LivePosition(shipperId, shipperName, shipperPhone, officeId, latitude, longitude,
+                accuracy, heading, speed, timestamp, active);
+    }
+
+    public ShipperLocationResponse toResponse() {
+        return ShipperLocationResponse.builder()
+                .shipperId(shipperId)
+                .shipperName(shipperName)
+                .shipperPhone(shipperPhone)
+                .latitude(latitude)
+                .longitude(longitude)
+                .accuracy(accuracy)
+                .heading(heading)
+                .speed(speed)
+                .timestamp(timestamp)
+                .isActive(active)
+                .build();
+    }
+}
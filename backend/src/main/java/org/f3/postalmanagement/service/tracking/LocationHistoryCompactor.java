@@ -0,0 +1,63 @@
+package org.f3.postalmanagement.service.tracking;
+
+import lombok.RequiredArgsConstructor;
+import org.f3.postalmanagement.entity.tracking.LocationTrackSegment;
+import org.f3.postalmanagement.repository.LocationTrackSegmentRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Retention and downsampling of stored location history, one transaction per shipper day.
+ */
+@Component
+@RequiredArgsConstructor
+public class LocationHistoryCompactor {
+
+    private final LocationTrackSegmentRepository segmentRepository;
+
+    static LocationTrackSegment segmentOf(UUID shipperId, LocalDate day, TrackPoints points,
+                                          int resolutionSeconds, ZoneId zone) {
+        LocationTrackSegment segment = new LocationTrackSegment();
+        segment.setShipperId(shipperId);
+        segment.setTrackDate(day);
+        segment.setStartTime(LocalDateTime.ofInstant(Instant.ofEpochSecond(points.time(0)), zone));
+        segment.setEndTime(LocalDateTime.ofInstant(Instant.ofEpochSecond(points.time(points.size() - 1)), zone));
+        segment.setPointCount(points.size());
+        segment.setResolutionSeconds(resolutionSeconds);
+        segment.setData(TrackCodec.encode(points));
+        return segment;
+    }
+
+    @Transactional
+    public int deleteBefore(LocalDate before) {
+        return segmentRepository.deleteByTrackDateBefore(before);
+    }
+
+    /**
+     * Replace all segments of a shipper day with one segment downsampled to {@code intervalSeconds}
+     */
+    @Transactional
+    public void compact(UUID shipperId, LocalDate day, int intervalSeconds) {
+        List<LocationTrackSegment> segments = segmentRepository.findByShipperIdAndTrackDateOrderByStartTimeAsc(shipperId, day);
+        if (segments.isEmpty()) {
+            return;
+        }
+        TrackPoints points = new TrackPoints();
+        for (LocationTrackSegment segment : segments) {
+            TrackCodec.decodeInto(segment.getData(), points);
+        }
+        segmentRepository.deleteAll(segments);
+        if (!points.isEmpty()) {
+            // Segments sealed by different nodes overlap in time
+            segmentRepository.save(segmentOf(shipperId, day, points.sortedByTime().downsample(intervalSeconds),
+                    Math.max(intervalSeconds, 1), ZoneId.systemDefault()));
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package org.f3.postalmanagement.service.tracking;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.f3.postalmanagement.config.TrackingProperties;
+import org.f3.postalmanagement.entity.tracking.LocationTrackSegment;
+import org.f3.postalmanagement.repository.LocationTrackSegmentRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Append-only breadcrumb trail of shipper positions.
+ * <p>
+ * Pings are downsampled on arrival and appended to an open in-memory segment per shipper.
+ * A segment is sealed when it is full, when the day changes or on the periodic flush, and
+ * stored as one delta-encoded row. A maintenance job deletes days past retention and merges
+ * older days into a single coarser segment per shipper.
+ */
+@Component
+@Slf4j
+public class LocationHistoryRecorder {
+
+    private static final int COMPACTION_BATCH = 500;
+
+    private final LocationTrackSegmentRepository segmentRepository;
+    private final LocationHistoryCompactor compactor;
+    private final TrackingProperties.HistorySettings settings;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    private final Map<UUID, OpenSegment> open = new ConcurrentHashMap<>();
+    private final Queue<LocationTrackSegment> sealed = new ConcurrentLinkedQueue<>();
+
+    public LocationHistoryRecorder(LocationTrackSegmentRepository segmentRepository,
+                                   LocationHistoryCompactor compactor,
+                                   TrackingProperties properties) {
+        this.segmentRepository = segmentRepository;
+        this.compactor = compactor;
+        this.settings = properties.getHistory();
+    }
+
+    /**
+     * Append a position unless it is too close in time and space to the last recorded one
+     */
+    public void record(LivePosition position) {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        long time = position.timestamp().atZone(zone).toEpochSecond();
+        int latitude = TrackPoints.toMicroDegrees(position.latitude());
+        int longitude = TrackPoints.toMicroDegrees(position.longitude());
+        LocalDate day = position.timestamp().toLocalDate();
+
+        // Appended inside compute so the idle eviction in flush() cannot drop the segment meanwhile
+        open.compute(position.shipperId(), (id, existing) -> {
+            OpenSegment segment = existing != null ? existing : new OpenSegment(id, day);
+            synchronized (segment) {
+                append(segment, day, time, latitude, longitude);
+            }
+            return segment;
+        });
+    }
+
+    /**
+     * Recorded points of a shipper in a time range, including points not yet stored
+     */
+    public TrackPoints track(UUID shipperId, LocalDateTime from, LocalDateTime to) {
+        long fromSecond = from.atZone(zone).toEpochSecond();
+        long toSecond = to.atZone(zone).toEpochSecond();
+
+        // Read newest first: points move from the open segment to the queue to the table,
+        // so this order may see a segment twice but never misses one in transit
+        TrackPoints unsealed = new TrackPoints();
+        OpenSegment segment = open.get(shipperId);
+        if (segment != null) {
+            synchronized (segment) {
+                unsealed.addAll(segment.points);
+            }
+        }
+        List<LocationTrackSegment> pending = new ArrayList<>();
+        for (LocationTrackSegment queued : sealed) {
+            if (queued.getShipperId().equals(shipperId)) {
+                pending.add(queued);
+            }
+        }
+
+        TrackPoints points = new TrackPoints();
+        Set<UUID> stored = new HashSet<>();
+        for (LocationTrackSegment saved : segmentRepository.findOverlapping(shipperId, from, to)) {
+            TrackCodec.decodeInto(saved.getData(), points);
+            stored.add(saved.getId());
+        }
+        for (LocationTrackSegment queued : pending) {
+            if (!stored.contains(queued.getId())) {
+                TrackCodec.decodeInto(queued.getData(), points);
+            }
+        }
+        points.addAll(unsealed);
+        // Segments of other nodes overlap these in time, and unsealed points may also have been
+        // read from a segment sealed meanwhile: sorting drops those repeats by timestamp
+        return points.sortedByTime().between(fromSecond, toSecond);
+    }
+
+    @Scheduled(fixedDelayString = "${tracking.history.segment-flush-interval-ms:300000}")
+    public synchronized void flush() {
+        for (OpenSegment segment : open.values()) {
+            synchronized (segment) {
+                seal(segment);
+            }
+        }
+        // Segments leave the queue only once stored, so track() always finds them in one place or the other
+        List<LocationTrackSegment> batch = new ArrayList<>(sealed);
+        if (!batch.isEmpty()) {
+            try {
+                segmentRepository.saveAll(batch);
+                // Only this method removes from the queue and new segments go to its tail
+                for (int i = 0; i < batch.size(); i++) {
+                    sealed.poll();
+                }
+                log.debug("Stored {} location track segments", batch.size());
+            } catch (RuntimeException e) {
+                log.error("Failed to store {} location track segments, retrying on next flush", batch.size(), e);
+            }
+        }
+        // Shippers that stopped pinging release their buffers
+        long idleBefore = Instant.now().getEpochSecond() - 86_400;
+        for (UUID shipperId : List.copyOf(open.keySet())) {
+            open.computeIfPresent(shipperId, (id, segment) -> {
+                synchronized (segment) {
+                    return segment.points.isEmpty() && segment.lastTime < idleBefore ? null : segment;
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    @Scheduled(fixedDelayString = "${tracking.history.maintenance-interval-ms:3600000}",
+            initialDelayString = "${tracking.history.maintenance-interval-ms:3600000}")
+    public void maintain() {
+        LocalDate today = LocalDate.now(zone);
+        int deleted = compactor.deleteBefore(today.minusDays(settings.getRetentionDays()));
+        if (deleted > 0) {
+            log.info("Deleted {} location track segments past retention", deleted);
+        }
+
+        LocalDate until = today.minusDays(settings.getDownsampleAfterDays());
+        List<LocationTrackSegmentRepository.ShipperDay> days =
+                segmentRepository.findRawDaysUntil(until, PageRequest.of(0, COMPACTION_BATCH));
+        for (LocationTrackSegmentRepository.ShipperDay day : days) {
+            try {
+                compactor.compact(day.getShipperId(), day.getTrackDate(), settings.getDownsampledIntervalSeconds());
+            } catch (RuntimeException e) {
+                log.warn("Failed to downsample track of shipper {} on {}", day.getShipperId(), day.getTrackDate(), e);
+            }
+        }
+        if (!days.isEmpty()) {
+            log.info("Downsampled {} shipper days of location history", days.size());
+        }
+    }
+
+    /**
+     * Must be called with the segment's lock held
+     */
+    private void append(OpenSegment segment, LocalDate day, long time, int latitude, int longitude) {
+        if (!segment.day.equals(day)) {
+            seal(segment);
+            segment.day = day;
+        }
+        if (!segment.accepts(time, latitude, longitude, settings)) {
+            return;
+        }
+        segment.points.add(time, latitude, longitude);
+        segment.lastTime = time;
+        segment.lastLatitude = latitude;
+        segment.lastLongitude = longitude;
+        if (segment.points.size() >= settings.getMaxPointsPerSegment()) {
+            seal(segment);
+        }
+    }
+
+    /**
+     * Must be called with the segment's lock held
+     */
+    private void seal(OpenSegment segment) {
+        if (segment.points.isEmpty()) {
+            return;
+        }
+        sealed.add(LocationHistoryCompactor.segmentOf(segment.shipperId, segment.day, segment.points, 0, zone));
+        segment.points = new TrackPoints();
+    }
+
+    /**
+     * Points of a shipper not yet sealed, with the last recorded point for downsampling
+     */
+    private static class OpenSegment {
+        private final UUID shipperId;
+        private LocalDate day;
+        private TrackPoints points = new TrackPoints();
+        private long lastTime = Long.MIN_VALUE;
+        private int lastLatitude;
+        private int lastLongitude;
+
+        OpenSegment(UUID shipperId, LocalDate day) {
+            this.shipperId = shipperId;
+            this.day = day;
+        }
+
+        boolean accepts(long time, int latitude, int longitude, TrackingProperties.HistorySettings settings) {
+            if (lastTime == Long.MIN_VALUE) {
+                return true;
+            }
+            long elapsed = time - lastTime;
+            if (elapsed >= settings.getMaxIntervalSeconds()) {
+                return true;
+            }
+            return elapsed >= settings.getMinIntervalSeconds()
+                    && TrackPoints.distanceMeters(lastLatitude, lastLongitude, latitude, longitude)
+                    >= settings.getMinDistanceMeters();
+        }
+    }
+}
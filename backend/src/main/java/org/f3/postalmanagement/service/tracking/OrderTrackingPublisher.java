@@ -0,0 +1,115 @@
+package org.f3.postalmanagement.service.tracking;
+
+import org.f3.postalmanagement.config.TrackingProperties;
+import org.f3.postalmanagement.messaging.StompFanout;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pushes shipper positions to {@code /topic/tracking/order/{orderId}} for every order
+ * the shipper is currently delivering, so customers do not have to poll.
+ * <p>
+ * Updates are only built for topics with local subscribers and are throttled per order:
+ * at most one per {@code min-interval-ms}, and only when the shipper moved at least
+ * {@code min-distance-meters} or nothing was sent for {@code max-interval-ms}. Clients
+ * load the current position once via REST and then follow the topic.
+ * <p>
+ * With STOMP fan-out enabled the subscribers may be connected to another node, so the local
+ * subscriber check is left to each receiving node.
+ */
+@Component
+public class OrderTrackingPublisher {
+
+    private static final String ORDER_TOPIC = StompSubscriptionRegistry.TRACKING_PREFIX + "order/";
+
+    private final StompFanout stompFanout;
+    private final StompSubscriptionRegistry subscriptionRegistry;
+    private final DeliverySessionRegistry sessionRegistry;
+    private final TrackingProperties.PushSettings settings;
+
+    /**
+     * Last update sent per order topic
+     */
+    private final Map<UUID, SentPosition> lastSent = new ConcurrentHashMap<>();
+
+    public OrderTrackingPublisher(StompFanout stompFanout,
+                                  StompSubscriptionRegistry subscriptionRegistry,
+                                  DeliverySessionRegistry sessionRegistry,
+                                  TrackingProperties properties) {
+        this.stompFanout = stompFanout;
+        this.subscriptionRegistry = subscriptionRegistry;
+        this.sessionRegistry = sessionRegistry;
+        this.settings = properties.getPush();
+    }
+
+    public static String destinationFor(UUID orderId) {
+        return ORDER_TOPIC + orderId;
+    }
+
+    /**
+     * Fan a new position out to the topics of the shipper's active orders
+     */
+    public void publish(LivePosition position) {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        Set<UUID> orderIds = sessionRegistry.ordersOf(position.shipperId());
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        int latitude = TrackPoints.toMicroDegrees(position.latitude());
+        int longitude = TrackPoints.toMicroDegrees(position.longitude());
+        boolean clustered = stompFanout.isClustered();
+        for (UUID orderId : orderIds) {
+            String destination = destinationFor(orderId);
+            if ((clustered || subscriptionRegistry.hasSubscribers(destination)) && claim(orderId, now, latitude, longitude)) {
+                stompFanout.send(destination, position.toResponse());
+            }
+        }
+    }
+
+    /**
+     * Forget the throttling state of orders whose delivery ended
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSessionsChanged(DeliverySessionsChangedEvent event) {
+        if (!event.isStarted()) {
+            event.getOrderIds().forEach(lastSent::remove);
+        }
+    }
+
+    /**
+     * Atomically decide whether this position is sent on the order topic and record it if so
+     */
+    private boolean claim(UUID orderId, long now, int latitude, int longitude) {
+        boolean[] send = {false};
+        lastSent.compute(orderId, (id, previous) -> {
+            if (previous == null || shouldSend(previous, now, latitude, longitude)) {
+                send[0] = true;
+                return new SentPosition(now, latitude, longitude);
+            }
+            return previous;
+        });
+        return send[0];
+    }
+
+    private boolean shouldSend(SentPosition previous, long now, int latitude, int longitude) {
+        long elapsed = now - previous.sentAt();
+        if (elapsed < settings.getMinIntervalMs()) {
+            return false;
+        }
+        return elapsed >= settings.getMaxIntervalMs()
+                || TrackPoints.distanceMeters(previous.latitude(), previous.longitude(), latitude, longitude)
+                >= settings.getMinDistanceMeters();
+    }
+
+    private record SentPosition(long sentAt, int latitude, int longitude) {
+    }
+}
@@ -0,0 +1,267 @@
+package org.f3.postalmanagement.service.tracking;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.f3.postalmanagement.config.TrackingProperties;
+import org.f3.postalmanagement.entity.actor.Account;
+import org.f3.postalmanagement.entity.actor.Employee;
+import org.f3.postalmanagement.entity.tracking.ShipperLocation;
+import org.f3.postalmanagement.exception.NotFoundException;
+import org.f3.postalmanagement.repository.EmployeeRepository;
+import org.f3.postalmanagement.repository.ShipperLocationRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Latest position of every shipper, kept in memory and written behind to {@code shipper_locations}.
+ * <p>
+ * A GPS ping only replaces an entry in a concurrent map and marks the shipper dirty.
+ * Dirty positions are written in periodic batched upserts, so database writes per shipper
+ * depend on the flush interval rather than on the ping rate. Reads are served from memory;
+ * shippers not seen by this node since startup are loaded from the table on first access.
+ * Rows written by other nodes are read back every flush interval, so positions of shippers
+ * whose pings land elsewhere are at most about two intervals old.
+ */
+@Component
+@Slf4j
+public class ShipperLocationStore {
+
+    private final ShipperLocationRepository locationRepository;
+    private final EmployeeRepository employeeRepository;
+    private final ShipperLocationWriter writer;
+    private final ShipperSpatialIndex spatialIndex;
+    private final TrackingProperties properties;
+
+    private final Map<UUID, LivePosition> positions = new ConcurrentHashMap<>();
+    private final Set<UUID> dirty = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Rows updated after this time have not been read back yet; null until the initial load
+     */
+    private volatile LocalDateTime syncedUntil;
+
+    /**
+     * Shipper behind an account, so pings do not look up the employee every time
+     */
+    private final Cache<UUID, ShipperIdentity> identities = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterWrite(Duration.ofMinutes(10))
+            .build();
+
+    public ShipperLocationStore(ShipperLocationRepository locationRepository,
+                                EmployeeRepository employeeRepository,
+                                ShipperLocationWriter writer,
+                                ShipperSpatialIndex spatialIndex,
+                                TrackingProperties properties) {
+        this.locationRepository = locationRepository;
+        this.employeeRepository = employeeRepository;
+        this.writer = writer;
+        this.spatialIndex = spatialIndex;
+        this.properties = properties;
+    }
+
+    /**
+     * Shipper profile for an account
+     */
+    public ShipperIdentity identityOf(Account account) {
+        return identities.get(account.getId(), id -> employeeRepository.findByAccount(account)
+                .map(ShipperIdentity::of)
+                .orElseThrow(() -> new NotFoundException("Shipper not found")));
+    }
+
+    /**
+     * Record a new position; written to the database on the next flush
+     */
+    public LivePosition update(LivePosition position) {
+        positions.put(position.shipperId(), position);
+        spatialIndex.put(position);
+        dirty.add(position.shipperId());
+        return position;
+    }
+
+    public Optional<LivePosition> find(UUID shipperId) {
+        LivePosition position = positions.get(shipperId);
+        if (position != null) {
+            return Optional.of(position);
+        }
+        return locationRepository.findWithShipperByShipperId(shipperId)
+                .map(ShipperLocationStore::toPosition)
+                .map(loaded -> {
+                    LivePosition existing = positions.putIfAbsent(shipperId, loaded);
+                    if (existing != null) {
+                        return existing;
+                    }
+                    spatialIndex.put(loaded);
+                    return loaded;
+                });
+    }
+
+    /**
+     * Up to {@code limit} shippers nearest to a point, closest first
+     */
+    public List<ShipperSpatialIndex.Neighbour> findNearest(double latitude, double longitude, int limit,
+                                                           double maxDistanceMeters,
+                                                           Predicate<LivePosition> filter) {
+        return spatialIndex.nearest(latitude, longitude, limit, maxDistanceMeters, filter);
+    }
+
+    /**
+     * Shippers on a delivery session whose last position is recent
+     */
+    public List<LivePosition> findActive() {
+        LocalDateTime since = LocalDateTime.now().minusMinutes(properties.getActiveWindowMinutes());
+        List<LivePosition> active = new ArrayList<>();
+        for (LivePosition position : positions.values()) {
+            if (position.active() && position.timestamp().isAfter(since)) {
+                active.add(position);
+            }
+        }
+        return active;
+    }
+
+    /**
+     * Mark whether a shipper is on a delivery session; written on the next flush
+     */
+    public void setActive(UUID shipperId, boolean active) {
+        LivePosition updated = positions.computeIfPresent(shipperId,
+                (id, position) -> position.active() == active ? position : position.withActive(active));
+        if (updated != null) {
+            spatialIndex.put(updated);
+            dirty.add(shipperId);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        syncedUntil = LocalDateTime.now();
+        for (ShipperLocation location : locationRepository.findAllWithShipper()) {
+            LivePosition position = toPosition(location);
+            if (positions.putIfAbsent(position.shipperId(), position) == null) {
+                spatialIndex.put(position);
+            }
+        }
+        log.info("Loaded {} shipper positions", positions.size());
+    }
+
+    @Scheduled(fixedDelayString = "${tracking.location-flush-interval-ms:5000}")
+    public void flush() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        List<LivePosition> batch = new ArrayList<>(properties.getLocationFlushBatchSize());
+        int written = 0;
+        for (UUID shipperId : List.copyOf(dirty)) {
+            // Removed before reading, so a ping arriving now marks the shipper dirty again
+            dirty.remove(shipperId);
+            LivePosition position = positions.get(shipperId);
+            if (position == null) {
+                continue;
+            }
+            batch.add(position);
+            if (batch.size() >= properties.getLocationFlushBatchSize()) {
+                written += write(batch);
+            }
+        }
+        written += write(batch);
+        log.debug("Flushed {} shipper positions", written);
+    }
+
+    /**
+     * Read back rows updated since the last run. The window overlaps the previous one by a
+     * flush interval so rows committed late by another node are not missed; a row only
+     * replaces the entry in memory when it is newer and the shipper has no unwritten ping here.
+     */
+    @Scheduled(fixedDelayString = "${tracking.location-flush-interval-ms:5000}")
+    public void syncFromDatabase() {
+        LocalDateTime since = syncedUntil;
+        if (since == null) {
+            return;
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        int refreshed = 0;
+        for (ShipperLocation location : locationRepository.findUpdatedSinceWithShipper(since)) {
+            if (refresh(toPosition(location))) {
+                refreshed++;
+            }
+        }
+        syncedUntil = startedAt.minus(Duration.ofMillis(properties.getLocationFlushIntervalMs()));
+        if (refreshed > 0) {
+            log.debug("Refreshed {} shipper positions written by other nodes", refreshed);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private boolean refresh(LivePosition loaded) {
+        UUID shipperId = loaded.shipperId();
+        if (dirty.contains(shipperId)) {
+            return false;
+        }
+        LivePosition result = positions.compute(shipperId, (id, current) -> {
+            if (current != null && !loaded.timestamp().isAfter(current.timestamp())
+                    && (!loaded.timestamp().equals(current.timestamp()) || loaded.active() == current.active())) {
+                return current;
+            }
+            spatialIndex.put(loaded);
+            return loaded;
+        });
+        return result == loaded;
+    }
+
+    private int write(List<LivePosition> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        int size = batch.size();
+        try {
+            writer.upsert(batch);
+        } catch (RuntimeException e) {
+            log.error("Failed to write {} shipper positions, retrying on next flush", size, e);
+            batch.forEach(position -> dirty.add(position.shipperId()));
+            size = 0;
+        }
+        batch.clear();
+        return size;
+    }
+
+    private static LivePosition toPosition(ShipperLocation location) {
+        Employee shipper = location.getShipper();
+        return new LivePosition(shipper.getId(), shipper.getFullName(), shipper.getPhoneNumber(),
+                officeIdOf(shipper), location.getLatitude(), location.getLongitude(), location.getAccuracy(),
+                location.getHeading(), location.getSpeed(), location.getTimestamp(),
+                Boolean.TRUE.equals(location.getIsActive()));
+    }
+
+    /**
+     * Shipper fields copied into every position
+     */
+    public record ShipperIdentity(UUID shipperId, String fullName, String phoneNumber, UUID officeId) {
+
+        static ShipperIdentity of(Employee employee) {
+            return new ShipperIdentity(employee.getId(), employee.getFullName(), employee.getPhoneNumber(),
+                    officeIdOf(employee));
+        }
+    }
+
+    private static UUID officeIdOf(Employee employee) {
+        return employee.getOffice() != null ? employee.getOffice().getId() : null;
+    }
+}
@@ -0,0 +1,52 @@
+package org.f3.postalmanagement.service.tracking;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Writes buffered shipper positions to {@code shipper_locations} as batched upserts
+ * on the unique shipper_id key. The legacy active_order_ids column is left untouched.
+ */
+@Component
+@RequiredArgsConstructor
+public class ShipperLocationWriter {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO shipper_locations " +
+            "(id, shipper_id, latitude, longitude, accuracy, heading, speed, `timestamp`, is_active, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "latitude = VALUES(latitude), longitude = VALUES(longitude), accuracy = VALUES(accuracy), " +
+            "heading = VALUES(heading), speed = VALUES(speed), `timestamp` = VALUES(`timestamp`), " +
+            "is_active = VALUES(is_active), updated_at = VALUES(updated_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void upsert(List<LivePosition> positions) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(positions.size());
+        for (LivePosition position : positions) {
+            rows.add(new Object[]{
+                    UUID.randomUUID().toString(),
+                    position.shipperId().toString(),
+                    position.latitude(),
+                    position.longitude(),
+                    position.accuracy(),
+                    position.heading(),
+                    position.speed(),
+                    Timestamp.valueOf(position.timestamp()),
+                    position.active(),
+                    now,
+                    now
+            });
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+    }
+}
@@ -0,0 +1,141 @@
+package org.f3.postalmanagement.service.tracking;
+
+import org.f3.postalmanagement.config.TrackingProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Uniform lat/lon grid over live shipper positions for k-nearest-neighbour queries.
+ * <p>
+ * Each position sits in one cell of {@code cell-size-degrees}. A query scans square rings
+ * of cells around the query point and stops once no unvisited cell can be closer than the
+ * k-th best candidate, so it only touches the neighbourhood of the point instead of every
+ * shipper. Updated by {@link ShipperLocationStore} on every position change.
+ */
+@Component
+public class ShipperSpatialIndex {
+
+    private static final double METERS_PER_DEGREE = 111_320;
+
+    private final double cellSize;
+
+    private final Map<Long, Set<UUID>> cells = new ConcurrentHashMap<>();
+    private final Map<UUID, Indexed> entries = new ConcurrentHashMap<>();
+
+    public ShipperSpatialIndex(TrackingProperties properties) {
+        this.cellSize = properties.getSpatialCellSizeDegrees();
+    }
+
+    public void put(LivePosition position) {
+        double latitude = position.latitude().doubleValue();
+        double longitude = position.longitude().doubleValue();
+        long cell = cellOf(latitude, longitude);
+        Indexed previous = entries.put(position.shipperId(), new Indexed(position, latitude, longitude, cell));
+        if (previous == null || previous.cell() != cell) {
+            cells.computeIfAbsent(cell, c -> ConcurrentHashMap.newKeySet()).add(position.shipperId());
+            if (previous != null) {
+                cells.computeIfPresent(previous.cell(), (c, members) -> {
+                    members.remove(position.shipperId());
+                    return members.isEmpty() ? null : members;
+                });
+            }
+        }
+    }
+
+    public void remove(UUID shipperId) {
+        Indexed previous = entries.remove(shipperId);
+        if (previous != null) {
+            cells.computeIfPresent(previous.cell(), (c, members) -> {
+                members.remove(shipperId);
+                return members.isEmpty() ? null : members;
+            });
+        }
+    }
+
+    /**
+     * Up to {@code k} positions accepted by {@code filter} within {@code maxDistanceMeters},
+     * nearest first
+     */
+    public List<Neighbour> nearest(double latitude, double longitude, int k, double maxDistanceMeters,
+                                   Predicate<LivePosition> filter) {
+        if (k <= 0) {
+            return List.of();
+        }
+        int centerRow = (int) Math.floor(latitude / cellSize);
+        int centerColumn = (int) Math.floor(longitude / cellSize);
+
+        // Narrowest side of a cell at this latitude: every cell on ring r is at least (r - 1) of these away
+        double cellMeters = cellSize * METERS_PER_DEGREE * Math.max(Math.cos(Math.toRadians(latitude)), 0.01);
+        int maxRing = (int) Math.ceil(maxDistanceMeters / cellMeters) + 1;
+
+        PriorityQueue<Neighbour> best = new PriorityQueue<>(Comparator.comparingDouble(Neighbour::distanceMeters).reversed());
+        for (int ring = 0; ring <= maxRing; ring++) {
+            for (int row = centerRow - ring; row <= centerRow + ring; row++) {
+                boolean edgeRow = row == centerRow - ring || row == centerRow + ring;
+                int step = edgeRow ? 1 : 2 * ring;
+                for (int column = centerColumn - ring; column <= centerColumn + ring; column += Math.max(step, 1)) {
+                    collect(key(row, column), latitude, longitude, k, maxDistanceMeters, filter, best);
+                }
+            }
+            boolean full = best.size() == k;
+            if (full && best.peek().distanceMeters() <= ring * cellMeters) {
+                break;
+            }
+        }
+
+        List<Neighbour> result = new ArrayList<>(best);
+        result.sort(Comparator.comparingDouble(Neighbour::distanceMeters));
+        return result;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void collect(long cell, double latitude, double longitude, int k, double maxDistanceMeters,
+                         Predicate<LivePosition> filter, PriorityQueue<Neighbour> best) {
+        Set<UUID> members = cells.get(cell);
+        if (members == null) {
+            return;
+        }
+        for (UUID shipperId : members) {
+            Indexed entry = entries.get(shipperId);
+            if (entry == null || entry.cell() != cell || !filter.test(entry.position())) {
+                continue;
+            }
+            double distance = TrackPoints.distanceMeters(latitude, longitude, entry.latitude(), entry.longitude());
+            if (distance > maxDistanceMeters) {
+                continue;
+            }
+            if (best.size() < k) {
+                best.add(new Neighbour(entry.position(), distance));
+            } else if (distance < best.peek().distanceMeters()) {
+                best.poll();
+                best.add(new Neighbour(entry.position(), distance));
+            }
+        }
+    }
+
+    private long cellOf(double latitude, double longitude) {
+        return key((int) Math.floor(latitude / cellSize), (int) Math.floor(longitude / cellSize));
+    }
+
+    private static long key(int row, int column) {
+        return ((long) row << 32) | (column & 0xFFFFFFFFL);
+    }
+
+    public record Neighbour(LivePosition position, double distanceMeters) {
+    }
+
+    private record Indexed(LivePosition position, double latitude, double longitude, long cell) {
+    }
+}
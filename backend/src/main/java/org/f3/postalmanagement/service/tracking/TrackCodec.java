@@ -0,0 +1,113 @@
+package org.f3.postalmanagement.service.tracking;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Binary encoding of track segments.
+ * <p>
+ * Layout: a version byte, the point count, then for every point the difference to the
+ * previous point in time (seconds), latitude and longitude (millionths of a degree), each
+ * as a zig-zag varint. Consecutive GPS pings differ by a few seconds and metres, so most
+ * points take 3 to 5 bytes instead of the ~80 bytes of a row.
+ */
+public final class TrackCodec {
+
+    private static final byte VERSION = 1;
+
+    private TrackCodec() {
+    }
+
+    public static byte[] encode(TrackPoints points) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8 + points.size() * 5);
+        out.write(VERSION);
+        writeVarint(out, points.size());
+        long previousTime = 0;
+        int previousLatitude = 0;
+        int previousLongitude = 0;
+        for (int i = 0; i < points.size(); i++) {
+            writeVarint(out, zigZag(points.time(i) - previousTime));
+            writeVarint(out, zigZag(points.latitude(i) - previousLatitude));
+            writeVarint(out, zigZag(points.longitude(i) - previousLongitude));
+            previousTime = points.time(i);
+            previousLatitude = points.latitude(i);
+            previousLongitude = points.longitude(i);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Append the points of an encoded segment to {@code target}
+     */
+    public static void decodeInto(byte[] data, TrackPoints target) {
+        if (data.length == 0 || data[0] != VERSION) {
+            throw new IllegalArgumentException("Unsupported track segment encoding");
+        }
+        int[] position = {1};
+        long count = readVarint(data, position);
+        long time = 0;
+        long latitude = 0;
+        long longitude = 0;
+        for (long i = 0; i < count; i++) {
+            time += unZigZag(readVarint(data, position));
+            latitude += unZigZag(readVarint(data, position));
+            longitude += unZigZag(readVarint(data, position));
+            target.add(time, (int) latitude, (int) longitude);
+        }
+    }
+
+    /**
+     * Google encoded polyline (precision 5), understood by most map libraries
+     */
+    public static String toPolyline(TrackPoints points) {
+        StringBuilder polyline = new StringBuilder(points.size() * 6);
+        long previousLatitude = 0;
+        long previousLongitude = 0;
+        for (int i = 0; i < points.size(); i++) {
+            long latitude = Math.round(points.latitude(i) / 10.0);
+            long longitude = Math.round(points.longitude(i) / 10.0);
+            appendPolylineValue(polyline, latitude - previousLatitude);
+            appendPolylineValue(polyline, longitude - previousLongitude);
+            previousLatitude = latitude;
+            previousLongitude = longitude;
+        }
+        return polyline.toString();
+    }
+
+    private static void appendPolylineValue(StringBuilder polyline, long delta) {
+        long value = delta < 0 ? ~(delta << 1) : delta << 1;
+        while (value >= 0x20) {
+            polyline.append((char) ((0x20 | (value & 0x1f)) + 63));
+            value >>= 5;
+        }
+        polyline.append((char) (value + 63));
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarint(byte[] data, int[] position) {
+        long result = 0;
+        int shift = 0;
+        while (true) {
+            byte b = data[position[0]++];
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+            shift += 7;
+        }
+    }
+}
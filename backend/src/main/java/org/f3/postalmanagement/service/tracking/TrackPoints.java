@@ -0,0 +1,157 @@
+package org.f3.postalmanagement.service.tracking;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Growable column arrays of track points: epoch seconds and coordinates in
+ * millionths of a degree (about 0.1 m). Not thread-safe.
+ */
+public final class TrackPoints {
+
+    private long[] times;
+    private int[] latitudes;
+    private int[] longitudes;
+    private int size;
+
+    public TrackPoints() {
+        this(64);
+    }
+
+    public TrackPoints(int capacity) {
+        times = new long[Math.max(capacity, 1)];
+        latitudes = new int[times.length];
+        longitudes = new int[times.length];
+    }
+
+    public static int toMicroDegrees(BigDecimal degrees) {
+        return degrees.movePointRight(6).setScale(0, java.math.RoundingMode.HALF_UP).intValueExact();
+    }
+
+    public static double toDegrees(int microDegrees) {
+        return microDegrees / 1_000_000.0;
+    }
+
+    public void add(long epochSecond, int latitude, int longitude) {
+        if (size == times.length) {
+            int capacity = size * 2;
+            times = Arrays.copyOf(times, capacity);
+            latitudes = Arrays.copyOf(latitudes, capacity);
+            longitudes = Arrays.copyOf(longitudes, capacity);
+        }
+        times[size] = epochSecond;
+        latitudes[size] = latitude;
+        longitudes[size] = longitude;
+        size++;
+    }
+
+    public void addAll(TrackPoints other) {
+        for (int i = 0; i < other.size; i++) {
+            add(other.times[i], other.latitudes[i], other.longitudes[i]);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long time(int index) {
+        return times[index];
+    }
+
+    public int latitude(int index) {
+        return latitudes[index];
+    }
+
+    public int longitude(int index) {
+        return longitudes[index];
+    }
+
+    /**
+     * Points with {@code from <= time <= to}, in their current order
+     */
+    public TrackPoints between(long from, long to) {
+        TrackPoints result = new TrackPoints(size);
+        for (int i = 0; i < size; i++) {
+            if (times[i] >= from && times[i] <= to) {
+                result.add(times[i], latitudes[i], longitudes[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The points in time order with one point per second, keeping the first added of points
+     * with the same time. Tracks recorded by several nodes interleave; returns this if the
+     * points are already strictly ordered.
+     */
+    public TrackPoints sortedByTime() {
+        boolean ordered = true;
+        for (int i = 1; i < size && ordered; i++) {
+            ordered = times[i - 1] < times[i];
+        }
+        if (ordered) {
+            return this;
+        }
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        // Stable, so the first added of equal times stays first
+        Arrays.sort(order, Comparator.comparingLong(i -> times[i]));
+        TrackPoints result = new TrackPoints(size);
+        for (int i : order) {
+            if (result.isEmpty() || result.time(result.size() - 1) != times[i]) {
+                result.add(times[i], latitudes[i], longitudes[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Keep at most one point per interval, always keeping the last point; assumes time order
+     */
+    public TrackPoints downsample(int intervalSeconds) {
+        TrackPoints result = new TrackPoints(size);
+        for (int i = 0; i < size; i++) {
+            boolean last = i == size - 1;
+            if (result.isEmpty() || last || times[i] - result.time(result.size() - 1) >= intervalSeconds) {
+                result.add(times[i], latitudes[i], longitudes[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Great-circle distance between two points in meters
+     */
+    public static double distanceMeters(int lat1, int lon1, int lat2, int lon2) {
+        return distanceMeters(toDegrees(lat1), toDegrees(lon1), toDegrees(lat2), toDegrees(lon2));
+    }
+
+    /**
+     * Great-circle distance between two points given in degrees, in meters
+     */
+    public static double distanceMeters(double lat1, double lon1, double lat2, double lon2) {
+        double phi1 = Math.toRadians(lat1);
+        double phi2 = Math.toRadians(lat2);
+        double dPhi = phi2 - phi1;
+        double dLambda = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dPhi / 2) * Math.sin(dPhi / 2)
+                + Math.cos(phi1) * Math.cos(phi2) * Math.sin(dLambda / 2) * Math.sin(dLambda / 2);
+        return 2 * 6_371_000 * Math.asin(Math.sqrt(a));
+    }
+
+    public double lengthMeters() {
+        double total = 0;
+        for (int i = 1; i < size; i++) {
+            total += distanceMeters(latitudes[i - 1], longitudes[i - 1], latitudes[i], longitudes[i]);
+        }
+        return total;
+    }
+}
@@ -2,9 +2,11 @@ package org.f3.postalmanagement.utils;
 
 import org.f3.postalmanagement.entity.actor.Account;
 import org.f3.postalmanagement.entity.actor.CustomUserDetails;
+import org.f3.postalmanagement.jwt.TokenScope;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.util.Optional;
 import java.util.UUID;
 
 public abstract class SecurityUtils {
@@ -22,4 +24,15 @@ public abstract class SecurityUtils {
         CustomUserDetails customUserDetails = (CustomUserDetails) authentication.getPrincipal();
         return customUserDetails.getAccount();
     }
+
+    /**
+     * Token claims of the current request, when it was authenticated with a token
+     */
+    public static Optional<TokenScope> getCurrentScope() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails userDetails) {
+            return Optional.ofNullable(userDetails.getScope());
+        }
+        return Optional.empty();
+    }
 }
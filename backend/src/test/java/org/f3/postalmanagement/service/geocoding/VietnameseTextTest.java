@@ -0,0 +1,30 @@
+package org.f3.postalmanagement.service.geocoding;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class VietnameseTextTest {
+
+    @Test
+    void abbreviatedNumberedWardMatchesFullName() {
+        assertEquals(VietnameseText.foldPlaceName("Phường 12"), VietnameseText.foldPlaceName("P.12"));
+        assertEquals(VietnameseText.foldPlaceName("Phường 12"), VietnameseText.foldPlaceName("P12"));
+        assertEquals(VietnameseText.foldPlaceName("Quận 1"), VietnameseText.foldPlaceName("Q. 1"));
+        assertEquals("phuong 12", VietnameseText.foldPlaceName("P.12"));
+    }
+
+    @Test
+    void abbreviatedNamedPlaceMatchesFullName() {
+        assertEquals("binh thanh", VietnameseText.foldPlaceName("P. Bình Thạnh"));
+        assertEquals("thu duc", VietnameseText.foldPlaceName("TP. Thủ Đức"));
+        assertEquals("cu chi", VietnameseText.foldPlaceName("H. Củ Chi"));
+    }
+
+    @Test
+    void namesStartingWithAbbreviationLettersAreUnchanged() {
+        assertEquals("hoa binh", VietnameseText.foldPlaceName("Hòa Bình"));
+        assertEquals("tan phu", VietnameseText.foldPlaceName("Tân Phú"));
+        assertEquals("phu nhuan", VietnameseText.foldPlaceName("Phú Nhuận"));
+    }
+}
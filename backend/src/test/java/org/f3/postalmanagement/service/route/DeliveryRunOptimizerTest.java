@@ -0,0 +1,136 @@
+package org.f3.postalmanagement.service.route;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DeliveryRunOptimizerTest {
+
+    private static final long BUDGET_NANOS = 1_000_000_000L;
+
+    @Test
+    void reverseKeepsPermutation() {
+        Random random = new Random(42);
+        for (int run = 0; run < 10_000; run++) {
+            int[] tour = identity(2 + random.nextInt(20));
+            int from = 1 + random.nextInt(tour.length - 1);
+            int to = from + random.nextInt(tour.length - from);
+
+            DeliveryRunOptimizer.reverse(tour, from, to);
+
+            assertPermutation(tour);
+            for (int k = from; k <= to; k++) {
+                assertEquals(from + to - k, tour[k]);
+            }
+        }
+    }
+
+    @Test
+    void moveKeepsPermutationAndPlacesSegmentAfterAnchor() {
+        Random random = new Random(42);
+        for (int run = 0; run < 10_000; run++) {
+            int[] tour = identity(3 + random.nextInt(20));
+            int last = tour.length - 1;
+            int from = 1 + random.nextInt(last);
+            int to = from + random.nextInt(Math.min(3, last - from + 1));
+            if (from == 1 && to == last) {
+                continue;
+            }
+            int after;
+            do {
+                after = random.nextInt(tour.length);
+            } while (after >= from - 1 && after <= to);
+            boolean reversed = random.nextBoolean();
+
+            int[] expected = expectedMove(tour, from, to, after, reversed);
+            DeliveryRunOptimizer.move(tour, from, to, after, reversed);
+
+            assertPermutation(tour);
+            assertArrayEquals(expected, tour);
+        }
+    }
+
+    @Test
+    void optimizeVisitsEveryStopOnce() {
+        Random random = new Random(42);
+        for (int run = 0; run < 50; run++) {
+            int nodes = 1 + random.nextInt(120);
+            double[][] distances = new double[nodes][nodes];
+            for (int i = 0; i < nodes; i++) {
+                for (int j = 0; j < nodes; j++) {
+                    // Asymmetric on purpose, like one-way streets
+                    distances[i][j] = i == j ? 0 : random.nextDouble() * 1000;
+                }
+            }
+
+            int[] order = DeliveryRunOptimizer.optimize(distances, BUDGET_NANOS);
+
+            int[] tour = new int[nodes];
+            System.arraycopy(order, 0, tour, 1, order.length);
+            assertPermutation(tour);
+        }
+    }
+
+    @Test
+    void optimizeFindsTheStraightLineOrder() {
+        // Stops on a line, shuffled: the shortest open path from 0 visits them left to right
+        int nodes = 30;
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 1; i < nodes; i++) {
+            positions.add(i);
+        }
+        Collections.shuffle(positions, new Random(42));
+        int[] position = new int[nodes];
+        for (int node = 1; node < nodes; node++) {
+            position[node] = positions.get(node - 1);
+        }
+        double[][] distances = new double[nodes][nodes];
+        for (int i = 0; i < nodes; i++) {
+            for (int j = 0; j < nodes; j++) {
+                distances[i][j] = Math.abs(position[i] - position[j]);
+            }
+        }
+
+        int[] order = DeliveryRunOptimizer.optimize(distances, BUDGET_NANOS);
+
+        assertEquals(nodes - 1, DeliveryRunOptimizer.length(order, distances), 1e-9);
+    }
+
+    private static int[] identity(int size) {
+        int[] tour = new int[size];
+        for (int i = 0; i < size; i++) {
+            tour[i] = i;
+        }
+        return tour;
+    }
+
+    private static int[] expectedMove(int[] tour, int from, int to, int after, boolean reversed) {
+        List<Integer> segment = new ArrayList<>();
+        List<Integer> rest = new ArrayList<>();
+        for (int k = 0; k < tour.length; k++) {
+            (k >= from && k <= to ? segment : rest).add(tour[k]);
+        }
+        if (reversed) {
+            Collections.reverse(segment);
+        }
+        rest.addAll(rest.indexOf(tour[after]) + 1, segment);
+        return rest.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static void assertPermutation(int[] tour) {
+        assertEquals(0, tour[0], "start node must stay first");
+        int[] sorted = tour.clone();
+        Arrays.sort(sorted);
+        for (int i = 0; i < sorted.length; i++) {
+            assertTrue(sorted[i] == i, "not a permutation: " + Arrays.toString(tour));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package org.f3.postalmanagement.service.tracking;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class TrackPointsTest {
+
+    @Test
+    void sortedByTimeMergesInterleavedSegments() {
+        // Two nodes sealing alternate pings of the same shipper
+        TrackPoints points = new TrackPoints();
+        points.add(100, 1, 1);
+        points.add(120, 3, 3);
+        points.add(110, 2, 2);
+        points.add(130, 4, 4);
+
+        TrackPoints sorted = points.sortedByTime();
+
+        assertEquals(4, sorted.size());
+        for (int i = 0; i < sorted.size(); i++) {
+            assertEquals(100 + 10 * i, sorted.time(i));
+            assertEquals(i + 1, sorted.latitude(i));
+        }
+    }
+
+    @Test
+    void sortedByTimeKeepsFirstOfRepeatedTimestamps() {
+        // A segment read both as stored and as still open
+        TrackPoints points = new TrackPoints();
+        points.add(100, 1, 1);
+        points.add(110, 2, 2);
+        points.add(105, 9, 9);
+        points.add(110, 7, 7);
+
+        TrackPoints sorted = points.sortedByTime();
+
+        assertEquals(3, sorted.size());
+        assertEquals(105, sorted.time(1));
+        assertEquals(110, sorted.time(2));
+        assertEquals(2, sorted.latitude(2));
+    }
+
+    @Test
+    void sortedByTimeReturnsOrderedPointsUnchanged() {
+        TrackPoints points = new TrackPoints();
+        points.add(100, 1, 1);
+        points.add(110, 2, 2);
+
+        assertSame(points, points.sortedByTime());
+    }
+}